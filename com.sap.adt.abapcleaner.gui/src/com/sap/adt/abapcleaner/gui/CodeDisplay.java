@@ -443,9 +443,11 @@ public class CodeDisplay extends Composite {
 
 		// search settings
 		boolean searchSide = isLeft ? searchControls.searchLeftDisplay() : searchControls.searchRightDisplay();
-		boolean searchChangedLinesOnly = searchControls.searchChangedLines();
-		boolean ignoreCase = !searchControls.matchCase();
-		boolean wholeWord = searchControls.matchWholeWord();
+		SearchMatches searchMatches = null;
+		if (navigator.isInSearchMode() && searchSide) {
+			searchMatches = navigator.getSearchMatches(searchControls.searchLeftDisplay(), searchControls.searchRightDisplay(), searchControls.searchChangedLines(), 
+					searchControls.matchCase(), searchControls.matchWholeWord());
+		}
 
 		// text measuring
 		g.setFont(codeFont);
@@ -571,25 +573,21 @@ public class CodeDisplay extends Composite {
 			}
 
 			// show all search matches
-			boolean lineStatusMatch = searchChangedLinesOnly ? navigator.isLineHighlighted(diffLine) : true;
-			String searchText = navigator.getSearchText();
-			if (navigator.isInSearchMode() && !StringUtil.isNullOrEmpty(searchText) && searchSide && lineStatusMatch) {
-				int pos = -1;
-				while (pos + 1 < text.length()) {
-					pos = AbapCult.indexOf(text, searchText, pos + 1, ignoreCase);
-					if (pos < 0)
-						break;
-					if (!wholeWord || navigator.isStartOfWholeWord(text, pos)) {
-						DisplaySide displaySide = isLeft ? DisplaySide.LEFT : DisplaySide.RIGHT;
-						boolean highlight = navigator.isSearchMatchHighlighted(lineIndex, pos, displaySide);
-						Color searchMatchPen = highlight ? colors.highlightSearchMatch : colors.normalSearchMatch;
-						g.setForeground(searchMatchPen);
-						int x = (int) (xOffset + padding + charWidth * pos);
-						int width = (int) (charWidth * searchText.length());
-						g.drawRectangle(x, yOffset, width, lineHeight);
-						if (highlight)
-							g.drawRectangle(x - 1, yOffset - 1, width + 2, lineHeight + 2);
-					}
+			if (searchMatches != null) {
+				DisplaySide displaySide = isLeft ? DisplaySide.LEFT : DisplaySide.RIGHT;
+				int searchTextLength = searchMatches.getSearchText().length();
+				for (int matchIndex = searchMatches.findFirstMatchIndexInLine(lineIndex); matchIndex < searchMatches.getCount() && searchMatches.getLineIndex(matchIndex) == lineIndex; ++matchIndex) {
+					if (searchMatches.getDisplaySide(matchIndex) != displaySide)
+						continue;
+					int pos = searchMatches.getPos(matchIndex);
+					boolean highlight = navigator.isSearchMatchHighlighted(lineIndex, pos, displaySide);
+					Color searchMatchPen = highlight ? colors.highlightSearchMatch : colors.normalSearchMatch;
+					g.setForeground(searchMatchPen);
+					int x = (int) (xOffset + padding + charWidth * pos);
+					int width = (int) (charWidth * searchTextLength);
+					g.drawRectangle(x, yOffset, width, lineHeight);
+					if (highlight)
+						g.drawRectangle(x - 1, yOffset - 1, width + 2, lineHeight + 2);
 				}
 			}
 		}
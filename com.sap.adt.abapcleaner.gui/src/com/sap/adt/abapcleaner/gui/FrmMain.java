@@ -177,6 +177,11 @@ public class FrmMain implements IUsedRulesDisplay, ISearchControls, IChangeTypeC
 			}
 		}
 
+		if (commandLineArgs.unifiedDiff) {
+			writeUnifiedDiff(commandLineArgs, profile, out);
+			return;
+		}
+
 		// perform the cleanup
 		CleanupResult result = cleanAutomatically(commandLineArgs.sourceCode, commandLineArgs.abapRelease, commandLineArgs.cleanupRange, profile, commandLineArgs.showStats);
 		if (result == null) {
@@ -218,7 +223,76 @@ public class FrmMain implements IUsedRulesDisplay, ISearchControls, IChangeTypeC
 		}
 	}
 
-	public static CleanupResult cleanAutomatically(String sourceCode, String abapRelease, CleanupRange cleanupRange, Profile profile, boolean provideRuleStats) {
+	/** cleans the source file(s) one by one and writes the changes of each file in unified diff format, 
+	 * which is done directly from the resulting DiffDoc without building the cleaned code text */
+	private static void writeUnifiedDiff(CommandLineArgs commandLineArgs, Profile profile, PrintStream out) {
+		final String LINE_SEP = System.lineSeparator();
+		Persistency persistency = Persistency.get(); 
+
+		boolean writeToTargetFile = !commandLineArgs.writesResultCodeToOutput();
+		if (writeToTargetFile) {
+			if (!commandLineArgs.overwrite && persistency.fileExists(commandLineArgs.targetPath)) 
+				return;
+			persistency.ensureDirectoryExistsForPath(commandLineArgs.targetPath);
+			persistency.writeAllTextToFile(commandLineArgs.targetPath, "");
+		}
+
+		initialize();
+		MainSettings settings = new MainSettings();
+		settings.load();
+
+		String[] sourcePaths = commandLineArgs.isDirectoryMode() ? commandLineArgs.sourcePaths : new String[] { commandLineArgs.sourcePath };
+		for (String sourcePath : sourcePaths) {
+			CharSequence sourceCode = commandLineArgs.isDirectoryMode() ? persistency.readCharSequenceFromFile(sourcePath) : commandLineArgs.sourceCode;
+			String fileName = getUnifiedDiffFileName(commandLineArgs, sourcePath);
+
+			BackgroundJob job = new BackgroundJob(ParseParams.createForCleanupRange(fileName, sourceCode, commandLineArgs.abapRelease, commandLineArgs.cleanupRange),
+			                                      CleanupParams.createForProfile(profile, false, settings.releaseRestriction));
+			job.run();
+			Task result = job.getResult();
+			if (job.wasCancelled()) {
+				System.err.println("Cleanup cancelled.");
+				return;
+			} else if (!result.getSuccess()) {
+				// report the error without corrupting the patch, and continue with the next file
+				System.err.println(fileName + ": " + result.getErrorMessage());
+				continue;
+			}
+
+			// in directory mode, the patches of all files are simply concatenated to one combined patch
+			try {
+				DiffDoc diffDoc = result.getResultingDiffDoc();
+				if (writeToTargetFile) {
+					StringBuilder patch = new StringBuilder();
+					diffDoc.writeUnifiedDiff(patch, "a/" + fileName, "b/" + fileName, commandLineArgs.diffContextLines, LINE_SEP);
+					if (patch.length() > 0)
+						persistency.appendToFile(commandLineArgs.targetPath, patch.toString());
+				} else {
+					diffDoc.writeUnifiedDiff(out, "a/" + fileName, "b/" + fileName, commandLineArgs.diffContextLines, LINE_SEP);
+				}
+			} catch (IOException ex) {
+				System.err.println(ex.getMessage());
+				return;
+			}
+		}
+		out.flush();
+	}
+
+	private static String getUnifiedDiffFileName(CommandLineArgs commandLineArgs, String sourcePath) {
+		if (StringUtil.isNullOrEmpty(sourcePath)) 
+			return "source" + Persistency.get().getExtension(FileType.CODE);
+		else if (!commandLineArgs.isDirectoryMode())
+			return Persistency.get().getFileName(sourcePath);
+
+		// use the path relative to the source directory with '/' as separator, as expected in a patch 
+		String relativePath = sourcePath.startsWith(commandLineArgs.sourceDir) ? sourcePath.substring(commandLineArgs.sourceDir.length()) : sourcePath;
+		relativePath = relativePath.replace('\\', '/');
+		while (relativePath.startsWith("/"))
+			relativePath = relativePath.substring(1);
+		return relativePath;
+	}
+
+	public static CleanupResult cleanAutomatically(CharSequence sourceCode, String abapRelease, CleanupRange cleanupRange, Profile profile, boolean provideRuleStats) {
 		initialize();
 
 		MainSettings settings = new MainSettings();
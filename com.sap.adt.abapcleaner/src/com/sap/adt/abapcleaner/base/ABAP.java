@@ -4,7 +4,9 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.zip.CRC32;
 
 /**
  * Constants and helper methods about the ABAP programming language: 
@@ -136,12 +138,17 @@ public final class ABAP {
    // private final static String[] keywordsWithHyphen = new String[] { "*-INPUT", "ABAP-SOURCE", "ADD-CORRESPONDING", "AUTHORITY-CHECK", "BIT-AND", "BIT-NOT", "BIT-OR", "BIT-XOR", "BREAK-POINT", "BYTE-CA", "BYTE-CN", "BYTE-CO", "BYTE-CS", "BYTE-NA", "BYTE-NS", "BYTE-ORDER", "CHAR-TO-HEX", "CLASS-CODING", "CLASS-DATA", "CLASS-EVENTS", "CLASS-METHODS", "CLASS-POOL", "CUSTOMER-FUNCTION", "DISPLAY-MODE", "DIVIDE-CORRESPONDING", "EDITOR-CALL", "END-ENHANCEMENT-SECTION", "END-LINES", "END-OF-DEFINITION", "END-OF-EDITING", "END-OF-FILE", "END-OF-PAGE", "END-OF-SELECTION", "END-TEST-INJECTION", "END-TEST-SEAM", "ENHANCEMENT-POINT", "ENHANCEMENT-SECTION", "EXCEPTION-TABLE", "EXIT-COMMAND", "FIELD-GROUPS", "FIELD-SYMBOL", "FIELD-SYMBOLS", "FILTER-TABLE", "FIRST-LINE", "FIXED-POINT", "FUNCTION-POOL", "HEAD-LINES", "HELP-ID", "HELP-REQUEST", "INDEX-LINE", "INTERFACE-POOL", "INVERTED-DATE", "LEFT-JUSTIFIED", "LINE-COUNT", "LINE-SELECTION", "LINE-SIZE", "LIST-PROCESSING", "LOAD-OF-PROGRAM", "LOG-POINT", "MAJOR-ID", "MESSAGE-ID", "MINOR-ID", "MOVE-CORRESPONDING", "MULTIPLY-CORRESPONDING", "NEW-LINE", "NEW-PAGE", "NEW-SECTION", "NO-DISPLAY", "NO-EXTENSION", "NO-GAP", "NO-GAPS", "NO-GROUPING", "NO-HEADING", "NON-UNICODE", "NON-UNIQUE", "NO-SCROLLING", "NO-SIGN", "NO-TITLE", "NO-TOPOFPAGE", "NO-ZERO", "OUTPUT-LENGTH", "PARAMETER-TABLE", "PF-STATUS", "PRINT-CONTROL", "QUEUE-ONLY", "READ-ONLY", "RIGHT-JUSTIFIED", "SAP-SPOOL", "SCROLL-BOUNDARY", "SELECTION-SCREEN", "SELECTION-SET", "SELECTION-SETS", "SELECTION-TABLE", "SELECT-OPTIONS", "SHORTDUMP-ID", "START-OF-EDITING", "START-OF-SELECTION", "STEP-LOOP", "SUBTRACT-CORRESPONDING", "SYNTAX-CHECK", "SYNTAX-TRACE", "SYSTEM-CALL", "SYSTEM-EXCEPTIONS", "SYSTEM-EXIT", "TEST-INJECTION", "TEST-SEAM", "TITLE-LINES", "TOP-LINES", "TOP-OF-PAGE", "TRACE-ENTRY", "TRACE-FILE", "TRACE-TABLE", "TYPE-POOL", "TYPE-POOLS", "USER-COMMAND", "UTF-8", "VALUE-REQUEST", "VERIFICATION-MESSAGE", "WITH-HEADING", "WITH-TITLE" };
    // private final static String[] otherOldKeywordsNotInPadFile = new String[] {"CI_", "CL_ABAP_BEHAVIOR_SAVER", "CL_DBI_UTILITIES", "CL_GUI_FRONTEND_SERVICES", "CONNECT", "CORRSPEARMAN", "DECFLOAT16_DEC", "DECFLOAT34_DEC", "DISCONNECT", "FLTP_TO_DEC", "FROMH", "ITNO", "OLE"};
    
-   private final static HashSet<String> abapLowerCaseKeywords = initializeAbapLowerCaseKeywords(lowerCaseKeywords);
-   private final static HashSet<String> abapKeywords = initializeAbapKeywords();
+   // keyword tables are case-insensitive, so lookups with Token texts neither require upper case conversion nor allocate memory 
+   private final static KeywordTable<String> abapLowerCaseKeywords = initializeKeywordTable(lowerCaseKeywords);
+   // the ABAP keywords are generated from the ABAP grammar file 'resources\grammar.txt' at build time (see AbapGrammarKeywords), 
+   // so this file does not need to be parsed on startup; a newer grammar may replace them with loadKeywordsFromPadFile(InputStream) 
+   private static volatile KeywordTable<String> abapKeywords = initializeKeywordTable(AbapGrammarKeywords.KEYWORDS);
+   // the checksum of the current ABAP keywords, on which cached parse results depend, see getAbapKeywordChecksum()
+   private static volatile long abapKeywordChecksum = calculateKeywordChecksum(AbapGrammarKeywords.KEYWORDS);
 
    // lazy instantiation with initializeKeywordCollocations():
-   private static HashSet<String> abapKeywordCollocations;
-   private static HashSet<String> abapKeywordCollocationStarts;
+   private static KeywordTable<String> abapKeywordCollocations;
+   private static KeywordTable<String> abapKeywordCollocationStarts;
 
    // -------------------------------------------------------------------------
    // helper methods for optional / lazy instantiation 
@@ -149,11 +156,6 @@ public final class ABAP {
    // With ADT installed, ABAP keywords can be found in C:\Users\...\workspace_adt\.metadata\.plugins\com.sap.adt.tools.abapsource.parser\757 (items 112:..1367:, see token nums in 4th line: "Token<TAB>111<TAB>1367<TAB>2920")
    // (cp. ADT -> menu "Project / Properties" -> ABAP Development -> Editors -> Source Code Editors -> RND Parser -> Open Folder)
    // (however, this also contains keywords like XSDBOOL, TABLE_LINE, INT8 etc. that are usually put to lower case; line_exists is missing; "LEFTPLUS" etc. are very special keywords)
-   // the following fallback keywords are used in case the 'resources\grammar.text' resource file is inaccessible: 
-   private static String[] getFallbackKeywords() {
-	   return new String[] { "BEGIN", "END", "TEXT", "TO", "GIVING", "APPEND", "ASSIGN", "TYPE", "INITIAL", "AT", "ON", "AUTHORITY", "BREAK", "BADI", "FUNCTION", "EXCEPTIONS", "EXPORTING", "SOURCE", "RESULT", "CATCH", "CHECK", "CLASS", "WITH", "COMMIT", "COMMUNICATION", "BIT", "LIKE", "VALUE", "CONTROLS", "CONVERT", "DATE", "TIME", "CREATE", "DATA", "KEY", "DELETE", "FROM", "DESCRIBE", "INDEX", "LINE", "IN", "EDITOR", "ENHANCEMENT", "EXIT", "EXPORT", "STRUCTURE", "MATCH", "FREE", "GENERATE", "MESSAGE", "GET", "GLOBAL", "INSTANCE", "IMPORT", "ACCEPTING", "IGNORING", "CLIENT", "ID", "INCLUDE", "INSERT", "INTERFACE", "ALL", "LEAVE", "LOOP", "FOR", "MODIFY", "OF", "FIELD", "NO", "PRINT", "LIST", "NEW", "OPEN", "COUNT", "TABLE", "AS", "PERFORM", "PROVIDE", "SYSTEM", "READ", "REFRESH", "REPLACE", "REPLACEMENT", "ROLLBACK", "SET", "LEFT", "RIGHT", "SORT", "NOT", "BETWEEN", "IS", "CAST", "MAPPING", "EXCEPT", "STATICS", "ARCHIVE", "COVER", "USING", "VIA", "SYNTAX", "C_PROFILER", "LOAD", "POP", "PUSH", "QUERY", "RENAME", "RFC_ID", "MOVE", "TABLES", "TOP", "TYPES", "PRIMARY_KEY", "WAIT", "CHAIN", "%_END", "ADD", "CALL", "DIVIDE", "MODULE", "MULTIPLY", "SELECT", "START", "SUBTRACT", "METHOD", "FINAL", "IMPORTING", "LET", "BASE", "GROUPS", "STEP", "INTO", "GROUP", "WHERE", "TABLE_LINE", "EQ", "I", "NE", "LT", "LE", "GT", "GE", "BYTE", "CA", "CO", "CS", "NA", "CN", "NS", "M", "O", "Z", "CP", "NP", "AND", "BOUND", "OR", "EQUIV", "BY", "SIZE", "ASCENDING", "DESCENDING", "WITHOUT", "MEMBERS", "THEN", "WHILE", "SUPPLIED", "ASSIGNED", "REQUESTED", "DISABLED", "%_SWITCHED_ON", "UNTIL", "LINES", "RECEIVING", "OTHERS", "OPTIONAL", "DEFAULT", "CONV", "REF", "EXACT", "CORRESPONDING", "DEEP", "APPENDING", "DISCARDING", "DUPLICATES", "CONTROL", "ENTITY", "CHANGING", "FILTER", "COND", "WHEN", "THROW", "RESUMABLE", "SHORTDUMP", "NUMBER", "BOOLC", "XSDBOOL", "WIDTH", "ALIGN", "CENTER", "PAD", "CASE", "RAW", "UPPER", "LOWER", "SIGN", "LEFTPLUS", "LEFTSPACE", "RIGHTPLUS", "RIGHTSPACE", "EXPONENT", "DECIMALS", "ZERO", "YES", "XSD", "STYLE", "SIMPLE", "SIGN_AS_POSTFIX", "SCALE_PRESERVING", "SCIENTIFIC", "SCIENTIFIC_WITH_LEADING_ZERO", "SCALE_PRESERVING_SCIENTIFIC", "ENGINEERING", "EXTENDED_MONETARY", "MONETARY", "CURRENCY", "USER", "ENVIRONMENT", "ALPHA", "OUT", "ISO", "TIMESTAMP", "SPACE", "TIMEZONE", "COUNTRY", "ELSE", "SWITCH", "REDUCE", "INIT", "NEXT", "DIV", "MOD", "COMPONENTS", "BOOLX", "BOOL", "XOR", "RANGE", "ACCORDING", "NOTIFICATIONS", "ENTITIES", "UPDATE", "ALIASES", "SORTED", "ASSIGNING", "SYMBOL", "CASTING", "REFERENCE", "HANDLE", "%_TYPE", "UNASSIGN", "BUFFER", "LOCAL", "COPY", "%_L", "%_F", "MAIN", "COMPONENT", "INCREMENT", "ASSERT", "SUBKEY", "FIELDS", "CONDITION", "FIRST", "LAST", "SELECTION", "COMMAND", "PF1", "PF2", "PF3", "PF4", "PF5", "PF6", "PF7", "PF8", "PF9", "PF01", "PF02", "PF03", "PF04", "PF05", "PF06", "PF07", "PF08", "PF09", "PF10", "PF11", "PF12", "PF13", "PF14", "PF15", "PF16", "PF17", "PF18", "PF19", "PF20", "PF21", "PF22", "PF23", "PF24", "SCREEN", "REQUEST", "HELP", "RADIOBUTTON", "BLOCK", "OUTPUT", "DISABLE", "CONTEXT", "OBJECT", "DUMMY", "BACK", "POINT", "APPLICATION", "STATEMENT", "PARAMETER", "EXCEPTION", "FLUSH", "QUEUE", "ONLY", "QUEUEONLY", "%_SETPROP", "%_GETPROP", "CUSTOMER", "ERROR_MESSAGE", "PERFORMING", "TASK", "CALLING", "COMMUNICATION_FAILURE", "SYSTEM_FAILURE", "STARTING", "DESTINATION", "%_RFCOPT", "KEEPING", "LOGICAL", "UNIT", "WORK", "BACKGROUND", "SEPARATE", "%_RFC", "%_RECEIVE_KEEP_TASK", "%_RECEIVE", "REMOTE", "DATABASE", "PROCEDURE", "CONNECTION", "TRANSFORMATION", "XML", "PARAMETERS", "OBJECTS", "OPTIONS", "XML_HEADER", "DATA_REFS", "INITIAL_COMPONENTS", "TECHNICAL_TYPES", "VALUE_HANDLING", "TRANSACTION", "%_SHD1", "SKIP", "MESSAGES", "MODE", "DIALOG", "ENDING", "BEFORE", "UNWIND", "AFTER", "CLEAR", "CHARACTER", "NULL", "IMPLEMENTATION", "DEFINITION", "DEFERRED", "PUBLIC", "TESTING", "FRIENDS", "ABSTRACT", "INHERITING", "PROTECTED", "PRIVATE", "BEHAVIOR", "SHARED", "MEMORY", "ENABLED", "RISK", "LEVEL", "HARMLESS", "DANGEROUS", "CRITICAL", "DURATION", "SHORT", "MEDIUM", "LONG", "C", "N", "X", "P", "%_NON", "%_PREDEFINED", "%_PREDEFINED_DUMMY", "NON", "BOXED", "LOCATOR", "READER", "WRITER", "LOB", "OTHER", "CLOB", "BLOB", "COLUMNS", "LENGTH", "ACTION", "LINK", "LOCK", "FAILED", "EARLY", "LATE", "MAPPED", "REPORTED", "CHANGE", "FEATURES", "DETERMINATION", "VALIDATION", "AUTHORIZATION", "PERMISSIONS", "HIERARCHY", "EVENT", "RESPONSE", "HEADER", "POINTER", "HASHED", "UNIQUE", "ALIAS", "STANDARD", "EMPTY", "EVENTS", "METHODS", "FAIL", "IGNORE", "AMDP", "CDS", "SESSION", "ANY", "PREFERRED", "RETURNING", "RAISING", "DDL", "REQUIRED", "POOL", "CLEANUP", "CLOSE", "DATASET", "%_EXPECT", "CURSOR", "CONCATENATE", "SEPARATED", "RESPECTING", "BLANKS", "COLLECT", "SIMULATION", "RESPONSES", "RETURNCODE", "SEND", "RECEIVE", "DATAINFO", "STATUSINFO", "RECEIVED", "HOLD", "ALLOCATE", "DEALLOCATE", "ACCEPT", "COMPUTE", "CONDENSE", "GAPS", "CONSTANTS", "FURTHER", "SECONDARY", "KEYS", "CONTEXTS", "CONTINUE", "SEGMENT", "TABLEVIEW", "TABSTRIP", "INVERTED", "SORTABLE", "CODE", "STAMP", "ZONE", "DAYLIGHT", "SAVING", "UTCLONG", "FRACTIONAL", "SECONDS", "TEMPORARY", "AREA", "OCCURS", "VALID", "COMMON", "PART", "DEFINE", "HDB", "LANGUAGE", "SQLSCRIPT", "ADJACENT", "COMPARING", "REPORT", "STATE", "TEXTPOOL", "%_STRICT", "SPECIFIED", "CLIENTS", "T000", "INT1", "INT2", "INT4", "INT8", "NUMC", "DEC", "CURR", "QUAN", "FLTP", "DECFLOAT16", "DECFLOAT34", "DF16_DEC", "DF16_RAW", "DF34_DEC", "DF34_RAW", "D16D", "D34D", "D16R", "D34R", "D16N", "D34N", "CHAR", "CLNT", "CUKY", "LANG", "DATS", "DATN", "SSTRING", "TIMS", "TIMN", "INNER", "OUTER", "STRING", "RAWSTRING", "ESCAPE", "DISTINCT", "MIN", "MAX", "SUM", "MEDIAN", "STDDEV", "VAR", "AVG", "OVER", "PARTITION", "ORDER", "NULLS", "ROWS", "UNBOUNDED", "PRECEDING", "CURRENT", "ROW", "FOLLOWING", "ROW_NUMBER", "RANK", "DENSE_RANK", "STRING_AGG", "LEAD", "LAG", "FIRST_VALUE", "LAST_VALUE", "CORR", "CORR_SPEARMAN", "NTILE", "PRIVILEGED", "ACCESS", "CHILD", "PARENT", "ASSOCIATION", "PERIOD", "SIBLINGS", "DEPTH", "MULTIPLE", "PARENTS", "ALLOWED", "LEAVES", "ORPHANS", "ADOPT", "ROOT", "ERROR", "CYCLES", "BREAKUP", "BULK", "INCREMENTAL", "SPANTREE", "HIERARCHY_DESCENDANTS", "HIERARCHY_ANCESTORS", "HIERARCHY_SIBLINGS", "DISTANCE", "HIERARCHY_DESCENDANTS_AGGREGATE", "JOIN", "MEASURES", "PRODUCT", "SUBTOTAL", "BALANCE", "MATCHED", "TOTAL", "HIERARCHY_ANCESTORS_AGGREGATE", "%_NATIVE_TABLE", "ADABAS", "SYBASE", "DB2", "AS400", "DB6", "MSSQLNT", "ORACLE", "OTHERWISE", "ABS", "CEIL", "FLOOR", "COALESCE", "ROUND", "SUBSTRING", "LPAD", "LTRIM", "RTRIM", "CONCAT", "INSTR", "RPAD", "CONCAT_WITH_SPACE", "DIVISION", "DATS_IS_VALID", "DATS_ADD_DAYS", "DATS_DAYS_BETWEEN", "DATS_ADD_MONTHS", "BINTOHEX", "HEXTOBIN", "TIMS_IS_VALID", "TSTMP_IS_VALID", "GROUPING", "TSTMP_CURRENT_UTCTIMESTAMP", "UUID", "UTCL_CURRENT", "UTCL_SECONDS_BETWEEN", "UTCL_ADD_SECONDS", "DATN_ADD_DAYS", "DATN_DAYS_BETWEEN", "DATN_ADD_MONTHS", "AS_GEO_JSON", "ALLOW_PRECISION_LOSS", "TO_CLOB", "TO_BLOB", "EXTRACT_YEAR", "EXTRACT_MONTH", "EXTRACT_DAY", "EXTRACT_HOUR", "EXTRACT_MINUTE", "EXTRACT_SECOND", "INITCAP", "MONTHNAME", "DAYNAME", "WEEKDAY", "ADD_MONTHS", "DAYS_BETWEEN", "ADD_DAYS", "IS_VALID", "LOCATE", "ABAP_SYSTEM_TIMEZONE", "ON_ERROR", "ABAP_USER_TIMEZONE", "DATS_TIMS_TO_TSTMP", "TZONE", "TSTMP_ADD_SECONDS", "TSTMP", "TSTMP_SECONDS_BETWEEN", "TSTMP1", "TSTMP2", "TSTMP_TO_DATS", "TSTMP_TO_DST", "TSTMP_TO_TIMS", "%_NATIVE_FN", "TSTMPL_TO_UTCL", "TSTMPL", "ON_INITIAL", "TSTMPL_FROM_UTCL", "UTCL", "ON_NULL", "DATS_TO_DATN", "DATS_FROM_DATN", "TIMS_TO_TIMN", "TIMS_FROM_TIMN", "REPLACE_REGEXPR", "PCRE", "OCCURRENCE", "CASE_SENSITIVE", "LIKE_REGEXPR", "CURRENCY_CONVERSION", "AMOUNT", "SOURCE_CURRENCY", "TARGET_CURRENCY", "EXCHANGE_RATE_DATE", "EXCHANGE_RATE_TYPE", "DECIMAL_SHIFT", "DECIMAL_SHIFT_BACK", "OCCURRENCES_REGEXPR", "UNIT_CONVERSION", "QUANTITY", "SOURCE_UNIT", "TARGET_UNIT", "SUBSTRING_REGEXPR", "LOCATE_REGEXPR", "LOCATE_REGEXPR_AFTER", "CURR_TO_DECFLOAT_AMOUNT", "D16S", "D34S", "%_NATIVE_PRED", "MANY", "ONE", "CROSS", "SETS", "HAVING", "SOME", "EXISTS", "PRIMARY", "UP", "OFFSET", "%_HINTS", "INFORMIX", "%_NATIVE_END", "UNION", "INTERSECT", "INDICATORS", "BITFIELD", "VERSION", "DYNPRO", "DEMAND", "EDIT", "MASK", "KIND", "PAGES", "PAGE", "TITLE", "HEAD", "DETAIL", "DO", "TIMES", "VARYING", "DISPLAY", "BACKUP", "ELSEIF", "ENDAT", "ENDCASE", "ENDCATCH", "ENDCLASS", "ENDDO", "ENDEXEC", "ENDFORM", "%%INT", "%_INTERNAL", "ENDFUNCTION", "ENDIF", "ENDINTERFACE", "ENDLOOP", "ENDMETHOD", "ENDMODULE", "EDITING", "%%LAST", "TIME%%", "%%SECOND", "ENDON", "ENDPROVIDE", "ENDREP", "RESULTS", "ENDSELECT", "ENDWITH", "TEST", "INJECTION", "SEAM", "ENDTRY", "ENDWHILE", "ENDENHANCEMENT", "SPOTS", "STATIC", "SECTION", "SQL", "NAMETAB", "COMPRESSION", "OFF", "HINT", "INTERNAL", "EXEC", "EXTRACT", "FETCH", "EXTENDED", "PACKAGE", "SYMBOLS", "%DUMMY%", "%_FUNCPARM", "%%FUNCPARM", "FIND", "OCCURRENCES", "REGEX", "PATTERN", "SUBMATCHES", "FORM", "%_UPD", "FORMAT", "RESET", "INPUT", "INTENSIFIED", "INVERSE", "HOTSPOT", "COLOR", "COL_BACKGROUND", "COL_HEADING", "COL_NORMAL", "COL_TOTAL", "COL_KEY", "COL_POSITIVE", "COL_NEGATIVE", "COL_GROUP", "FRAMES", "$$UNIT$$", "$$GLOBAL", "HEADING", "DEFINING", "REDUCED", "FUNCTIONALITY", "RUN", "PROPERTY", "PF", "STATUS", "PROGRAM", "EXCLUDING", "LOCALE", "MODIFIER", "POSITION", "ATTRIBUTES", "FILTERS", "OPERATIONS", "WORD", "TRACE", "FILE", "%_AMDP", "AMDPDB", "RECOMPUTE", "STATEMENTS", "DIRECTORY", "ENTRY", "%_CHECK_SELSCREEN", "PRECOMPILED", "HEADERS", "SUBROUTINE", "NAME", "%_LOADSIZE", "HIDE", "IF", "VALUES", "DUPLICATE", "UNICODE", "ENABLING", "FIXED", "ARITHMETIC", "EXTENSION", "APPENDAGE", "MAXIMUM", "PADDING", "TRUNCATION", "BOUNDARIES", "CONVERSION", "ERRORS", "HEX", "ENDIAN", "MAJOR", "MINOR", "LOGFILE", "FOUND", "RENAMING", "SUFFIX", "INFOTYPES", "PERSON", "INITIALIZATION", "SUPPORTING", "INVOCATION", "INTERFACES", "PARTIALLY", "IMPLEMENTED", "PROCESSING", "RETURN", "%_INDEX_ONLY", "TRANSPORTING", "%_SCONT_%", "LOG", "MARK", "KERNEL", "%_METHOD_BODY", "RMC", "STUB", "GRAPH", "LLANG", "WORKSPACE", "%_OBJECT", "SUPPRESS", "DETERMINISTIC", "SCHEMA", "REDEFINITION", "FULL", "PRECHECK", "NUMBERING", "VALIDATE", "SAVE", "DETERMINE", "MINIMUM", "TRDIR", "AUTO", "FILL", "CID", "EXECUTE", "AUGMENTING", "RELATING", "?TO", "PERCENTAGE", "EXPANDING", "NESTED", "TARGET", "SCROLLING", "TOPOFPAGE", "COPIES", "SAP", "IMMEDIATELY", "RECEIVER", "IDENTIFICATION", "KEEP", "SPOOL", "EXPIRATION", "LAYOUT", "DEPARTMENT", "NODES", "ASSOCIATIONS", "REDIRECTED", "BYPASSING", "ENTRIES", "BINARY", "LEGACY", "BIG", "LITTLE", "SMART", "NATIVE", "UNIX", "WINDOWS", "LINEFEED", "ENCODING", "UTF", "SKIPPING", "OVERLAY", "PACK", "MATCHCODE", "MODIF", "OBLIGATORY", "CHECKBOX", "SEARCH", "VISIBLE", "LISTBOX", "NODE", "CPI", "LPI", "MARGIN", "FONT", "BLACK", "RED", "YELLOW", "GREEN", "BLUE", "PINK", "BOUNDS", "INCLUDING", "PUT", "RAISE", "RMC_INVALID_STATUS", "RMC_SYSTEM_FAILURE", "RMC_COMMUNICATION_FAILURE", "RANGES", "OCCURENCE", "OCCURENCES", "VERBATIM", "%_WITH", "ACTUAL", "FKEQ", "FKGE", "GKEQ", "GKGE", "REJECT", "REP", "REPEATING", "KERNELINFO", "RESERVE", "RESUME", "RETRY", "%_IMMEDIATELY", "SCAN", "ABAP", "TOKENS", "STRUCTURES", "ENHANCEMENTS", "KEYWORDS", "LEVELS", "OVERFLOW", "FRAME", "ANALYSIS", "COMMENTS", "INCLUDES", "EXPLICIT", "IMPLICIT", "INACTIVE", "IMPLEMENTATIONS", "TOKENIZATION", "POOLS", "PRAGMAS", "DECLARATIONS", "BLOCKS", "TRMAC", "REPLACING", "PRESERVING", "IDENTIFIER", "ESCAPING", "SCROLL", "COLUMN", "PLACES", "FORWARD", "BACKWARD", "ABBREVIATED", "SINGLE", "CREATING", "NOWAIT", "INTERVALS", "NESTING", "SUBSCREEN", "WINDOW", "EXCLUDE", "IDS", "ULINE", "POS_LOW", "POS_HIGH", "COMMENT", "DYNAMIC", "SELECTIONS", "TABBED", "PUSHBUTTON", "TAB", "OPTION", "BT", "NB", "E", "LOW", "HIGH", "TITLEBAR", "BLANK", "BOUNDARY", "ANALYZER", "CLOCK", "RESOLUTION", "HANDLER", "INSTANCES", "ACTIVATION", "%_INTFDESC", "LOCKS", "NAMES", "FLAGS", "SHIFT", "CIRCULAR", "DELETING", "LEADING", "TRAILING", "%_SORTMODE", "STABLE", "SPLIT", "STOP", "SUMMARY", "SUMMING", "SUBMIT", "JOB", "%_INTERNAL_%_SUBMODE_%", "INCL", "SUPPLY", "RELEASE", "SWITCHSTATES", "DCL_CTE_CHECK", "CODING", "EXPAND", "SYNCPOINTS", "DID", "SOLID", "PREPARE", "%_PREPARE", "COMPARE", "VERIFY", "HASHVAL", "PREVIOUS", "PROCESS", "WEBRFC", "GPA", "SSCR_HELP_INDEX", "SUBMODE", "RABAX", "ITAB_DELETE_LIST", "ITAB_INFO", "OPCODE", "PROTOCOL", "CLUSTER", "SNAP", "DESCRIPTION", "LISTLEVEL", "STACK", "MC_OBJECT", "KERNEL_INFO", "SET_KERNEL_INFO", "EXTENSIONS", "RFC_VALUE", "RFC_TABLE", "RFC_END", "SAMPLING", "SEQUENCE", "ADMINISTRATION", "NAVIGATION", "APPLIES", "ELEMENTARY", "OBJMGR", "TRACELEVEL", "NODELETE", "MS", "TRIGGERLEVEL", "GC", "STEPTIME", "OVERALLOCATION", "FRACTION", "GARBAGE", "COLLECTION", "CLONE", "EQUAL", "CDESTR", "NUM_HANDLERS", "INST", "STATE_LIMIT", "OTR", "GET_TEXT_BY_ALIAS", "NR", "GET_TEXT_BY_GUID", "GET_STRING_BY_ALIAS", "GET_STRING_BY_GUID", "NONEX", "CLAS", "ATTR", "WRAP", "SRCENC", "DSTENC", "IGNORE_CERR", "LEN", "POS", "CINFO", "AUX", "STORAGE", "COSTS", "SHARING", "REFERENCES", "WARNMSG_GET", "LITERAL_GET", "IS_OFFSET", "LITERAL_VALUE", "LITERAL_LEN", "RC", "DESTRUCTOR", "DBLOCK", "OS_PRIVATE_ATTRIBUTES", "INVALIDATE", "PLUGIN", "NONBLOCKING", "JAVA", "SCRIPT", "CONSTRUCTOR", "EVALUATE", "COMPILE", "DESTROY", "BIND", "BREAKPOINT", "BREAKPOINTS", "HTTP", "OMRT", "FREEZE", "THAW", "PROPERTIES", "SCOPE", "THIS", "EVAL", "UNSET", "DEBUGGER", "PATH", "SUSPEND", "SY", "%%INTERNAL%%", "DURING", "TRANSLATE", "TRUNCATE", "TRANSFER", "TRY", "%_NONE", "%_FINAL", "%_CHAR", "%_FLAT", "%_ANY", "MESH", "ENUM", "GAP", "UNPACK", "VERIFICATION", "RESPONSIBLE", "MAIL", "PRIORITY", "VERI", "%_EVENTS_ALL", "%_EVENTS", "MESSAGING", "CHANNELS", "ASYNCHRONOUS", "TASKS", "VARY", "WRITE", "DD/MM/YY", "DD/MM/YYYY", "MM/DD/YY", "MM/DD/YYYY", "DDMMYY", "MMDDYY", "YYMMDD", "JUSTIFIED", "CENTERED", "ICON", "UNDER", "QUICKINFO", "RSYN", "ENDCHAIN", "%_PADVERSION", "VERSION_201401127", "$Revision$", "%_PADVERSIONING", "VER_710_730", "VER_740", "%%unsupported" };
-	}
-
    // Keyword collocations (created for version 7.56, possibly incomplete) are used for Token.collocationContinues, mainly for the CodeMetrics class
 	private static String[] getKeywordCollocationsInCommands() {
 	   return new String[] {"AT LINE-SELECTION", "AT PF", "AT SELECTION-SCREEN", "AT USER-COMMAND", "CALL BADI", "CALL CUSTOMER-FUNCTION", "CALL DATABASE PROCEDURE", "CALL DIALOG", "CALL FUNCTION", "CALL METHOD", "CALL SCREEN", "CALL SELECTION-SCREEN", "CALL TRANSACTION", "CALL TRANSFORMATION", "CASE TYPE OF", "CATCH SYSTEM-EXCEPTIONS", "CLOSE CURSOR", "CLOSE DATASET", "COMMIT CONNECTION", "CONVERT DATE", "CONVERT TEXT", "CONVERT TIME STAMP", "CONVERT UTCLONG", "CREATE DATA", "CREATE OBJECT", "CREATE OBJECT", "DATA BEGIN OF", "DELETE DATASET", "DELETE FROM", "DELETE itab", "DESCRIBE DISTANCE", "DESCRIBE FIELD", "DESCRIBE LIST", "DESCRIBE TABLE", "EXEC SQL", "EXIT FROM SQL", "EXIT FROM STEP-LOOP", "FREE MEMORY", "FREE OBJECT", "GENERATE SUBROUTINE POOL", "GET BADI", "GET BIT", "GET CURSOR", "GET DATASET", "GET LOCALE", "GET PARAMETER", "GET PF-STATUS", "GET PROPERTY", "GET REFERENCE", "GET RUN TIME", "GET TIME", "GET TIME STAMP", "IMPORT DIRECTORY", "INSERT REPORT", "INSERT TEXTPOOL", "LEAVE LIST-PROCESSING", "LEAVE PROGRAM", "LEAVE SCREEN", "LEAVE TO LIST-PROCESSING", "LEAVE TO TRANSACTION", "LOOP AT", "LOOP AT GROUP", "LOOP AT SCREEN", "MODIFY LINE", "MODIFY SCREEN", "MOVE PERCENTAGE", "ON CHANGE OF", "OPEN CURSOR", "OPEN DATASET", "RAISE EVENT", "RAISE EXCEPTION", "RAISE SHORTDUMP", "READ DATASET", "READ LINE", "READ REPORT", "READ TABLE", "READ TEXTPOOL", "REFRESH CONTROL", "ROLLBACK CONNECTION", "SELECTION-SCREEN DYNAMIC SELECTIONS", "SELECTION-SCREEN EXCLUDE", "SELECTION-SCREEN FIELD SELECTION", "SELECTION-SCREEN INCLUDE", "SELECTION-SCREEN TAB", "SET ASSOCIATION", "SET BIT", "SET BLANK LINES", "SET COUNTRY", "SET CURSOR", "SET DATASET", "SET EXTENDED CHECK", "SET HANDLER", "SET HOLD DATA", "SET LANGUAGE", "SET LEFT SCROLL-BOUNDARY", "SET LOCALE", "SET MARGIN", "SET PARAMETER", "SET PF-STATUS", "SET PROPERTY", "SET RUN TIME ANALYZER", "SET RUN TIME CLOCK", "SET SCREEN", "SET TITLEBAR", "SET UPDATE TASK", "SET USER-COMMAND", "SUPPRESS DIALOG", "TRUNCATE DATASET", "TYPES BEGIN OF", "TYPES BEGIN OF ENUM", "TYPES BEGIN OF MESH", "WRITE TO"};
@@ -168,88 +170,125 @@ public final class ABAP {
 		return AbapCult.toUpper(abapKeyword);
 	}
 
-	private static HashSet<String> initializeAbapLowerCaseKeywords(String[] keywords) {
-		HashSet<String> result = new HashSet<String>();
+	private static void addKeyword(KeywordTable<String> keywordTable, String keyword) {
+		String key = getAbapKeywordKey(keyword);
+		keywordTable.put(key, key);
+	}
+
+	private static KeywordTable<String> initializeKeywordTable(String[] keywords) {
+		KeywordTable<String> result = KeywordTable.create();
 		for (String keyword : keywords)
-			result.add(getAbapKeywordKey(keyword));
+			addKeyword(result, keyword);
 		return result;
 	}
 
-	private static HashSet<String> initializeAbapKeywords() {
-		HashSet<String> result = new HashSet<String>();
+	/**
+	 * Replaces the ABAP keywords, which were generated from the resource 'grammar.txt' at build time, 
+	 * with the keywords of the supplied ABAP grammar file (.pad file). This is only needed if the supplied grammar 
+	 * is newer than the resource; otherwise, the generated keywords are used.
+	 * 
+	 * @param padFileContent - the content of the .pad file, which is not closed by this method
+	 * @return true if keywords were found in the supplied grammar file, replacing the previous keywords
+	 * @throws IOException
+	 */
+	public static boolean loadKeywordsFromPadFile(InputStream padFileContent) throws IOException {
+		ArrayList<String> keywords = readKeywordsFromPadFile(padFileContent);
+		if (keywords.isEmpty())
+			return false;
+		String[] newKeywords = keywords.toArray(new String[0]);
+		abapKeywords = initializeKeywordTable(newKeywords);
+		abapKeywordChecksum = calculateKeywordChecksum(newKeywords);
+		return true;
+	}
 
-		try {
-			// open resource of latest ABAP grammar file (.pad file)
-			PadResourceResolver padResourceResolver = new PadResourceResolver(); 
-			InputStream padFileContent = padResourceResolver.getPadFileContent();
-			if (padFileContent == null)
-				throw new IOException();
-			
-			// cp. com.sap.rnd.rndrt.internal.ByteCode.read(...)
-			BufferedReader grammarReader = new BufferedReader(new InputStreamReader(padFileContent));
-			String line = "";
-			int tokenNumOfIdToken = -1;
-			int realTokenCount = -1;
-			while (line != null) {
-				line = grammarReader.readLine();
-				if (line == null || line.length() == 0) 
-					break;
-				
-				// determine the relevant token range from the header line that starts with "Token<TAB>", e.g. the header reads:
-				// Release<TAB>700
-				// Patchlevel<TAB>19
-				// MaxSuspiciousMachtes<TAB>3
-				// Token<TAB>111<TAB>1367<TAB>2920
-				String[] cells = StringUtil.split(line, '\t', false);
-				if (tokenNumOfIdToken < 0) {
-					if (cells != null && cells.length > 2 && cells[0].equals("Token")) { 
-						tokenNumOfIdToken = Integer.valueOf(cells[1]); // e.g.  111 - token number of the "#ID#" token, i.e. the last "#...#" token
-						realTokenCount = Integer.valueOf(cells[2]);    // e.g. 1367 - later entries contain AST names and categories 
-					}
-					continue;
-				} 
-				
-				// expected format of relevant lines is <integer>:<TAB>"<token>", e.g. the section after the header (which ends with an empty line) reads:
-				// 0:<TAB>"#ANYKW#"
-				// ...
-				// 111:<TAB>"#ID#"
-				// 112:<TAB>"BEGIN"
-				// ...
-				// 1366:<TAB>"%%unsupported"
-				// 1367:<TAB>"^.[1545,7]"      [number of lines following with AST names, AST categories]
-				// ...
-				// 2919:<TAB>"^::s,77,78,79"
-				//                             [empty line]
-				if (cells == null || cells.length < 2 || cells[0].length() < 2 || cells[1].length() < 3) 
-					continue;
-				String tokenNumStr = cells[0];
-				String tokenString = cells[1];
-				if (!tokenNumStr.endsWith(":") || !tokenString.startsWith("\"") || !tokenString.endsWith("\"")) 
-					continue;
-
-				// determine token ID; skip irrelevant tokens, and stop after all 'real tokens' were read
-				int tokenNum = Integer.valueOf(tokenNumStr.substring(0, tokenNumStr.length() - 1));
-				if (tokenNum <= tokenNumOfIdToken) 
-					continue;
-				if (tokenNum >= realTokenCount)
-					break;
+	/** returns a checksum of the current ABAP keywords, which only changes if {@link #loadKeywordsFromPadFile(InputStream)} 
+	 * replaces them with a different set of keywords */
+	public static long getAbapKeywordChecksum() {
+		return abapKeywordChecksum;
+	}
 
-				String keyword = tokenString.substring(1, tokenString.length() - 1);
+	/** calculates a checksum of the supplied keywords, which does not depend on their order or casing */
+	static long calculateKeywordChecksum(String[] keywords) {
+		String[] keys = new String[keywords.length];
+		for (int i = 0; i < keywords.length; ++i)
+			keys[i] = getAbapKeywordKey(keywords[i]);
+		Arrays.sort(keys);
 
-				if (addAsAbapKeyword(keyword))
-					result.add(getAbapKeywordKey(keyword));
-			} 
-			grammarReader.close();
-			
-		} catch (IOException e) {
-			// use provided fallback keywords (taken from .pad file of ABAP version 7.57)
-			String[] fallbackKeywords = getFallbackKeywords();
-			for (String keyword : fallbackKeywords) {
-				if (addAsAbapKeyword(keyword))
-					result.add(getAbapKeywordKey(keyword));
-			}
+		CRC32 crc = new CRC32();
+		for (String key : keys) {
+			crc.update(key.getBytes(StandardCharsets.UTF_8));
+			crc.update('\n');
 		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Reads the ABAP keywords from the supplied ABAP grammar file (.pad file), excluding keywords that are written 
+	 * in lower case or that contain special characters. This is also used to generate {@link AbapGrammarKeywords}.
+	 * 
+	 * @param padFileContent - the content of the .pad file, which is not closed by this method
+	 * @return the upper case keywords in the order of their token numbers
+	 * @throws IOException
+	 */
+	static ArrayList<String> readKeywordsFromPadFile(InputStream padFileContent) throws IOException {
+		ArrayList<String> result = new ArrayList<>();
+		if (padFileContent == null)
+			return result;
 		
+		// cp. com.sap.rnd.rndrt.internal.ByteCode.read(...)
+		BufferedReader grammarReader = new BufferedReader(new InputStreamReader(padFileContent));
+		String line = "";
+		int tokenNumOfIdToken = -1;
+		int realTokenCount = -1;
+		while (line != null) {
+			line = grammarReader.readLine();
+			if (line == null || line.length() == 0) 
+				break;
+			
+			// determine the relevant token range from the header line that starts with "Token<TAB>", e.g. the header reads:
+			// Release<TAB>700
+			// Patchlevel<TAB>19
+			// MaxSuspiciousMachtes<TAB>3
+			// Token<TAB>111<TAB>1367<TAB>2920
+			String[] cells = StringUtil.split(line, '\t', false);
+			if (tokenNumOfIdToken < 0) {
+				if (cells != null && cells.length > 2 && cells[0].equals("Token")) { 
+					tokenNumOfIdToken = Integer.valueOf(cells[1]); // e.g.  111 - token number of the "#ID#" token, i.e. the last "#...#" token
+					realTokenCount = Integer.valueOf(cells[2]);    // e.g. 1367 - later entries contain AST names and categories 
+				}
+				continue;
+			} 
+			
+			// expected format of relevant lines is <integer>:<TAB>"<token>", e.g. the section after the header (which ends with an empty line) reads:
+			// 0:<TAB>"#ANYKW#"
+			// ...
+			// 111:<TAB>"#ID#"
+			// 112:<TAB>"BEGIN"
+			// ...
+			// 1366:<TAB>"%%unsupported"
+			// 1367:<TAB>"^.[1545,7]"      [number of lines following with AST names, AST categories]
+			// ...
+			// 2919:<TAB>"^::s,77,78,79"
+			//                             [empty line]
+			if (cells == null || cells.length < 2 || cells[0].length() < 2 || cells[1].length() < 3) 
+				continue;
+			String tokenNumStr = cells[0];
+			String tokenString = cells[1];
+			if (!tokenNumStr.endsWith(":") || !tokenString.startsWith("\"") || !tokenString.endsWith("\"")) 
+				continue;
+
+			// determine token ID; skip irrelevant tokens, and stop after all 'real tokens' were read
+			int tokenNum = Integer.valueOf(tokenNumStr.substring(0, tokenNumStr.length() - 1));
+			if (tokenNum <= tokenNumOfIdToken) 
+				continue;
+			if (tokenNum >= realTokenCount)
+				break;
+
+			String keyword = tokenString.substring(1, tokenString.length() - 1);
+
+			if (addAsAbapKeyword(keyword))
+				result.add(getAbapKeywordKey(keyword));
+		} 
 		return result;
 	}
 
@@ -261,7 +300,7 @@ public final class ABAP {
 			return false;
 
 		// exclude keywords that are supposed to be written in lower(!) letters and are therefore not included
-		if (abapLowerCaseKeywords.contains(getAbapKeywordKey(keyword)))
+		if (abapLowerCaseKeywords.contains(keyword))
 			return false;
 		
 		return true;
@@ -274,29 +313,28 @@ public final class ABAP {
 	   abapKeywordCollocationStarts = initializeAbapKeywordCollocationStarts(keywordCollocationsInCommands, keywordCollocationsInAdditions);
 	}
 
-	private static HashSet<String> initializeAbapKeywordCollocations(String[] inCommands, String[] inAdditions) {
-		HashSet<String> result = new HashSet<String>();
-		addToHashSet(inCommands, result);
-		addToHashSet(inAdditions, result);
+	private static KeywordTable<String> initializeAbapKeywordCollocations(String[] inCommands, String[] inAdditions) {
+		KeywordTable<String> result = KeywordTable.create();
+		addToKeywordTable(inCommands, result);
+		addToKeywordTable(inAdditions, result);
 		return result;
 	}
 
-	private static void addToHashSet(String[] keywords, HashSet<String> hashSet) {
+	private static void addToKeywordTable(String[] keywords, KeywordTable<String> keywordTable) {
 		for (String keyword : keywords) {
-			String key = getAbapKeywordKey(keyword);
-			if (!hashSet.contains(key))
-				hashSet.add(getAbapKeywordKey(key));
+			if (!keywordTable.contains(keyword))
+				addKeyword(keywordTable, keyword);
 		}
 	}
 
-	private static HashSet<String> initializeAbapKeywordCollocationStarts(String[] inCommands, String[] inAdditions) {
-		HashSet<String> result = new HashSet<String>();
-		addToHashSetOfStarts(inCommands, result);
-		addToHashSetOfStarts(inAdditions, result);
+	private static KeywordTable<String> initializeAbapKeywordCollocationStarts(String[] inCommands, String[] inAdditions) {
+		KeywordTable<String> result = KeywordTable.create();
+		addToKeywordTableOfStarts(inCommands, result);
+		addToKeywordTableOfStarts(inAdditions, result);
 		return result;
 	}
 
-	private static void addToHashSetOfStarts(String[] keywords, HashSet<String> hashSet) {
+	private static void addToKeywordTableOfStarts(String[] keywords, KeywordTable<String> keywordTable) {
 		for (String keyword : keywords) {
 			String key = getAbapKeywordKey(keyword);
 			do {
@@ -304,53 +342,67 @@ public final class ABAP {
 				if (spacePos <= 0)
 					break;
 				key = key.substring(0, spacePos);
-				if (!hashSet.contains(key))
-					hashSet.add(getAbapKeywordKey(key));
+				if (!keywordTable.contains(key))
+					addKeyword(keywordTable, key);
 			} while (true);
 		}
 	}
 
+	private static boolean isKeywordSeparator(char c) {
+		return (c == '-' || c == ':' || c == '(');
+	}
+
 	public static boolean isAbapUpperCaseKeyword(String text) {
 		if (StringUtil.isNullOrEmpty(text))
 			return false;
 
-		// split into components - e.g. "TYPES:", "DATA(", "FIELD-SYMBOL(", including the approx. 120 keywords with hyphens 
-		// like "MOVE-CORRESPONDING", "FIELD-SYMBOLS", "CLASS-DATA", etc.
-		String[] textBits = StringUtil.split(text, new char[] { '-', ':', '(' }, true);
-		if (textBits == null || textBits.length == 0)
-			return false;
-		for (String textBit : textBits) {
-			if (!abapKeywords.contains(getAbapKeywordKey(textBit)))
-				return false;
+		// check the components - e.g. "TYPES:", "DATA(", "FIELD-SYMBOL(", including the approx. 120 keywords with hyphens 
+		// like "MOVE-CORRESPONDING", "FIELD-SYMBOLS", "CLASS-DATA", etc. - without splitting the text
+		boolean foundComponent = false;
+		int start = 0;
+		int length = text.length();
+		for (int end = 0; end <= length; ++end) {
+			if (end < length && !isKeywordSeparator(text.charAt(end)))
+				continue;
+			if (end > start) {
+				if (!abapKeywords.contains(text, start, end))
+					return false;
+				foundComponent = true;
+			}
+			start = end + 1;
 		}
-		return true;
+		return foundComponent;
 	}
 
 	public static boolean isAbapLowerCaseKeyword(String text) {
 		if (StringUtil.isNullOrEmpty(text))
 			return false;
 
-		// split into components, e.g. "sy-subrc":
-		String[] textBits = StringUtil.split(text, new char[] { '-', ':', '(' }, true);
-		for (String textBit : textBits) {
-			if (!abapLowerCaseKeywords.contains(getAbapKeywordKey(textBit)))
+		// check the components, e.g. "sy-subrc", without splitting the text
+		int start = 0;
+		int length = text.length();
+		for (int end = 0; end <= length; ++end) {
+			if (end < length && !isKeywordSeparator(text.charAt(end)))
+				continue;
+			if (end > start && !abapLowerCaseKeywords.contains(text, start, end))
 				return false;
+			start = end + 1;
 		}
 		return true;
 	}
 
-	public static boolean isAbapKeywordCollocation(String text) {
+	public static boolean isAbapKeywordCollocation(CharSequence text) {
 		// lazy instantiation, including for the sake of test suite execution time
 		if (abapKeywordCollocations == null)
 			initializeKeywordCollocations();
-		return !StringUtil.isNullOrEmpty(text) && abapKeywordCollocations.contains(getAbapKeywordKey(text));
+		return text != null && text.length() > 0 && abapKeywordCollocations.contains(text);
 	}
 
-	public static boolean isAbapKeywordCollocationStart(String text) {
+	public static boolean isAbapKeywordCollocationStart(CharSequence text) {
 		// lazy instantiation, including for the sake of test suite execution time
 		if (abapKeywordCollocationStarts == null)
 			initializeKeywordCollocations();
-		return !StringUtil.isNullOrEmpty(text) && abapKeywordCollocationStarts.contains(getAbapKeywordKey(text));
+		return text != null && text.length() > 0 && abapKeywordCollocationStarts.contains(text);
 	}
 
 	public static boolean isCharAllowedForVariableNames(char c) {
@@ -773,13 +825,19 @@ public final class ABAP {
 			return null;
 		if (start >= line.length())
 			return null;
+		return line.substring(start, getEndOfVariableName(line, start, allowFieldSymbols));
+	}
+
+	/** returns the end of the variable name that starts at the supplied position, i.e. the position behind its last character; 
+	 * in contrast to {@link #readTillEndOfVariableName(String, int, boolean)}, no substring is created */
+	public static int getEndOfVariableName(CharSequence line, int start, boolean allowFieldSymbols) {
 		boolean isFirstChar = true;
 		int end = start;
 		while (end < line.length() && isCharAllowedForVariableNames(line.charAt(end), isFirstChar, allowFieldSymbols)) {
 			isFirstChar = false;
 			++end;
 		}
-		return line.substring(start, end);
+		return end;
 	}
 
 	public static String readTillEndOfTypeName(String line, int start) {
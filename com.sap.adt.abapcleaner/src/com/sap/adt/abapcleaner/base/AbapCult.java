@@ -36,7 +36,7 @@ public final class AbapCult {
 
 	public static boolean stringStartsWith(String text, String substring, boolean ignoreCase) {
 		if (ignoreCase)
-			return (substring.length() <= text.length() && text.substring(0, substring.length()).equalsIgnoreCase(substring));
+			return StringUtil.regionMatchesIgnoringCase(text, 0, substring, 0, substring.length());
 		else
 			return text.startsWith(substring);
 	}
@@ -57,21 +57,21 @@ public final class AbapCult {
 
 	public static boolean stringEndsWith(String text, String substring, boolean ignoreCase) {
 		if (ignoreCase)
-			return (substring.length() <= text.length() && text.substring(text.length() - substring.length()).equalsIgnoreCase(substring));
+			return StringUtil.regionMatchesIgnoringCase(text, text.length() - substring.length(), substring, 0, substring.length());
 		else
 			return text.endsWith(substring);
 	}
 
 	public static int indexOf(String text, String substring, int startIndex, boolean ignoreCase) {
 		if (ignoreCase)
-			return text.toUpperCase().indexOf(substring.toUpperCase(), startIndex);
+			return StringUtil.indexOfIgnoringCase(text, substring, startIndex);
 		else
 			return text.indexOf(substring, startIndex);
 	}
 
 	public static int lastIndexOf(String text, String substring, int startIndex, boolean ignoreCase) {
 		if (ignoreCase)
-			return text.toUpperCase().lastIndexOf(substring.toUpperCase(), startIndex);
+			return StringUtil.lastIndexOfIgnoringCase(text, substring, startIndex);
 		else
 			return text.lastIndexOf(substring, startIndex);
 	}
@@ -79,7 +79,10 @@ public final class AbapCult {
 	public static boolean stringContainsAt(String text, int start, String textBit, boolean ignoreCase) {
 		if (text == null || textBit == null)
 			return false;
-		return (start + textBit.length() <= text.length()) && stringEquals(text.substring(start, start + textBit.length()), textBit, ignoreCase);
+		if (ignoreCase)
+			return StringUtil.regionMatchesIgnoringCase(text, start, textBit, 0, textBit.length());
+		else
+			return text.startsWith(textBit, start);
 	}
 
 	public static String toLower(String value) {
@@ -0,0 +1,84 @@
+package com.sap.adt.abapcleaner.base;
+
+/**
+ * <p>The ABAP keywords from the ABAP grammar file 'resources\grammar.txt' in the order of their token numbers, 
+ * excluding keywords that are written in lower case or that contain special characters.</p>
+ * 
+ * <p>This class is generated by AbapGrammarKeywordsGenerator (in the test project) and must not be changed manually. 
+ * It spares parsing the grammar file on every start; to use a newer grammar at runtime, 
+ * see {@link ABAP#loadKeywordsFromPadFile(java.io.InputStream)}.</p>
+ */
+final class AbapGrammarKeywords {
+	static final String[] KEYWORDS = new String[] {
+		"BEGIN", "END", "TEXT", "TO", "GIVING", "APPEND", "ASSIGN", "TYPE", "INITIAL", "AT", "ON", "AUTHORITY", "BREAK", "BADI", "FUNCTION", "EXCEPTIONS",
+		"EXPORTING", "SOURCE", "RESULT", "CATCH", "CHECK", "CLASS", "WITH", "COMMIT", "COMMUNICATION", "BIT", "LIKE", "VALUE", "CONTROLS", "CONVERT", "DATE", "TIME",
+		"CREATE", "DATA", "KEY", "DELETE", "FROM", "DESCRIBE", "INDEX", "LINE", "IN", "EDITOR", "ENHANCEMENT", "EXIT", "EXPORT", "STRUCTURE", "MATCH", "FREE",
+		"GENERATE", "MESSAGE", "GET", "GLOBAL", "INSTANCE", "IMPORT", "ACCEPTING", "IGNORING", "CLIENT", "ID", "INCLUDE", "INSERT", "INTERFACE", "ALL", "LEAVE",
+		"LOOP", "FOR", "MODIFY", "OF", "FIELD", "NO", "PRINT", "LIST", "NEW", "OPEN", "COUNT", "TABLE", "AS", "PERFORM", "PROVIDE", "SYSTEM", "READ", "REFRESH",
+		"REPLACE", "REPLACEMENT", "ROLLBACK", "SET", "LEFT", "RIGHT", "SORT", "NOT", "BETWEEN", "IS", "CAST", "MAPPING", "EXCEPT", "STATICS", "ARCHIVE", "COVER",
+		"USING", "VIA", "SYNTAX", "LOAD", "POP", "PUSH", "QUERY", "RENAME", "MOVE", "TABLES", "TOP", "TYPES", "WAIT", "CHAIN", "ADD", "CALL", "DIVIDE", "MODULE",
+		"MULTIPLY", "SELECT", "START", "SUBTRACT", "METHOD", "FINAL", "IMPORTING", "LET", "BASE", "GROUPS", "STEP", "INTO", "GROUP", "WHERE", "EQ", "NE", "LT", "LE",
+		"GT", "GE", "BYTE", "CA", "CO", "CS", "NA", "CN", "NS", "M", "O", "Z", "CP", "NP", "AND", "BOUND", "OR", "EQUIV", "BY", "SIZE", "ASCENDING", "DESCENDING",
+		"WITHOUT", "MEMBERS", "THEN", "WHILE", "SUPPLIED", "ASSIGNED", "REQUESTED", "DISABLED", "UNTIL", "LINES", "RECEIVING", "OTHERS", "OPTIONAL", "DEFAULT",
+		"CONV", "REF", "EXACT", "CORRESPONDING", "DEEP", "APPENDING", "DISCARDING", "DUPLICATES", "CHANGING", "CONTROL", "ENTITY", "FILTER", "COND", "WHEN", "THROW",
+		"RESUMABLE", "SHORTDUMP", "NUMBER", "BOOLC", "WIDTH", "ALIGN", "CENTER", "PAD", "CASE", "RAW", "UPPER", "LOWER", "LEFTPLUS", "LEFTSPACE", "RIGHTPLUS",
+		"RIGHTSPACE", "EXPONENT", "DECIMALS", "ZERO", "YES", "XSD", "STYLE", "SCIENTIFIC", "ENGINEERING", "MONETARY", "CURRENCY", "USER", "ENVIRONMENT", "ALPHA",
+		"OUT", "ISO", "TIMEZONE", "COUNTRY", "ELSE", "SWITCH", "REDUCE", "INIT", "NEXT", "DIV", "MOD", "COMPONENTS", "BOOLX", "BOOL", "XOR", "RANGE", "ACCORDING",
+		"NOTIFICATIONS", "ENTITIES", "UPDATE", "ALIASES", "SORTED", "ASSIGNING", "SYMBOL", "CASTING", "REFERENCE", "HANDLE", "UNASSIGN", "BUFFER", "LOCAL", "COPY",
+		"MAIN", "COMPONENT", "INCREMENT", "ASSERT", "SUBKEY", "FIELDS", "CONDITION", "FIRST", "LAST", "SELECTION", "COMMAND", "PF1", "PF2", "PF3", "PF4", "PF5",
+		"PF6", "PF7", "PF8", "PF9", "PF01", "PF02", "PF03", "PF04", "PF05", "PF06", "PF07", "PF08", "PF09", "PF10", "PF11", "PF12", "PF13", "PF14", "PF15", "PF16",
+		"PF17", "PF18", "PF19", "PF20", "PF21", "PF22", "PF23", "PF24", "SCREEN", "REQUEST", "HELP", "RADIOBUTTON", "BLOCK", "OUTPUT", "DISABLE", "CONTEXT", "OBJECT",
+		"DUMMY", "BACK", "POINT", "APPLICATION", "STATEMENT", "PARAMETER", "EXCEPTION", "FLUSH", "QUEUE", "ONLY", "QUEUEONLY", "CUSTOMER", "PERFORMING", "TASK",
+		"CALLING", "STARTING", "DESTINATION", "KEEPING", "LOGICAL", "UNIT", "WORK", "BACKGROUND", "SEPARATE", "REMOTE", "DATABASE", "PROCEDURE", "CONNECTION",
+		"TRANSFORMATION", "XML", "PARAMETERS", "OBJECTS", "OPTIONS", "TRANSACTION", "SKIP", "MESSAGES", "MODE", "DIALOG", "ENDING", "BEFORE", "UNWIND", "AFTER",
+		"CLEAR", "CHARACTER", "NULL", "IMPLEMENTATION", "DEFINITION", "DEFERRED", "PUBLIC", "TESTING", "FRIENDS", "ABSTRACT", "INHERITING", "PROTECTED", "PRIVATE",
+		"BEHAVIOR", "SHARED", "MEMORY", "ENABLED", "RISK", "LEVEL", "HARMLESS", "DANGEROUS", "CRITICAL", "DURATION", "SHORT", "MEDIUM", "LONG", "NON", "BOXED",
+		"LOCATOR", "READER", "WRITER", "LOB", "OTHER", "CLOB", "BLOB", "COLUMNS", "LENGTH", "ACTION", "LINK", "LOCK", "FAILED", "EARLY", "LATE", "MAPPED", "REPORTED",
+		"CHANGE", "FEATURES", "DETERMINATION", "VALIDATION", "AUTHORIZATION", "PERMISSIONS", "HIERARCHY", "EVENT", "RESPONSE", "HEADER", "POINTER", "HASHED",
+		"UNIQUE", "ALIAS", "STANDARD", "EMPTY", "EVENTS", "METHODS", "FAIL", "IGNORE", "AMDP", "CDS", "SESSION", "PREFERRED", "RETURNING", "RAISING", "DDL",
+		"REQUIRED", "POOL", "CLEANUP", "CLOSE", "DATASET", "CURSOR", "CONCATENATE", "SEPARATED", "RESPECTING", "BLANKS", "COLLECT", "SIMULATION", "RESPONSES",
+		"RETURNCODE", "SEND", "RECEIVE", "DATAINFO", "STATUSINFO", "RECEIVED", "HOLD", "ALLOCATE", "DEALLOCATE", "ACCEPT", "COMPUTE", "CONDENSE", "GAPS", "CONSTANTS",
+		"FURTHER", "SECONDARY", "KEYS", "CONTEXTS", "CONTINUE", "SEGMENT", "TABLEVIEW", "TABSTRIP", "INVERTED", "SORTABLE", "CODE", "STAMP", "ZONE", "DAYLIGHT",
+		"SAVING", "UTCLONG", "FRACTIONAL", "SECONDS", "TEMPORARY", "AREA", "OCCURS", "VALID", "COMMON", "PART", "DEFINE", "HDB", "LANGUAGE", "SQLSCRIPT", "ADJACENT",
+		"COMPARING", "REPORT", "STATE", "TEXTPOOL", "SPECIFIED", "CLIENTS", "T000", "NUMC", "DEC", "CURR", "QUAN", "FLTP", "DECFLOAT16", "DECFLOAT34", "D16D", "D34D",
+		"D16R", "D34R", "D16N", "D34N", "CHAR", "CLNT", "CUKY", "LANG", "DATN", "SSTRING", "TIMN", "INNER", "OUTER", "RAWSTRING", "ESCAPE", "DISTINCT", "MIN", "MAX",
+		"SUM", "MEDIAN", "STDDEV", "VAR", "AVG", "OVER", "PARTITION", "ORDER", "NULLS", "ROWS", "UNBOUNDED", "PRECEDING", "CURRENT", "ROW", "FOLLOWING", "RANK",
+		"LEAD", "LAG", "CORR", "NTILE", "PRIVILEGED", "ACCESS", "CHILD", "PARENT", "ASSOCIATION", "PERIOD", "SIBLINGS", "DEPTH", "MULTIPLE", "PARENTS", "ALLOWED",
+		"LEAVES", "ORPHANS", "ADOPT", "ROOT", "ERROR", "CYCLES", "BREAKUP", "BULK", "INCREMENTAL", "SPANTREE", "DISTANCE", "JOIN", "MEASURES", "PRODUCT", "SUBTOTAL",
+		"BALANCE", "MATCHED", "TOTAL", "ADABAS", "SYBASE", "DB2", "AS400", "DB6", "MSSQLNT", "ORACLE", "OTHERWISE", "CEIL", "FLOOR", "COALESCE", "ROUND", "SUBSTRING",
+		"LPAD", "LTRIM", "RTRIM", "CONCAT", "INSTR", "RPAD", "DIVISION", "BINTOHEX", "HEXTOBIN", "GROUPING", "UUID", "INITCAP", "MONTHNAME", "DAYNAME", "WEEKDAY",
+		"LOCATE", "TZONE", "TSTMP", "TSTMP1", "TSTMP2", "TSTMPL", "UTCL", "PCRE", "OCCURRENCE", "AMOUNT", "QUANTITY", "D16S", "D34S", "MANY", "ONE", "CROSS", "SETS",
+		"HAVING", "SOME", "EXISTS", "PRIMARY", "UP", "OFFSET", "INFORMIX", "UNION", "INTERSECT", "INDICATORS", "BITFIELD", "VERSION", "DYNPRO", "DEMAND", "EDIT",
+		"MASK", "PAGES", "PAGE", "TITLE", "HEAD", "DETAIL", "DO", "TIMES", "VARYING", "DISPLAY", "BACKUP", "ELSEIF", "ENDAT", "ENDCASE", "ENDCATCH", "ENDCLASS",
+		"ENDDO", "ENDEXEC", "ENDFORM", "ENDFUNCTION", "ENDIF", "ENDINTERFACE", "ENDLOOP", "ENDMETHOD", "ENDMODULE", "EDITING", "TIME%%", "ENDON", "ENDPROVIDE",
+		"ENDREP", "RESULTS", "ENDSELECT", "ENDWITH", "TEST", "INJECTION", "SEAM", "ENDTRY", "ENDWHILE", "ENDENHANCEMENT", "SPOTS", "STATIC", "SECTION", "SQL",
+		"NAMETAB", "COMPRESSION", "OFF", "HINT", "INTERNAL", "EXEC", "EXTRACT", "FETCH", "EXTENDED", "PACKAGE", "SYMBOLS", "FIND", "OCCURRENCES", "REGEX", "PATTERN",
+		"SUBMATCHES", "FORM", "FORMAT", "RESET", "INPUT", "INTENSIFIED", "INVERSE", "HOTSPOT", "COLOR", "FRAMES", "HEADING", "DEFINING", "REDUCED", "FUNCTIONALITY",
+		"RUN", "PROPERTY", "PF", "STATUS", "PROGRAM", "EXCLUDING", "LOCALE", "MODIFIER", "POSITION", "ATTRIBUTES", "FILTERS", "OPERATIONS", "WORD", "TRACE", "FILE",
+		"AMDPDB", "RECOMPUTE", "STATEMENTS", "DIRECTORY", "ENTRY", "PRECOMPILED", "HEADERS", "SUBROUTINE", "NAME", "HIDE", "IF", "VALUES", "DUPLICATE", "UNICODE",
+		"ENABLING", "FIXED", "ARITHMETIC", "EXTENSION", "APPENDAGE", "MAXIMUM", "PADDING", "TRUNCATION", "BOUNDARIES", "CONVERSION", "ERRORS", "HEX", "ENDIAN",
+		"MAJOR", "MINOR", "LOGFILE", "FOUND", "RENAMING", "SUFFIX", "INFOTYPES", "PERSON", "INITIALIZATION", "SUPPORTING", "INVOCATION", "INTERFACES", "PARTIALLY",
+		"IMPLEMENTED", "PROCESSING", "RETURN", "TRANSPORTING", "LOG", "MARK", "KERNEL", "RMC", "STUB", "GRAPH", "LLANG", "WORKSPACE", "SUPPRESS", "DETERMINISTIC",
+		"SCHEMA", "REDEFINITION", "FULL", "PRECHECK", "NUMBERING", "VALIDATE", "SAVE", "DETERMINE", "MINIMUM", "TRDIR", "AUTO", "FILL", "CID", "EXECUTE",
+		"AUGMENTING", "RELATING", "PERCENTAGE", "EXPANDING", "NESTED", "TARGET", "SCROLLING", "TOPOFPAGE", "COPIES", "SAP", "IMMEDIATELY", "RECEIVER",
+		"IDENTIFICATION", "KEEP", "SPOOL", "EXPIRATION", "LAYOUT", "DEPARTMENT", "NODES", "ASSOCIATIONS", "REDIRECTED", "BYPASSING", "ENTRIES", "BINARY", "LEGACY",
+		"BIG", "LITTLE", "SMART", "NATIVE", "UNIX", "WINDOWS", "LINEFEED", "ENCODING", "UTF", "SKIPPING", "OVERLAY", "PACK", "MATCHCODE", "MODIF", "OBLIGATORY",
+		"CHECKBOX", "SEARCH", "VISIBLE", "LISTBOX", "NODE", "CPI", "LPI", "MARGIN", "FONT", "BLACK", "RED", "YELLOW", "GREEN", "BLUE", "PINK", "BOUNDS", "INCLUDING",
+		"PUT", "RAISE", "RANGES", "OCCURENCE", "OCCURENCES", "VERBATIM", "ACTUAL", "FKEQ", "FKGE", "GKEQ", "GKGE", "REJECT", "REP", "REPEATING", "KERNELINFO",
+		"RESERVE", "RESUME", "RETRY", "SCAN", "ABAP", "TOKENS", "STRUCTURES", "ENHANCEMENTS", "KEYWORDS", "LEVELS", "OVERFLOW", "FRAME", "ANALYSIS", "COMMENTS",
+		"INCLUDES", "EXPLICIT", "IMPLICIT", "INACTIVE", "IMPLEMENTATIONS", "TOKENIZATION", "POOLS", "PRAGMAS", "DECLARATIONS", "BLOCKS", "TRMAC", "REPLACING",
+		"PRESERVING", "IDENTIFIER", "ESCAPING", "SCROLL", "COLUMN", "PLACES", "FORWARD", "BACKWARD", "ABBREVIATED", "SINGLE", "CREATING", "NOWAIT", "INTERVALS",
+		"NESTING", "SUBSCREEN", "WINDOW", "EXCLUDE", "IDS", "ULINE", "COMMENT", "DYNAMIC", "SELECTIONS", "TABBED", "PUSHBUTTON", "TAB", "BT", "NB", "E", "TITLEBAR",
+		"BLANK", "BOUNDARY", "ANALYZER", "CLOCK", "RESOLUTION", "HANDLER", "INSTANCES", "ACTIVATION", "LOCKS", "NAMES", "FLAGS", "SHIFT", "CIRCULAR", "DELETING",
+		"LEADING", "TRAILING", "STABLE", "SPLIT", "STOP", "SUMMARY", "SUMMING", "SUBMIT", "JOB", "INCL", "SUPPLY", "RELEASE", "SWITCHSTATES", "CODING", "EXPAND",
+		"SYNCPOINTS", "DID", "SOLID", "PREPARE", "COMPARE", "VERIFY", "HASHVAL", "PREVIOUS", "PROCESS", "WEBRFC", "GPA", "SUBMODE", "RABAX", "OPCODE", "PROTOCOL",
+		"CLUSTER", "SNAP", "DESCRIPTION", "LISTLEVEL", "STACK", "EXTENSIONS", "SAMPLING", "SEQUENCE", "ADMINISTRATION", "NAVIGATION", "APPLIES", "ELEMENTARY",
+		"OBJMGR", "TRACELEVEL", "NODELETE", "MS", "TRIGGERLEVEL", "GC", "STEPTIME", "OVERALLOCATION", "FRACTION", "GARBAGE", "COLLECTION", "CLONE", "EQUAL", "CDESTR",
+		"INST", "OTR", "NR", "NONEX", "CLAS", "ATTR", "WRAP", "SRCENC", "DSTENC", "LEN", "POS", "CINFO", "AUX", "STORAGE", "COSTS", "SHARING", "REFERENCES", "RC",
+		"DESTRUCTOR", "DBLOCK", "INVALIDATE", "PLUGIN", "NONBLOCKING", "JAVA", "SCRIPT", "EVALUATE", "COMPILE", "DESTROY", "BIND", "BREAKPOINT", "BREAKPOINTS",
+		"HTTP", "OMRT", "FREEZE", "THAW", "PROPERTIES", "SCOPE", "THIS", "EVAL", "UNSET", "DEBUGGER", "PATH", "SUSPEND", "DURING", "TRANSLATE", "TRUNCATE",
+		"TRANSFER", "TRY", "MESH", "ENUM", "GAP", "UNPACK", "VERIFICATION", "RESPONSIBLE", "MAIL", "PRIORITY", "VERI", "MESSAGING", "CHANNELS", "ASYNCHRONOUS",
+		"TASKS", "VARY", "WRITE", "DD/MM/YY", "DD/MM/YYYY", "MM/DD/YY", "MM/DD/YYYY", "DDMMYY", "MMDDYY", "YYMMDD", "JUSTIFIED", "CENTERED", "ICON", "UNDER",
+		"QUICKINFO", "RSYN", "ENDCHAIN"
+	};
+}
@@ -0,0 +1,182 @@
+package com.sap.adt.abapcleaner.base;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * <p>Provides a read-only {@link CharSequence} for the (possibly large) text of a file, which is decoded chunk by chunk
+ * with a {@link CharsetDecoder} while the file is read. Therefore, neither the bytes of the whole file nor an intermediate
+ * char array for the whole text are held in memory at any time.</p>
+ *
+ * <p>The decoded text is stored in blocks of {@link #BLOCK_LENGTH} characters. Like a compact String, a block that only
+ * contains characters up to U+00FF (e.g. ASCII code with German comments) is stored with one byte per character,
+ * while other blocks are stored as char arrays. {@link #subSequence(int, int)} and {@link #toString()} return Strings.</p>
+ */
+public final class ChunkedCharSequence implements CharSequence {
+	private static final int BLOCK_SHIFT = 16;
+	static final int BLOCK_LENGTH = 1 << BLOCK_SHIFT;
+	private static final int BLOCK_MASK = BLOCK_LENGTH - 1;
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+	private static final int DECODE_BUFFER_LENGTH = 8 * 1024;
+
+	/** for each block, its characters if they are all in the range U+0000..U+00FF, otherwise null */
+	private final byte[][] latin1Blocks;
+	/** for each block for which latin1Blocks is null, its characters */
+	private final char[][] charBlocks;
+	private final int length;
+
+	/** reads the remaining content of the supplied channel and decodes it with the supplied Charset, replacing malformed input
+	 * in the same way as {@link String#String(byte[], Charset)} does */
+	public static ChunkedCharSequence read(ReadableByteChannel channel, Charset charset) throws IOException {
+		CharsetDecoder decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+		// the decoder may stop before its output buffer is full (e.g. if a surrogate pair does not fit), therefore it decodes 
+		// into a separate buffer, from which the characters are moved to blocks of exactly BLOCK_LENGTH characters
+		CharBuffer decoded = CharBuffer.allocate(DECODE_BUFFER_LENGTH);
+		CharBuffer block = CharBuffer.allocate(BLOCK_LENGTH);
+		ArrayList<byte[]> latin1Blocks = new ArrayList<>();
+		ArrayList<char[]> charBlocks = new ArrayList<>();
+
+		boolean endOfInput = false;
+		CoderResult result;
+		while (!endOfInput) {
+			endOfInput = (channel.read(in) < 0);
+			in.flip();
+			do {
+				result = decoder.decode(in, decoded, endOfInput);
+				moveToBlocks(decoded, block, latin1Blocks, charBlocks);
+			} while (result.isOverflow());
+			in.compact();
+		}
+		do {
+			result = decoder.flush(decoded);
+			moveToBlocks(decoded, block, latin1Blocks, charBlocks);
+		} while (result.isOverflow());
+
+		// add the last (incomplete) block
+		long length = (long) latin1Blocks.size() * BLOCK_LENGTH + block.position();
+		if (length > Integer.MAX_VALUE)
+			throw new IOException("File too large: " + String.valueOf(length) + " characters");
+		addBlock(block, latin1Blocks, charBlocks);
+
+		return new ChunkedCharSequence(latin1Blocks.toArray(new byte[latin1Blocks.size()][]), charBlocks.toArray(new char[charBlocks.size()][]), (int) length);
+	}
+
+	private static void moveToBlocks(CharBuffer decoded, CharBuffer block, ArrayList<byte[]> latin1Blocks, ArrayList<char[]> charBlocks) {
+		decoded.flip();
+		while (decoded.hasRemaining()) {
+			int count = Math.min(decoded.remaining(), block.remaining());
+			CharBuffer part = decoded.duplicate();
+			part.limit(part.position() + count);
+			block.put(part);
+			decoded.position(decoded.position() + count);
+			if (!block.hasRemaining())
+				addBlock(block, latin1Blocks, charBlocks);
+		}
+		decoded.clear();
+	}
+
+	private static void addBlock(CharBuffer buffer, ArrayList<byte[]> latin1Blocks, ArrayList<char[]> charBlocks) {
+		buffer.flip();
+		int blockLength = buffer.remaining();
+		if (blockLength > 0) {
+			boolean isLatin1 = true;
+			for (int i = 0; i < blockLength; ++i) {
+				if (buffer.get(i) > 0xFF) {
+					isLatin1 = false;
+					break;
+				}
+			}
+			if (isLatin1) {
+				byte[] block = new byte[blockLength];
+				for (int i = 0; i < blockLength; ++i)
+					block[i] = (byte) buffer.get(i);
+				latin1Blocks.add(block);
+				charBlocks.add(null);
+			} else {
+				char[] block = new char[blockLength];
+				buffer.get(block);
+				latin1Blocks.add(null);
+				charBlocks.add(block);
+			}
+		}
+		buffer.clear();
+	}
+
+	private ChunkedCharSequence(byte[][] latin1Blocks, char[][] charBlocks, int length) {
+		this.latin1Blocks = latin1Blocks;
+		this.charBlocks = charBlocks;
+		this.length = length;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException("index " + String.valueOf(index) + " out of bounds for length " + String.valueOf(length));
+		byte[] latin1Block = latin1Blocks[index >>> BLOCK_SHIFT];
+		return (latin1Block != null) ? (char) (latin1Block[index & BLOCK_MASK] & 0xFF) : charBlocks[index >>> BLOCK_SHIFT][index & BLOCK_MASK];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end)
+			throw new IndexOutOfBoundsException("begin " + String.valueOf(start) + ", end " + String.valueOf(end) + ", length " + String.valueOf(length));
+		return substring(start, end);
+	}
+
+	@Override
+	public String toString() {
+		return substring(0, length);
+	}
+
+	private String substring(int start, int end) {
+		if (start == end)
+			return "";
+		int firstBlock = start >>> BLOCK_SHIFT;
+		int lastBlock = (end - 1) >>> BLOCK_SHIFT;
+
+		// if the range only consists of Latin-1 blocks, create the String from bytes, which it can use in compact form
+		boolean isLatin1 = true;
+		for (int block = firstBlock; block <= lastBlock; ++block) {
+			if (latin1Blocks[block] == null) {
+				isLatin1 = false;
+				break;
+			}
+		}
+		if (isLatin1 && firstBlock == lastBlock)
+			return new String(latin1Blocks[firstBlock], start & BLOCK_MASK, end - start, StandardCharsets.ISO_8859_1);
+
+		byte[] bytes = isLatin1 ? new byte[end - start] : null;
+		char[] chars = isLatin1 ? null : new char[end - start];
+		int destPos = 0;
+		for (int block = firstBlock; block <= lastBlock; ++block) {
+			int blockStart = (block == firstBlock) ? (start & BLOCK_MASK) : 0;
+			int blockEnd = (block == lastBlock) ? ((end - 1) & BLOCK_MASK) + 1 : BLOCK_LENGTH;
+			int count = blockEnd - blockStart;
+			byte[] latin1Block = latin1Blocks[block];
+			if (isLatin1) {
+				System.arraycopy(latin1Block, blockStart, bytes, destPos, count);
+			} else if (latin1Block != null) {
+				for (int i = 0; i < count; ++i)
+					chars[destPos + i] = (char) (latin1Block[blockStart + i] & 0xFF);
+			} else {
+				System.arraycopy(charBlocks[block], blockStart, chars, destPos, count);
+			}
+			destPos += count;
+		}
+		return isLatin1 ? new String(bytes, StandardCharsets.ISO_8859_1) : new String(chars);
+	}
+}
@@ -0,0 +1,193 @@
+package com.sap.adt.abapcleaner.base;
+
+/**
+ * <p>Provides an immutable {@link CharSequence} for a text that results from edits to an original text
+ * (e.g. a {@link ChunkedCharSequence} of a large file), without copying the whole text for each edit.</p>
+ *
+ * <p>The text is represented as a 'piece table', i.e. as a sequence of pieces, each of which refers to a range
+ * of the original text or of an inserted text. An edit therefore only copies the piece table, but not the text itself.
+ * Adjacent short pieces (e.g. single characters that were typed one after another) are merged into one piece,
+ * and once the number of pieces exceeds {@link #MAX_PIECE_COUNT}, the text is copied into a single String again.</p>
+ */
+public final class EditedCharSequence implements CharSequence {
+	/** the maximum number of pieces; if an edit exceeds this number, the edited text is returned as a String */
+	static final int MAX_PIECE_COUNT = 256;
+	/** the maximum length up to which adjacent pieces are merged into one String */
+	private static final int MAX_MERGED_PIECE_LENGTH = 256;
+
+	/** the text to which each piece refers */
+	private final CharSequence[] sources;
+	/** the start position of each piece in its source */
+	private final int[] sourceStarts;
+	/** the (exclusive) end position of each piece in this text */
+	private final int[] pieceEnds;
+	private final int pieceCount;
+
+	/** the index of the piece that was accessed last, which makes sequential access independent of the number of pieces */
+	private int lastPieceIndex;
+
+	/** returns the text that results from replacing removedLength characters at the supplied offset of the supplied text
+	 * with the inserted text; the supplied text remains unchanged */
+	public static CharSequence createFromEdit(CharSequence text, int offset, int removedLength, String insertedText) {
+		int length = text.length();
+		if (offset < 0 || removedLength < 0 || offset + removedLength > length)
+			throw new IndexOutOfBoundsException("edit at " + String.valueOf(offset) + " with length " + String.valueOf(removedLength) + " exceeds text length " + String.valueOf(length));
+		if (insertedText == null)
+			insertedText = "";
+
+		EditedCharSequence edited = (text instanceof EditedCharSequence) ? (EditedCharSequence) text : null;
+		int oldPieceCount = (edited == null) ? 1 : edited.pieceCount;
+		Builder builder = new Builder(oldPieceCount + 2);
+
+		// copy the (parts of the) pieces before and after the edited range, and insert a new piece in between
+		int editEnd = offset + removedLength;
+		int pieceStart = 0;
+		boolean isInsertedTextAdded = false;
+		for (int index = 0; index < oldPieceCount; ++index) {
+			CharSequence source = (edited == null) ? text : edited.sources[index];
+			int sourceStart = (edited == null) ? 0 : edited.sourceStarts[index];
+			int pieceEnd = (edited == null) ? length : edited.pieceEnds[index];
+			if (pieceStart < offset)
+				builder.add(source, sourceStart, Math.min(pieceEnd, offset) - pieceStart);
+			if (!isInsertedTextAdded && pieceEnd >= offset) {
+				builder.add(insertedText, 0, insertedText.length());
+				isInsertedTextAdded = true;
+			}
+			if (pieceEnd > editEnd) {
+				int start = Math.max(pieceStart, editEnd);
+				builder.add(source, sourceStart + start - pieceStart, pieceEnd - start);
+			}
+			pieceStart = pieceEnd;
+		}
+
+		return (builder.pieceCount > MAX_PIECE_COUNT) ? builder.toText().toString() : builder.toText();
+	}
+
+	/** collects the pieces of an edited text */
+	private static class Builder {
+		private final CharSequence[] sources;
+		private final int[] sourceStarts;
+		private final int[] pieceEnds;
+		private int pieceCount;
+
+		private Builder(int capacity) {
+			sources = new CharSequence[capacity];
+			sourceStarts = new int[capacity];
+			pieceEnds = new int[capacity];
+		}
+
+		private void add(CharSequence source, int sourceStart, int pieceLength) {
+			if (pieceLength <= 0)
+				return;
+			int end = (pieceCount == 0) ? pieceLength : pieceEnds[pieceCount - 1] + pieceLength;
+			if (pieceCount > 0) {
+				int lastIndex = pieceCount - 1;
+				int lastStart = (lastIndex == 0) ? 0 : pieceEnds[lastIndex - 1];
+				int lastLength = pieceEnds[lastIndex] - lastStart;
+				if (sources[lastIndex] == source && sourceStarts[lastIndex] + lastLength == sourceStart) {
+					// the new piece continues the last piece in the same source
+					pieceEnds[lastIndex] = end;
+					return;
+				} else if (lastLength + pieceLength <= MAX_MERGED_PIECE_LENGTH) {
+					// merge short pieces, so typing character by character does not create a new piece for each character
+					CharSequence last = sources[lastIndex];
+					StringBuilder merged = new StringBuilder(lastLength + pieceLength);
+					merged.append(last, sourceStarts[lastIndex], sourceStarts[lastIndex] + lastLength);
+					merged.append(source, sourceStart, sourceStart + pieceLength);
+					sources[lastIndex] = merged.toString();
+					sourceStarts[lastIndex] = 0;
+					pieceEnds[lastIndex] = end;
+					return;
+				}
+			}
+			sources[pieceCount] = source;
+			sourceStarts[pieceCount] = sourceStart;
+			pieceEnds[pieceCount] = end;
+			++pieceCount;
+		}
+
+		private CharSequence toText() {
+			return (pieceCount == 0) ? "" : new EditedCharSequence(sources, sourceStarts, pieceEnds, pieceCount);
+		}
+	}
+
+	private EditedCharSequence(CharSequence[] sources, int[] sourceStarts, int[] pieceEnds, int pieceCount) {
+		this.sources = sources;
+		this.sourceStarts = sourceStarts;
+		this.pieceEnds = pieceEnds;
+		this.pieceCount = pieceCount;
+	}
+
+	final int getPieceCount() { return pieceCount; }
+
+	@Override
+	public int length() {
+		return pieceEnds[pieceCount - 1];
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length())
+			throw new IndexOutOfBoundsException("index " + String.valueOf(index) + " out of bounds for length " + String.valueOf(length()));
+		int pieceIndex = getPieceIndex(index);
+		return sources[pieceIndex].charAt(sourceStarts[pieceIndex] + index - getPieceStart(pieceIndex));
+	}
+
+	private int getPieceStart(int pieceIndex) {
+		return (pieceIndex == 0) ? 0 : pieceEnds[pieceIndex - 1];
+	}
+
+	/** returns the index of the piece that contains the supplied position */
+	private int getPieceIndex(int index) {
+		int pieceIndex = lastPieceIndex;
+		if (pieceIndex < pieceCount && index < pieceEnds[pieceIndex] && index >= getPieceStart(pieceIndex))
+			return pieceIndex;
+		if (pieceIndex + 1 < pieceCount && index < pieceEnds[pieceIndex + 1] && index >= pieceEnds[pieceIndex]) {
+			lastPieceIndex = pieceIndex + 1;
+			return pieceIndex + 1;
+		}
+
+		// binary search for the first piece that ends after the supplied position
+		int low = 0;
+		int high = pieceCount - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (pieceEnds[mid] <= index)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		lastPieceIndex = low;
+		return low;
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length() || start > end)
+			throw new IndexOutOfBoundsException("begin " + String.valueOf(start) + ", end " + String.valueOf(end) + ", length " + String.valueOf(length()));
+		if (start == end)
+			return "";
+		int pieceIndex = getPieceIndex(start);
+		int pieceStart = getPieceStart(pieceIndex);
+		if (end <= pieceEnds[pieceIndex]) {
+			int sourceStart = sourceStarts[pieceIndex] + start - pieceStart;
+			return sources[pieceIndex].subSequence(sourceStart, sourceStart + end - start).toString();
+		}
+		StringBuilder result = new StringBuilder(end - start);
+		int pos = start;
+		while (pos < end) {
+			int pieceEnd = Math.min(pieceEnds[pieceIndex], end);
+			int sourceStart = sourceStarts[pieceIndex] + pos - pieceStart;
+			result.append(sources[pieceIndex], sourceStart, sourceStart + pieceEnd - pos);
+			pos = pieceEnd;
+			pieceStart = pieceEnds[pieceIndex];
+			++pieceIndex;
+		}
+		return result.toString();
+	}
+
+	@Override
+	public String toString() {
+		return subSequence(0, length()).toString();
+	}
+}
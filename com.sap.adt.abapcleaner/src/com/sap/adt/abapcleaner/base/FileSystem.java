@@ -2,6 +2,8 @@ package com.sap.adt.abapcleaner.base;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -36,6 +38,16 @@ public class FileSystem implements IFileSystem {
 		}
 	}
 
+	@Override
+	public long getLastModified(String path) {
+		return (new File(path)).lastModified();
+	}
+
+	@Override
+	public long getFileSize(String path) {
+		return (new File(path)).length();
+	}
+
 	@Override
 	public byte[] readAllBytesFromFile(String path) {
 		try {
@@ -45,6 +57,15 @@ public class FileSystem implements IFileSystem {
 		}
 	}
 	
+	@Override
+	public ReadableByteChannel openFileForReading(String path) {
+		try {
+			return FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+	
 	@Override
 	public boolean writeAllBytesToFile(String path, byte[] data) {
       try {
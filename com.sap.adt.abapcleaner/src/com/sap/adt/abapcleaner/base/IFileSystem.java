@@ -1,12 +1,21 @@
 package com.sap.adt.abapcleaner.base;
 
+import java.nio.channels.ReadableByteChannel;
+
 public interface IFileSystem {
    // File
 	public boolean fileExists(String path);
 	public boolean deleteFile(String path);
 	public boolean renameFile(String sourcePath, String destPath);
+	/** returns the time of the last modification in milliseconds, or 0 if the file does not exist */
+	public long getLastModified(String path);
+	/** returns the size of the file in bytes, or 0 if the file does not exist */
+	public long getFileSize(String path);
 
 	public byte[] readAllBytesFromFile(String path);
+	/** returns a channel from which the file can be read sequentially, or null if the file cannot be opened; 
+	 * the caller must close the channel */
+	public ReadableByteChannel openFileForReading(String path);
 	public boolean writeAllBytesToFile(String path, byte[] data);
 	public boolean appendToFile(String path, byte[] data);
 
@@ -0,0 +1,134 @@
+package com.sap.adt.abapcleaner.base;
+
+/**
+ * <p>Maps ABAP keywords (or keyword collocations like "IS NOT INITIAL") to values, ignoring the case of ASCII letters.</p>
+ *
+ * <p>In contrast to a HashMap with upper case keys, lookups with the original (possibly lower case or mixed case)
+ * Token text, or with a part of such a text, neither require {@link AbapCult#toUpper(String)} nor any other allocation:
+ * The hash code is calculated from the ASCII upper case characters on the fly, and the keys are compared character by character.
+ * Since all ABAP keywords consist of ASCII characters, other characters are compared without case folding.</p>
+ *
+ * <p>A KeywordTable is filled with {@link #put(String, Object)} during static initialization and only read afterwards;
+ * concurrent lookups are therefore safe, while concurrent changes are not.</p>
+ */
+public final class KeywordTable<T> {
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** the keys in upper case; null for empty slots */
+	private String[] keys;
+	private Object[] values;
+	private int[] hashCodes;
+	private int size;
+
+	public static <T> KeywordTable<T> create() {
+		return new KeywordTable<T>();
+	}
+
+	private KeywordTable() {
+		keys = new String[INITIAL_CAPACITY];
+		values = new Object[INITIAL_CAPACITY];
+		hashCodes = new int[INITIAL_CAPACITY];
+	}
+
+	public final int size() { return size; }
+
+	private static char toUpperAscii(char c) {
+		return (c >= 'a' && c <= 'z') ? (char) (c - ('a' - 'A')) : c;
+	}
+
+	private static int getHashCode(CharSequence text, int start, int end) {
+		int hashCode = 0;
+		for (int i = start; i < end; ++i)
+			hashCode = 31 * hashCode + toUpperAscii(text.charAt(i));
+		// spread the higher bits, since only the lower bits determine the slot
+		return hashCode ^ (hashCode >>> 16);
+	}
+
+	/** adds the keyword with the supplied value, or replaces the value if the keyword (in any case) was already added */
+	public final void put(String keyword, T value) {
+		if (keyword == null)
+			throw new NullPointerException("keyword");
+
+		int hashCode = getHashCode(keyword, 0, keyword.length());
+		int slot = findSlot(keyword, 0, keyword.length(), hashCode);
+		if (keys[slot] != null) {
+			values[slot] = value;
+			return;
+		}
+
+		StringBuilder upperCaseKey = new StringBuilder(keyword.length());
+		for (int i = 0; i < keyword.length(); ++i)
+			upperCaseKey.append(toUpperAscii(keyword.charAt(i)));
+		keys[slot] = upperCaseKey.toString();
+		values[slot] = value;
+		hashCodes[slot] = hashCode;
+		++size;
+
+		// keep the load factor at 0.5 or below to keep probe sequences short
+		if (2 * size > keys.length)
+			resize(2 * keys.length);
+	}
+
+	private void resize(int capacity) {
+		String[] oldKeys = keys;
+		Object[] oldValues = values;
+		int[] oldHashCodes = hashCodes;
+
+		keys = new String[capacity];
+		values = new Object[capacity];
+		hashCodes = new int[capacity];
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; ++i) {
+			if (oldKeys[i] == null)
+				continue;
+			int slot = oldHashCodes[i] & mask;
+			while (keys[slot] != null)
+				slot = (slot + 1) & mask;
+			keys[slot] = oldKeys[i];
+			values[slot] = oldValues[i];
+			hashCodes[slot] = oldHashCodes[i];
+		}
+	}
+
+	/** returns the slot that contains the supplied text (ignoring case), or the empty slot at which the text would be inserted */
+	private int findSlot(CharSequence text, int start, int end, int hashCode) {
+		int mask = keys.length - 1;
+		int slot = hashCode & mask;
+		while (keys[slot] != null) {
+			if (hashCodes[slot] == hashCode && keyEquals(keys[slot], text, start, end))
+				return slot;
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static boolean keyEquals(String key, CharSequence text, int start, int end) {
+		if (key.length() != end - start)
+			return false;
+		for (int i = start; i < end; ++i) {
+			if (key.charAt(i - start) != toUpperAscii(text.charAt(i)))
+				return false;
+		}
+		return true;
+	}
+
+	public final boolean contains(CharSequence text) {
+		return (text != null) && contains(text, 0, text.length());
+	}
+
+	/** returns true if the part of the supplied text between start (inclusive) and end (exclusive) was added, ignoring case */
+	public final boolean contains(CharSequence text, int start, int end) {
+		return keys[findSlot(text, start, end, getHashCode(text, start, end))] != null;
+	}
+
+	public final T get(CharSequence text) {
+		return (text == null) ? null : get(text, 0, text.length());
+	}
+
+	/** returns the value of the part of the supplied text between start (inclusive) and end (exclusive), ignoring case,
+	 * or null if it was not added */
+	@SuppressWarnings("unchecked")
+	public final T get(CharSequence text, int start, int end) {
+		return (T) values[findSlot(text, start, end, getHashCode(text, start, end))];
+	}
+}
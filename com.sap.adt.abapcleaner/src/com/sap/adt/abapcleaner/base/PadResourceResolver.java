@@ -13,8 +13,9 @@ public class PadResourceResolver implements IPadFileResolver {
 	// To update the resource to the latest ABAP grammar,
 	// - download the grammar file, e.g. from https://ldcier1.wdf.sap.corp:44300/sap/bc/adt/abapsource/parsers/rnd/grammar 
 	//   (if required, adjust system ID '...er1' in this link) 
-	// - update \com.sap.adt.abapcleaner\resources\grammar.txt from that file (keeping the name), and
-	// - adjust the release number returned by getRelease() below
+	// - update \com.sap.adt.abapcleaner\resources\grammar.txt from that file (keeping the name), 
+	// - adjust the release number returned by getRelease() below, and
+	// - regenerate the ABAP keywords in AbapGrammarKeywords.java by running AbapGrammarKeywordsGenerator from the test project
 	
 	@Override
 	public InputStream getPadFileContent() {
@@ -1,6 +1,8 @@
 package com.sap.adt.abapcleaner.base;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 
 /**
@@ -45,6 +47,14 @@ public class PersistencyBase {
 		return fileSystem.renameFile(sourcePath, destPath);
 	}
 
+	public long getLastModified(String path) {
+		return fileSystem.getLastModified(path);
+	}
+
+	public long getFileSize(String path) {
+		return fileSystem.getFileSize(path);
+	}
+
 	public final String readAllTextFromFile(String path) {
 		return readAllTextFromFile(path, false);
 	}
@@ -53,6 +63,23 @@ public class PersistencyBase {
 		return (encoded == null) ? null : new String(encoded, getCharset(ansiEncoding));
 	}
 
+	/**
+	 * Reads the text of a (possibly large) file without creating a heap copy of its bytes: 
+	 * The file is read and decoded chunk by chunk into a {@link ChunkedCharSequence}, which (like a compact String) 
+	 * only needs one byte per character as long as the text contains no characters beyond U+00FF. 
+	 * The file is closed when this method returns. 
+	 */
+	public final CharSequence readCharSequenceFromFile(String path) {
+		return readCharSequenceFromFile(path, false);
+	}
+	public CharSequence readCharSequenceFromFile(String path, boolean ansiEncoding) {
+		try (ReadableByteChannel channel = fileSystem.openFileForReading(path)) {
+			return (channel == null) ? null : ChunkedCharSequence.read(channel, getCharset(ansiEncoding));
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
 	public final boolean writeAllTextToFile(String path, String contents) {
 		return writeAllTextToFile(path, contents, false);
 	}
@@ -7,13 +7,13 @@ import java.util.List;
  * Provides static helper methods for String handling and manipulation. 
  */
 public final class StringUtil {
-	public static int instrCount(String text, char textBit) {
+	public static int instrCount(CharSequence text, char textBit) {
 		if (text == null)
 			return 0;
 		int count = 0;
 		int pos = 0;
 		do {
-			pos = text.indexOf(textBit, pos);
+			pos = indexOf(text, textBit, pos);
 			if (pos < 0)
 				break;
 			++count;
@@ -22,6 +22,20 @@ public final class StringUtil {
 		return count;
 	}
 
+	public static int indexOf(CharSequence text, char searchChar, int startIndex) {
+		if (text == null)
+			return -1;
+		if (text instanceof String)
+			return ((String)text).indexOf(searchChar, startIndex);
+
+		int length = text.length();
+		for (int index = Math.max(startIndex, 0); index < length; ++index) {
+			if (text.charAt(index) == searchChar)
+				return index;
+		}
+		return -1;
+	}
+
 	public static int spaceCountAtStartOf(String text) {
 		if (StringUtil.isNullOrEmpty(text))
 			return 0;
@@ -130,18 +144,76 @@ public final class StringUtil {
 
 	public static boolean startsWith(String text, String prefix, boolean ignoreCase) {
 		if (ignoreCase)
-			return (prefix.length() <= text.length() && text.substring(0, prefix.length()).equalsIgnoreCase(prefix));
+			return regionMatchesIgnoringCase(text, 0, prefix, 0, prefix.length());
 		else
 			return text.startsWith(prefix);
 	}
 
 	public static boolean endsWith(String text, String suffix, boolean ignoreCase) {
 		if (ignoreCase)
-			return (suffix.length() <= text.length() && text.substring(text.length() - suffix.length()).equalsIgnoreCase(suffix));
+			return regionMatchesIgnoringCase(text, text.length() - suffix.length(), suffix, 0, suffix.length());
 		else
 			return text.endsWith(suffix);
 	}
 
+	/**
+	 * Returns true if the supplied region of the text equals the supplied region of the other text, ignoring case 
+	 * in the same way as {@link String#equalsIgnoreCase(String)} does. In contrast to comparing substrings, 
+	 * this does not allocate memory, and ASCII characters are compared without case conversion. 
+	 */
+	public static boolean regionMatchesIgnoringCase(CharSequence text, int start, CharSequence other, int otherStart, int length) {
+		if (start < 0 || otherStart < 0 || length < 0 || start > text.length() - length || otherStart > other.length() - length)
+			return false;
+		for (int i = 0; i < length; ++i) {
+			if (!charEqualsIgnoringCase(text.charAt(start + i), other.charAt(otherStart + i)))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean charEqualsIgnoringCase(char c1, char c2) {
+		if (c1 == c2)
+			return true;
+		if (c1 < 128 && c2 < 128) {
+			// ASCII letters only differ in bit 0x20 between upper and lower case
+			int lower1 = c1 | 0x20;
+			return lower1 == (c2 | 0x20) && lower1 >= 'a' && lower1 <= 'z';
+		}
+		// same comparison as in String.equalsIgnoreCase() for all other characters
+		char upper1 = Character.toUpperCase(c1);
+		char upper2 = Character.toUpperCase(c2);
+		return upper1 == upper2 || Character.toLowerCase(upper1) == Character.toLowerCase(upper2);
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the substring in the text at or after the start index, ignoring case; 
+	 * in contrast to searching an upper case copy of the text, this does not allocate memory.
+	 */
+	public static int indexOfIgnoringCase(String text, String substring, int startIndex) {
+		int length = substring.length();
+		if (length == 0)
+			return Math.min(Math.max(startIndex, 0), text.length());
+		int lastStart = text.length() - length;
+		for (int pos = Math.max(startIndex, 0); pos <= lastStart; ++pos) {
+			if (regionMatchesIgnoringCase(text, pos, substring, 0, length))
+				return pos;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the last occurrence of the substring in the text at or before the start index, ignoring case;
+	 * in contrast to searching an upper case copy of the text, this does not allocate memory.
+	 */
+	public static int lastIndexOfIgnoringCase(String text, String substring, int startIndex) {
+		int length = substring.length();
+		for (int pos = Math.min(startIndex, text.length() - length); pos >= 0; --pos) {
+			if (regionMatchesIgnoringCase(text, pos, substring, 0, length))
+				return pos;
+		}
+		return -1;
+	}
+
 	public static String removePrefix(String text, String prefix, boolean ignoreCase) {
 		if (startsWith(text, prefix, ignoreCase))
 			return text.substring(prefix.length());
@@ -163,8 +235,7 @@ public final class StringUtil {
 		int result = 0;
 		int pos = text.length() - suffix.length();
 		while (pos >= 0) {
-			String substring = text.substring(pos, pos + suffix.length());
-			boolean match = ignoreCase ? substring.equalsIgnoreCase(suffix) : substring.equals(suffix);
+			boolean match = ignoreCase ? regionMatchesIgnoringCase(text, pos, suffix, 0, suffix.length()) : text.startsWith(suffix, pos);
 			if (!match)
 				break;
 			++result;
@@ -251,7 +322,7 @@ public final class StringUtil {
 		return sb.toString();
 	}
 
-	public static int indexOfAny(String string, char[] anyOf, int startIndex) {
+	public static int indexOfAny(CharSequence string, char[] anyOf, int startIndex) {
 		if (string == null)
 			return -1;
 		
@@ -267,7 +338,7 @@ public final class StringUtil {
 		return -1;
 	}
 	
-	public static int indexOfAny(String string, char[] anyOf, int startIndex, String[] skipTexts) {
+	public static int indexOfAny(CharSequence string, char[] anyOf, int startIndex, String[] skipTexts) {
 		if (string == null)
 			return -1;
 		
@@ -277,7 +348,7 @@ public final class StringUtil {
 			boolean skip = false;
 			for (String skipText : skipTexts) {
 				int skipLen = skipText.length();
-				if (index + skipLen <= string.length() && skipText.equals(string.substring(index, index + skipLen))) {
+				if (index + skipLen <= string.length() && regionEquals(string, index, skipText)) {
 					skip = true;
 					index += skipLen;
 					break;
@@ -295,14 +366,18 @@ public final class StringUtil {
 		return -1;
 	}
 	
-	public static int findWholeWord(String text, String word, boolean ignoreCase, String nonDelimiterChars) {
-		if (ignoreCase) {
-			text = text.toUpperCase();
-			word = word.toUpperCase();
+	private static boolean regionEquals(CharSequence string, int startIndex, String part) {
+		for (int i = 0; i < part.length(); ++i) {
+			if (string.charAt(startIndex + i) != part.charAt(i))
+				return false;
 		}
+		return true;
+	}
+
+	public static int findWholeWord(String text, String word, boolean ignoreCase, String nonDelimiterChars) {
 		int pos = -1;
 		while (pos + 1 < text.length()) {
-			pos = text.indexOf(word, pos + 1);
+			pos = ignoreCase ? indexOfIgnoringCase(text, word, pos + 1) : text.indexOf(word, pos + 1);
 			if (pos < 0)
 				break;
 			if (pos > 0) {
@@ -449,6 +524,6 @@ public final class StringUtil {
 	public static boolean containsIgnoringCase(String text, String subtext) {
 		if (text == null || subtext == null)
 			return false;
-		return (text.toUpperCase().indexOf(subtext.toUpperCase()) >= 0);
+		return (indexOfIgnoringCase(text, subtext, 0) >= 0);
 	}
 }
\ No newline at end of file
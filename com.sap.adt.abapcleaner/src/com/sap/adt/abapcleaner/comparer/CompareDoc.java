@@ -3,6 +3,9 @@ package com.sap.adt.abapcleaner.comparer;
 import com.sap.adt.abapcleaner.base.*;
 import com.sap.adt.abapcleaner.programbase.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
 /**
  * <p>Represents a single text document which is split into {@link CompareLine}s 
@@ -10,11 +13,79 @@ import java.util.*;
  * (i.e. a changed version of the text document) 
  * using the {@link #compareTo(CompareDoc, IProgress) compareTo()} method. 
  * The result of the comparison is a {@link DiffDoc}.</p>
+ * 
+ * <p>Pairs of identical lines are found by gradually increasing a search radius. 
+ * The remaining windows of unmatched lines between these pairs are then searched for similar lines. 
+ * Since these windows are independent of each other, this pass runs on the common fork/join pool for large documents; 
+ * the resulting {@link DiffDoc} is identical. Changed lines are only compared on word level when their 
+ * {@link HighlightBit}s are first accessed (see {@link DiffLine}).</p>
  */
 public class CompareDoc {
    private static final double MATCH_THRESHOLD_IN_SEQUENCE = 0.3;
    private static final double MATCH_THRESHOLD_OUT_OF_SEQUENCE = 0.3;
 
+   /** minimum number of lines (in both documents) for which the similarity pass is run in parallel */
+   static final int MIN_LINE_COUNT_FOR_PARALLEL_PASSES = 2000;
+
+   /** a window of unmatched lines startIndexA..maxA-1 and startIndexB..maxB-1 (between two pairs of identical lines), 
+    * which is searched for similar lines by {@link CompareDoc#findSimilarLines(int, int, int, int, CompareDoc)} */
+   private static class SimilarityWindow {
+      final int startIndexA;
+      final int maxA;
+      final int startIndexB;
+      final int maxB;
+
+      SimilarityWindow(int startIndexA, int maxA, int startIndexB, int maxB) {
+         this.startIndexA = startIndexA;
+         this.maxA = maxA;
+         this.startIndexB = startIndexB;
+         this.maxB = maxB;
+      }
+   }
+
+   /** performs an action for the indices start..end-1, splitting the range into batches for the fork/join pool; 
+    * stops at the first RuntimeException and keeps the lowest index at which an action failed */
+   private static class IndexRangeTask extends RecursiveAction {
+      private static final long serialVersionUID = 1L;
+
+      private final IntConsumer action;
+      private final int start;
+      private final int end;
+      private final int batchSize;
+      private int failedIndex = -1;
+      private RuntimeException exception;
+
+      IndexRangeTask(IntConsumer action, int start, int end, int batchSize) {
+         this.action = action;
+         this.start = start;
+         this.end = end;
+         this.batchSize = batchSize;
+      }
+
+      @Override
+      protected void compute() {
+         if (end - start <= batchSize) {
+            for (int index = start; index < end; ++index) {
+               try {
+                  action.accept(index);
+               } catch (RuntimeException ex) {
+                  failedIndex = index;
+                  exception = ex;
+                  return;
+               }
+            }
+            return;
+         }
+         int middle = (start + end) >>> 1;
+         IndexRangeTask first = new IndexRangeTask(action, start, middle, batchSize);
+         IndexRangeTask second = new IndexRangeTask(action, middle, end, batchSize);
+         invokeAll(first, second);
+         IndexRangeTask failed = (first.failedIndex >= 0) ? first : second;
+         failedIndex = failed.failedIndex;
+         exception = failed.exception;
+      }
+   }
+
    private ArrayList<CompareLine> lines = new ArrayList<CompareLine>();
 
    public static CompareDoc createFromDisplayLines(ArrayList<DisplayLine> lines) {
@@ -48,26 +119,70 @@ public class CompareDoc {
 	 * @param progress  may be null
 	 */
    public final DiffDoc compareTo(CompareDoc other, IProgress progress) throws CompareException {
+      if (other == null)
+         throw new NullPointerException("other");
+      boolean inParallel = (lines.size() + other.lines.size() >= MIN_LINE_COUNT_FOR_PARALLEL_PASSES);
+      return compareTo(other, progress, inParallel);
+   }
+
+   final DiffDoc compareTo(CompareDoc other, IProgress progress, boolean inParallel) throws CompareException {
+      if (other == null)
+         throw new NullPointerException("other");
+
+      if (progress != null)
+         progress.report(TaskType.COMPARER, 0.0);
+
+      ArrayList<SimilarityWindow> windows = new ArrayList<SimilarityWindow>();
+      boolean completed = matchLinesWithSearchRadius(other, progress, windows);
+      if (!completed || progress != null && progress.isCancellationPending())
+         return null;
+
+      findSimilarLines(windows, other, inParallel);
+
+      return createDiffDoc(other);
+   }
+
+   /** performs the action for the indices 0..count-1 (sequentially, or in parallel on the common fork/join pool); 
+    * returns the task, from which the lowest failed index can be determined */
+   private static IndexRangeTask forEachIndex(int count, IntConsumer action, boolean inParallel) {
+      if (!inParallel) {
+         IndexRangeTask task = new IndexRangeTask(action, 0, count, Math.max(count, 1));
+         task.compute();
+         return task;
+      }
+      int batchSize = Math.max(1, count / (4 * ForkJoinPool.getCommonPoolParallelism()));
+      IndexRangeTask task = new IndexRangeTask(action, 0, count, batchSize);
+      ForkJoinPool.commonPool().invoke(task);
+      return task;
+   }
+
+   private void findSimilarLines(ArrayList<SimilarityWindow> windows, CompareDoc other, boolean inParallel) throws CompareException {
+      // each window only matches its own lines (and only creates the words of these lines), so windows can be processed concurrently
+      IndexRangeTask task = forEachIndex(windows.size(), index -> {
+         SimilarityWindow window = windows.get(index);
+         findSimilarLines(window.startIndexA, window.maxA, window.startIndexB, window.maxB, other);
+      }, inParallel);
+      if (task.failedIndex >= 0) {
+         SimilarityWindow window = windows.get(task.failedIndex);
+         throw new CompareException(window.startIndexA, window.startIndexB, task.exception);
+      }
+   }
+
+   private boolean matchLinesWithSearchRadius(CompareDoc other, IProgress progress, ArrayList<SimilarityWindow> windows) throws CompareException {
       // algorithm: 
       // - starting from items (1, 1), match consecutively; if items do not match, slowly increase search radius (+0, +1, +2, ...) 
       //   and find matches for any(!) two unmatched items within the radius; once they are found, continue with radius = 0 
       // - for items not matched by this, perform an 'inner' pass in which unmatched items are compared by the percentage of common text 
       //   (add up the length of all common words and divide by the (average) total length of all words of the two lines) 
-      //   Compare only within the vertical 'windows' that are left over by the 'outer' pass! 
+      //   Compare only within the vertical 'windows' that are left over by the 'outer' pass (which are collected in windows)! 
       // - items that are still unmatched, are considered to be added / deleted 
       // - create list of line pairs (including unmatched lines with a non-line on the other side) with line status equal / changed / deleted / added 
       // - for matched (but not completely identical) lines/words (incl. whitespace!), calculate where to highlight differences left/right 
 
-      if (other == null)
-         throw new NullPointerException("other");
-
       int maxA = lines.size();
       int maxB = other.lines.size();
-      HashMap<String, Integer> lineScopeA = new HashMap<String, Integer>();
-      HashMap<String, Integer> lineScopeB = new HashMap<String, Integer>();
-
-      if (progress != null)
-         progress.report(TaskType.COMPARER, 0.0);
+      LongIntMap lineScopeA = new LongIntMap();
+      LongIntMap lineScopeB = new LongIntMap();
 
       // find pairs of matching (or otherwise, at least similar) lines
       int indexA = 0;
@@ -75,14 +190,14 @@ public class CompareDoc {
       try {
          while (indexA < maxA && indexB < maxB) {
             if (progress != null && progress.isCancellationPending())
-               return null;
+               return false;
             if (progress != null)
                progress.report(TaskType.COMPARER, (indexA + indexB) / (double)(maxA + maxB));
 
             // is next line pair in sequence a direct match?
             CompareLine lineA = lines.get(indexA);
             CompareLine lineB = other.lines.get(indexB);
-            if (lineA.matchesCurrentOrOriginalCommand(lineB) && lineA.simplifiedText.equals(lineB.simplifiedText)) {
+            if (lineA.matchesCurrentOrOriginalCommand(lineB) && lineA.fingerprint == lineB.fingerprint) {
                lineA.setMatch(lineB);
                ++indexA;
                ++indexB;
@@ -90,25 +205,24 @@ public class CompareDoc {
             }
 
             // gradually increase search distance to find next line pair with a direct match;
-            // with the HashMap's hash algorithm, this only requires linear runtime
+            // with the hash map of compare keys, this only requires linear runtime
             boolean found = false;
             // do not match empty lines, because confidence is too low that they really are a match 
-            String compareStringA = lineA.getCompareString();
-            if (!StringUtil.isNullOrEmpty(compareStringA))
-               lineScopeA.put(compareStringA, indexA);
-            String compareStringB = lineB.getCompareString();
-            if (!StringUtil.isNullOrEmpty(compareStringB))
-               lineScopeB.put(compareStringB, indexB);
+            if (!lineA.hasEmptyCompareKey())
+               lineScopeA.put(lineA.getCompareKey(), indexA);
+            if (!lineB.hasEmptyCompareKey())
+               lineScopeB.put(lineB.getCompareKey(), indexB);
             int testIndexA = indexA + 1;
             int testIndexB = indexB + 1;
             while (testIndexA < maxA || testIndexB < maxB) {
                if (testIndexA < maxA) {
                   lineA = lines.get(testIndexA);
-                  compareStringA = lineA.getCompareString();
-                  if (lineScopeB.containsKey(compareStringA)) {
-                     int matchIndexB = lineScopeB.get(compareStringA);
+                  boolean isEmptyA = lineA.hasEmptyCompareKey();
+                  long compareKeyA = lineA.getCompareKey();
+                  int matchIndexB = isEmptyA ? LongIntMap.NOT_FOUND : lineScopeB.get(compareKeyA);
+                  if (matchIndexB != LongIntMap.NOT_FOUND) {
                      if (indexB < matchIndexB)
-                        findSimilarLines(indexA, testIndexA, indexB, matchIndexB, other);
+                        windows.add(new SimilarityWindow(indexA, testIndexA, indexB, matchIndexB));
                      lineA.setMatch(other.lines.get(matchIndexB));
                      indexA = testIndexA + 1;
                      indexB = matchIndexB + 1;
@@ -116,16 +230,17 @@ public class CompareDoc {
                      break;
                   }
                   // if two lines have the same text, it is enough to enter the first one
-                  if (!StringUtil.isNullOrEmpty(compareStringA) && !lineScopeA.containsKey(compareStringA))
-                     lineScopeA.put(compareStringA, testIndexA);
+                  if (!isEmptyA)
+                     lineScopeA.putIfAbsent(compareKeyA, testIndexA);
                }
                if (testIndexB < maxB) {
                   lineB = other.lines.get(testIndexB);
-                  compareStringB = lineB.getCompareString();
-                  if (lineScopeA.containsKey(compareStringB)) {
-                  	int matchIndexA = lineScopeA.get(compareStringB);
+                  boolean isEmptyB = lineB.hasEmptyCompareKey();
+                  long compareKeyB = lineB.getCompareKey();
+                  int matchIndexA = isEmptyB ? LongIntMap.NOT_FOUND : lineScopeA.get(compareKeyB);
+                  if (matchIndexA != LongIntMap.NOT_FOUND) {
                      if (indexA < matchIndexA)
-                        findSimilarLines(indexA, matchIndexA, indexB, testIndexB, other);
+                        windows.add(new SimilarityWindow(indexA, matchIndexA, indexB, testIndexB));
                      lines.get(matchIndexA).setMatch(lineB);
                      indexA = matchIndexA + 1;
                      indexB = testIndexB + 1;
@@ -133,31 +248,37 @@ public class CompareDoc {
                      break;
                   }
                   // if two lines have the same text, it is enough to enter the first one
-                  if (!StringUtil.isNullOrEmpty(compareStringB) && !lineScopeB.containsKey(compareStringB))
-                     lineScopeB.put(compareStringB, testIndexB);
+                  if (!isEmptyB)
+                     lineScopeB.putIfAbsent(compareKeyB, testIndexB);
                }
                ++testIndexA;
                ++testIndexB;
             }
 
-            // clear Dictionaries for next usage, also freeing memory
+            // clear maps for next usage (which only resets the used entries)
             lineScopeA.clear();
             lineScopeB.clear();
 
             if (!found) {
             	// at the end of the document, find similar lines for whatever could not be matched yet
-            	findSimilarLines(indexA, maxA, indexB, maxB, other);
+            	windows.add(new SimilarityWindow(indexA, maxA, indexB, maxB));
                break;
             }
          }
       } catch (RuntimeException ex) {
          throw new CompareException(indexA, indexB, ex);
       }
+      return true;
+   }
+
+   private DiffDoc createDiffDoc(CompareDoc other) throws CompareException {
+      int maxA = lines.size();
+      int maxB = other.lines.size();
 
       // create resulting DiffDoc  
       DiffDoc result = new DiffDoc();
-      indexA = 0;
-      indexB = 0;
+      int indexA = 0;
+      int indexB = 0;
       try {
          while (indexA < maxA || indexB < maxB) {
             CompareLine lineA = (indexA < maxA) ? lines.get(indexA) : null;
@@ -167,10 +288,6 @@ public class CompareDoc {
                   throw new IllegalStateException("Expected lines A and B to match!");
                // the status depends on exact equality of the two lines: 
                LineStatus status = (lineA.getText().equals(lineB.getText())) ? LineStatus.EQUAL : LineStatus.CHANGED;
-               if (status == LineStatus.CHANGED) {
-                  // compare on word level
-                  lineA.compareTo(lineB);
-               }
                result.add(lineA, lineB, status);
                ++indexA;
                ++indexB;
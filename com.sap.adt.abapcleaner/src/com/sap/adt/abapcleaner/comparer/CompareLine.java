@@ -35,54 +35,171 @@ class CompareLine {
 		*/
 	}
 
-	static String simplify(String text, boolean simplifyCasing, boolean simplifyIndent, boolean simplifyWhitespace) {
-		if (text == null)
-			throw new NullPointerException("text");
+	private static final long FINGERPRINT_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FINGERPRINT_PRIME = 0x100000001b3L;
+	private static final long WORD_KEY_LENGTH_MASK = 0xFFFFL;
 
-		if (simplifyCasing)
-			text = AbapCult.toUpper(text);
-		if (simplifyIndent)
-			text = text.trim();
-		if (simplifyWhitespace) {
-			StringBuilder result = new StringBuilder(text.length());
-			boolean skipWhitespace = false;
-			char[] textChars = text.toCharArray();
-			for (char c : textChars) {
-				if (WHITESPACE_CHARS.indexOf(c) < 0) {
-					// always insert a space before the period . and the comment sign "
-					// (otherwise the rules SpaceBeforePeriodRule and SpaceBeforeCommentSignRule will be considered more than a whitespace change)
-					if ((c == ABAP.DOT_SIGN || c == ABAP.COMMENT_SIGN) && !skipWhitespace)
-						result.append(' ');
-
-					result.append(c);
-
-					// always insert a space after the comment sign " (otherwise the rule SpaceAfterCommentSignRule will be considered more than a whitespace change)
-					if (c == ABAP.COMMENT_SIGN) {
-						result.append(' ');
-						skipWhitespace = true;
-					} else {
-						skipWhitespace = false;
-					}
-				} else if (!skipWhitespace) {
-					result.append(' ');
+	private static long addToFingerprint(long fingerprint, char c) {
+		return (fingerprint ^ c) * FINGERPRINT_PRIME;
+	}
+
+	/** reads the text that results from simplifying (a part of) a text character by character, without creating this simplified text: 
+	 * if simplifyCasing is set, characters are converted to upper case in the same way as {@link AbapCult#toUpper(String)} does; 
+	 * if simplifyWhitespace is set, consecutive whitespace is condensed into a single space, and spaces are inserted before . and " and after ". */
+	private static class SimplifiedTextReader {
+		private final String text;
+		private final int end;
+		private final boolean simplifyCasing;
+		private final boolean simplifyWhitespace;
+		private int readPos;
+		private boolean skipWhitespace = false;
+
+		// characters that were already determined, but not yet returned (e.g. 'S' from the upper case "SS" of '\u00df', or a space after ")
+		private final char[] pendingChars = new char[8];
+		private int pendingStart = 0;
+		private int pendingEnd = 0;
+
+		SimplifiedTextReader(String text, int start, int end, boolean simplifyCasing, boolean simplifyWhitespace) {
+			this.text = text;
+			this.end = end;
+			this.simplifyCasing = simplifyCasing;
+			this.simplifyWhitespace = simplifyWhitespace;
+			readPos = start;
+		}
+
+		/** returns the next character of the simplified text, or -1 if its end was reached */
+		int read() {
+			while (pendingStart == pendingEnd) {
+				if (readPos >= end)
+					return -1;
+				pendingStart = 0;
+				pendingEnd = 0;
+				readNextChar();
+			}
+			return pendingChars[pendingStart++];
+		}
+
+		private void readNextChar() {
+			char c = text.charAt(readPos);
+			if (!simplifyCasing || c < 0x80) {
+				++readPos;
+				if (simplifyCasing && c >= 'a' && c <= 'z')
+					c = (char)(c - 'a' + 'A');
+				addSimplifiedChar(c);
+			} else if (c < 0x100 && c != '\u00df') {
+				// within U+0080..U+00FF, only the upper case of '\u00df' is not a single char
+				++readPos;
+				addSimplifiedChar(Character.toUpperCase(c));
+			} else {
+				// the upper case of other chars (or surrogate pairs) may consist of several chars, e.g. 'SS' for '\u00df'
+				int charCount = (Character.isHighSurrogate(c) && readPos + 1 < end && Character.isLowSurrogate(text.charAt(readPos + 1))) ? 2 : 1;
+				String upperCase = AbapCult.toUpper(text.substring(readPos, readPos + charCount));
+				readPos += charCount;
+				for (int i = 0; i < upperCase.length(); ++i)
+					addSimplifiedChar(upperCase.charAt(i));
+			}
+		}
+
+		private void addSimplifiedChar(char c) {
+			if (!simplifyWhitespace) {
+				pendingChars[pendingEnd++] = c;
+
+			} else if (WHITESPACE_CHARS.indexOf(c) < 0) {
+				// always insert a space before the period . and the comment sign "
+				// (otherwise the rules SpaceBeforePeriodRule and SpaceBeforeCommentSignRule will be considered more than a whitespace change)
+				if ((c == ABAP.DOT_SIGN || c == ABAP.COMMENT_SIGN) && !skipWhitespace)
+					pendingChars[pendingEnd++] = ' ';
+
+				pendingChars[pendingEnd++] = c;
+
+				// always insert a space after the comment sign " (otherwise the rule SpaceAfterCommentSignRule will be considered more than a whitespace change)
+				if (c == ABAP.COMMENT_SIGN) {
+					pendingChars[pendingEnd++] = ' ';
 					skipWhitespace = true;
+				} else {
+					skipWhitespace = false;
 				}
+			} else if (!skipWhitespace) {
+				pendingChars[pendingEnd++] = ' ';
+				skipWhitespace = true;
 			}
-			return result.toString();
-		} else {
-			return text;
 		}
 	}
 
+	private static SimplifiedTextReader createSimplifiedTextReader(String text, boolean simplifyCasing, boolean simplifyIndent, boolean simplifyWhitespace) {
+		if (text == null)
+			throw new NullPointerException("text");
+
+		int start = 0;
+		int end = text.length();
+		if (simplifyIndent) {
+			while (start < end && text.charAt(start) <= ' ')
+				++start;
+			while (end > start && text.charAt(end - 1) <= ' ')
+				--end;
+		}
+		return new SimplifiedTextReader(text, start, end, simplifyCasing, simplifyWhitespace);
+	}
+
+	/** returns a 64-bit (FNV-1a) hash of the text that results from simplifying the supplied text, without creating this simplified text:
+	 * if simplifyCasing is set, characters are converted to upper case (as with {@link AbapCult#toUpper(String)}); 
+	 * if simplifyIndent is set, leading and trailing whitespace is ignored; 
+	 * if simplifyWhitespace is set, consecutive whitespace is condensed into a single space, and spaces are inserted before . and " and after ". 
+	 * Lines with identical simplified texts therefore have identical fingerprints, but since different texts may have identical fingerprints, too, 
+	 * {@link #simplifiedTextEquals(String, String, boolean, boolean, boolean)} must confirm the result wherever a wrong match would hide a change. */
+	static long getFingerprint(String text, boolean simplifyCasing, boolean simplifyIndent, boolean simplifyWhitespace) {
+		SimplifiedTextReader reader = createSimplifiedTextReader(text, simplifyCasing, simplifyIndent, simplifyWhitespace);
+		long fingerprint = FINGERPRINT_OFFSET_BASIS;
+		for (int c = reader.read(); c >= 0; c = reader.read())
+			fingerprint = addToFingerprint(fingerprint, (char)c);
+		return fingerprint;
+	}
+
+	/** returns true if simplifying the supplied texts (see {@link #getFingerprint(String, boolean, boolean, boolean)}) results in identical texts */
+	static boolean simplifiedTextEquals(String text1, String text2, boolean simplifyCasing, boolean simplifyIndent, boolean simplifyWhitespace) {
+		SimplifiedTextReader reader1 = createSimplifiedTextReader(text1, simplifyCasing, simplifyIndent, simplifyWhitespace);
+		SimplifiedTextReader reader2 = createSimplifiedTextReader(text2, simplifyCasing, simplifyIndent, simplifyWhitespace);
+		while (true) {
+			int c1 = reader1.read();
+			if (c1 != reader2.read())
+				return false;
+			if (c1 < 0)
+				return true;
+		}
+	}
+
+	/** returns true if simplifying the supplied text (see {@link #getFingerprint(String, boolean, boolean, boolean)}) results in an empty text */
+	static boolean isSimplifiedTextEmpty(String text, boolean simplifyIndent) {
+		if (!simplifyIndent)
+			return text.isEmpty();
+		for (int i = 0; i < text.length(); ++i) {
+			if (text.charAt(i) > ' ')
+				return false;
+		}
+		return true;
+	}
+
+	/** returns a 64-bit (FNV-1a) hash of the upper case version (see {@link AbapCult#toUpper(String)}) of the supplied part of the text */
+	static long getWordFingerprint(String text, int start, int end) {
+		SimplifiedTextReader reader = new SimplifiedTextReader(text, start, end, true, false);
+		long fingerprint = FINGERPRINT_OFFSET_BASIS;
+		for (int c = reader.read(); c >= 0; c = reader.read())
+			fingerprint = addToFingerprint(fingerprint, (char)c);
+		return fingerprint;
+	}
+
 	// ----------------------------------------------------------------------
 	// instance attributes 
 	
 	final DisplayLine displayLine;
-	final String simplifiedText;
+	/** fingerprint of the simplified line text, see {@link #getFingerprint(String, boolean, boolean, boolean)} */
+	final long fingerprint;
+	final boolean isSimplifiedTextEmpty;
 
 	private ArrayList<CompareWord> words; // must initially be null
 
-	private ArrayList<String> sortedWords; // must initially be null
+	/** sorted keys of all non-whitespace words, each consisting of the upper bits of the word fingerprint and the word length in the lowest 16 bits */
+	private long[] sortedWordKeys; // must initially be null
 	private int sortedWordsTotalLength;
 
 	private CompareLine match;
@@ -97,9 +214,23 @@ class CompareLine {
 
 	Command getOriginalParentCommand() { return (displayLine == null) ? null : displayLine.parentCommand.originalCommand; }
 
-	final String getCompareString() {
-		String idString = (displayLine != null && displayLine.parentCommand != null) ? displayLine.parentCommand.getIdString() : "";
-   	return idString + simplifiedText;
+	/** returns true if the line must not be matched out of sequence, because it is empty and does not belong to a Command */
+	final boolean hasEmptyCompareKey() {
+		return isSimplifiedTextEmpty && (displayLine == null || displayLine.parentCommand == null);
+	}
+
+	/** returns a key that identifies the parent Command (if any) and the simplified line text; 
+	 * lines with equal compare keys are considered identical by {@link CompareDoc} */
+	final long getCompareKey() {
+		if (displayLine == null || displayLine.parentCommand == null)
+			return fingerprint;
+		return (fingerprint ^ displayLine.parentCommand.getId()) * FINGERPRINT_PRIME;
+	}
+
+	/** returns true if this line and the supplied line have identical simplified texts; the fingerprints only serve as a quick pre-check, 
+	 * because different simplified texts may have the same fingerprint */
+	final boolean hasSameSimplifiedTextAs(CompareLine other) {
+		return (fingerprint == other.fingerprint) && simplifiedTextEquals(getText(), other.getText(), simplifyCasing, simplifyIndent, simplifyWhitespace);
 	}
 
 	@Override
@@ -111,7 +242,9 @@ class CompareLine {
 
 	CompareLine(DisplayLine displayLine) {
 		this.displayLine = displayLine;
-		simplifiedText = simplify(displayLine.getText(), simplifyCasing, simplifyIndent, simplifyWhitespace);
+		String text = displayLine.getText();
+		fingerprint = getFingerprint(text, simplifyCasing, simplifyIndent, simplifyWhitespace);
+		isSimplifiedTextEmpty = isSimplifiedTextEmpty(text, simplifyIndent);
 	}
 
 	final void setMatch(CompareLine other) {
@@ -169,17 +302,17 @@ class CompareLine {
 		if (words == null)
 			createWords();
 
-		sortedWords = new ArrayList<String>();
+		int count = 0;
+		long[] wordKeys = new long[words.size()];
 		for (CompareWord compareWord : words) {
-			String text = compareWord.text;
 			if (!compareWord.isWhitespaceWord()) {
-				if (simplifyCasing)
-					text = AbapCult.toUpper(text);
-				sortedWords.add(text);
-				sortedWordsTotalLength += text.length();
+				int length = Math.min(compareWord.length, (int) WORD_KEY_LENGTH_MASK);
+				wordKeys[count++] = (compareWord.fingerprint & ~WORD_KEY_LENGTH_MASK) | length;
+				sortedWordsTotalLength += compareWord.length;
 			}
 		}
-		Collections.sort(sortedWords);
+		sortedWordKeys = Arrays.copyOf(wordKeys, count);
+		Arrays.sort(sortedWordKeys);
 	}
 
 	final double calcMatchRatioWith(CompareLine other) {
@@ -187,30 +320,30 @@ class CompareLine {
 			throw new NullPointerException("other");
 
 		// since CompareDoc.compareTo() does not match empty lines out of sequence, this must be checked here
-		if (StringUtil.isNullOrEmpty(simplifiedText) && StringUtil.isNullOrEmpty(other.simplifiedText))
+		if (isSimplifiedTextEmpty && other.isSimplifiedTextEmpty)
 			return 1.0;
 
-		if (sortedWords == null)
+		if (sortedWordKeys == null)
 			createSortedWords();
-		if (other.sortedWords == null)
+		if (other.sortedWordKeys == null)
 			other.createSortedWords();
 
 		int index = 0;
 		int otherIndex = 0;
 		// int commonWordCount = 0;
 		int commonCharCount = 0;
-		while (index < sortedWords.size() && otherIndex < other.sortedWords.size()) {
-			String word1 = sortedWords.get(index);
-			String word2 = other.sortedWords.get(otherIndex);
+		long[] otherSortedWordKeys = other.sortedWordKeys;
+		while (index < sortedWordKeys.length && otherIndex < otherSortedWordKeys.length) {
+			long wordKey1 = sortedWordKeys[index];
+			long wordKey2 = otherSortedWordKeys[otherIndex];
 
-			int compareResult = word1.compareTo(word2); // ignoring case is NOT required because sortedWords are in upper case
-			if (compareResult < 0)
+			if (wordKey1 < wordKey2) // ignoring case is NOT required because the word fingerprints are calculated from upper case
 				++index;
-			else if (compareResult > 0)
+			else if (wordKey1 > wordKey2)
 				++otherIndex;
 			else {
 				// ++commonWordCount;
-				commonCharCount += word1.length();
+				commonCharCount += (int) (wordKey1 & WORD_KEY_LENGTH_MASK);
 				++index;
 				++otherIndex;
 			}
@@ -232,21 +365,25 @@ class CompareLine {
 	}
 	*/
 	
-	private HashMap<String, Integer> getCountOfSpecialTexts() {
+	private int getCountOfSpecialText(long wordFingerprint) {
 		if (words == null)
 			createWords();
 
-		HashMap<String, Integer> countOfSpecialTexts = new HashMap<String, Integer>();
+		int count = 0;
 		for (CompareWord word : words) {
-			if (!word.simplifiedTextContainsAnyLetterOrDigit()) {
-				String text = word.simplifiedText;
-				if (countOfSpecialTexts.containsKey(text))
-					countOfSpecialTexts.put(text, countOfSpecialTexts.get(text) + 1);
-				else
-					countOfSpecialTexts.put(text, 1);
-			}
+			if (word.fingerprint == wordFingerprint && !word.containsAnyLetterOrDigit)
+				++count;
 		}
-		return countOfSpecialTexts;
+		return count;
+	}
+
+	/** returns the index of the first word in the range [start, end) with the supplied fingerprint, or -1 */
+	private int indexOfWord(long wordFingerprint, int start, int end) {
+		for (int index = start; index < end; ++index) {
+			if (words.get(index).fingerprint == wordFingerprint)
+				return index;
+		}
+		return -1;
 	}
 
 	final void compareTo(CompareLine other) {
@@ -260,11 +397,6 @@ class CompareLine {
 
 		int maxA = words.size();
 		int maxB = other.words.size();
-		HashMap<String, Integer> wordScopeA = new HashMap<String, Integer>();
-		HashMap<String, Integer> wordScopeB = new HashMap<String, Integer>();
-
-		HashMap<String, Integer> countOfSpecialTexts = getCountOfSpecialTexts();
-		HashMap<String, Integer> otherCountOfSpecialTexts = other.getCountOfSpecialTexts();
 
 		// bool hasNumberOfParenthesesChanged = (countInstancesOf("(") != other.countInstancesOf("("));
 		// bool hasNumberOfEqualsSignsChanged = (countInstancesOf("=") != other.countInstancesOf("="));
@@ -276,29 +408,30 @@ class CompareLine {
 			// is the next word pair in the sequence a direct match?
 			CompareWord wordA = words.get(indexA);
 			CompareWord wordB = other.words.get(indexB);
-			if (wordA.simplifiedText.equals(wordB.simplifiedText)) {
+			if (wordA.fingerprint == wordB.fingerprint) {
 				wordA.setMatch(wordB);
 				++indexA;
 				++indexB;
 				continue;
 			}
 
-			// gradually increase search distance to find the next word pair with a direct match;
-			// with the HashMap's hash algorithm, this only requires linear runtime
+			// gradually increase search distance to find the next word pair with a direct match; 
+			// the words that were already passed are the 'scopes' words[indexA..scopeEndA) and other.words[indexB..scopeEndB);
+			// since lines only consist of few words, these scopes are searched directly for the first word with the same fingerprint
 			boolean found = false;
 			int testIndexA = indexA + 1;
 			int testIndexB = indexB + 1;
-			wordScopeA.put(wordA.simplifiedText, indexA);
-			wordScopeB.put(wordB.simplifiedText, indexB);
+			int scopeEndA = testIndexA;
+			int scopeEndB = testIndexB;
 			while (testIndexA < maxA || testIndexB < maxB) {
 				if (testIndexA < maxA) {
 					wordA = words.get(testIndexA);
-					if (wordScopeB.containsKey(wordA.simplifiedText)) {
-						int matchIndexB = wordScopeB.get(wordA.simplifiedText);
+					int matchIndexB = other.indexOfWord(wordA.fingerprint, indexB, scopeEndB);
+					if (matchIndexB >= 0) {
 						// if the number of special texts like "(", "=", "=>" etc. in this line has changed,
 						// then do not match two of these special texts, because they may not be a real match,
 						// and matching keywords may be skipped
-						if (wordA.simplifiedTextContainsAnyLetterOrDigit() || countOfSpecialTexts.get(wordA.simplifiedText).equals(otherCountOfSpecialTexts.get(wordA.simplifiedText))) {
+						if (wordA.containsAnyLetterOrDigit || getCountOfSpecialText(wordA.fingerprint) == other.getCountOfSpecialText(wordA.fingerprint)) {
 							// a "findSimilarWords" method (analogous to CompareDoc.findSimilarLines) does not make sense here,
 							// since the rules do not change words (but rather, whitespace, word order, etc.)
 							wordA.setMatch(other.words.get(matchIndexB));
@@ -308,18 +441,16 @@ class CompareLine {
 							break;
 						}
 					}
-					// if two words have the same text, it is enough to enter the first one
-					if (!wordScopeA.containsKey(wordA.simplifiedText))
-						wordScopeA.put(wordA.simplifiedText, testIndexA);
+					scopeEndA = testIndexA + 1;
 				}
 				if (testIndexB < maxB) {
 					wordB = other.words.get(testIndexB);
-					if (wordScopeA.containsKey(wordB.simplifiedText)) {
-						int matchIndexA = wordScopeA.get(wordB.simplifiedText);
+					int matchIndexA = indexOfWord(wordB.fingerprint, indexA, scopeEndA);
+					if (matchIndexA >= 0) {
 						// if the number of special texts like "(", "=", "=>" etc. in this line has changed,
 						// then do not match two of these special texts, because they may not be a real match,
 						// and matching keywords may be skipped
-						if (wordB.simplifiedTextContainsAnyLetterOrDigit() || countOfSpecialTexts.get(wordB.simplifiedText).equals(otherCountOfSpecialTexts.get(wordB.simplifiedText))) {
+						if (wordB.containsAnyLetterOrDigit || getCountOfSpecialText(wordB.fingerprint) == other.getCountOfSpecialText(wordB.fingerprint)) {
 							// a "findSimilarWords" method (analogous to CompareDoc.findSimilarLines) does not make sense here,
 							// since the rules do not change words (but rather, whitespace, word order, etc.)
 							words.get(matchIndexA).setMatch(wordB);
@@ -329,18 +460,12 @@ class CompareLine {
 							break;
 						}
 					}
-					// if two words have the same text, it is enough to enter the first one
-					if (!wordScopeB.containsKey(wordB.simplifiedText))
-						wordScopeB.put(wordB.simplifiedText, testIndexB);
+					scopeEndB = testIndexB + 1;
 				}
 				++testIndexA;
 				++testIndexB;
 			}
 
-			// clear HashMaps for next usage, also freeing memory
-			wordScopeA.clear();
-			wordScopeB.clear();
-
 			if (!found)
 				break;
 		}
@@ -361,7 +486,7 @@ class CompareLine {
 				HighlightBitType type;
 				if (word.isWhitespaceWord())
 					type = (words.get(0).equals(word)) ? HighlightBitType.INDENT_CHANGE : HighlightBitType.WHITESPACE_CHANGE;
-				else if (match != null && AbapCult.toUpper(word.text).equals(AbapCult.toUpper(match.text)))
+				else if (match != null && word.fingerprint == match.fingerprint)
 					type = HighlightBitType.CASE_CHANGE;
 				else
 					type = HighlightBitType.CONTENT_CHANGE;
@@ -10,24 +10,12 @@ import com.sap.adt.abapcleaner.base.*;
  * This allows to identify whitespace changes which occur frequently in formatting of code.</p>
  */
 class CompareWord {
-	// behavior of text simplification
-	private static final boolean SIMPLIFY_CASING = true;
-
-	private static String simplify(String text) {
-		if (text == null)
-			throw new NullPointerException("text");
-
-		if (SIMPLIFY_CASING)
-			text = AbapCult.toUpper(text);
-		return text;
-	}
-
-	// ----------------------------------------------------------------------
-
 	private CompareLine parentLine;
 	final int startIndex;
 	final int length;
-	final String simplifiedText;
+	/** fingerprint of the upper case word text, see {@link CompareLine#getWordFingerprint(String, int, int)} */
+	final long fingerprint;
+	final boolean containsAnyLetterOrDigit;
 
 	final boolean textEquals(String text, boolean ignoreCase) {
 		return AbapCult.stringEquals(this.text, text, ignoreCase);
@@ -52,25 +40,25 @@ class CompareWord {
 		this.parentLine = parentLine;
 		this.startIndex = startIndex;
 		this.length = length;
-		text = parentLine.getText().substring(startIndex, startIndex + length);
-		simplifiedText = simplify(text);
-	}
-
-	final void setMatch(CompareWord other) {
-		match = other;
-		other.match = this;
+		String lineText = parentLine.getText();
+		text = lineText.substring(startIndex, startIndex + length);
+		fingerprint = CompareLine.getWordFingerprint(lineText, startIndex, startIndex + length);
+		containsAnyLetterOrDigit = containsAnyLetterOrDigit(lineText, startIndex, startIndex + length);
 	}
 
-	final boolean simplifiedTextContainsAnyLetterOrDigit() {
-		String text = simplifiedText;
-		char[] textChars = text.toCharArray();
-		for (char c : textChars) {
-			if (Character.isLetterOrDigit(c))
+	private static boolean containsAnyLetterOrDigit(String text, int start, int end) {
+		for (int i = start; i < end; ++i) {
+			if (Character.isLetterOrDigit(text.charAt(i)))
 				return true;
 		}
 		return false;
 	}
 
+	final void setMatch(CompareWord other) {
+		match = other;
+		other.match = this;
+	}
+
 	/*
    String sortedChars;
    int getSortedCharsTotalLength() { return sortedChars.length(); };
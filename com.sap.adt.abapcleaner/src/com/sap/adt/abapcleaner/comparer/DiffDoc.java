@@ -3,6 +3,8 @@ package com.sap.adt.abapcleaner.comparer;
 import com.sap.adt.abapcleaner.base.*;
 import com.sap.adt.abapcleaner.parser.*;
 import com.sap.adt.abapcleaner.rulebase.*;
+
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -12,6 +14,26 @@ import java.util.*;
 public class DiffDoc {
    private ArrayList<DiffLine> lines = new ArrayList<DiffLine>();
 
+   // indexes for findFirst/LastLineOfCommand() and findFirst/LastLineOfSourceLine(), which are built on first use 
+   // and refreshed by replacePart(); null if they must be (re)built
+   /** the first and last line index of each Command on the left-hand and right-hand side */
+   private IdentityHashMap<Command, int[]> lineRangeOfLeftCommand;
+   private IdentityHashMap<Command, int[]> lineRangeOfRightCommand;
+   /** the first and last line index that contains each source line number (from sourceLineNumOffset onwards) in its left or right Command */
+   private int[] firstLineOfSourceLine;
+   private int[] lastLineOfSourceLine;
+   private int sourceLineNumOffset;
+
+   // index for getRuleStatsOfLineRange(), which is built on first use; null if it must be (re)built
+   /** the position of each Command in the sequence of Commands of the Code */
+   private IdentityHashMap<Command, Integer> positionOfCommand;
+   /** for each RuleID, the number of Commands before each position that used (or blocked) the Rule; null if no Command used (or blocked) it */
+   private int[][] ruleUsePrefixCounts;
+   private int[][] ruleBlockedPrefixCounts;
+
+   // index for text search, which is built on first use per DisplaySide; null if it must be (re)built
+   private SearchIndex[] searchIndexes = new SearchIndex[DisplaySide.values().length];
+
    final int getLineCount() {
       return lines.size();
    }
@@ -22,6 +44,18 @@ public class DiffDoc {
    DiffDoc() {
    }
 
+   /** creates a DiffDoc in which all lines are {@link LineStatus#EQUAL}, e.g. if no rule changed the code; 
+    * this only requires linear runtime, because the comparer is not needed */
+   public static DiffDoc createForUnchangedLines(ArrayList<DisplayLine> displayLines) {
+      DiffDoc result = new DiffDoc();
+      result.lines.ensureCapacity(displayLines.size());
+      for (DisplayLine displayLine : displayLines) {
+         // the right-hand side needs its own DisplayLine instance, because replacePart() updates indexInDoc per side 
+         result.lines.add(new DiffLine(result.lines.size(), displayLine, displayLine.copy(), LineStatus.EQUAL, IndentChangeType.NONE, InnerSpaceChangeType.NONE, CaseChangeType.NONE));
+      }
+      return result;
+   }
+
    final void add(CompareLine leftLine, CompareLine rightLine, LineStatus status) {
       int index = lines.size();
       DisplayLine leftDisplayLine = (leftLine == null) ? null : leftLine.displayLine;
@@ -31,8 +65,7 @@ public class DiffDoc {
             throw new NullPointerException("leftLine");
          if (rightLine == null)
             throw new NullPointerException("rightLine");
-         leftDisplayLine.setHighlightBits(leftLine.getHighlightBits());
-         rightDisplayLine.setHighlightBits(rightLine.getHighlightBits());
+         // the HighlightBits are only calculated on first access, see DiffLine.calculateHighlightBits()
       }
 
       // determine whether the change is limited to whitespace or casing only
@@ -44,17 +77,21 @@ public class DiffDoc {
          innerSpaceChangeType = InnerSpaceChangeType.NONE;
          caseChangeType = CaseChangeType.NONE;
       } else if (status == LineStatus.CHANGED) {
-         if (leftLine.simplifiedText.equals(rightLine.simplifiedText)) {
+         if (leftLine.hasSameSimplifiedTextAs(rightLine)) {
             indentChangeType = (StringUtil.spaceCountAtStartOf(leftLine.getText()) == StringUtil.spaceCountAtStartOf(rightLine.getText())) ? IndentChangeType.NONE : IndentChangeType.INDENT_CHANGED;
-            innerSpaceChangeType = (CompareLine.simplify(leftLine.getText(), true, true, false).equals(CompareLine.simplify(rightLine.getText(), true, true, false))) ? InnerSpaceChangeType.NONE : InnerSpaceChangeType.INNER_SPACE_CHANGED;
-            caseChangeType = (CompareLine.simplify(leftLine.getText(), false, true, true).equals(CompareLine.simplify(rightLine.getText(), false, true, true))) ? CaseChangeType.NONE : CaseChangeType.CASE_CHANGED;
+            innerSpaceChangeType = CompareLine.simplifiedTextEquals(leftLine.getText(), rightLine.getText(), true, true, false) ? InnerSpaceChangeType.NONE : InnerSpaceChangeType.INNER_SPACE_CHANGED;
+            caseChangeType = CompareLine.simplifiedTextEquals(leftLine.getText(), rightLine.getText(), false, true, true) ? CaseChangeType.NONE : CaseChangeType.CASE_CHANGED;
          } else {
             indentChangeType = IndentChangeType.CONTENT_CHANGED;
             innerSpaceChangeType = InnerSpaceChangeType.CONTENT_CHANGED;
             caseChangeType = CaseChangeType.CONTENT_CHANGED;
          }
       }
-      lines.add(new DiffLine(index, leftDisplayLine, rightDisplayLine, status, indentChangeType, innerSpaceChangeType, caseChangeType));
+      invalidateIndexes();
+      if (status == LineStatus.CHANGED)
+         lines.add(new DiffLine(index, leftLine, rightLine, indentChangeType, innerSpaceChangeType, caseChangeType));
+      else
+         lines.add(new DiffLine(index, leftDisplayLine, rightDisplayLine, status, indentChangeType, innerSpaceChangeType, caseChangeType));
    }
 
    /** 
@@ -182,6 +219,120 @@ public class DiffDoc {
    }
 
 
+   /**
+    * writes the changes in unified diff format, showing the supplied number of unchanged context lines around each change. 
+    * The lines are written directly from the {@link DiffLine}s, so the text of neither side is built in memory. 
+    * If no line was changed, nothing is written (not even the header). 
+    * 
+    * @param out - the output to write to
+    * @param oldName - the name of the old state in the header, e.g. "a/ZCL_ANY_CLASS.abap"
+    * @param newName - the name of the new state in the header, e.g. "b/ZCL_ANY_CLASS.abap"
+    * @param contextLineCount - the number of unchanged lines to be shown before and after each change
+    * @param lineSeparator - the line separator to be written after each line
+    * @throws IOException
+    */
+   public final void writeUnifiedDiff(Appendable out, String oldName, String newName, int contextLineCount, String lineSeparator) throws IOException {
+      if (contextLineCount < 0)
+         throw new IllegalArgumentException("contextLineCount");
+
+      int changeStart = findNextChangedLine(0);
+      if (changeStart < 0)
+         return;
+
+      out.append("--- ").append(oldName).append(lineSeparator);
+      out.append("+++ ").append(newName).append(lineSeparator);
+
+      // the 1-based line numbers of the left and right line at lineIndex (or of the next line that exists on that side)
+      int lineIndex = 0;
+      int leftLineNum = 1;
+      int rightLineNum = 1;
+      while (changeStart >= 0) {
+         // join all subsequent changes that are separated by no more than twice the number of context lines into one hunk 
+         int changeEnd = findNextUnchangedLine(changeStart);
+         int nextChangeStart = findNextChangedLine(changeEnd);
+         while (nextChangeStart >= 0 && nextChangeStart - changeEnd <= 2 * contextLineCount) {
+            changeEnd = findNextUnchangedLine(nextChangeStart);
+            nextChangeStart = findNextChangedLine(changeEnd);
+         }
+         int hunkStart = Math.max(lineIndex, changeStart - contextLineCount);
+         int hunkEnd = Math.min(lines.size(), changeEnd + contextLineCount);
+
+         for (; lineIndex < hunkStart; ++lineIndex) {
+            DiffLine line = lines.get(lineIndex);
+            if (line.leftLine != null)
+               ++leftLineNum;
+            if (line.rightLine != null)
+               ++rightLineNum;
+         }
+         int leftLineCount = 0;
+         int rightLineCount = 0;
+         for (int i = hunkStart; i < hunkEnd; ++i) {
+            DiffLine line = lines.get(i);
+            if (line.leftLine != null)
+               ++leftLineCount;
+            if (line.rightLine != null)
+               ++rightLineCount;
+         }
+         out.append("@@ -").append(getUnifiedDiffRange(leftLineNum, leftLineCount));
+         out.append(" +").append(getUnifiedDiffRange(rightLineNum, rightLineCount)).append(" @@").append(lineSeparator);
+
+         // write the hunk, putting all deleted lines of a block of changed lines before its added lines
+         int blockStart = hunkStart;
+         while (blockStart < hunkEnd) {
+            DiffLine line = lines.get(blockStart);
+            if (line.status == LineStatus.EQUAL) {
+               out.append(' ').append(line.leftLine.getText()).append(lineSeparator);
+               ++blockStart;
+               continue;
+            }
+            int blockEnd = findNextUnchangedLine(blockStart);
+            for (int i = blockStart; i < blockEnd; ++i) {
+               DisplayLine leftLine = lines.get(i).leftLine;
+               if (leftLine != null)
+                  out.append('-').append(leftLine.getText()).append(lineSeparator);
+            }
+            for (int i = blockStart; i < blockEnd; ++i) {
+               DisplayLine rightLine = lines.get(i).rightLine;
+               if (rightLine != null)
+                  out.append('+').append(rightLine.getText()).append(lineSeparator);
+            }
+            blockStart = blockEnd;
+         }
+
+         lineIndex = hunkEnd;
+         leftLineNum += leftLineCount;
+         rightLineNum += rightLineCount;
+         changeStart = nextChangeStart;
+      }
+   }
+
+   private static String getUnifiedDiffRange(int startLineNum, int lineCount) {
+      // an empty range refers to the line after which lines are inserted (or after which lines were deleted)
+      if (lineCount == 0)
+         return String.valueOf(startLineNum - 1) + ",0";
+      else if (lineCount == 1)
+         return String.valueOf(startLineNum);
+      else
+         return String.valueOf(startLineNum) + "," + String.valueOf(lineCount);
+   }
+
+   private int findNextChangedLine(int startLine) {
+      for (int i = startLine; i < lines.size(); ++i) {
+         if (lines.get(i).status != LineStatus.EQUAL)
+            return i;
+      }
+      return -1;
+   }
+
+   private int findNextUnchangedLine(int startLine) {
+      for (int i = startLine; i < lines.size(); ++i) {
+         if (lines.get(i).status == LineStatus.EQUAL)
+            return i;
+      }
+      return lines.size();
+   }
+
+
    public final RuleStats[] getRuleStats(Profile profile) {
       return getRuleStatsOfLineRange(profile, 0, lines.size());
    }
@@ -196,11 +347,25 @@ public class DiffDoc {
       
       Command command = getCommandAt(startLine);
       Command lastCommand = getCommandAt(lastLine);
-      while (command != null) {
-         command.getChangeControl().addToRuleStats(ruleUseCount, ruleBlockedCount);
-         if (command == lastCommand)
-            break;
-         command = command.getNext();
+      Integer startPos = (command == null) ? null : getRuleStatsIndex().get(command);
+      if (startPos != null) {
+         // like the loop below, continue to the end of the Code if the last Command is not found after the start Command
+         Integer lastPos = (lastCommand == null) ? null : positionOfCommand.get(lastCommand);
+         int endPos = (lastPos == null || lastPos < startPos) ? positionOfCommand.size() : lastPos + 1;
+         for (int i = 0; i < Rule.RULE_COUNT; ++i) {
+            if (ruleUsePrefixCounts[i] != null)
+               ruleUseCount[i] = ruleUsePrefixCounts[i][endPos] - ruleUsePrefixCounts[i][startPos];
+            if (ruleBlockedPrefixCounts[i] != null)
+               ruleBlockedCount[i] = ruleBlockedPrefixCounts[i][endPos] - ruleBlockedPrefixCounts[i][startPos];
+         }
+      } else {
+         // the start Command was deleted and therefore is not part of the Code anymore
+         while (command != null) {
+            command.getChangeControl().addToRuleStats(ruleUseCount, ruleBlockedCount);
+            if (command == lastCommand)
+               break;
+            command = command.getNext();
+         }
       }
 
       ArrayList<RuleStats> result = new ArrayList<RuleStats>();
@@ -211,6 +376,76 @@ public class DiffDoc {
       return result.toArray(new RuleStats[0]);
    }
 
+   /** returns the position of each Command in the sequence of Commands, building the prefix counts of used and blocked 
+    * Rules over this sequence if needed, so getRuleStatsOfLineRange() only requires constant runtime per Rule */
+   private IdentityHashMap<Command, Integer> getRuleStatsIndex() {
+      if (positionOfCommand != null)
+         return positionOfCommand;
+
+      // find the first Command of the Code, and determine which Rules were used and blocked at all 
+      IdentityHashMap<Command, Integer> newPositionOfCommand = new IdentityHashMap<Command, Integer>();
+      int[][] newRuleUsePrefixCounts = new int[Rule.RULE_COUNT][];
+      int[][] newRuleBlockedPrefixCounts = new int[Rule.RULE_COUNT][];
+      Command firstCommand = getCommandAt(0);
+      while (firstCommand != null && firstCommand.getPrev() != null)
+         firstCommand = firstCommand.getPrev();
+      int commandCount = 0;
+      for (Command command = firstCommand; command != null; command = command.getNext()) 
+         ++commandCount;
+      for (Command command = firstCommand; command != null; command = command.getNext()) {
+         ChangeControl changeControl = command.getChangeControl();
+         for (int ruleID = changeControl.getNextUsedRuleID(0); ruleID >= 0; ruleID = changeControl.getNextUsedRuleID(ruleID + 1)) {
+            if (newRuleUsePrefixCounts[ruleID] == null)
+               newRuleUsePrefixCounts[ruleID] = new int[commandCount + 1];
+         }
+         for (int ruleID = changeControl.getNextBlockedRuleID(0); ruleID >= 0; ruleID = changeControl.getNextBlockedRuleID(ruleID + 1)) {
+            if (newRuleBlockedPrefixCounts[ruleID] == null)
+               newRuleBlockedPrefixCounts[ruleID] = new int[commandCount + 1];
+         }
+      }
+
+      // build the prefix counts for the Rules that were used or blocked
+      int position = 0;
+      for (Command command = firstCommand; command != null; command = command.getNext()) {
+         newPositionOfCommand.put(command, position);
+         ChangeControl changeControl = command.getChangeControl();
+         for (int ruleID = 0; ruleID < Rule.RULE_COUNT; ++ruleID) {
+            int[] usePrefixCounts = newRuleUsePrefixCounts[ruleID];
+            if (usePrefixCounts != null)
+               usePrefixCounts[position + 1] = usePrefixCounts[position] + (changeControl.getNextUsedRuleID(ruleID) == ruleID ? 1 : 0);
+            int[] blockedPrefixCounts = newRuleBlockedPrefixCounts[ruleID];
+            if (blockedPrefixCounts != null)
+               blockedPrefixCounts[position + 1] = blockedPrefixCounts[position] + (changeControl.getNextBlockedRuleID(ruleID) == ruleID ? 1 : 0);
+         }
+         ++position;
+      }
+
+      ruleUsePrefixCounts = newRuleUsePrefixCounts;
+      ruleBlockedPrefixCounts = newRuleBlockedPrefixCounts;
+      positionOfCommand = newPositionOfCommand;
+      return positionOfCommand;
+   }
+
+   final SearchIndex getSearchIndex(DisplaySide displaySide) {
+      SearchIndex searchIndex = searchIndexes[displaySide.getValue()];
+      if (searchIndex == null) {
+         searchIndex = SearchIndex.create(this, displaySide);
+         searchIndexes[displaySide.getValue()] = searchIndex;
+      }
+      return searchIndex;
+   }
+
+   private void invalidateSearchIndexes() {
+      Arrays.fill(searchIndexes, null);
+   }
+
+   /** must be called if Rules were blocked or unblocked for Commands of this DiffDoc without calling {@link #replacePart(int, int, DiffDoc)} */
+   final void invalidateRuleStats() {
+      positionOfCommand = null;
+      ruleUsePrefixCounts = null;
+      ruleBlockedPrefixCounts = null;
+   }
+
    final int getLastNonEmptyOrChangedLineInRange(int startLine, int lastLine) {
    	lastLine = Math.min(lastLine, lines.size() - 1);
 		while (lastLine > startLine && isLineEmptyWithNoChanges(lastLine))
@@ -243,37 +478,121 @@ public class DiffDoc {
       lines.subList(startLine, lastLine + 1).clear();
       lines.addAll(startLine, diffDocPart.lines);
 
+      // since all following lines must be renumbered anyway, the indexes are rebuilt in the same pass
+      buildIndexes(true);
+      // the Commands of the Code were replaced, too, so the prefix counts for rule statistics are rebuilt on next usage 
+      invalidateRuleStats();
+      invalidateSearchIndexes();
+   }
+
+   private void invalidateIndexes() {
+      lineRangeOfLeftCommand = null;
+      lineRangeOfRightCommand = null;
+      firstLineOfSourceLine = null;
+      lastLineOfSourceLine = null;
+      invalidateRuleStats();
+      invalidateSearchIndexes();
+   }
+
+   private void ensureIndexes() {
+      if (lineRangeOfLeftCommand == null)
+         buildIndexes(false);
+   }
+
+   private void buildIndexes(boolean renumberLines) {
+      IdentityHashMap<Command, int[]> newLineRangeOfLeftCommand = new IdentityHashMap<Command, int[]>();
+      IdentityHashMap<Command, int[]> newLineRangeOfRightCommand = new IdentityHashMap<Command, int[]>();
       int indexInDocLeft = 0;
       int indexInDocRight = 0;
       for (int i = 0; i < getLineCount(); ++i) {
          DiffLine line = lines.get(i);
-         line.index = i;
-         if (line.leftLine != null)
-            line.leftLine.indexInDoc = indexInDocLeft++;
-         if (line.rightLine != null)
-            line.rightLine.indexInDoc = indexInDocRight++;
+         if (renumberLines)
+            line.index = i;
+         if (line.leftLine != null) {
+            if (renumberLines)
+               line.leftLine.indexInDoc = indexInDocLeft++;
+            addToLineRange(newLineRangeOfLeftCommand, line.leftLine.parentCommand, i);
+         }
+         if (line.rightLine != null) {
+            if (renumberLines)
+               line.rightLine.indexInDoc = indexInDocRight++;
+            addToLineRange(newLineRangeOfRightCommand, line.rightLine.parentCommand, i);
+         }
       }
+      lineRangeOfLeftCommand = newLineRangeOfLeftCommand;
+      lineRangeOfRightCommand = newLineRangeOfRightCommand;
+      buildSourceLineIndex();
    }
 
-   final int findFirstLineOfCommand(Command command, DisplaySide displaySide) {
-      for (int i = 0; i < getLineCount(); ++i) {
-      	DiffLine line = lines.get(i);
-         DisplayLine displayLine = (displaySide == DisplaySide.LEFT) ? line.leftLine : line.rightLine; //  (line.leftLine) != null ? ...
-         if (displayLine != null && displayLine.parentCommand == command)
-            return i;
+   private static void addToLineRange(IdentityHashMap<Command, int[]> lineRangeOfCommand, Command command, int lineIndex) {
+      int[] lineRange = lineRangeOfCommand.get(command);
+      if (lineRange == null)
+         lineRangeOfCommand.put(command, new int[] { lineIndex, lineIndex });
+      else
+         lineRange[1] = lineIndex;
+   }
+
+   private void buildSourceLineIndex() {
+      // determine the range of source line numbers 
+      int minSourceLineNum = Integer.MAX_VALUE;
+      int maxSourceLineNum = Integer.MIN_VALUE;
+      for (IdentityHashMap<Command, int[]> lineRangeOfCommand : getLineRangeIndexes()) {
+         for (Command command : lineRangeOfCommand.keySet()) {
+            if (command == null || command.getSourceLineNumStart() > command.getSourceLineNumEnd())
+               continue;
+            minSourceLineNum = Math.min(minSourceLineNum, command.getSourceLineNumStart());
+            maxSourceLineNum = Math.max(maxSourceLineNum, command.getSourceLineNumEnd());
+         }
       }
-      return -1;
+      if (minSourceLineNum > maxSourceLineNum) {
+         sourceLineNumOffset = 0;
+         firstLineOfSourceLine = new int[0];
+         lastLineOfSourceLine = new int[0];
+         return;
+      }
+
+      // each source line is contained in the first line of the first Command and the last line of the last Command that contains it
+      sourceLineNumOffset = minSourceLineNum;
+      int sourceLineCount = maxSourceLineNum - minSourceLineNum + 1;
+      firstLineOfSourceLine = new int[sourceLineCount];
+      lastLineOfSourceLine = new int[sourceLineCount];
+      Arrays.fill(firstLineOfSourceLine, -1);
+      Arrays.fill(lastLineOfSourceLine, -1);
+      for (IdentityHashMap<Command, int[]> lineRangeOfCommand : getLineRangeIndexes()) {
+         for (Map.Entry<Command, int[]> entry : lineRangeOfCommand.entrySet()) {
+            Command command = entry.getKey();
+            if (command == null)
+               continue;
+            int[] lineRange = entry.getValue();
+            for (int sourceLineNum = command.getSourceLineNumStart(); sourceLineNum <= command.getSourceLineNumEnd(); ++sourceLineNum) {
+               int index = sourceLineNum - sourceLineNumOffset;
+               if (firstLineOfSourceLine[index] < 0 || lineRange[0] < firstLineOfSourceLine[index])
+                  firstLineOfSourceLine[index] = lineRange[0];
+               if (lineRange[1] > lastLineOfSourceLine[index])
+                  lastLineOfSourceLine[index] = lineRange[1];
+            }
+         }
+      }
+   }
+
+   private List<IdentityHashMap<Command, int[]>> getLineRangeIndexes() {
+      return Arrays.asList(lineRangeOfLeftCommand, lineRangeOfRightCommand);
+   }
+
+   private int[] getLineRangeOfCommand(Command command, DisplaySide displaySide) {
+      ensureIndexes();
+      return (displaySide == DisplaySide.LEFT) ? lineRangeOfLeftCommand.get(command) : lineRangeOfRightCommand.get(command);
+   }
+
+   final int findFirstLineOfCommand(Command command, DisplaySide displaySide) {
+      int[] lineRange = getLineRangeOfCommand(command, displaySide);
+      return (lineRange == null) ? -1 : lineRange[0];
    }
 
 
    final int findLastLineOfCommand(Command command, DisplaySide displaySide) {
-      for (int i = getLineCount() - 1; i >= 0; --i) {
-      	DiffLine line = lines.get(i);
-         DisplayLine displayLine = (displaySide == DisplaySide.LEFT) ? line.leftLine : line.rightLine; // (line.leftLine) != null
-         if (displayLine != null && displayLine.parentCommand == command)
-            return i;
-      }
-      return -1;
+      int[] lineRange = getLineRangeOfCommand(command, displaySide);
+      return (lineRange == null) ? -1 : lineRange[1];
    }
 
 
@@ -314,19 +633,15 @@ public class DiffDoc {
    }
    
    final int findFirstLineOfSourceLine(int sourceLineNum) {
-      for (int i = 0; i < getLineCount(); ++i) {
-      	if (lines.get(i).containsSourceLineNum(sourceLineNum))
-      		return i;
-      }
-      return -1;
+      ensureIndexes();
+      int index = sourceLineNum - sourceLineNumOffset;
+      return (index >= 0 && index < firstLineOfSourceLine.length) ? firstLineOfSourceLine[index] : -1;
    }
    
    final int findLastLineOfSourceLine(int sourceLineNum) {
-      for (int i = getLineCount() - 1; i >= 0; --i) {
-      	if (lines.get(i).containsSourceLineNum(sourceLineNum))
-      		return i;
-      }
-      return -1;
+      ensureIndexes();
+      int index = sourceLineNum - sourceLineNumOffset;
+      return (index >= 0 && index < lastLineOfSourceLine.length) ? lastLineOfSourceLine[index] : -1;
    }
    
    public final int getChangedLineCount() {
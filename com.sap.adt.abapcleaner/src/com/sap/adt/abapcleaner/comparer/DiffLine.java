@@ -9,6 +9,10 @@ import com.sap.adt.abapcleaner.base.StringUtil;
  * <p>As shown by the {@link #status}, the line may be unchanged, or it may have been deleted, added, replaced or its text changed.     
  * For the latter case ({@link LineStatus#CHANGED}), attributes {@link #indentChange}, {@link #innerSpaceChange} and {@link #caseChange}
  * specify the exact type(s) of change(s).</p> 
+ * 
+ * <p>For changed lines, the {@link HighlightBit}s of the left and right {@link DisplayLine} are only calculated 
+ * on first access (e.g. when the line is displayed), because the word-level comparison is not needed 
+ * for statistics like {@link DiffDoc#getChangedLineCount()} or in batch and command line mode.</p>
  */
 public class DiffLine {
    public int index;
@@ -20,6 +24,10 @@ public class DiffLine {
    final InnerSpaceChangeType innerSpaceChange;
    final CaseChangeType caseChange;
 
+   // the compared lines, which are only kept until the HighlightBits of a changed line are calculated
+   private CompareLine leftCompareLine;
+   private CompareLine rightCompareLine;
+
    final DisplayLine getDisplayLine(DisplaySide displaySide) {
       return (displaySide == DisplaySide.LEFT) ? leftLine : rightLine;
    }
@@ -35,6 +43,27 @@ public class DiffLine {
       this.caseChange = caseChange;
    }
 
+   DiffLine(int index, CompareLine leftCompareLine, CompareLine rightCompareLine, IndentChangeType indentChange, InnerSpaceChangeType whitespaceChange, CaseChangeType caseChange) {
+      this(index, leftCompareLine.displayLine, rightCompareLine.displayLine, LineStatus.CHANGED, indentChange, whitespaceChange, caseChange);
+      this.leftCompareLine = leftCompareLine;
+      this.rightCompareLine = rightCompareLine;
+      leftLine.setChangedDiffLine(this);
+      rightLine.setChangedDiffLine(this);
+   }
+
+   /** compares the changed lines on word level and sets the resulting HighlightBits to both DisplayLines, unless this was already done */
+   final synchronized void calculateHighlightBits() {
+      if (leftCompareLine == null)
+         return;
+      leftCompareLine.compareTo(rightCompareLine);
+      leftLine.setHighlightBits(leftCompareLine.getHighlightBits());
+      rightLine.setHighlightBits(rightCompareLine.getHighlightBits());
+
+      // release the CompareLines and their words
+      leftCompareLine = null;
+      rightCompareLine = null;
+   }
+
    final boolean highlight(IndentChangeType minIndentChange, InnerSpaceChangeType minWhitespaceChange, CaseChangeType minCaseChange) {
       if (status == LineStatus.EQUAL)
          return false;
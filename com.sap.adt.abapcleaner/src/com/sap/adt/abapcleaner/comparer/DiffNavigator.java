@@ -5,6 +5,8 @@ import com.sap.adt.abapcleaner.parser.*;
 import com.sap.adt.abapcleaner.programbase.*;
 import com.sap.adt.abapcleaner.rulebase.*;
 
+import java.util.function.IntPredicate;
+
 /**
  * <p>Allows its client to navigate over a {@link DiffDoc}, i.e. over the 'diff view' of 
  * existing code (left) / cleaned code (right), by</p>
@@ -29,6 +31,8 @@ public class DiffNavigator {
 	private String searchText;
 	private int curSearchPos;
 	private DisplaySide curSearchSide = DisplaySide.values()[0];
+	/** the matches of the last search, which are reused as long as the search text and settings remain unchanged */
+	private SearchMatches searchMatches;
 
 	private IndentChangeType minIndentChange = IndentChangeType.INDENT_CHANGED;
 	private InnerSpaceChangeType minInnerSpaceChange = InnerSpaceChangeType.INNER_SPACE_CHANGED;
@@ -194,7 +198,7 @@ public class DiffNavigator {
 
 		// TODO: this is wrong if the first Token's lineBreaks were changed - we need the original sourceLineNumStart!
 		int lineNumOffset = startCommand.getSourceLineNumStart() - startCommand.getSourceLineBreaksBefore();
-		String codePartText = code.codeText.substring(sourceTextStart, sourceTextEnd);
+		String codePartText = code.getCodeText().subSequence(sourceTextStart, sourceTextEnd).toString();
 
 		CleanupRange fullCleanupRange = code.getCleanupRange();
 		// partCleanupRange works with the regular line numbers, i.e. we do NOT subtract the lineNumOffset 
@@ -352,69 +356,46 @@ public class DiffNavigator {
 		searchText += c;
 	}
 
+	/** returns all matches of the current search text with the supplied settings, reusing the matches of the previous call if possible; 
+	 * returns null if the search text is empty */ 
+	public final SearchMatches getSearchMatches(boolean searchLeft, boolean searchRight, boolean searchChangedLinesOnly, boolean matchCase, boolean wholeWord) {
+		if (diffDoc == null || StringUtil.isNullOrEmpty(searchText))
+			return null;
+		if (searchMatches == null || !searchMatches.isValidFor(diffDoc, searchText, searchLeft, searchRight, searchChangedLinesOnly, matchCase, wholeWord)) {
+			IntPredicate changedLineFilter = searchChangedLinesOnly ? (lineIndex -> diffDoc.getLine(lineIndex).highlight(minIndentChange, minInnerSpaceChange, minCaseChange)) : null;
+			searchMatches = SearchMatches.create(diffDoc, searchText, searchLeft, searchRight, changedLineFilter, matchCase, wholeWord, searchMatches);
+		}
+		return searchMatches;
+	}
+
 	public final boolean search(boolean findNext, boolean mayExtendCurrentSelection, boolean searchLeft, boolean searchRight, boolean searchChangedLinesOnly, boolean matchCase,
 			boolean wholeWord) {
-		boolean ignoreCase = !matchCase;
-
-		if (StringUtil.isNullOrEmpty(searchText))
+		SearchMatches matches = getSearchMatches(searchLeft, searchRight, searchChangedLinesOnly, matchCase, wholeWord);
+		if (matches == null)
 			return false;
 
-		DisplaySide testSide = curSearchSide;
-		int testLine = curLine;
-		int start = curSearchPos + (mayExtendCurrentSelection ? 0 : (findNext ? 1 : -1));
-
-		if (findNext) {
-			while (testLine < diffDoc.getLineCount()) {
-				DiffLine diffLine = diffDoc.getLine(testLine);
-				DisplayLine line = diffLine.getDisplayLine(testSide);
-				String text = (line == null) ? null : line.getText();
-				boolean sideMatch = (testSide == DisplaySide.LEFT) ? searchLeft : searchRight;
-				boolean lineStatusMatch = searchChangedLinesOnly ? diffLine.highlight(minIndentChange, minInnerSpaceChange, minCaseChange) : true;
-				if (line != null && lineStatusMatch && sideMatch && start < text.length()) {
-					int foundPos = AbapCult.indexOf(text, searchText, (start >= 0) ? start : 0, ignoreCase);
-					if (foundPos >= 0 && (!wholeWord || isStartOfWholeWord(text, foundPos))) {
-						curSearchSide = testSide;
-						curLine = testLine;
-						curSearchPos = foundPos;
-						selStartLine = curLine;
-						return true;
-					}
-				}
-				if (testSide == DisplaySide.LEFT)
-					testSide = DisplaySide.RIGHT;
-				else {
-					testSide = DisplaySide.LEFT;
-					++testLine;
-				}
-				start = 0;
-			}
+		int matchIndex;
+		if (curSearchPos < 0) {
+			// without a current search position, the whole current line is searched on both sides 
+			if (findNext)
+				matchIndex = matches.findFirstMatchIndexInLine(curLine);
+			else 
+				matchIndex = matches.findPrevMatchIndex(curLine, DisplaySide.RIGHT, Integer.MAX_VALUE);
+		} else if (findNext) {
+			int start = curSearchPos + (mayExtendCurrentSelection ? 0 : 1);
+			matchIndex = matches.findNextMatchIndex(curLine, curSearchSide, start);
 		} else {
-			while (testLine >= 0) {
-				DiffLine diffLine = diffDoc.getLine(testLine);
-				DisplayLine line = diffLine.getDisplayLine(testSide);
-				String text = (line == null) ? null : line.getText();
-				boolean sideMatch = (testSide == DisplaySide.LEFT) ? searchLeft : searchRight;
-				boolean lineStatusMatch = searchChangedLinesOnly ? diffLine.highlight(minIndentChange, minInnerSpaceChange, minCaseChange) : true;
-				if (line != null && lineStatusMatch && sideMatch) {
-					int foundPos = AbapCult.lastIndexOf(text, searchText, (start >= 0 ? start : text.length()), ignoreCase);
-					if (foundPos >= 0 && (!wholeWord || isStartOfWholeWord(text, foundPos))) {
-						curSearchSide = testSide;
-						curLine = testLine;
-						curSearchPos = foundPos;
-						selStartLine = curLine;
-						return true;
-					}
-				}
-				if (testSide == DisplaySide.RIGHT)
-					testSide = DisplaySide.LEFT;
-				else {
-					testSide = DisplaySide.RIGHT;
-					--testLine;
-				}
-				start = -1;
-			}
+			int start = curSearchPos - (mayExtendCurrentSelection ? 0 : 1);
+			matchIndex = (start >= 0) ? matches.findPrevMatchIndex(curLine, curSearchSide, start) : matches.findNextMatchIndex(curLine, curSearchSide, 0) - 1;
 		}
-		return false;
+		if (matchIndex < 0 || matchIndex >= matches.getCount())
+			return false;
+
+		curSearchSide = matches.getDisplaySide(matchIndex);
+		curLine = matches.getLineIndex(matchIndex);
+		curSearchPos = matches.getPos(matchIndex);
+		selStartLine = curLine;
+		return true;
 	}
 
 	public final boolean isStartOfWholeWord(String text, int pos) {
@@ -447,6 +428,7 @@ public class DiffNavigator {
 				lastCommand = command;
 			}
 		}
+		diffDoc.invalidateRuleStats();
 	}
 
 	public final void setHighlight(IndentChangeType minIndentChangeType, InnerSpaceChangeType minWhitespaceChangeType, CaseChangeType minCaseChangeType,
@@ -455,6 +437,8 @@ public class DiffNavigator {
 		this.minInnerSpaceChange = minWhitespaceChangeType;
 		this.minCaseChange = minCaseChangeType;
 		this.minContentChange = minContentChangeType;
+		// matches in changed lines only depend on the highlight settings
+		searchMatches = null;
 	}
 
 	public final boolean isContentChangeHighlighted() { return (minContentChange.getValue() < ContentChangeType.NEVER.getValue()); }
@@ -20,6 +20,8 @@ public class DisplayLine {
 
 	// results of the comparison
 	private ArrayList<HighlightBit> highlightBits; // only for changed lines
+	/** the changed DiffLine that calculates the highlightBits on first access; null if highlightBits are not needed or already calculated */
+	private DiffLine changedDiffLine;
 
 	public final String getText() { return text; }
 
@@ -27,7 +29,16 @@ public class DisplayLine {
 
 	public final java.lang.Iterable<TextBit> getTextBits() { return textBits; }
 
-	public final java.lang.Iterable<HighlightBit> getHighlightBits() { return highlightBits; }
+	public final java.lang.Iterable<HighlightBit> getHighlightBits() { 
+		ensureHighlightBits();
+		return highlightBits; 
+	}
+
+	private void ensureHighlightBits() {
+		DiffLine diffLine = changedDiffLine;
+		if (diffLine != null)
+			diffLine.calculateHighlightBits();
+	}
 
 	public final boolean isCommandInCleanupRange() { return parentCommand != null && parentCommand.isInCleanupRange(); }
 
@@ -53,9 +64,20 @@ public class DisplayLine {
 		this.textBits = textBits;
 	}
 
-	final void setHighlightBits(ArrayList<HighlightBit> bits) { highlightBits = bits; }
+	/** creates a copy of this line for the other side of a {@link DiffDoc}; the (unchanged) TextBits are shared */
+	final DisplayLine copy() {
+		return new DisplayLine(parentCommand, text, indexInDoc, textBits);
+	}
+
+	final void setChangedDiffLine(DiffLine diffLine) { changedDiffLine = diffLine; }
+
+	final void setHighlightBits(ArrayList<HighlightBit> bits) { 
+		highlightBits = bits; 
+		changedDiffLine = null;
+	}
 
 	final String getTextWithHighlightedChanges() {
+		ensureHighlightBits();
 		if (highlightBits == null || highlightBits.isEmpty())
 			return text;
 
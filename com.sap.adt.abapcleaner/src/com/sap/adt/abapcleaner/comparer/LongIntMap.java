@@ -0,0 +1,97 @@
+package com.sap.adt.abapcleaner.comparer;
+
+/**
+ * <p>Maps 64-bit keys (e.g. line fingerprints) to non-negative int values (e.g. line indices) 
+ * without boxing the keys and values into objects.</p>
+ * 
+ * <p>{@link #clear()} only resets the slots that were used, so the map can be reused cheaply for many small scopes.</p>
+ */
+class LongIntMap {
+	static final int NOT_FOUND = -1;
+
+	private long[] keys;
+	private int[] values;
+	private boolean[] isUsed;
+	private int[] usedSlots;
+	private int size;
+
+	LongIntMap() {
+		allocate(16);
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		isUsed = new boolean[capacity];
+		usedSlots = new int[capacity / 2 + 1];
+		size = 0;
+	}
+
+	final int size() { return size; }
+
+	private static int getSlot(long key, int mask) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	private int findSlot(long key) {
+		int mask = keys.length - 1;
+		int slot = getSlot(key, mask);
+		while (isUsed[slot] && keys[slot] != key)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	final boolean containsKey(long key) {
+		return isUsed[findSlot(key)];
+	}
+
+	/** returns the value of the supplied key, or {@link #NOT_FOUND} */
+	final int get(long key) {
+		int slot = findSlot(key);
+		return isUsed[slot] ? values[slot] : NOT_FOUND;
+	}
+
+	final void put(long key, int value) {
+		if (value < 0)
+			throw new IllegalArgumentException("value");
+
+		int slot = findSlot(key);
+		if (!isUsed[slot]) {
+			if (2 * (size + 1) > keys.length) {
+				resize();
+				slot = findSlot(key);
+			}
+			isUsed[slot] = true;
+			keys[slot] = key;
+			usedSlots[size] = slot;
+			++size;
+		}
+		values[slot] = value;
+	}
+
+	/** adds the key with the supplied value, unless the key is already contained */
+	final void putIfAbsent(long key, int value) {
+		if (!containsKey(key))
+			put(key, value);
+	}
+
+	private void resize() {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		int[] oldUsedSlots = usedSlots;
+		int oldSize = size;
+
+		allocate(2 * oldKeys.length);
+		for (int i = 0; i < oldSize; ++i) {
+			int oldSlot = oldUsedSlots[i];
+			put(oldKeys[oldSlot], oldValues[oldSlot]);
+		}
+	}
+
+	final void clear() {
+		for (int i = 0; i < size; ++i)
+			isUsed[usedSlots[i]] = false;
+		size = 0;
+	}
+}
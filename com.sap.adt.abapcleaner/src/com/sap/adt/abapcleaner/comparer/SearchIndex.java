@@ -0,0 +1,108 @@
+package com.sap.adt.abapcleaner.comparer;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * <p>Concatenates the texts of all {@link DisplayLine}s on one {@link DisplaySide} of a {@link DiffDoc} into a single text 
+ * (and lazily, into a single case-folded text), so all matches of a search text can be found with one pass of String.indexOf(), 
+ * instead of converting each line and the search text to upper case for every tested line.</p>
+ * 
+ * <p>Lines are separated with a line feed, so matches never span multiple lines. Case folding uses {@link Character#toUpperCase(char)}
+ * for each character, therefore the case-folded text has the same length as the original text, and match positions refer to both.</p> 
+ */
+class SearchIndex {
+   private static final char LINE_SEPARATOR = '\n';
+
+   /** the texts of all lines, separated with LINE_SEPARATOR; lines that do not exist on this side are empty */
+   private final String text;
+   /** the upper case version of the text, which is created on first usage */
+   private String foldedText;
+   /** the offset of each line in the text, plus the text length + 1 as the last entry */
+   private final int[] lineStarts;
+
+   static SearchIndex create(DiffDoc diffDoc, DisplaySide displaySide) {
+      int lineCount = diffDoc.getLineCount();
+      int[] lineStarts = new int[lineCount + 1];
+      StringBuilder sb = new StringBuilder();
+      for (int lineIndex = 0; lineIndex < lineCount; ++lineIndex) {
+         if (lineIndex > 0)
+            sb.append(LINE_SEPARATOR);
+         lineStarts[lineIndex] = sb.length();
+         DisplayLine displayLine = diffDoc.getLine(lineIndex).getDisplayLine(displaySide);
+         if (displayLine != null)
+            sb.append(displayLine.getText());
+      }
+      lineStarts[lineCount] = sb.length() + 1;
+      return new SearchIndex(sb.toString(), lineStarts);
+   }
+
+   private SearchIndex(String text, int[] lineStarts) {
+      this.text = text;
+      this.lineStarts = lineStarts;
+   }
+
+   final int getLineCount() {
+      return lineStarts.length - 1;
+   }
+
+   private String getText(boolean ignoreCase) {
+      if (!ignoreCase)
+         return text;
+      if (foldedText == null) {
+         char[] chars = text.toCharArray();
+         for (int i = 0; i < chars.length; ++i)
+            chars[i] = Character.toUpperCase(chars[i]);
+         foldedText = new String(chars);
+      }
+      return foldedText;
+   }
+
+   /** returns the search text in the form that is needed for {@link #findAll(String, boolean, boolean, int, IntPredicate)} 
+    * and {@link #matchesAt(int, int, String, boolean)}, i.e. in upper case if the case is ignored */
+   static String foldSearchText(String searchText, boolean ignoreCase) {
+      if (!ignoreCase)
+         return searchText;
+      char[] chars = searchText.toCharArray();
+      for (int i = 0; i < chars.length; ++i)
+         chars[i] = Character.toUpperCase(chars[i]);
+      return new String(chars);
+   }
+
+   private boolean isStartOfWholeWord(int offset) {
+      return (offset == 0) || !Character.isLetterOrDigit(text.charAt(offset - 1));
+   }
+
+   /** returns the {@link SearchMatches#getKey(int, int, int) keys} of all matches of the (folded) search text in ascending order, 
+    * skipping lines that are rejected by the supplied line filter (if any) */
+   final long[] findAll(String foldedSearchText, boolean ignoreCase, boolean wholeWord, int sideValue, IntPredicate lineFilter) {
+      if (foldedSearchText == null || foldedSearchText.length() == 0)
+         return new long[0];
+      String searchIn = getText(ignoreCase);
+      long[] keys = new long[16];
+      int count = 0;
+      int lineIndex = 0;
+      int offset = searchIn.indexOf(foldedSearchText);
+      while (offset >= 0) {
+         while (lineStarts[lineIndex + 1] <= offset)
+            ++lineIndex;
+         // matches must not span line separators (in case the search text contains one) 
+         if (offset + foldedSearchText.length() < lineStarts[lineIndex + 1] && (!wholeWord || isStartOfWholeWord(offset)) 
+               && (lineFilter == null || lineFilter.test(lineIndex))) {
+            if (count == keys.length)
+               keys = Arrays.copyOf(keys, 2 * count);
+            keys[count++] = SearchMatches.getKey(lineIndex, sideValue, offset - lineStarts[lineIndex]);
+         }
+         offset = searchIn.indexOf(foldedSearchText, offset + 1);
+      }
+      return Arrays.copyOf(keys, count);
+   }
+
+   /** returns true if the (folded) search text is found at the supplied position of the line */
+   final boolean matchesAt(int lineIndex, int pos, String foldedSearchText, boolean ignoreCase) {
+      int offset = lineStarts[lineIndex] + pos;
+      if (offset + foldedSearchText.length() >= lineStarts[lineIndex + 1])
+         return false;
+      return getText(ignoreCase).startsWith(foldedSearchText, offset);
+   }
+}
@@ -0,0 +1,158 @@
+package com.sap.adt.abapcleaner.comparer;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * <p>Contains all matches of a search text in a {@link DiffDoc}, which are found in one pass over the {@link SearchIndex} of each 
+ * searched {@link DisplaySide}, so all matches can be highlighted and the next or previous match can be found with binary search.</p>
+ * 
+ * <p>Each match is stored as a single long key that is composed of the line index, the DisplaySide and the position in the line; 
+ * sorting by this key therefore yields the order in which matches are visited: line by line, and within each line, 
+ * first the matches on the left-hand side, then those on the right-hand side.</p>
+ */
+public class SearchMatches {
+   private final SearchIndex[] searchIndexes;
+   private final String searchText;
+   private final boolean searchLeft;
+   private final boolean searchRight;
+   private final boolean searchChangedLinesOnly;
+   private final boolean matchCase;
+   private final boolean wholeWord;
+
+   private final long[] keys;
+
+   static long getKey(int lineIndex, int sideValue, int pos) {
+      return ((((long) lineIndex << 1) | sideValue) << 32) | pos;
+   }
+
+   private static int getLineIndexOfKey(long key) {
+      return (int) (key >>> 33);
+   }
+
+   private static DisplaySide getDisplaySideOfKey(long key) {
+      return DisplaySide.forValue((int) (key >>> 32) & 1);
+   }
+
+   private static int getPosOfKey(long key) {
+      return (int) key;
+   }
+
+   public final String getSearchText() { return searchText; }
+
+   public final int getCount() { return keys.length; }
+
+   public final int getLineIndex(int matchIndex) { return getLineIndexOfKey(keys[matchIndex]); }
+
+   public final DisplaySide getDisplaySide(int matchIndex) { return getDisplaySideOfKey(keys[matchIndex]); }
+
+   public final int getPos(int matchIndex) { return getPosOfKey(keys[matchIndex]); }
+
+   /**
+    * finds all matches of the search text in the supplied DiffDoc; if matches of a shorter search text (with otherwise identical settings) 
+    * are supplied, as is the case when the user types the search text, only these matches are checked again
+    * 
+    * @param diffDoc               the DiffDoc to search in 
+    * @param searchText            the text to search for 
+    * @param searchLeft            true if the left-hand side shall be searched 
+    * @param searchRight           true if the right-hand side shall be searched 
+    * @param changedLineFilter     null to search all lines, otherwise the filter that accepts the index of each changed line that shall be searched 
+    * @param matchCase             true if the search is case-sensitive 
+    * @param wholeWord             true if matches must not be preceded by a letter or digit 
+    * @param prevMatches           the matches of a previous search, which may be refined if possible, or null
+    */
+   static SearchMatches create(DiffDoc diffDoc, String searchText, boolean searchLeft, boolean searchRight, IntPredicate changedLineFilter, 
+         boolean matchCase, boolean wholeWord, SearchMatches prevMatches) {
+      SearchIndex[] searchIndexes = new SearchIndex[] { searchLeft ? diffDoc.getSearchIndex(DisplaySide.LEFT) : null, 
+                                                        searchRight ? diffDoc.getSearchIndex(DisplaySide.RIGHT) : null };
+      boolean ignoreCase = !matchCase;
+      String foldedSearchText = SearchIndex.foldSearchText(searchText, ignoreCase);
+      boolean searchChangedLinesOnly = (changedLineFilter != null);
+      
+      long[] keys;
+      if (prevMatches != null && prevMatches.canBeRefinedTo(searchIndexes, searchText, searchChangedLinesOnly, matchCase, wholeWord)) {
+         // only check again whether the previous matches continue with the rest of the search text 
+         keys = new long[prevMatches.keys.length];
+         int count = 0;
+         for (long key : prevMatches.keys) {
+            SearchIndex searchIndex = searchIndexes[getDisplaySideOfKey(key).getValue()];
+            if (searchIndex.matchesAt(getLineIndexOfKey(key), getPosOfKey(key), foldedSearchText, ignoreCase))
+               keys[count++] = key;
+         }
+         keys = Arrays.copyOf(keys, count);
+
+      } else {
+         long[] leftKeys = searchLeft ? searchIndexes[0].findAll(foldedSearchText, ignoreCase, wholeWord, DisplaySide.LEFT.getValue(), changedLineFilter) : new long[0];
+         long[] rightKeys = searchRight ? searchIndexes[1].findAll(foldedSearchText, ignoreCase, wholeWord, DisplaySide.RIGHT.getValue(), changedLineFilter) : new long[0];
+         keys = merge(leftKeys, rightKeys);
+      }
+      return new SearchMatches(searchIndexes, searchText, searchLeft, searchRight, searchChangedLinesOnly, matchCase, wholeWord, keys);
+   }
+
+   private static long[] merge(long[] keys1, long[] keys2) {
+      if (keys1.length == 0)
+         return keys2;
+      if (keys2.length == 0)
+         return keys1;
+      long[] result = new long[keys1.length + keys2.length];
+      int index1 = 0;
+      int index2 = 0;
+      for (int i = 0; i < result.length; ++i) {
+         if (index2 == keys2.length || index1 < keys1.length && keys1[index1] < keys2[index2])
+            result[i] = keys1[index1++];
+         else
+            result[i] = keys2[index2++];
+      }
+      return result;
+   }
+
+   private SearchMatches(SearchIndex[] searchIndexes, String searchText, boolean searchLeft, boolean searchRight, boolean searchChangedLinesOnly, 
+         boolean matchCase, boolean wholeWord, long[] keys) {
+      this.searchIndexes = searchIndexes;
+      this.searchText = searchText;
+      this.searchLeft = searchLeft;
+      this.searchRight = searchRight;
+      this.searchChangedLinesOnly = searchChangedLinesOnly;
+      this.matchCase = matchCase;
+      this.wholeWord = wholeWord;
+      this.keys = keys;
+   }
+
+   /** returns true if these matches were found with the supplied search settings and with the current SearchIndexes of the DiffDoc */
+   final boolean isValidFor(DiffDoc diffDoc, String searchText, boolean searchLeft, boolean searchRight, boolean searchChangedLinesOnly, boolean matchCase, boolean wholeWord) {
+      return this.searchText.equals(searchText) && hasSettings(searchLeft, searchRight, searchChangedLinesOnly, matchCase, wholeWord)
+            && (!searchLeft || searchIndexes[0] == diffDoc.getSearchIndex(DisplaySide.LEFT))
+            && (!searchRight || searchIndexes[1] == diffDoc.getSearchIndex(DisplaySide.RIGHT));
+   }
+
+   private boolean hasSettings(boolean searchLeft, boolean searchRight, boolean searchChangedLinesOnly, boolean matchCase, boolean wholeWord) {
+      return this.searchLeft == searchLeft && this.searchRight == searchRight && this.searchChangedLinesOnly == searchChangedLinesOnly 
+            && this.matchCase == matchCase && this.wholeWord == wholeWord;
+   }
+
+   private boolean canBeRefinedTo(SearchIndex[] searchIndexes, String searchText, boolean searchChangedLinesOnly, boolean matchCase, boolean wholeWord) {
+      // matches of a longer search text are a subset of these matches only if the search text was extended at its end
+      return this.searchText.length() > 0 && searchText.startsWith(this.searchText) 
+            && hasSettings(searchIndexes[0] != null, searchIndexes[1] != null, searchChangedLinesOnly, matchCase, wholeWord)
+            && this.searchIndexes[0] == searchIndexes[0] && this.searchIndexes[1] == searchIndexes[1]; 
+   }
+
+   /** returns the index of the first match in the supplied line or after it, or {@link #getCount()} if there is none */
+   public final int findFirstMatchIndexInLine(int lineIndex) {
+      return findNextMatchIndex(lineIndex, DisplaySide.LEFT, 0);
+   }
+
+   /** returns the index of the first match at or after the supplied position (visiting the left-hand side of each line first), 
+    * or {@link #getCount()} if there is none */
+   final int findNextMatchIndex(int lineIndex, DisplaySide displaySide, int pos) {
+      int index = Arrays.binarySearch(keys, getKey(lineIndex, displaySide.getValue(), pos));
+      return (index >= 0) ? index : -index - 1;
+   }
+
+   /** returns the index of the last match at or before the supplied position (visiting the left-hand side of each line first), 
+    * or -1 if there is none */
+   final int findPrevMatchIndex(int lineIndex, DisplaySide displaySide, int pos) {
+      int index = Arrays.binarySearch(keys, getKey(lineIndex, displaySide.getValue(), pos));
+      return (index >= 0) ? index : -index - 2;
+   }
+}
@@ -34,7 +34,7 @@ public class AbapKeywordFreqBatchJob implements IBatchJob {
 	}
 
 	@Override
-	public void addTaskResult(String sourceCode, String sourceName, Task task) {
+	public void addTaskResult(CharSequence sourceCode, String sourceName, Task task) {
 		if (task.getParseSuccess()) {
 			codeMetrics.addCode(sourceCode, sourceName, task.getResultingCode());
 		} else {
@@ -43,6 +43,16 @@ public class ChangeControl {
 		blockedRules.set(ruleId.getValue(), blocked);
 	}
 
+	/** returns the lowest ID of a used {@link Rule} that is equal to or greater than the supplied ID, or -1 if there is none */
+	public final int getNextUsedRuleID(int fromRuleID) {
+		return usedRules.nextSetBit(fromRuleID);
+	}
+
+	/** returns the lowest ID of a blocked {@link Rule} that is equal to or greater than the supplied ID, or -1 if there is none */
+	public final int getNextBlockedRuleID(int fromRuleID) {
+		return blockedRules.nextSetBit(fromRuleID);
+	}
+
 	public final void addToRuleStats(int[] ruleUseCount, int[] ruleBlockedCount) {
 		for (int ruleID = 0; ruleID < Rule.RULE_COUNT; ++ruleID) {
 			if (usedRules.get(ruleID))
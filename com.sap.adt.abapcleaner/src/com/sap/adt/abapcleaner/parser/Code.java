@@ -4,6 +4,8 @@ import com.sap.adt.abapcleaner.comparer.*;
 import com.sap.adt.abapcleaner.base.*;
 import com.sap.adt.abapcleaner.rulebase.*;
 import com.sap.adt.abapcleaner.programbase.*;
+import com.sap.adt.abapcleaner.rulehelpers.CommentIdentifier;
+import com.sap.adt.abapcleaner.rulehelpers.LogicalExpressionCache;
 
 import java.util.*;
 
@@ -16,7 +18,11 @@ import java.util.*;
 */
 public class Code {
 	public final String sourceName;
-	public final String codeText;
+	/** the code text from which this Code was parsed; only replaced by {@link #applyEdit(int, int, String)} */
+	private CharSequence codeText;
+
+	/** returns the code text from which this Code was parsed, including the edits applied with {@link #applyEdit(int, int, String)} */
+	public final CharSequence getCodeText() { return codeText; }
 
 	/** the ABAP release against which this code must compile (e.g. "757" for release 7.57; null if unknown), 
 	 * see <a href="https://help.sap.com/doc/abapdocu_latest_index_htm/latest/en-US/index.htm?file=abennews.htm">ABAP - Release News</a> */
@@ -30,23 +36,49 @@ public class Code {
 	
 	private int indentOfFirstCommand = -1;
 
+	/** true if {@link #addRuleUse(Rule, Command, Token)} was called since parsing or since the last {@link #clearUsedRules()}; 
+	 * unlike the ChangeControls, this also covers rules that removed the Command on which they were used */
+	private boolean wasAnyRuleUsed;
+
+	/** the CommentIdentifier that is shared by all Rules executed on this Code, see {@link #getCommentIdentifier()} */
+	private CommentIdentifier commentIdentifier;
+
+	/** the LogicalExpressions that are shared by all Rules executed on this Code, see {@link #getLogicalExpressionCache()} */
+	private LogicalExpressionCache logicalExpressionCache;
+
 	final int getIndentOfFirstCommand() { return indentOfFirstCommand; }
 
 	public Command firstCommand;
 	public Command lastCommand;
 
+	/** the line number of the first line of {@link #codeText}, and the offset of {@link #codeText} in a surrounding code text 
+	 * (see {@link ParseParams#lineNumOffset} and {@link ParseParams#surroundingTextOffset}) */
+	private int lineNumOffset = 1;
+	private int surroundingTextOffset = 0;
+
 	// (re)calculated in finishBuild():
 	public int commandCount;
 	private int classStartCount;
 	// private int methodStartCount;
 	private int methodFunctionOrFormStartCount;
 	private int methodFunctionFormOrEventBlockStartCount;
-	private boolean hasIntroductoryStatement;
+	private int introductoryStatementCount;
 
 	/** returns true if this Code starts with CLASS-POOL, FUNCTION-POOL, INTERFACE-POOL, PROGRAM, REPORT, or TYPE-POOL. */
-	final boolean hasIntroductoryStatement() { return hasIntroductoryStatement; }
+	final boolean hasIntroductoryStatement() { return (introductoryStatementCount > 0); }
 
 	private HashMap<Integer, ChangeControl> changeControlOfSourceLineStart;
+	/** the ChangeControls of Commands that were replaced by edits since the keys of {@link #changeControlOfSourceLineStart} 
+	 * were last updated, or null if the keys are up to date (see {@link #applyPendingSourceShifts()}) */
+	private HashSet<ChangeControl> replacedChangeControls;
+
+	/** the source shifts of edits that may not yet be applied to all Commands; null if no edits were applied to this Code */
+	private SourceShiftLog sourceShiftLog;
+	/** the first Command that was re-parsed by the last edit, from which the Commands affected by the next edit are searched */
+	private Command lastEditedCommand;
+
+	final SourceShiftLog getSourceShiftLog() { return sourceShiftLog; }
+	final int getSourceShiftCount() { return (sourceShiftLog == null) ? 0 : sourceShiftLog.getCount(); }
 
 	/** returns true if this Code contains classes (i.e. CLASS statements) */
 	final boolean hasClassStart() { return (classStartCount > 0); }
@@ -55,12 +87,57 @@ public class Code {
 
 	public final boolean hasMethodFunctionFormOrEventBlockStart() { return (methodFunctionFormOrEventBlockStartCount > 0); }
 
+	/** returns a CommentIdentifier that caches its results, so the Rules that identify comment lines during one cleanup run 
+	 * (e.g. one call of {@link Profile#executeRules(Code, int)}) only analyze identical lines once */
+	public final CommentIdentifier getCommentIdentifier() { 
+		if (commentIdentifier == null)
+			commentIdentifier = CommentIdentifier.createWithCache();
+		return commentIdentifier; 
+	}
+
+	/** returns a cache of LogicalExpressions, so the Rules that process the same logical expression during one cleanup run
+	 * only build its structure again if the code of the expression was changed in between */
+	public final LogicalExpressionCache getLogicalExpressionCache() {
+		if (logicalExpressionCache == null)
+			logicalExpressionCache = LogicalExpressionCache.create();
+		return logicalExpressionCache;
+	}
+
+	/** releases the cached results of {@link #getCommentIdentifier()} and the {@link #getLogicalExpressionCache()} 
+	 * at the end of a cleanup run */
+	public final void releaseRuleHelpers() { 
+		commentIdentifier = null; 
+		logicalExpressionCache = null;
+	}
+
 	// ----------------------------------------------------------------------
 
 	public static Code parse(IProgress progress, ParseParams parseParams) throws ParseException {
 		Code code = new Code(parseParams.sourceName, parseParams.codeText, parseParams.abapRelease, parseParams.cleanupRange, parseParams.surroundingCode);
-		Parser parser = Parser.create(parseParams.codeText);
-		parser.parse(progress, code, parseParams.lineNumOffset, parseParams.surroundingTextOffset);
+		code.lineNumOffset = parseParams.lineNumOffset;
+		code.surroundingTextOffset = parseParams.surroundingTextOffset;
+
+		// if the same code text was parsed before, restore the Commands from the cache 
+		ParseCache parseCache = ParseCache.isSupported(parseParams) ? parseParams.parseCache : null;
+		String parseCachePath = (parseCache == null) ? null : parseCache.getPath(parseParams.codeText);
+		if (parseCachePath != null && parseCache.load(code, parseCachePath)) {
+			code.expandCleanupRange(CleanupRangeExpandMode.FULL_METHOD);
+			return code;
+		}
+
+		// for large code documents, try parsing in parallel; if safe split points are not found, parse sequentially
+		boolean parsedInParallel = false;
+		if (parseParams.allowParallelParsing && parseParams.surroundingCode == null) {
+			ParallelParser parallelParser = ParallelParser.create(parseParams.codeText);
+			parsedInParallel = parallelParser.parse(progress, code, parseParams.lineNumOffset, parseParams.surroundingTextOffset);
+		}
+		boolean cancelled = false;
+		if (!parsedInParallel) {
+			Parser parser = Parser.create(parseParams.codeText);
+			cancelled = (parser.parse(progress, code, parseParams.lineNumOffset, parseParams.surroundingTextOffset) == null);
+		}
+		if (parseCachePath != null && !cancelled)
+			parseCache.save(code, parseCachePath);
 		
 		code.expandCleanupRange(CleanupRangeExpandMode.FULL_METHOD); // TODO: make CleanupRangeExpandMode configurable
 
@@ -72,11 +149,18 @@ public class Code {
 		return code;
 	}
 
-	private Code(String sourceName, String codeText, String abapRelease, CleanupRange cleanupRange, Code surroundingCode) {
+	/** creates an empty Code to which the {@link ParallelParser} adds the Commands of one chunk of the supplied Code */
+	static Code createForChunk(Code code) {
+		return new Code(code.sourceName, code.codeText, code.abapRelease, code.cleanupRange, null);
+	}
+
+	private Code(String sourceName, CharSequence codeText, String abapRelease, CleanupRange cleanupRange, Code surroundingCode) {
 		this.sourceName = sourceName;
 		this.codeText = codeText;
 		this.abapRelease = abapRelease;
 		this.cleanupRange = cleanupRange;
+		if (surroundingCode != null)
+			surroundingCode.applyPendingSourceShifts();
 		this.changeControlOfSourceLineStart = (surroundingCode != null && surroundingCode.changeControlOfSourceLineStart != null) ? surroundingCode.changeControlOfSourceLineStart : new HashMap<Integer, ChangeControl>();
 	}
 
@@ -87,41 +171,443 @@ public class Code {
 		++commandCount;
 	}
 
+	/** moves all Commands and ChangeControls of a chunk (that was parsed by the {@link ParallelParser}) to the end of this Code */
+	final void takeCommandsFromChunk(Code chunk) {
+		Command command = chunk.firstCommand;
+		while (command != null) {
+			command.setParentCode(this);
+			command = command.getNext();
+		}
+		if (firstCommand == null)
+			firstCommand = chunk.firstCommand;
+		lastCommand = chunk.lastCommand;
+		changeControlOfSourceLineStart.putAll(chunk.changeControlOfSourceLineStart);
+		
+		chunk.firstCommand = null;
+		chunk.lastCommand = null;
+	}
+
 	final void finishBuild() {
+		commandCount = 0;
+		classStartCount = 0;
+		methodFunctionOrFormStartCount = 0;
+		methodFunctionFormOrEventBlockStartCount = 0;
+		introductoryStatementCount = 0;
+
+		Command command = firstCommand;
+		while (command != null) {
+			++commandCount;
+			addToStatistics(command, 1);
+			command = command.getNext();
+		}
+		determineIndentOfFirstCommand();
+	}
+
+	/** adds (factor = 1) or subtracts (factor = -1) the supplied Command to or from the statistics that are calculated in {@link #finishBuild()} */
+	private void addToStatistics(Command command, int factor) {
+		if (command.isClassStart())
+			classStartCount += factor;
+		// else if (command.IsMethodStart)
+		//    ++methodStartCount;
+
+		// do NOT attach with else if:
+		if (command.isMethodFunctionOrFormStart())
+			methodFunctionOrFormStartCount += factor;
+
+		if (command.isMethodFunctionFormOrEventBlockStart())
+			methodFunctionFormOrEventBlockStartCount += factor;
+
+		if (command.isIntroductoryStatement())
+			introductoryStatementCount += factor;
+	}
+
+	private void determineIndentOfFirstCommand() {
 		int indentOfFirstComment = -1;
 
+		indentOfFirstCommand = -1;
 		Command command = firstCommand;
-		commandCount = 0;
 		while (command != null) {
 			if (indentOfFirstComment < 0 && command.isQuotMarkCommentLine())
-				indentOfFirstComment = command.firstToken.spacesLeft;
-			if (indentOfFirstCommand < 0 && !command.isCommentLine() && !command.isEmpty()) {
-				indentOfFirstCommand = command.firstToken.spacesLeft;
+				indentOfFirstComment = command.firstToken.getSpacesLeft();
+			if (!command.isCommentLine() && !command.isEmpty()) {
+				indentOfFirstCommand = command.firstToken.getSpacesLeft();
 				// ensure that a method is indented at least 2 chars (esp. when reprocessing a selection)
 				if (command.isMethodStart()) 
 					indentOfFirstCommand  = Math.max(indentOfFirstCommand,  2);
+				return;
 			}
+			command = command.getNext();
+		}
+		indentOfFirstCommand = Math.max(indentOfFirstComment, 0);
+	}
 
-			++commandCount;
-			if (command.isClassStart())
-				++classStartCount;
-			// else if (command.IsMethodStart)
-			//    ++methodStartCount;
+	// ----------------------------------------------------------------------
+	// incremental re-parse
+
+	/** the maximum number of times the range of re-parsed Commands is extended, before the whole code is re-parsed */
+	private static final int MAX_EDIT_RANGE_EXTENSIONS = 8;
+
+	/**
+	 * Applies a text edit to {@link #codeText} and updates the Commands of this Code accordingly. 
+	 * Only the Commands that are affected by the edit are re-parsed and spliced into the Command hierarchy, 
+	 * while the Command instances before and after them remain unchanged. The edited text is kept as an {@link EditedCharSequence}, 
+	 * and the source positions and line numbers of all following Commands are moved lazily with a {@link SourceShiftLog}, 
+	 * so the effort of an edit does not depend on the size of the code. 
+	 * If the edit changes the block structure (e.g. by adding or removing IF or ENDIF), the whole code is re-parsed. 
+	 * This must only be called on a Code that was not changed by cleanup rules yet, 
+	 * i.e. for which {@link #toString()} still reflects the {@link #codeText}.
+	 * 
+	 * @param offset - the position of the edit in {@link #codeText}
+	 * @param removedLength - the number of characters removed at the offset
+	 * @param insertedText - the text inserted at the offset (may be null or empty)
+	 * @throws ParseException if the edited code text cannot be parsed; in this case, this Code remains unchanged 
+	 */
+	public final void applyEdit(int offset, int removedLength, String insertedText) throws ParseException {
+		if (insertedText == null)
+			insertedText = "";
+		if (offset < 0 || removedLength < 0 || offset + removedLength > codeText.length())
+			throw new IndexOutOfBoundsException("edit at " + String.valueOf(offset) + " with length " + String.valueOf(removedLength) + " exceeds code text length " + String.valueOf(codeText.length()));
+
+		CharSequence newCodeText = EditedCharSequence.createFromEdit(codeText, offset, removedLength, insertedText);
+		int textDelta = insertedText.length() - removedLength;
+		int lineDelta = StringUtil.instrCount(insertedText, '\n') - StringUtil.instrCount(codeText.subSequence(offset, offset + removedLength), '\n');
+
+		if (!reparseEditedCommands(newCodeText, surroundingTextOffset + offset, surroundingTextOffset + offset + removedLength, textDelta, lineDelta)) {
+			// re-parse the whole code; if this throws a ParseException, this Code remains unchanged
+			Code newCode = new Code(sourceName, newCodeText, abapRelease, cleanupRange, null);
+			Parser.create(newCodeText).parse(null, newCode, lineNumOffset, surroundingTextOffset);
+
+			firstCommand = null;
+			lastCommand = null;
+			lastEditedCommand = null;
+			changeControlOfSourceLineStart = new HashMap<Integer, ChangeControl>();
+			replacedChangeControls = null;
+			if (sourceShiftLog != null)
+				sourceShiftLog.clear();
+			takeCommandsFromChunk(newCode);
+			finishBuild();
+		}
+		codeText = newCodeText;
+	}
+
+	/** re-parses the Commands affected by an edit at [editStart, editEnd) (in source positions before the edit); 
+	 * returns false if the whole code must be re-parsed instead */
+	private boolean reparseEditedCommands(CharSequence newCodeText, int editStart, int editEnd, int textDelta, int lineDelta) {
+		if (firstCommand == null)
+			return false;
+
+		// determine the Commands that contain or touch the edited range, starting from the Command of the last edit, 
+		// because consecutive edits (e.g. while typing) are usually close to each other 
+		Command first = firstCommand;
+		if (lastEditedCommand != null && lastEditedCommand.getParentCode() == this && !lastEditedCommand.wasRemovedFromCode())
+			first = lastEditedCommand;
+		while (first.getPrev() != null && first.getPrev().getSourceTextEnd() >= editStart)
+			first = first.getPrev();
+		while (first.getNext() != null && first.getSourceTextEnd() < editStart)
+			first = first.getNext();
+		Command last = first;
+		while (last.getNext() != null && last.getSourceTextEnd() <= editEnd)
+			last = last.getNext();
+
+		for (int attempt = 0; attempt <= MAX_EDIT_RANGE_EXTENSIONS; ++attempt) {
+			Command prev = first.getPrev();
+			Command next = last.getNext();
+
+			// Tokens in line 1 are regarded as the first Token in their line (see Token.isFirstTokenInLine()), therefore 
+			// the following Commands must be re-parsed if the edit moves them from or to line 1
+			if (next != null && lineDelta != 0) {
+				int nextLineNum = next.getFirstToken().getSourceLineNum();
+				if (nextLineNum == 1 || nextLineNum + lineDelta == 1)
+					return false;
+			}
 
-			// do NOT attach with else if:
-			if (command.isMethodFunctionOrFormStart())
-				++methodFunctionOrFormStartCount;
+			// non-ABAP sections are not re-parsed incrementally
+			if (prev != null && prev.getLanguageOfNextCommand() != Language.ABAP)
+				return false;
+			for (Command command = first; command != next; command = command.getNext()) {
+				if (command.getLanguage() != Language.ABAP || command.getLanguageOfNextCommand() != Language.ABAP)
+					return false;
+			}
 
-			if (command.isMethodFunctionFormOrEventBlockStart())
-				++methodFunctionFormOrEventBlockStartCount;
+			// the re-parsed text must start after a line break or with whitespace, because otherwise, the Tokenizer would 
+			// consider its start as a line start (e.g. for "*" comments) 
+			int textStart = first.getSourceTextStart() - surroundingTextOffset;
+			int textEnd = last.getSourceTextEnd() - surroundingTextOffset + textDelta;
+			if (prev != null && newCodeText.charAt(textStart - 1) != '\n' && newCodeText.charAt(textStart) != ' ' && newCodeText.charAt(textStart) != '\n' && newCodeText.charAt(textStart) != '\r') {
+				first = prev;
+				continue;
+			}
 
-			if (command.isIntroductoryStatement())
-				hasIntroductoryStatement = true;
+			Code part = createForChunk(this);
+			try {
+				Token oldFirstToken = first.getFirstToken();
+				int lineNumAtStart = oldFirstToken.getSourceLineNum() - StringUtil.instrCount(oldFirstToken.getText(), '\n') - oldFirstToken.getLineBreaks();
+				Parser.create(newCodeText.subSequence(textStart, textEnd).toString()).parse(null, part, lineNumAtStart, surroundingTextOffset + textStart);
+			} catch (ParseException ex) {
+				// e.g. parentheses or a string template that now continue beyond the re-parsed range
+				if (next == null)
+					return false;
+				last = next;
+				continue;
+			}
+			if (part.firstCommand == null)
+				return false;
 
-			command = command.getNext();
+			// the re-parsed Commands must be delimited from the unchanged Commands just as in a full parse
+			if (prev != null && prev.canAdd(part.firstCommand.firstToken)) {
+				first = prev;
+				continue;
+			}
+			if (next != null && (part.lastCommand.canAdd(next.firstToken) || !isTokenizedSeparately(part.lastCommand.lastToken, newCodeText.charAt(textEnd)))) {
+				last = next;
+				continue;
+			}
+			for (Command command = part.firstCommand; command != null; command = command.getNext()) {
+				if (command.getLanguage() != Language.ABAP || command.getLanguageOfNextCommand() != Language.ABAP)
+					return false;
+			}
+
+			return spliceEditedCommands(first, last, part, textDelta, lineDelta);
 		}
-		if (indentOfFirstCommand < 0)
-			indentOfFirstCommand = Math.max(indentOfFirstComment, 0);
+		return false;
+	}
+
+	/** returns true if the Tokenizer would end the supplied Token at the end of its text, even if the supplied char followed it, 
+	 * i.e. if the re-parsed Token cannot have absorbed (parts of) the following, unchanged text */
+	private static boolean isTokenizedSeparately(Token lastToken, char followingChar) {
+		boolean followedByLineEnd = (ABAP.LINE_SEPARATOR.indexOf(followingChar) >= 0);
+		if (lastToken.isCommaOrPeriod() || lastToken.isChainColon())
+			return true;
+		else if (lastToken.isComment())
+			return followedByLineEnd;
+		else if (lastToken.isLiteral() || lastToken.textStartsWith("|") || lastToken.textStartsWith("}"))
+			return false;
+		else
+			return followedByLineEnd || followingChar == ' ';
+	}
+
+	/** replaces the Commands first to last with the re-parsed Commands of the supplied part, 
+	 * if this is possible without changing the Command hierarchy around them */
+	private boolean spliceEditedCommands(Command first, Command last, Code part, int textDelta, int lineDelta) {
+		Command prev = first.getPrev();
+		Command next = last.getNext();
+
+		ArrayList<Command> oldCommands = new ArrayList<Command>();
+		ArrayList<Command> newCommands = new ArrayList<Command>();
+		for (Command command = first; command != next; command = command.getNext()) 
+			oldCommands.add(command);
+		for (Command command = part.firstCommand; command != null; command = command.getNext()) 
+			newCommands.add(command);
+
+		// old and new Commands at the start and end of the range that open and close the same levels can replace each other 
+		// one by one; in between, only Commands that neither open nor close levels may be removed or inserted
+		int oldCount = oldCommands.size();
+		int newCount = newCommands.size();
+		int prefixCount = 0;
+		while (prefixCount < oldCount && prefixCount < newCount && newCommands.get(prefixCount).hasSameLevelOpenerAndCloser(oldCommands.get(prefixCount)))
+			++prefixCount;
+		int suffixCount = 0;
+		while (prefixCount + suffixCount < oldCount && prefixCount + suffixCount < newCount 
+				&& newCommands.get(newCount - 1 - suffixCount).hasSameLevelOpenerAndCloser(oldCommands.get(oldCount - 1 - suffixCount)))
+			++suffixCount;
+		for (int i = prefixCount; i < oldCount - suffixCount; ++i) {
+			if (!oldCommands.get(i).isNeutralToLevels())
+				return false;
+		}
+		for (int i = prefixCount; i < newCount - suffixCount; ++i) {
+			if (!newCommands.get(i).isNeutralToLevels())
+				return false;
+		}
+
+		// let the source positions of the following Commands be moved when they are accessed next
+		if (next != null && (textDelta != 0 || lineDelta != 0))
+			addSourceShift(next.getSourceTextStart(), textDelta, lineDelta);
+
+		// remove the old Commands in the middle, which are consecutive siblings
+		if (prefixCount < oldCount - suffixCount) 
+			removeSiblings(oldCommands.get(prefixCount), oldCommands.get(oldCount - 1 - suffixCount));
+
+		// replace the old Commands at the start and end one by one
+		IdentityHashMap<Command, Command> newOfOld = new IdentityHashMap<Command, Command>();
+		for (int i = 0; i < prefixCount; ++i) 
+			newOfOld.put(oldCommands.get(i), newCommands.get(i));
+		for (int i = 0; i < suffixCount; ++i) 
+			newOfOld.put(oldCommands.get(oldCount - 1 - i), newCommands.get(newCount - 1 - i));
+		for (int i = 0; i < prefixCount; ++i) 
+			replaceInHierarchy(oldCommands.get(i), newCommands.get(i), newOfOld);
+		for (int i = 0; i < suffixCount; ++i) 
+			replaceInHierarchy(oldCommands.get(oldCount - 1 - i), newCommands.get(newCount - 1 - i), newOfOld);
+
+		// insert the new Commands in the middle as consecutive siblings
+		if (prefixCount < newCount - suffixCount) {
+			Command anchor = (prefixCount > 0) ? newCommands.get(prefixCount - 1) : prev;
+			Command following = (suffixCount > 0) ? newCommands.get(newCount - suffixCount) : next;
+			insertSiblings(newCommands.get(prefixCount), newCommands.get(newCount - 1 - suffixCount), anchor, following);
+		}
+
+		// link the new Commands with the unchanged ones
+		Command newFirst = newCommands.get(0);
+		Command newLast = newCommands.get(newCount - 1);
+		for (Command newCommand : newCommands)
+			newCommand.setParentCode(this);
+		newFirst.setPrev(prev);
+		if (prev == null)
+			firstCommand = newFirst;
+		else
+			prev.setNext(newFirst);
+		newLast.setNext(next);
+		if (next == null)
+			lastCommand = newLast;
+		else
+			next.setPrev(newLast);
+
+		// update the block levels of the new Commands, and of the following Commands as far as they are affected
+		Command prevCommand = prev;
+		for (Command newCommand : newCommands) {
+			if (prevCommand != null)
+				newCommand.inheritLevelsFrom(prevCommand);
+			prevCommand = newCommand;
+		}
+		for (Command command = next; command != null; command = command.getNext()) {
+			int oldInitialBlockLevel = command.getInitialBlockLevel();
+			int oldIndentAdd = command.getIndentAdd();
+			command.inheritLevelsFrom(command.getPrev());
+			if (command.getInitialBlockLevel() == oldInitialBlockLevel && command.getIndentAdd() == oldIndentAdd) 
+				break;
+		}
+
+		// the keys of the ChangeControls are updated when they are needed next, see applyPendingSourceShifts()
+		if (replacedChangeControls == null)
+			replacedChangeControls = new HashSet<ChangeControl>();
+		for (Command oldCommand : oldCommands) 
+			replacedChangeControls.add(oldCommand.getChangeControl());
+		lastEditedCommand = newFirst;
+
+		// update statistics
+		for (Command oldCommand : oldCommands) 
+			addToStatistics(oldCommand, -1);
+		for (Command newCommand : newCommands) 
+			addToStatistics(newCommand, 1);
+		commandCount += newCount - oldCount;
+		determineIndentOfFirstCommand();
+
+		return true;
+	}
+
+	private void addSourceShift(int minSourceTextStart, int textDelta, int lineDelta) {
+		if (sourceShiftLog == null)
+			sourceShiftLog = new SourceShiftLog();
+		else if (sourceShiftLog.isFull())
+			applyPendingSourceShifts();
+		sourceShiftLog.add(minSourceTextStart, textDelta, lineDelta);
+	}
+
+	/** applies the source shifts of all edits to all Commands and updates the keys of their ChangeControls accordingly; 
+	 * this is done before Rules are executed on this Code, or when the ChangeControls are needed for parsing */
+	public final void applyPendingSourceShifts() {
+		if ((sourceShiftLog == null || !sourceShiftLog.hasPendingShifts()) && replacedChangeControls == null)
+			return;
+
+		HashSet<ChangeControl> outdatedChangeControls = (replacedChangeControls != null) ? replacedChangeControls : new HashSet<ChangeControl>();
+		for (Command command = firstCommand; command != null; command = command.getNext()) {
+			command.applyPendingSourceShifts();
+			outdatedChangeControls.add(command.getChangeControl());
+		}
+		changeControlOfSourceLineStart.values().removeIf(outdatedChangeControls::contains);
+		for (Command command = firstCommand; command != null; command = command.getNext()) 
+			changeControlOfSourceLineStart.put(command.getSourceTextStart(), command.getChangeControl());
+
+		if (sourceShiftLog != null)
+			sourceShiftLog.clear();
+		replacedChangeControls = null;
+	}
+
+	/** removes the consecutive siblings first to last from the Command hierarchy */
+	private static void removeSiblings(Command first, Command last) {
+		Command parent = first.getParent();
+		Command prevSibling = first.getPrevSibling();
+		Command nextSibling = last.getNextSibling();
+		if (prevSibling != null)
+			prevSibling.setNextSibling(nextSibling);
+		if (nextSibling != null)
+			nextSibling.setPrevSibling(prevSibling);
+		if (parent != null && parent.getFirstChild() == first)
+			parent.setFirstChild(nextSibling);
+		if (parent != null && parent.getLastChild() == last)
+			parent.setLastChild(prevSibling);
+	}
+
+	/** inserts the consecutive Commands first to last (which neither open nor close levels) into the Command hierarchy
+	 * between the anchor and the following Command, just like {@link Command#addNext(Command)} would do */
+	private static void insertSiblings(Command first, Command last, Command anchor, Command following) {
+		Command parent;
+		Command prevSibling;
+		Command nextSibling;
+		if (anchor == null) {
+			parent = null;
+			prevSibling = null;
+			nextSibling = following;
+		} else if (anchor.getOpensLevel()) {
+			parent = anchor;
+			prevSibling = null;
+			nextSibling = anchor.getFirstChild();
+			anchor.setFirstChild(first);
+			if (anchor.getLastChild() == null)
+				anchor.setLastChild(last);
+		} else {
+			parent = anchor.getParent();
+			prevSibling = anchor;
+			nextSibling = anchor.getNextSibling();
+			anchor.setNextSibling(first);
+			if (parent != null && parent.getLastChild() == anchor)
+				parent.setLastChild(last);
+		}
+		if (nextSibling != null)
+			nextSibling.setPrevSibling(last);
+
+		for (Command command = first; command != null; command = command.getNext()) {
+			command.setParent(parent);
+			command.setPrevSibling((command == first) ? prevSibling : command.getPrev());
+			command.setNextSibling((command == last) ? nextSibling : command.getNext());
+			command.setFirstChild(null);
+			command.setLastChild(null);
+			if (command == last)
+				break;
+		}
+	}
+
+	private void replaceInHierarchy(Command oldCommand, Command newCommand, IdentityHashMap<Command, Command> newOfOld) {
+		newCommand.setParent(getNewCommand(oldCommand.getParent(), newOfOld));
+		newCommand.setPrevSibling(getNewCommand(oldCommand.getPrevSibling(), newOfOld));
+		newCommand.setNextSibling(getNewCommand(oldCommand.getNextSibling(), newOfOld));
+		newCommand.setFirstChild(getNewCommand(oldCommand.getFirstChild(), newOfOld));
+		newCommand.setLastChild(getNewCommand(oldCommand.getLastChild(), newOfOld));
+
+		// update references from unchanged Commands
+		Command parent = oldCommand.getParent();
+		if (parent != null && !newOfOld.containsKey(parent)) {
+			if (parent.getFirstChild() == oldCommand)
+				parent.setFirstChild(newCommand);
+			if (parent.getLastChild() == oldCommand)
+				parent.setLastChild(newCommand);
+		}
+		Command prevSibling = oldCommand.getPrevSibling();
+		if (prevSibling != null && !newOfOld.containsKey(prevSibling))
+			prevSibling.setNextSibling(newCommand);
+		Command nextSibling = oldCommand.getNextSibling();
+		if (nextSibling != null && !newOfOld.containsKey(nextSibling))
+			nextSibling.setPrevSibling(newCommand);
+		Command child = oldCommand.getFirstChild();
+		while (child != null) {
+			if (!newOfOld.containsKey(child))
+				child.setParent(newCommand);
+			child = child.getNextSibling();
+		}
+	}
+
+	private static Command getNewCommand(Command oldCommand, IdentityHashMap<Command, Command> newOfOld) {
+		Command newCommand = (oldCommand == null) ? null : newOfOld.get(oldCommand);
+		return (newCommand == null) ? oldCommand : newCommand;
 	}
 
 	@Override
@@ -150,7 +636,7 @@ public class Code {
 
 			Token token = command.firstToken;
 			while (token != null) {
-				if (token.lineBreaks > 0) {
+				if (token.getLineBreaks() > 0) {
 					// add last line (compiled from previous Tokens in this Command)
 					if (token != command.firstToken) {
 						lines.add(DisplayLine.create(command, line.toString(), index++, condenseTextBits(textBits)));
@@ -159,13 +645,13 @@ public class Code {
 					}
 
 					// add further empty lines, if applicable
-					for (int i = 1; i < token.lineBreaks; ++i)
+					for (int i = 1; i < token.getLineBreaks(); ++i)
 						lines.add(DisplayLine.create(command, "", index++));
 				}
 
 				// add spaces; no TextBits are required for this
-				if (token.spacesLeft > 0)
-					line.append(StringUtil.repeatChar(' ', token.spacesLeft));
+				if (token.getSpacesLeft() > 0)
+					line.append(StringUtil.repeatChar(' ', token.getSpacesLeft()));
 
 				// add the Token's text, and the TextBits for coloring this text
 				int startIndex = line.length();
@@ -221,10 +707,11 @@ public class Code {
 		return result;
 	}
 
-	public final String compareWithSource(String sourceCode, int maxReportLineCount) {
-		if (sourceCode == null)
-			throw new NullPointerException("sourceCode");
+	public final String compareWithSource(CharSequence sourceText, int maxReportLineCount) {
+		if (sourceText == null)
+			throw new NullPointerException("sourceText");
 
+		String sourceCode = sourceText.toString();
 		String recompiledCodeText = this.toString();
 		if (sourceCode.equals(recompiledCodeText))
 			return null;
@@ -301,6 +788,7 @@ public class Code {
 			throw new NullPointerException("rule");
 
 		RuleID ruleID = rule.getID();
+		wasAnyRuleUsed = true;
 		if (!command.getChangeControl().wasRuleUsed(ruleID))
 			command.getChangeControl().setUsedRule(ruleID);
 	}
@@ -344,6 +832,7 @@ public class Code {
 	}
 
 	final ChangeControl getChangeControl(int sourceTextStart, int sourceTextEnd) {
+		applyPendingSourceShifts();
 		if (changeControlOfSourceLineStart.containsKey(sourceTextStart)) 
 			return changeControlOfSourceLineStart.get(sourceTextStart);
 		ChangeControl newChangeControl = new ChangeControl(sourceTextStart, sourceTextEnd);
@@ -351,7 +840,14 @@ public class Code {
 		return newChangeControl;
 	}
 
+	/** returns true if any Rule was used on this Code, i.e. if the Code may have been changed since it was parsed
+	 * (or since {@link #clearUsedRules()} was called) */
+	public final boolean wasAnyRuleUsed() {
+		return wasAnyRuleUsed;
+	}
+
 	public final void clearUsedRules() {
+		wasAnyRuleUsed = false;
 		Command command = firstCommand;
 		while (command != null) {
 			command.getChangeControl().clearUsedRules();
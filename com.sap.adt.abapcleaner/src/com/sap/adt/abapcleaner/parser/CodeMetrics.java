@@ -43,14 +43,14 @@ public class CodeMetrics {
 		byteSum += byteCount;
 	}
 
-	public final void addCode(String sourceCode, String sourceName, Code code) {
+	public final void addCode(CharSequence sourceCode, String sourceName, Code code) {
 		int lineCount = StringUtil.instrCount(sourceCode, '\n');
 		addFile(lineCount, code.commandCount, code.getTotalTokenCount(), sourceCode.length());
 
 		Command command = code.firstCommand;
 		while (command != null) {
 			if (!command.isCommentLine()) {
-				int sourceLineNum = command.getFirstToken().sourceLineNum;
+				int sourceLineNum = command.getFirstToken().getSourceLineNum();
 				String[] collocations = command.getAllKeywordsWithCollocations();
 
 				Token firstCode = command.getFirstCodeToken();
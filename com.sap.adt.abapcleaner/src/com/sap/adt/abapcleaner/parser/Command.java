@@ -5,6 +5,7 @@ import com.sap.adt.abapcleaner.programbase.*;
 import com.sap.adt.abapcleaner.rulebase.RuleID;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <p>From ABAP cleaner perspective, any ABAP {@link Code} consists of a sequence of Commands.
@@ -36,11 +37,12 @@ public class Command {
 		return AbapCult.toUpper(text);
 	}
 
-	private static HashMap<String, LevelCloser> levelClosers = new HashMap<String, LevelCloser>();
-	private static HashMap<String, LevelOpener> levelOpeners = new HashMap<String, LevelOpener>();
+	// case-insensitive tables, so level openers and closers can be looked up with the Token texts without upper case conversion 
+	private static KeywordTable<LevelCloser> levelClosers = KeywordTable.create();
+	private static KeywordTable<LevelOpener> levelOpeners = KeywordTable.create();
 
-	// provides runtime-unique IDs of Command instances for serialization
-	private static int globalID = 0;
+	// provides runtime-unique IDs of Command instances for serialization (Commands may be created concurrently, see ParallelParser)
+	private static AtomicInteger globalID = new AtomicInteger();
 
 	private Code parentCode;
 	private final int iD;
@@ -67,6 +69,7 @@ public class Command {
 	public int getInitialBlockLevel() { return initialBlockLevel; }
 
 	private int indentAdd;  
+	final int getIndentAdd() { return indentAdd; }
 
 	/** the start index of this Command in the source text */
 	private int sourceTextStart;
@@ -78,12 +81,17 @@ public class Command {
 	private int sourceLineNumStart; 
 	/** the original end line number of this Command, as found in the source code from which this Command was parsed */
 	private int sourceLineNumEnd; 
+	/** the number of source shifts of the parent Code that were applied to the source position of this Command (and the 
+	 * source line numbers of its Tokens), see {@link SourceShiftLog} */
+	private int appliedSourceShiftCount;
 	private final Language language;
 	public final Language getLanguage() { return language; }
 	private ChangeControl changeControl;
 
 	private LevelOpener usedLevelOpener;
 	private LevelCloser usedLevelCloser;
+	/** true if the level closer of this Command was ignored, because no opener was found at the top level */
+	private boolean levelCloserIgnored;
 
 	/** the number of chain colons ':' within this Command; if further colons are listed after the first colon of a 
 	 * chained statement, they are handled like blanks (but do not provoke a syntax error) 
@@ -91,7 +99,12 @@ public class Command {
 	private int chainColonCount;
 	
 	public final Code getParentCode() { return parentCode; }
-	final void setParentCode(Code value) { parentCode = value; }
+	final void setParentCode(Code value) { 
+		// apply the source shifts of the previous parent Code, while the new parent Code's source shifts do not apply to this Command
+		applyPendingSourceShifts();
+		parentCode = value; 
+		appliedSourceShiftCount = (value == null) ? 0 : value.getSourceShiftCount();
+	}
 
 	public final Command getParent() { return parent; }
 	final void setParent(Command value) { parent = value; }
@@ -120,19 +133,21 @@ public class Command {
 	/** returns the first Token that is not a pragma or comment (or null if no such Token exists in the Command) */
 	public final Token getFirstCodeToken() { return firstToken.getThisOrNextCodeToken(); }
 
-	public final int getFirstTokenLineBreaks() { return firstToken.lineBreaks; }
+	public final int getFirstTokenLineBreaks() { return firstToken.getLineBreaks(); }
 
-	public final int getSourceTextStart() { return sourceTextStart; }
-	public final int getSourceTextEnd() { return sourceTextEnd; }
+	public final int getSourceTextStart() { applyPendingSourceShifts(); return sourceTextStart; }
+	public final int getSourceTextEnd() { applyPendingSourceShifts(); return sourceTextEnd; }
 
 	public final int getSourceLineBreaksBefore() { return sourceLineBreaksBefore; }
 	
-	public final int getSourceLineNumStart() { return sourceLineNumStart; }
-	public final int getSourceLineNumEnd() { return sourceLineNumEnd; }
-	public final boolean containsSourceLineNum(int sourceLineNum) { return sourceLineNumStart <= sourceLineNum && sourceLineNumEnd >= sourceLineNum; }
+	public final int getSourceLineNumStart() { applyPendingSourceShifts(); return sourceLineNumStart; }
+	public final int getSourceLineNumEnd() { applyPendingSourceShifts(); return sourceLineNumEnd; }
+	public final boolean containsSourceLineNum(int sourceLineNum) { return getSourceLineNumStart() <= sourceLineNum && getSourceLineNumEnd() >= sourceLineNum; }
 
 	public final ChangeControl getChangeControl() { return changeControl; }
 
+	public final int getId() { return iD; }
+
 	public final String getIdString() { return Integer.toHexString(iD) + ":"; }
 
 	public final boolean getOpensLevel() { return (usedLevelOpener != null); }
@@ -268,6 +283,8 @@ public class Command {
 	
 	private static class LevelOpener {
 		final String text;
+		/** the key of this LevelOpener in {@link LevelCloser#getOpeners()} */
+		final String key;
 		final boolean startsEventBlock;
 		final boolean startsLocalVariableContext;
 		final boolean requiresCloser;
@@ -275,6 +292,7 @@ public class Command {
 
 		LevelOpener(String text, boolean startsEventBlock, boolean startsLocalVariableContext, boolean requiresCloser) {
 			this.text = text;
+			this.key = getLevelOpenerKey(text);
 			this.startsEventBlock = startsEventBlock;
 			this.startsLocalVariableContext = startsLocalVariableContext;
 			this.requiresCloser = requiresCloser;
@@ -311,8 +329,7 @@ public class Command {
 		}
 
 		final void addOpener(LevelOpener opener) {
-			String key = getLevelCloserKey(opener.text);
-			openers.put(key, opener);
+			openers.put(opener.key, opener);
 		}
 
 		final String getErrorMessageForMissingOpener() {
@@ -449,22 +466,16 @@ public class Command {
 	}
 
 	private static void addLevelOpener(String openerText, boolean startsEventBlock, boolean startsLocalVariableContext, boolean requiresCloser, String... closerTexts) {
-		String openerKey = getLevelOpenerKey(openerText);
-		LevelOpener levelOpener;
-		if (levelOpeners.containsKey(openerKey))
-			levelOpener = levelOpeners.get(openerKey);
-		else {
+		LevelOpener levelOpener = levelOpeners.get(openerText);
+		if (levelOpener == null) {
 			levelOpener = new LevelOpener(openerText, startsEventBlock, startsLocalVariableContext, requiresCloser);
-			levelOpeners.put(openerKey, levelOpener);
+			levelOpeners.put(openerText, levelOpener);
 		}
 		for (String closerText : closerTexts) {
-			String closerKey = getLevelOpenerKey(closerText);
-			LevelCloser levelCloser;
-			if (levelClosers.containsKey(closerKey))
-				levelCloser = levelClosers.get(closerKey);
-			else {
+			LevelCloser levelCloser = levelClosers.get(closerText);
+			if (levelCloser == null) {
 				levelCloser = new LevelCloser(closerText);
-				levelClosers.put(closerKey, levelCloser);
+				levelClosers.put(closerText, levelCloser);
 			}
 			levelOpener.addCloser(levelCloser);
 			if (!requiresCloser)
@@ -495,10 +506,11 @@ public class Command {
 			throw new NullPointerException("firstToken");
 
 		this.parentCode = parentCode;
+		this.appliedSourceShiftCount = (parentCode == null) ? 0 : parentCode.getSourceShiftCount();
 		this.firstToken = firstToken;
 		lastToken = firstToken;
 		tokenCount = 1;
-		iD = ++globalID;
+		iD = globalID.incrementAndGet();
 		this.language = language;
 		
 		this.originalCommand = originalCommand;
@@ -515,8 +527,6 @@ public class Command {
 		newCommand.prev = this;
 		next = newCommand;
 
-		newCommand.initialBlockLevel = initialBlockLevel + blockLevelDiff; 
-
 		if (getOpensLevel() && !newCommand.getClosesLevel()) {
 			addChild(newCommand);
 		} else if (!getOpensLevel() && newCommand.getClosesLevel()) {
@@ -524,37 +534,85 @@ public class Command {
 				parent.addSibling(newCommand);
 			else if (newCommand.usedLevelCloser.requiresOpener)
 				throw new UnexpectedSyntaxException(this, newCommand.usedLevelCloser.getErrorMessageForMissingOpener());
-			else
+			else {
 				newCommand.usedLevelCloser = null;
+				newCommand.levelCloserIgnored = true;
+			}
 		} else {
 			addSibling(newCommand);
 		}
 
+		newCommand.inheritLevelsFrom(this);
+	}
+
+	/** determines {@link #initialBlockLevel} and {@link #indentAdd} of this Command from the supplied previous Command */
+	final void inheritLevelsFrom(Command prevCommand) {
+		initialBlockLevel = prevCommand.initialBlockLevel + prevCommand.blockLevelDiff; 
+
 		// -------------------------------------------------------------------
 		// Determine indentAdd, which is increased if a previous declaration statement (TYPES, DATA, CLASS-DATA, CONSTANTS)
 		// opens a block with BEGIN OF, but does not close it. Note that before the block is close with END OF, there may  
 		// be further declaration commands, "INCLUDE TYPE|STRUCTURE ...", or comment lines. 
 
-		newCommand.indentAdd = this.indentAdd;
-		if (isSelectionScreenElement()) {  
+		indentAdd = prevCommand.indentAdd;
+		if (prevCommand.isSelectionScreenElement()) {  
 			// increase indentAdd if the existing Command starts more BEGIN OF blocks than it ends
-			int beginOfCount = firstToken.getSequenceCount(true, true, TokenSearch.ASTERISK, "BEGIN", "OF");
-			int endOfCount = firstToken.getSequenceCount(true, true, TokenSearch.ASTERISK, "END", "OF");
+			int beginOfCount = prevCommand.firstToken.getSequenceCount(true, true, TokenSearch.ASTERISK, "BEGIN", "OF");
+			int endOfCount = prevCommand.firstToken.getSequenceCount(true, true, TokenSearch.ASTERISK, "END", "OF");
 			if (beginOfCount > endOfCount)
-				newCommand.indentAdd += beginOfCount - endOfCount;
+				indentAdd += beginOfCount - endOfCount;
 		}
-		if (newCommand.isSelectionScreenElement()) {  
+		if (isSelectionScreenElement()) {  
 			// decrease indentAdd if the new Command ends more blocks than it starts
-			int beginOfCount = newCommand.firstToken.getSequenceCount(true, true, TokenSearch.ASTERISK, "BEGIN", "OF");
-			int endOfCount = newCommand.firstToken.getSequenceCount(true, true, TokenSearch.ASTERISK, "END", "OF");
+			int beginOfCount = firstToken.getSequenceCount(true, true, TokenSearch.ASTERISK, "BEGIN", "OF");
+			int endOfCount = firstToken.getSequenceCount(true, true, TokenSearch.ASTERISK, "END", "OF");
 			if (endOfCount > beginOfCount)
-				newCommand.indentAdd -= (endOfCount - beginOfCount);
+				indentAdd -= (endOfCount - beginOfCount);
+		}
+	}
+
+	/** returns true if this Command opens and closes the same levels as the supplied Command, 
+	 * so it can take the place of that Command in the Command hierarchy */
+	final boolean hasSameLevelOpenerAndCloser(Command other) {
+		return (usedLevelOpener == other.usedLevelOpener && usedLevelCloser == other.usedLevelCloser);
+	}
+
+	/** returns true if this Command neither opens nor closes a level (including a level closer ignored at the top level), 
+	 * so it can be inserted or removed without changing the levels of other Commands */
+	final boolean isNeutralToLevels() {
+		return (usedLevelOpener == null && usedLevelCloser == null && !levelCloserIgnored);
+	}
+
+	/** applies the source shifts that were added to the parent Code by edits since this Command was last accessed; 
+	 * edits therefore do not need to move the source positions of all following Commands at once, see {@link Code#applyEdit(int, int, String)} */
+	final void applyPendingSourceShifts() {
+		if (parentCode == null)
+			return;
+		int sourceShiftCount = parentCode.getSourceShiftCount();
+		if (appliedSourceShiftCount == sourceShiftCount)
+			return;
+		parentCode.getSourceShiftLog().applyTo(this, sourceTextStart, appliedSourceShiftCount);
+		appliedSourceShiftCount = sourceShiftCount;
+	}
+
+	/** moves the source position of this Command (and the source line numbers of its Tokens) after an edit in preceding code */
+	final void shiftSourcePosition(int textDelta, int lineDelta) {
+		sourceTextStart += textDelta;
+		sourceTextEnd += textDelta;
+		if (lineDelta == 0)
+			return;
+		sourceLineNumStart += lineDelta;
+		sourceLineNumEnd += lineDelta;
+		Token token = firstToken;
+		while (token != null) {
+			token.shiftSourceLineNum(lineDelta);
+			token = token.getNext();
 		}
 	}
 
 	private void addSibling(Command newCommand) throws UnexpectedSyntaxException {
 		if (newCommand.getClosesLevel()) {
-			if (!newCommand.usedLevelCloser.getOpeners().containsKey(getLevelCloserKey(usedLevelOpener.text))) {
+			if (!newCommand.usedLevelCloser.getOpeners().containsKey(usedLevelOpener.key)) {
 				throw new UnexpectedSyntaxException(this,
 						"expected " + usedLevelOpener.getClosersList() + ", but found " + newCommand.usedLevelCloser.text + ". " + 
 						"Opening command (line " + Cult.format(this.sourceLineNumStart) + "): " + this.toStringForErrorMessage());
@@ -809,7 +867,7 @@ public class Command {
 		
 		// if the Command starts with one or several pragmas (plus potentially a line-end comment),
 		// any new Token in a new line (whether it is a keyword, a comment, another pragma etc.) starts a new Command
-		if (firstToken.isPragma() && newToken.lineBreaks > 0) {
+		if (firstToken.isPragma() && newToken.getLineBreaks() > 0) {
 			Token token = firstToken.getNext();
 			while (token != null && token.isPragma())
 				token = token.getNext();
@@ -827,16 +885,22 @@ public class Command {
 			if (lastNonCommentToken == null || !lastNonCommentToken.isPeriod())
 				return true;
 			else
-				return lastToken.isPeriod() && newToken.isComment() && (newToken.lineBreaks == 0);
+				return lastToken.isPeriod() && newToken.isComment() && (newToken.getLineBreaks() == 0);
 		}
 	}
 
 	public final void finishBuild(int sourceTextStart, int sourceTextEnd) throws ParseException {
+		finishBuild(sourceTextStart, sourceTextEnd, Program.getTokenTypeRefiner());
+	}
+
+	/** finishes the build of this Command, using the supplied refiner to determine the final {@link TokenType}s  
+	 * (e.g. the {@link ParseCache} supplies a refiner that restores the cached TokenTypes) */
+	final void finishBuild(int sourceTextStart, int sourceTextEnd, ITokenTypeRefiner tokenTypeRefiner) throws ParseException {
 		this.sourceTextStart = sourceTextStart;
 		this.sourceTextEnd = sourceTextEnd;
-		sourceLineBreaksBefore = firstToken.lineBreaks;
-		sourceLineNumStart = firstToken.sourceLineNum;
-		sourceLineNumEnd = lastToken.sourceLineNum;
+		sourceLineBreaksBefore = firstToken.getLineBreaks();
+		sourceLineNumStart = firstToken.getSourceLineNum();
+		sourceLineNumEnd = lastToken.getSourceLineNum();
 		changeControl = parentCode.getChangeControl(sourceTextStart, sourceTextEnd);
 
 		// code in non-ABAP sections (e.g. EXEC SQL ... ENDEXEC) is kept unchanged, and unless a Token is a COMMENT, is has TokenType NON_ABAP
@@ -847,7 +911,7 @@ public class Command {
 		invalidateMemoryAccessType();
 
 		// correct some tricky cases in which field names may look like ABAP keywords (but are nevertheless identifiers)
-		Program.getTokenTypeRefiner().refine(this);
+		tokenTypeRefiner.refine(this);
 
 		// -------------------------------------------------------------------
 		// determine UsedLevelOpener/Closer
@@ -863,13 +927,13 @@ public class Command {
 		String keywordText = null;
 		while (keywordToken != null && keywordToken.isKeyword()) {
 			keywordText = (keywordText == null) ? keywordToken.text : keywordText + " " + keywordToken.text;
-			LevelOpener levelOpener = levelOpeners.get(getLevelOpenerKey(keywordText));
+			LevelOpener levelOpener = levelOpeners.get(keywordText);
 			if (levelOpener != null) {
 				usedLevelOpener = levelOpener;
 				// in a case like "CATCH SYSTEM-EXCEPTIONS", also reset the used level closer (which was determined from "CATCH" in a previous loop cycle) 
 				usedLevelCloser = null;
 			}
-			LevelCloser levelCloser = levelClosers.get(getLevelCloserKey(keywordText));
+			LevelCloser levelCloser = levelClosers.get(keywordText);
 			if (levelCloser != null)
 				usedLevelCloser = levelCloser;
 			// continue with next keyword, because "AT" may become "AT SELECTION-SCREEN", "CATCH" may become the obsolete "CATCH SYSTEM-EXCEPTIONS" etc.  
@@ -927,16 +991,18 @@ public class Command {
 		// -------------------------------------------------------------------
 
 		{
-			// identify ABAP keyword collocations
+			// identify ABAP keyword collocations (reusing one StringBuilder, since keyword tables can be queried with any CharSequence)
+			StringBuilder collocation = new StringBuilder();
 			Token token = firstToken;
 			while (token != null) {
 				if (token.isKeyword()) {
 					Token end = token;
-					String collocation = token.text;
+					collocation.setLength(0);
+					collocation.append(token.text);
 
 					Token testToken = token.getNextCodeToken();
 					while (testToken != null && testToken.isKeyword()) {
-						collocation += " " + testToken.text;
+						collocation.append(' ').append(testToken.text);
 						if (ABAP.isAbapKeywordCollocation(collocation))
 							end = testToken;
 						else if (!ABAP.isAbapKeywordCollocationStart(collocation))
@@ -1184,7 +1250,7 @@ public class Command {
 			}
 			insertLeftSibling(newCommand);
 			if (!newCommand.isAsteriskCommentLine())
-				newCommand.firstToken.spacesLeft = newCommand.getIndent();
+				newCommand.firstToken.setSpacesLeft(newCommand.getIndent());
 			splitOut = true;
 		}
 
@@ -1207,9 +1273,9 @@ public class Command {
 		while (token.getNext() != null && (token.getNext().isCommentAfterCode() || token.getNext().isCommentLine())) {
 			Token comment = token.getNext();
 			comment.removeFromCommand();
-			int lineBreaks = Math.max(comment.lineBreaks, 1);
+			int lineBreaks = Math.max(comment.getLineBreaks(), 1);
 			if (splitOutCount == 0) 
-				lineBreaks = Math.max(lineBreaks, firstTokenInLine.lineBreaks);
+				lineBreaks = Math.max(lineBreaks, firstTokenInLine.getLineBreaks());
 			int indent = comment.isAsteriskCommentLine() ? 0 : basicIndent;
 			comment.setWhitespace(lineBreaks, indent);
 
@@ -1221,8 +1287,8 @@ public class Command {
 			}
 
 			insertLeftSibling(newCommentCommand);
-			if (firstToken.lineBreaks > 1)
-				firstToken.lineBreaks = 1;
+			if (firstToken.getLineBreaks() > 1)
+				firstToken.setLineBreaks(1);
 
 			newCommentCommands.add(newCommentCommand);
 			++splitOutCount;
@@ -1259,11 +1325,11 @@ public class Command {
 		StringBuilder result = new StringBuilder();
 		Token token = start;
 		do {
-			if (replaceInnerLineBreaksWithSingleSpace && token.lineBreaks > 0) {
+			if (replaceInnerLineBreaksWithSingleSpace && token.getLineBreaks() > 0) {
 				if (token != start)
 					result.append(" ");
-				else if (token.spacesLeft > 0)
-					result.append(StringUtil.repeatChar(' ', token.spacesLeft));
+				else if (token.getSpacesLeft() > 0)
+					result.append(StringUtil.repeatChar(' ', token.getSpacesLeft()));
 				result.append(token.text);
 			} else {
 				result.append(token.toString());
@@ -1347,8 +1413,8 @@ public class Command {
 		Token token = (startToken != null) ? startToken : firstToken;
 		while (token != endToken) {
 			if (token.isFirstTokenInLine() && !token.isAsteriskCommentLine()) {
-				if (token.spacesLeft >= minSpacesLeft) {
-					token.spacesLeft = Math.max(token.spacesLeft + addSpaceCount, 0);
+				if (token.getSpacesLeft() >= minSpacesLeft) {
+					token.setSpacesLeft(Math.max(token.getSpacesLeft() + addSpaceCount, 0));
 					changed = true;
 				} else if (stopAtLowerIndent) {
 					break;
@@ -1544,8 +1610,8 @@ public class Command {
 
 		Token firstInLine = token.getFirstTokenInLine();
 		String insertText = ABAP.COMMENT_SIGN_STRING + " " + commentText.trim();
-		Token newComment = Token.create(firstInLine.lineBreaks, firstInLine.spacesLeft, insertText, firstInLine.sourceLineNum, language);
-		firstInLine.lineBreaks = 1;
+		Token newComment = Token.create(firstInLine.getLineBreaks(), firstInLine.getSpacesLeft(), insertText, firstInLine.getSourceLineNum(), language);
+		firstInLine.setLineBreaks(1);
 		
 		if (firstInLine.getPrev() == null) {
 			// check whether the comment was already created in a previous cleanup run, potentially checking multiple attached comments
@@ -1590,7 +1656,7 @@ public class Command {
 						}
 					}
 				}
-				if (prevToken.lineBreaks > 1)
+				if (prevToken.getLineBreaks() > 1)
 					break;
 				prevToken = prevToken.getPrev();
 			}
@@ -1621,7 +1687,7 @@ public class Command {
 			if (prev == null || !prev.isCommentLine())
 				return false;
 			if (prev.firstToken.textEqualsAny(commentTextsToMatch)) {
-				firstInLine.lineBreaks = prev.getFirstTokenLineBreaks();
+				firstInLine.setLineBreaks(prev.getFirstTokenLineBreaks());
 				prev.removeFromCode();
 				return true;
 			} else {
@@ -1673,7 +1739,7 @@ public class Command {
 				lastInLine.text += " " + appendText;
 			return lastInLine;
 		} else {
-			Token newComment = Token.create(0, 1, appendText, lastInLine.sourceLineNum, language);
+			Token newComment = Token.create(0, 1, appendText, lastInLine.getSourceLineNum(), language);
 			if (lastInLine.getNext() == null)
 				lastInLine.insertRightSibling(newComment, false);
 			else
@@ -1725,7 +1791,7 @@ public class Command {
 		int result = 0;
 		Token token = firstToken;
 		while (token != null) {
-			result += token.lineBreaks;
+			result += token.getLineBreaks();
 			token = token.getNext();
 		}
 		return result;
@@ -1741,7 +1807,7 @@ public class Command {
 		
 		Token token = startToken.getNext();
 		while (token != endToken) {
-			if (token.lineBreaks > 0) {
+			if (token.getLineBreaks() > 0) {
 				if (!ignoreLineBreakAfterComma) 
 					return true;
 				Token prev = token.getPrevNonCommentToken();
@@ -1885,8 +1951,10 @@ public class Command {
 			// When applying a Rule, we therefore always visit all Commands. 
 			// If the whole(!) cleanup range is within the empty lines above a Command, return true as well. 
 			CleanupRange cleanupRange = parentCode.getCleanupRange();
+			int sourceLineNumStart = getSourceLineNumStart();
+			int sourceLineNumEnd = getSourceLineNumEnd();
 			return (cleanupRange.startLine < sourceLineNumEnd && cleanupRange.endLine >= sourceLineNumStart)
-					|| (cleanupRange.startLine >= sourceLineNumStart - firstToken.lineBreaks && cleanupRange.endLine < sourceLineNumStart);
+					|| (cleanupRange.startLine >= sourceLineNumStart - firstToken.getLineBreaks() && cleanupRange.endLine < sourceLineNumStart);
 		}
 	}
 
@@ -1937,9 +2005,9 @@ public class Command {
 				Token next = colon.getNext();
 				if (next != null) {
 					Token prev = colon.getPrev();
-					if (prev != null && prev.isComment() && next.lineBreaks == 0) 
+					if (prev != null && prev.isComment() && next.getLineBreaks() == 0) 
 						next.copyWhitespaceFrom(colon);
-					else if (next.spacesLeft == 0 && next.lineBreaks == 0)
+					else if (next.getSpacesLeft() == 0 && next.getLineBreaks() == 0)
 						next.setWhitespace();
 				}
 
@@ -1956,10 +2024,10 @@ public class Command {
 		Command newCommand = null;
 		while (sourceToken != null && sourceToken != endToken) {
 			if (newCommand == null) {
-				Token newToken = Token.create(startLineBreaks, startSpacesLeft, sourceToken.getText(), sourceToken.getNext().sourceLineNum, language);
+				Token newToken = Token.create(startLineBreaks, startSpacesLeft, sourceToken.getText(), sourceToken.getNext().getSourceLineNum(), language);
 				newCommand = Command.create(newToken, originalCommand);
 			} else {
-				Token newToken = Token.create(sourceToken.lineBreaks, sourceToken.spacesLeft, sourceToken.getText(), sourceToken.getNext().sourceLineNum, language);
+				Token newToken = Token.create(sourceToken.getLineBreaks(), sourceToken.getSpacesLeft(), sourceToken.getText(), sourceToken.getNext().getSourceLineNum(), language);
 				newCommand.getLastToken().addNext(newToken);
 			}
 			sourceToken = sourceToken.getNext(); 
@@ -2058,7 +2126,7 @@ public class Command {
 			return false;
 		// starting from the second Token, check for pragmas and line breaks  
 		Token token = firstToken.getNext();
-		while (token != null && token.isPragma() && token.lineBreaks == 0) {
+		while (token != null && token.isPragma() && token.getLineBreaks() == 0) {
 			token = token.getNext();
 		}
 		return (token == null || token.isComment());
@@ -0,0 +1,356 @@
+package com.sap.adt.abapcleaner.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.sap.adt.abapcleaner.base.ABAP;
+import com.sap.adt.abapcleaner.base.Language;
+import com.sap.adt.abapcleaner.base.StringUtil;
+import com.sap.adt.abapcleaner.programbase.IProgress;
+import com.sap.adt.abapcleaner.programbase.ParseException;
+import com.sap.adt.abapcleaner.programbase.TaskType;
+import com.sap.adt.abapcleaner.programbase.UnexpectedSyntaxException;
+
+/**
+ * <p>Parses a large ABAP code text by splitting it into chunks at safe statement boundaries,
+ * parsing these chunks concurrently with {@link Parser}, and then stitching the resulting {@link Command}s
+ * into one {@link Code}.</p>
+ *
+ * <p>Split points are only chosen at the start of lines that start a top-level CLASS, INTERFACE, FORM or FUNCTION statement,
+ * while the previous statement is complete, and no literal, comment, string template or non-ABAP section is open.
+ * After parsing, each chunk boundary is checked to link the Commands exactly as a sequential parse would.
+ * If this cannot be guaranteed (or a chunk fails to parse), {@link #parse(IProgress, Code, int, int)} returns false,
+ * and the caller must parse the whole text sequentially.</p>
+ */
+class ParallelParser {
+	/** minimum text length of a chunk; smaller texts are not worth the overhead of parallel parsing */
+	static final int MIN_CHUNK_LENGTH = 128 * 1024;
+
+	private static final String[] splitKeywords = new String[] { "CLASS", "INTERFACE", "FORM", "FUNCTION" };
+
+	private static class Chunk {
+		private final int start;
+		private final int end;
+		private final int lineNumOffset;
+		private Code code;
+
+		private Chunk(int start, int end, int lineNumOffset) {
+			this.start = start;
+			this.end = end;
+			this.lineNumOffset = lineNumOffset;
+		}
+	}
+
+	private final CharSequence text;
+	private final int parallelism;
+
+	static ParallelParser create(CharSequence text) {
+		return new ParallelParser(text, Runtime.getRuntime().availableProcessors());
+	}
+
+	static ParallelParser create(CharSequence text, int parallelism) {
+		return new ParallelParser(text, parallelism);
+	}
+
+	private ParallelParser(CharSequence text, int parallelism) {
+		if (text == null)
+			throw new NullPointerException("text");
+		this.text = text;
+		this.parallelism = Math.max(parallelism, 1);
+	}
+
+	/** returns true if the text was parsed in parallel into the supplied (empty) {@link Code};
+	 * otherwise, the Code remains unchanged, and the caller must use the sequential {@link Parser} */
+	final boolean parse(IProgress progress, Code code, int lineNumOffset, int surroundingTextOffset) {
+		ArrayList<Chunk> chunks = splitIntoChunks(lineNumOffset);
+		if (chunks.size() < 2)
+			return false;
+
+		// parse the chunks concurrently; progress is only reported from the calling thread
+		List<Callable<Code>> tasks = new ArrayList<>();
+		for (Chunk chunk : chunks) {
+			tasks.add(() -> {
+				Code chunkCode = Code.createForChunk(code);
+				Parser parser = Parser.create(text.subSequence(chunk.start, chunk.end));
+				try {
+					return parser.parse(null, chunkCode, chunk.lineNumOffset, surroundingTextOffset + chunk.start);
+				} catch (ParseException ex) {
+					// the sequential parser will report this error with the correct context
+					return null;
+				}
+			});
+		}
+		List<Future<Code>> results = ForkJoinPool.commonPool().invokeAll(tasks);
+		try {
+			for (int i = 0; i < chunks.size(); ++i) {
+				chunks.get(i).code = results.get(i).get();
+				if (progress != null) {
+					progress.report(TaskType.PARSER, (i + 1) / (double) chunks.size());
+					if (progress.isCancellationPending())
+						return true;
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException ex) {
+			// a RuntimeException in one of the chunks: the sequential parser will report it with the correct context
+			return false;
+		}
+
+		// stitch the chunks together, checking that each boundary is linked exactly as in a sequential parse
+		for (Chunk chunk : chunks) {
+			if (chunk.code == null || chunk.code.firstCommand == null)
+				return false;
+		}
+		// (if this fails, the chunks are simply discarded, since the supplied Code was not changed yet)
+		try {
+			for (int i = 1; i < chunks.size(); ++i) {
+				if (!link(chunks.get(i - 1).code.lastCommand, chunks.get(i).code.firstCommand))
+					return false;
+			}
+		} catch (UnexpectedSyntaxException ex) {
+			return false;
+		}
+
+		for (Chunk chunk : chunks) {
+			code.takeCommandsFromChunk(chunk.code);
+		}
+		code.finishBuild();
+		return true;
+	}
+
+	private boolean link(Command lastCommand, Command firstCommand) throws UnexpectedSyntaxException {
+		// in the sequential parse, the first Token of firstCommand must have started a new Command on top level
+		if (lastCommand.getLanguage() != Language.ABAP || lastCommand.getLanguageOfNextCommand() != Language.ABAP || firstCommand.getLanguage() != Language.ABAP)
+			return false;
+		if (lastCommand.canAdd(firstCommand.firstToken))
+			return false;
+		if (lastCommand.getParent() != null || lastCommand.getOpensLevel())
+			return false;
+
+		// a top-level closer like FORM (which may close an event block) is handled by addNext() as in the sequential parse;
+		// firstCommand and all its successors in the chunk were parsed with an initial block level and indent of 0
+		int initialBlockLevel = firstCommand.getInitialBlockLevel();
+		int indentAdd = firstCommand.getIndentAdd();
+		lastCommand.addNext(firstCommand);
+		return (firstCommand.getInitialBlockLevel() == initialBlockLevel && firstCommand.getIndentAdd() == indentAdd);
+	}
+
+	// -------------------------------------------------------------------------
+	// pre-scan for split points
+
+	private ArrayList<Chunk> splitIntoChunks(int lineNumOffset) {
+		ArrayList<Chunk> chunks = new ArrayList<>();
+		int length = text.length();
+		int chunkCount = Math.min(parallelism * 2, length / MIN_CHUNK_LENGTH);
+		if (chunkCount < 2)
+			return chunks;
+		int targetChunkLength = Math.max(length / chunkCount, MIN_CHUNK_LENGTH);
+
+		int chunkStart = 0;
+		int chunkLineNumOffset = lineNumOffset;
+		int lineNum = lineNumOffset;
+
+		// position after the last non-whitespace character, which is where a sequential parse would end the previous Command
+		int lastContentEnd = 0;
+		int lineNumAtLastContentEnd = lineNum;
+
+		boolean statementEnded = true;
+		// true while inside EXEC ... ENDEXEC or METHOD ... BY DATABASE ... ENDMETHOD
+		boolean inNonAbapSection = false;
+		String endOfNonAbapSection = null;
+		// positions of the first word of the current statement and of the previous word, which are compared
+		// to keywords in place (ignoring case) rather than creating an upper case String for each word
+		int firstWordStart = -1;
+		int firstWordEnd = -1;
+		boolean isDatabaseMethod = false;
+		int prevWordStart = -1;
+		int prevWordEnd = -1;
+
+		// stack for string templates: each entry is true for the literal part of a template |...|, false for an embedded expression {...}
+		boolean[] templateStack = new boolean[16];
+		int templateDepth = 0;
+
+		int pos = 0;
+		boolean isAtLineStart = true;
+		while (pos < length) {
+			char c = text.charAt(pos);
+
+			if (isAtLineStart) {
+				isAtLineStart = false;
+				if (templateDepth == 0 && !inNonAbapSection && statementEnded && lastContentEnd > chunkStart
+						&& pos - chunkStart >= targetChunkLength && length - pos >= MIN_CHUNK_LENGTH / 2 && startsWithSplitKeyword(pos)) {
+					chunks.add(new Chunk(chunkStart, lastContentEnd, chunkLineNumOffset));
+					chunkStart = lastContentEnd;
+					chunkLineNumOffset = lineNumAtLastContentEnd;
+				}
+				if (c == ABAP.LINE_COMMENT_SIGN && templateDepth == 0) {
+					pos = skipToLineEnd(pos);
+					lastContentEnd = pos;
+					lineNumAtLastContentEnd = lineNum;
+					continue;
+				}
+			}
+
+			if (c == '\n') {
+				++lineNum;
+				isAtLineStart = true;
+				++pos;
+				continue;
+			} else if (c == ' ' || c == '\t' || c == '\r') {
+				++pos;
+				continue;
+			}
+
+			if (templateDepth > 0 && templateStack[templateDepth - 1]) {
+				// literal part of a string template
+				if (c == '\\') {
+					++pos;
+				} else if (c == ABAP.PIPE) {
+					--templateDepth;
+				} else if (c == ABAP.BRACE_OPEN) {
+					if (templateDepth == templateStack.length)
+						return new ArrayList<>(); // unusual nesting depth: do not split
+					templateStack[templateDepth++] = false;
+				}
+				++pos;
+
+			} else if (c == ABAP.COMMENT_SIGN) {
+				pos = skipToLineEnd(pos);
+
+			} else if (inNonAbapSection) {
+				int wordEnd = readWord(pos);
+				if (wordEnd > pos) {
+					if (wordEquals(pos, wordEnd, endOfNonAbapSection)) {
+						inNonAbapSection = false;
+						statementEnded = false;
+						firstWordStart = pos;
+						firstWordEnd = wordEnd;
+					}
+					pos = wordEnd;
+				} else {
+					++pos;
+				}
+
+			} else if (c == ABAP.QUOT_MARK || c == ABAP.QUOT_MARK2) {
+				pos = skipLiteral(pos, c);
+				statementEnded = false;
+
+			} else if (c == ABAP.PIPE) {
+				if (templateDepth == templateStack.length)
+					return new ArrayList<>(); // unusual nesting depth: do not split
+				templateStack[templateDepth++] = true;
+				statementEnded = false;
+				++pos;
+
+			} else if (c == ABAP.BRACE_CLOSE && templateDepth > 0) {
+				// end of an embedded expression: continue with the literal part of the template
+				--templateDepth;
+				++pos;
+
+			} else if (c == ABAP.DOT_SIGN && templateDepth == 0) {
+				statementEnded = true;
+				if (isDatabaseMethod) {
+					inNonAbapSection = true;
+					endOfNonAbapSection = "ENDMETHOD";
+				} else if (wordEquals(firstWordStart, firstWordEnd, "EXEC")) {
+					inNonAbapSection = true;
+					endOfNonAbapSection = "ENDEXEC";
+				}
+				firstWordStart = -1;
+				firstWordEnd = -1;
+				isDatabaseMethod = false;
+				prevWordStart = -1;
+				prevWordEnd = -1;
+				++pos;
+
+			} else {
+				int wordEnd = readWord(pos);
+				if (wordEnd > pos) {
+					if (statementEnded) {
+						firstWordStart = pos;
+						firstWordEnd = wordEnd;
+					} else if (wordEquals(prevWordStart, prevWordEnd, "BY") && wordEquals(pos, wordEnd, "DATABASE") && wordEquals(firstWordStart, firstWordEnd, "METHOD")) {
+						isDatabaseMethod = true;
+					}
+					prevWordStart = pos;
+					prevWordEnd = wordEnd;
+					pos = wordEnd;
+				} else {
+					++pos;
+				}
+				statementEnded = false;
+			}
+
+			lastContentEnd = pos;
+			lineNumAtLastContentEnd = lineNum;
+		}
+
+		if (chunks.isEmpty())
+			return chunks;
+		chunks.add(new Chunk(chunkStart, length, chunkLineNumOffset));
+		return chunks;
+	}
+
+	private boolean startsWithSplitKeyword(int lineStart) {
+		int pos = lineStart;
+		while (pos < text.length() && text.charAt(pos) == ' ')
+			++pos;
+		int wordEnd = readWord(pos);
+		if (wordEnd >= text.length() || text.charAt(wordEnd) != ' ')
+			return false;
+		for (String splitKeyword : splitKeywords) {
+			if (wordEquals(pos, wordEnd, splitKeyword))
+				return true;
+		}
+		return false;
+	}
+
+	/** returns true if the word between start (inclusive) and end (exclusive) equals the supplied keyword, ignoring case; 
+	 * returns false if start is negative, i.e. if there is no such word */
+	private boolean wordEquals(int start, int end, String keyword) {
+		return start >= 0 && end - start == keyword.length() && StringUtil.regionMatchesIgnoringCase(text, start, keyword, 0, keyword.length());
+	}
+
+	private int readWord(int start) {
+		int pos = start;
+		while (pos < text.length()) {
+			char c = text.charAt(pos);
+			if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '/')
+				break;
+			++pos;
+		}
+		return pos;
+	}
+
+	private int skipToLineEnd(int start) {
+		int pos = start;
+		while (pos < text.length() && text.charAt(pos) != '\n' && text.charAt(pos) != '\r')
+			++pos;
+		return pos;
+	}
+
+	private int skipLiteral(int start, char delimiter) {
+		// literals end at the line end at the latest; a doubled delimiter is an escaped delimiter
+		int pos = start + 1;
+		while (pos < text.length()) {
+			char c = text.charAt(pos);
+			if (c == '\n' || c == '\r')
+				return pos;
+			if (c == delimiter) {
+				if (pos + 1 < text.length() && text.charAt(pos + 1) == delimiter) {
+					pos += 2;
+					continue;
+				}
+				return pos + 1;
+			}
+			++pos;
+		}
+		return pos;
+	}
+}
@@ -0,0 +1,399 @@
+package com.sap.adt.abapcleaner.parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+import com.sap.adt.abapcleaner.base.ABAP;
+import com.sap.adt.abapcleaner.base.AbapCult;
+import com.sap.adt.abapcleaner.base.Language;
+import com.sap.adt.abapcleaner.base.PadResourceResolver;
+import com.sap.adt.abapcleaner.programbase.FileType;
+import com.sap.adt.abapcleaner.programbase.ParseException;
+import com.sap.adt.abapcleaner.programbase.Persistency;
+import com.sap.adt.abapcleaner.programbase.Program;
+import com.sap.adt.abapcleaner.programbase.UnexpectedSyntaxException;
+
+/**
+ * <p>Stores the parse result of a whole code document in a compact binary file (see {@link FileType#PARSE_CACHE}),
+ * which is keyed by a hash of the code text. If the same code text is parsed again (e.g. in a later batch run),
+ * the {@link Command}s are restored from this file without tokenizing, inferring and refining the {@link TokenType}s again.</p>
+ *
+ * <p>The file stores the {@link Command} boundaries, the position, whitespace, preliminary and final {@link TokenType} of each {@link Token},
+ * but not the Token texts (which are taken from the code text) or the Command hierarchy
+ * (which is rebuilt by {@link Command#addNext(Command)} exactly as during parsing).
+ * A cache file is ignored if it was written by a different {@link Program#TECHNICAL_VERSION}, for a different ABAP grammar,
+ * for different ABAP keywords (see {@link ABAP#getAbapKeywordChecksum()}) or with a different {@link ITokenTypeRefiner} 
+ * (see {@link Program#getTokenTypeRefiner()}), so the restored {@link Code} is always identical 
+ * to the result of {@link Parser#parse(com.sap.adt.abapcleaner.programbase.IProgress, Code, int, int)}.</p>
+ *
+ * <p>The total size of the cache files is limited to {@link #DEFAULT_MAX_TOTAL_SIZE}: whenever a new cache file exceeds this limit, 
+ * the least recently written cache files are deleted.</p>
+ */
+public class ParseCache {
+	private static final int FILE_MARKER = 0x41435043; // "ACPC"
+	private static final int FORMAT_VERSION = 3;
+
+	private static final int HEADER_LENGTH = 4 + 4 + 4 + 8 + 8 + 8 + 4;
+
+	/** the default maximum total size of all cache files */
+	public static final long DEFAULT_MAX_TOTAL_SIZE = 256L * 1024 * 1024;
+
+	/** lazily calculates the checksum of the ABAP grammar file, on which the TokenTypes depend */
+	private static class GrammarChecksum {
+		private static final long value = calculateGrammarChecksum();
+
+		private static long calculateGrammarChecksum() {
+			CRC32 crc = new CRC32();
+			try (InputStream padFileContent = new PadResourceResolver().getPadFileContent()) {
+				if (padFileContent == null)
+					return 0;
+				byte[] buffer = new byte[64 * 1024];
+				int length;
+				while ((length = padFileContent.read(buffer)) > 0)
+					crc.update(buffer, 0, length);
+			} catch (IOException e) {
+				return 0;
+			}
+			return crc.getValue();
+		}
+	}
+
+	/** returns a checksum of the class name of the {@link ITokenTypeRefiner} that determines the final TokenTypes, 
+	 * because e.g. the {@link TokenTypeRefinerRnd} and the {@link TokenTypeRefiner} may produce different results */
+	private static long getRefinerChecksum() {
+		CRC32 crc = new CRC32();
+		crc.update(Program.getTokenTypeRefiner().getClass().getName().getBytes(StandardCharsets.UTF_8));
+		return crc.getValue();
+	}
+
+	/** restores the cached TokenTypes of a Command, replacing the {@link ITokenTypeRefiner} during {@link Command#finishBuild(int, int, ITokenTypeRefiner)} */
+	private static class CachedTokenTypes implements ITokenTypeRefiner {
+		private TokenType[] types;
+
+		@Override
+		public void refine(Command command) throws ParseException {
+			int index = 0;
+			Token token = command.getFirstToken();
+			while (token != null) {
+				token.type = types[index++];
+				token = token.getNext();
+			}
+		}
+	}
+
+	/** a cache file that may be deleted to limit the total size of the cache */
+	private static class CacheFile {
+		final String path;
+		final long lastModified;
+		final long size;
+
+		CacheFile(String path, long lastModified, long size) {
+			this.path = path;
+			this.lastModified = lastModified;
+			this.size = size;
+		}
+	}
+
+	private final Persistency persistency;
+	private final long maxTotalSize;
+	/** the (estimated) total size of all cache files, or -1 if the cache folder was not yet scanned */
+	private long totalSize = -1;
+
+	public static ParseCache create(Persistency persistency) {
+		return new ParseCache(persistency, DEFAULT_MAX_TOTAL_SIZE);
+	}
+
+	static ParseCache createForTests(Persistency persistency, long maxTotalSize) {
+		return new ParseCache(persistency, maxTotalSize);
+	}
+
+	private ParseCache(Persistency persistency, long maxTotalSize) {
+		this.persistency = persistency;
+		this.maxTotalSize = maxTotalSize;
+	}
+
+	/** returns true if Code that is parsed with the supplied parameters can be stored in and restored from the cache */
+	static boolean isSupported(ParseParams parseParams) {
+		return parseParams.surroundingCode == null && parseParams.lineNumOffset == 1 && parseParams.surroundingTextOffset == 0 && parseParams.codeText != null;
+	}
+
+	/** returns the path of the cache file for the supplied code text, or null if the code text cannot be hashed; 
+	 * the path is then supplied to {@link #load(Code, String)} and {@link #save(Code, String)}, so the hash is only calculated once */
+	final String getPath(CharSequence codeText) {
+		String hash = getContentHash(codeText);
+		return (hash == null) ? null : persistency.getSavePath(FileType.PARSE_CACHE, hash);
+	}
+
+	static String getContentHash(CharSequence codeText) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+		byte[] buffer = new byte[8192];
+		int bufferPos = 0;
+		int length = codeText.length();
+		for (int i = 0; i < length; ++i) {
+			char c = codeText.charAt(i);
+			buffer[bufferPos++] = (byte) (c >>> 8);
+			buffer[bufferPos++] = (byte) c;
+			if (bufferPos == buffer.length) {
+				digest.update(buffer, 0, bufferPos);
+				bufferPos = 0;
+			}
+		}
+		digest.update(buffer, 0, bufferPos);
+
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest.digest())
+			sb.append(String.format("%02x", b & 0xFF));
+		return sb.toString();
+	}
+
+	/** restores the Commands of the supplied (still empty) Code from the supplied cache file (see {@link #getPath(CharSequence)});
+	 * returns false if no valid cache entry exists for the code text, in which case the Code remains unchanged */
+	final boolean load(Code code, String path) {
+		CharSequence codeText = code.getCodeText();
+		if (path == null || !persistency.fileExists(path))
+			return false;
+
+		try {
+			byte[] data = persistency.getFileSystem().readAllBytesFromFile(path);
+			if (data == null || data.length < HEADER_LENGTH)
+				return false;
+			ByteBuffer in = ByteBuffer.wrap(data);
+			if (in.getInt() != FILE_MARKER || in.getInt() != FORMAT_VERSION || in.getInt() != Program.TECHNICAL_VERSION
+					|| in.getLong() != GrammarChecksum.value || in.getLong() != ABAP.getAbapKeywordChecksum() || in.getLong() != getRefinerChecksum() || in.getInt() != codeText.length()) {
+				return false;
+			}
+
+			Code chunk = Code.createForChunk(code);
+			CachedTokenTypes cachedTokenTypes = new CachedTokenTypes();
+			TokenType[] tokenTypes = TokenType.values();
+			Language[] languages = Language.values();
+
+			int commandCount = readVarInt(in);
+			int commandStart = 0;
+			int lineNum = 1;
+			Command prevCommand = null;
+			for (int commandIndex = 0; commandIndex < commandCount; ++commandIndex) {
+				Language commandLanguage = languages[in.get()];
+				int tokenCount = readVarInt(in);
+				int commandEnd = commandStart + readVarInt(in);
+
+				Command command = null;
+				Token lastToken = null;
+				int textPos = commandStart;
+				cachedTokenTypes.types = new TokenType[tokenCount];
+				for (int tokenIndex = 0; tokenIndex < tokenCount; ++tokenIndex) {
+					int lineBreaks = readVarInt(in);
+					int spacesLeft = readVarInt(in);
+					int textStart = textPos + readVarInt(in);
+					int textEnd = textStart + readVarInt(in);
+					lineNum += readVarInt(in);
+					TokenType preliminaryType = tokenTypes[in.get()];
+					cachedTokenTypes.types[tokenIndex] = tokenTypes[in.get()];
+
+					String text = Tokenizer.removeTabs(codeText.subSequence(textStart, textEnd).toString());
+					Token token = Token.createWithPreliminaryType(lineBreaks, spacesLeft, text, lineNum, preliminaryType);
+					if (command == null)
+						command = Command.create(chunk, token, commandLanguage);
+					else
+						lastToken.addNext(token);
+					lastToken = token;
+					textPos = textEnd;
+				}
+				if (command == null || commandEnd < textPos || commandEnd > codeText.length())
+					return false;
+
+				command.finishBuild(commandStart, commandEnd, cachedTokenTypes);
+				if (prevCommand != null)
+					prevCommand.addNext(command);
+				prevCommand = command;
+				commandStart = commandEnd;
+			}
+			if (commandStart != codeText.length() || in.hasRemaining())
+				return false;
+
+			code.takeCommandsFromChunk(chunk);
+			code.finishBuild();
+			return true;
+
+		} catch (ParseException | UnexpectedSyntaxException | RuntimeException e) {
+			// ignore invalid cache files; the code text will be parsed again
+			return false;
+		}
+	}
+
+	/** stores the Commands of the supplied Code, which was just parsed from its whole {@link Code#getCodeText()}, 
+	 * in the supplied cache file (see {@link #getPath(CharSequence)});
+	 * returns false if the Code cannot be stored (in which case no cache file is written) */
+	final boolean save(Code code, String path) {
+		CharSequence codeText = code.getCodeText();
+		if (code.firstCommand == null || codeText == null || path == null)
+			return false;
+
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(codeText.length() / 2 + HEADER_LENGTH);
+			ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+			header.putInt(FILE_MARKER).putInt(FORMAT_VERSION).putInt(Program.TECHNICAL_VERSION).putLong(GrammarChecksum.value).putLong(ABAP.getAbapKeywordChecksum()).putLong(getRefinerChecksum()).putInt(codeText.length());
+			out.write(header.array());
+			writeVarInt(out, code.commandCount);
+
+			int commandStart = 0;
+			int lineNum = 1;
+			// keyword that ends the current non-ABAP section (the Tokenizer creates this keyword as an ABAP Token)
+			String endOfNonAbapSection = null;
+			ArrayList<Token> tokens = new ArrayList<Token>();
+			Command command = code.firstCommand;
+			int commandCount = 0;
+			while (command != null) {
+				if (command.getSourceTextStart() != commandStart || command.getSourceTextEnd() < commandStart)
+					return false;
+				Language commandLanguage = command.getLanguage();
+				tokens.clear();
+				Token token = command.getFirstToken();
+				while (token != null) {
+					tokens.add(token);
+					token = token.getNext();
+				}
+
+				out.write(commandLanguage.ordinal());
+				writeVarInt(out, tokens.size());
+				writeVarInt(out, command.getSourceTextEnd() - commandStart);
+
+				Language language = commandLanguage;
+				int textPos = commandStart;
+				for (Token tokenToSave : tokens) {
+					int textStart = skipWhitespace(codeText, textPos);
+					int textEnd = textStart + tokenToSave.getText().length();
+					if (textEnd > command.getSourceTextEnd() || !textMatches(codeText, textStart, tokenToSave.getText()))
+						return false;
+					if (language != Language.ABAP && endOfNonAbapSection != null && AbapCult.stringEquals(tokenToSave.getText(), endOfNonAbapSection, true))
+						language = Language.ABAP;
+
+					writeVarInt(out, tokenToSave.getLineBreaks());
+					writeVarInt(out, tokenToSave.getSpacesLeft());
+					writeVarInt(out, textStart - textPos);
+					writeVarInt(out, textEnd - textStart);
+					if (tokenToSave.getSourceLineNum() < lineNum)
+						return false;
+					writeVarInt(out, tokenToSave.getSourceLineNum() - lineNum);
+					out.write(Token.getPreliminaryType(tokenToSave.getLineBreaks(), tokenToSave.getSpacesLeft(), tokenToSave.getText(), tokenToSave.getSourceLineNum(), language).ordinal());
+					out.write(tokenToSave.type.ordinal());
+					lineNum = tokenToSave.getSourceLineNum();
+					textPos = textEnd;
+				}
+
+				if (commandLanguage == Language.ABAP && command.getLanguageOfNextCommand() != Language.ABAP)
+					endOfNonAbapSection = command.firstCodeTokenIsKeyword("EXEC") ? "ENDEXEC" : "ENDMETHOD";
+
+				commandStart = command.getSourceTextEnd();
+				++commandCount;
+				command = command.getNext();
+			}
+			if (commandStart != codeText.length() || commandCount != code.commandCount)
+				return false;
+
+			persistency.ensureDirectoryExistsForPath(path);
+			byte[] data = out.toByteArray();
+			if (!persistency.getFileSystem().writeAllBytesToFile(path, data))
+				return false;
+			limitTotalSize(path, data.length);
+			return true;
+
+		} catch (IOException | RuntimeException e) {
+			return false;
+		}
+	}
+
+	/** deletes the least recently written cache files if the total size exceeds the maximum after the supplied file was written; 
+	 * to avoid scanning the cache folder for each new file, the files are then reduced to 3/4 of the maximum total size */
+	private void limitTotalSize(String savedPath, long savedSize) {
+		if (totalSize >= 0) {
+			totalSize += savedSize;
+			if (totalSize <= maxTotalSize)
+				return;
+		}
+
+		String dir = persistency.getDirectoryName(savedPath);
+		String[] paths = persistency.getFilesInDirectory(dir, "*" + persistency.getExtension(FileType.PARSE_CACHE));
+		ArrayList<CacheFile> files = new ArrayList<CacheFile>();
+		totalSize = 0;
+		if (paths != null) {
+			for (String path : paths) {
+				CacheFile file = new CacheFile(path, persistency.getLastModified(path), persistency.getFileSize(path));
+				files.add(file);
+				totalSize += file.size;
+			}
+		}
+		if (totalSize <= maxTotalSize)
+			return;
+
+		files.sort((file1, file2) -> Long.compare(file1.lastModified, file2.lastModified));
+		long targetSize = maxTotalSize / 4 * 3;
+		for (CacheFile file : files) {
+			if (totalSize <= targetSize)
+				break;
+			if (file.path.equals(savedPath))
+				continue;
+			if (persistency.deleteFile(file.path))
+				totalSize -= file.size;
+		}
+	}
+
+	private static int skipWhitespace(CharSequence codeText, int pos) {
+		int length = codeText.length();
+		while (pos < length) {
+			char c = codeText.charAt(pos);
+			if (c != ' ' && c != '\t' && c != '\r' && c != '\n')
+				break;
+			++pos;
+		}
+		return pos;
+	}
+
+	/** returns true if the code text at the supplied position matches the (TAB-free) Token text */
+	private static boolean textMatches(CharSequence codeText, int start, String tokenText) {
+		if (start + tokenText.length() > codeText.length())
+			return false;
+		for (int i = 0; i < tokenText.length(); ++i) {
+			char c = codeText.charAt(start + i);
+			if (((c == '\t') ? ' ' : c) != tokenText.charAt(i))
+				return false;
+		}
+		return true;
+	}
+
+	private static void writeVarInt(ByteArrayOutputStream out, int value) {
+		if (value < 0)
+			throw new IllegalArgumentException("value");
+		while (value >= 0x80) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static int readVarInt(ByteBuffer in) {
+		int value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			if (shift > 28)
+				throw new IllegalStateException("invalid variable-length integer");
+			b = in.get();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+}
@@ -5,7 +5,9 @@ package com.sap.adt.abapcleaner.parser;
  */
 public class ParseParams {
 	public final String sourceName;
-	public final String codeText;
+	/** the code text, which may be a String or, for large files, a {@link com.sap.adt.abapcleaner.base.ChunkedCharSequence} 
+	 * or another CharSequence that avoids a full copy of the text */
+	public final CharSequence codeText;
 
 	/** the ABAP release (e.g. "757" for release 7.57) against which this code must compile, 
 	 * see <a href="https://help.sap.com/doc/abapdocu_latest_index_htm/latest/en-US/index.htm?file=abennews.htm">ABAP - Release News</a> */
@@ -15,28 +17,45 @@ public class ParseParams {
 	public final int lineNumOffset;
 	public final int surroundingTextOffset;
 	public final Code surroundingCode;
+	/** true if a large code document may be split at safe statement boundaries and parsed concurrently */
+	public final boolean allowParallelParsing;
+	/** the cache from which an unchanged code document is restored and into which a newly parsed code document is stored; may be null */
+	public final ParseCache parseCache;
 
 	/** Create parse parameters for parsing a new ABAP code document */
-	public static ParseParams createForWholeCode(String sourceName, String codeText, String abapRelease) {
-		return new ParseParams(sourceName, codeText, abapRelease, null, 1, 0, null);
+	public static ParseParams createForWholeCode(String sourceName, CharSequence codeText, String abapRelease) {
+		return new ParseParams(sourceName, codeText, abapRelease, null, 1, 0, null, false, null);
+	}
+
+	/** Create parse parameters for parsing a new, possibly large ABAP code document, which may be parsed concurrently in chunks 
+	 * if safe split points are found; the resulting {@link Code} is identical to the result of a sequential parse */
+	public static ParseParams createForWholeCodeInParallel(String sourceName, CharSequence codeText, String abapRelease) {
+		return new ParseParams(sourceName, codeText, abapRelease, null, 1, 0, null, true, null);
+	}
+
+	/** Create parse parameters for parsing a new, possibly large ABAP code document, which is restored from the supplied 
+	 * {@link ParseCache} if the same code text was parsed before (e.g. in a previous batch run), or otherwise parsed 
+	 * (possibly concurrently, see {@link #createForWholeCodeInParallel(String, CharSequence, String)}) and stored in the cache */
+	public static ParseParams createForWholeCodeWithCache(String sourceName, CharSequence codeText, String abapRelease, ParseCache parseCache) {
+		return new ParseParams(sourceName, codeText, abapRelease, null, 1, 0, null, true, parseCache);
 	}
 
 	/** Create parse parameters for parsing a new ABAP code document */
-	public static ParseParams createForCleanupRange(String sourceName, String codeText, String abapRelease, CleanupRange cleanupRange) {
-		return new ParseParams(sourceName, codeText, abapRelease, cleanupRange, 1, 0, null);
+	public static ParseParams createForCleanupRange(String sourceName, CharSequence codeText, String abapRelease, CleanupRange cleanupRange) {
+		return new ParseParams(sourceName, codeText, abapRelease, cleanupRange, 1, 0, null, false, null);
 	}
 
 	/** Create parse parameters for parsing a new ABAP code document inside a Unit Test */
-	public static ParseParams createForTest(String codeText, String abapRelease) {
-		return new ParseParams("test", codeText, abapRelease, null, 1, 0, null);
+	public static ParseParams createForTest(CharSequence codeText, String abapRelease) {
+		return new ParseParams("test", codeText, abapRelease, null, 1, 0, null, false, null);
 	}
 
 	/** Create parse parameters for re-parsing only a part of an ABAP code document, in order to replace a part of an existing {@link Code} */
 	public static ParseParams createForReprocessing(String sourceName, String partText, String abapRelease, CleanupRange cleanupRange, int lineNumOffset, int surroundingTextOffset, Code surroundingCode) {
-		return new ParseParams(sourceName, partText, abapRelease, cleanupRange, lineNumOffset, surroundingTextOffset, surroundingCode);
+		return new ParseParams(sourceName, partText, abapRelease, cleanupRange, lineNumOffset, surroundingTextOffset, surroundingCode, false, null);
 	}
 	
-	private ParseParams(String sourceName, String codeText, String abapRelease, CleanupRange cleanupRange, int lineNumOffset, int surroundingTextOffset, Code surroundingCode) {
+	private ParseParams(String sourceName, CharSequence codeText, String abapRelease, CleanupRange cleanupRange, int lineNumOffset, int surroundingTextOffset, Code surroundingCode, boolean allowParallelParsing, ParseCache parseCache) {
 		this.sourceName = sourceName;
 		this.codeText = codeText;
 		this.abapRelease = abapRelease;
@@ -44,5 +63,7 @@ public class ParseParams {
 		this.lineNumOffset = lineNumOffset;
 		this.surroundingTextOffset = surroundingTextOffset;
 		this.surroundingCode = surroundingCode;
+		this.allowParallelParsing = allowParallelParsing;
+		this.parseCache = parseCache;
 	}
 }
\ No newline at end of file
@@ -4,21 +4,21 @@ import com.sap.adt.abapcleaner.base.*;
 import com.sap.adt.abapcleaner.programbase.*;
 
 /**
- * Parses the ABAP code string that is supplied to the {@link #Parser(String)} constructor into {@link Token}s 
+ * Parses the ABAP code text that is supplied to the {@link #Parser(CharSequence)} constructor into {@link Token}s 
  * and {@link Command}s, and appends them to the {@link Code} instance which was supplied to the 
  * {@link #parse(IProgress, Code)} and {@link #parse(IProgress, Code, int, int)} methods.
  */
 class Parser {
-	private String text;
+	private CharSequence text;
 	private Command curCommand;
 	private Command lastCommand;
 	private Token lastToken;
 
-	static Parser create(String text) {
+	static Parser create(CharSequence text) {
 		return new Parser(text);
 	}
 	
-	private Parser(String text) {
+	private Parser(CharSequence text) {
 		if (text == null)
 			throw new NullPointerException("text");
 		this.text = text; 
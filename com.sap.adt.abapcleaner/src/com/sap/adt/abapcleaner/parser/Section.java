@@ -143,8 +143,8 @@ public class Section {
 		do {
 			Token token = command.firstToken;
 			while (token != null) {
-				if (token.lineBreaks > 0) {
-					token.spacesLeft = Math.max(token.spacesLeft + spaceCount, 0);
+				if (token.getLineBreaks() > 0) {
+					token.setSpacesLeft(Math.max(token.getSpacesLeft() + spaceCount, 0));
 					changed = true;
 				}
 				token = token.getNext();
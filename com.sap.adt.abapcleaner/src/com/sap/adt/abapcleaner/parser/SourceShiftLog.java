@@ -0,0 +1,91 @@
+package com.sap.adt.abapcleaner.parser;
+
+/**
+ * <p>Keeps the source shifts of the edits to a {@link Code} that were not yet applied to all of its {@link Command}s,
+ * see {@link Code#applyEdit(int, int, String)}. Each source shift moves the source position of all Commands
+ * that start at or after a certain position, and the source line numbers of their Tokens.</p>
+ *
+ * <p>Each Command remembers how many source shifts it already applied. To apply the pending ones, it usually does not
+ * need to check them one by one: a Command that follows all edited positions (or precedes all of them) is detected by
+ * comparing its position with a suffix maximum (or minimum) of the shifted positions, and then moved in one step.</p>
+ */
+class SourceShiftLog {
+	/** the maximum number of pending source shifts; if this number is reached, all of them must be applied to all Commands */
+	static final int MAX_PENDING_SHIFT_COUNT = 1024;
+
+	/** the number of source shifts that were added to this log */
+	private int count;
+	/** the number of source shifts that may not yet be applied to all Commands */
+	private int pendingCount;
+
+	/** for each pending source shift, the minimum source position from which Commands are moved */
+	private final int[] minSourceTextStarts = new int[MAX_PENDING_SHIFT_COUNT];
+	/** for each pending source shift, the sum of the text and line deltas of all previous pending source shifts */
+	private final int[] textDeltaSums = new int[MAX_PENDING_SHIFT_COUNT + 1];
+	private final int[] lineDeltaSums = new int[MAX_PENDING_SHIFT_COUNT + 1];
+	/** for each pending source shift i, the maximum of (minSourceTextStarts[j] - textDeltaSums[j]) for all j >= i:
+	 * a Command at source position p (before source shift i) is moved by all source shifts from i if p - textDeltaSums[i] is at least this value */
+	private final int[] maxUnshiftedStarts = new int[MAX_PENDING_SHIFT_COUNT];
+	/** for each pending source shift i, the minimum of minSourceTextStarts[j] for all j >= i:
+	 * a Command at source position p (before source shift i) is not moved by any source shift from i if p is less than this value */
+	private final int[] minStarts = new int[MAX_PENDING_SHIFT_COUNT];
+
+	final int getCount() { return count; }
+
+	final boolean hasPendingShifts() { return (pendingCount > 0); }
+
+	final boolean isFull() { return (pendingCount == MAX_PENDING_SHIFT_COUNT); }
+
+	final void add(int minSourceTextStart, int textDelta, int lineDelta) {
+		if (isFull())
+			throw new IllegalStateException("pending source shifts must be applied first");
+
+		int index = pendingCount;
+		int unshiftedStart = minSourceTextStart - textDeltaSums[index];
+		minSourceTextStarts[index] = minSourceTextStart;
+		maxUnshiftedStarts[index] = unshiftedStart;
+		minStarts[index] = minSourceTextStart;
+		textDeltaSums[index + 1] = textDeltaSums[index] + textDelta;
+		lineDeltaSums[index + 1] = lineDeltaSums[index] + lineDelta;
+
+		// update the suffix maximums and minimums of the previous source shifts, which are monotonous, so the update can stop early
+		for (int prevIndex = index - 1; prevIndex >= 0 && maxUnshiftedStarts[prevIndex] < unshiftedStart; --prevIndex)
+			maxUnshiftedStarts[prevIndex] = unshiftedStart;
+		for (int prevIndex = index - 1; prevIndex >= 0 && minStarts[prevIndex] > minSourceTextStart; --prevIndex)
+			minStarts[prevIndex] = minSourceTextStart;
+
+		++pendingCount;
+		++count;
+	}
+
+	/** must only be called after the pending source shifts were applied to all Commands */
+	final void clear() {
+		pendingCount = 0;
+	}
+
+	/** applies the source shifts that follow the supplied number of applied source shifts to the supplied Command,
+	 * which currently starts at the supplied source position */
+	final void applyTo(Command command, int sourceTextStart, int appliedCount) {
+		// source shifts that are no longer pending were applied to all Commands that were part of the Code at that time
+		int index = Math.max(appliedCount - (count - pendingCount), 0);
+		if (index >= pendingCount || sourceTextStart < minStarts[index])
+			return;
+
+		if (sourceTextStart - textDeltaSums[index] >= maxUnshiftedStarts[index]) {
+			// the Command follows all edits
+			command.shiftSourcePosition(textDeltaSums[pendingCount] - textDeltaSums[index], lineDeltaSums[pendingCount] - lineDeltaSums[index]);
+			return;
+		}
+
+		// the Command is located between the edited positions
+		int textDelta = 0;
+		int lineDelta = 0;
+		for (; index < pendingCount; ++index) {
+			if (sourceTextStart + textDelta >= minSourceTextStarts[index]) {
+				textDelta += textDeltaSums[index + 1] - textDeltaSums[index];
+				lineDelta += lineDeltaSums[index + 1] - lineDeltaSums[index];
+			}
+		}
+		command.shiftSourcePosition(textDelta, lineDelta);
+	}
+}
@@ -268,8 +268,8 @@ public class Term {
 		Token token = firstToken;
 		while (token != lastToken && token.getNext() != null) {
 			token = token.getNext();
-			if (token.lineBreaks > 0 && !token.isAsteriskCommentLine()) {
-				token.spacesLeft = Math.max(token.spacesLeft + spaceCount, 0);
+			if (token.getLineBreaks() > 0 && !token.isAsteriskCommentLine()) {
+				token.setSpacesLeft(Math.max(token.getSpacesLeft() + spaceCount, 0));
 				result = true;
 			}
 		}
@@ -280,7 +280,7 @@ public class Term {
 		int result = 0;
 		Token token = firstToken;
 		while (token != null) {
-			if (token == lastToken || (token.getNext() != null && token.getNext().lineBreaks > 0))
+			if (token == lastToken || (token.getNext() != null && token.getNext().getLineBreaks() > 0))
 				result = Math.max(result, token.getEndIndexInLine());
 			if (token == lastToken)
 				break;
@@ -299,8 +299,8 @@ public class Term {
 		int result = token.getTextLength();
 		while (token != lastToken) {
 			token = token.getNext();
-			if (token.lineBreaks > 0 || token.spacesLeft > 0) // for attached tokens (e.g. ":"), do not add anything
-				result += (addOneSpaceOnly || token.lineBreaks > 0) ? 1 : token.spacesLeft;
+			if (token.getLineBreaks() > 0 || token.getSpacesLeft() > 0) // for attached tokens (e.g. ":"), do not add anything
+				result += (addOneSpaceOnly || token.getLineBreaks() > 0) ? 1 : token.getSpacesLeft();
 			result += token.getTextLength();
 		}
 		return result;
@@ -366,7 +366,7 @@ public class Term {
 			return true;
 		Token token = firstToken.getNext();
 		while (token != null) {
-			if (token.lineBreaks > 0)
+			if (token.getLineBreaks() > 0)
 				return false;
 			if (token == lastToken)
 				break;
@@ -42,10 +42,14 @@ public class Token {
 	private static String[] levelClosers = new String[] { ")", "]" };
 
 	// place and content
-	public int lineBreaks;
-	public int spacesLeft;
+	private int lineBreaks;
+	private int spacesLeft;
 	String text;
-	public final int sourceLineNum; // 1-based
+	/** the 1-based line number in the source code; only moved by source shifts after edits, see {@link #getSourceLineNum()} */
+	private int sourceLineNum;
+	/** the cached result of {@link #getStartIndexInLine()}, or -1 if it must be calculated again; 
+	 * if the start index is known for this Token, it is also known for all previous Tokens in the same line */
+	private int startIndexInLine = -1;
 
 	// references to the Command and to other Tokens
 	private Command parentCommand;
@@ -61,11 +65,23 @@ public class Token {
 	public final Command getParentCommand() { return parentCommand; }
 	final void setParentCommand(Command value) { parentCommand = value; }
 
+	/** returns the 1-based line number of this Token in the source code (after edits applied with {@link Code#applyEdit(int, int, String)}) */
+	public final int getSourceLineNum() { 
+		if (parentCommand != null)
+			parentCommand.applyPendingSourceShifts();
+		return sourceLineNum; 
+	}
+
+	final void shiftSourceLineNum(int lineDelta) { sourceLineNum += lineDelta; }
+
 	public final Token getParent() { return parent; }
 	final void setParent(Token value) { parent = value; }
 
 	public final Token getPrev() { return prev; }
-	final void setPrev(Token value) { prev = value; }
+	final void setPrev(Token value) { 
+		prev = value;
+		invalidateStartIndexInLine();
+	}
 
 	public final Token getNext() { return next; }
 	final void setNext(Token value) { next = value; }
@@ -84,6 +100,22 @@ public class Token {
 
 	public final String getText() { return text; }
 	
+	public final int getLineBreaks() { return lineBreaks; }
+	public final void setLineBreaks(int value) {
+		if (lineBreaks == value)
+			return;
+		lineBreaks = value;
+		invalidateStartIndexInLine();
+	}
+
+	public final int getSpacesLeft() { return spacesLeft; }
+	public final void setSpacesLeft(int value) {
+		if (spacesLeft == value)
+			return;
+		spacesLeft = value;
+		invalidateStartIndexInLine();
+	}
+
 	// type and effect of this Token
 	public TokenType type = TokenType.values()[0];
 	private boolean closesLevel;
@@ -188,6 +220,7 @@ public class Token {
 
 	public final boolean isLastTokenInCommand() { return (parentCommand != null && parentCommand.lastToken == this); }
 
+	// edits never move Tokens from or to line 1 without re-parsing them (see Code.applyEdit()), so the field can be used directly here 
 	public final boolean isFirstTokenInLine() { return lineBreaks > 0 || (sourceLineNum == 1 && isFirstTokenInCommand()); }
 
 	public final boolean isLastTokenInLineExceptComment() { return next == null || (next.lineBreaks > 0 || next.isCommentAfterCode()); }
@@ -215,6 +248,11 @@ public class Token {
 		return AbapCult.stringEquals(text, compareText, true);
 	}
 
+	/** returns true if the Token text equals the part of the supplied text between start (inclusive) and end (exclusive), ignoring case */
+	private boolean textEquals(String compareText, int start, int end) {
+		return text.length() == end - start && StringUtil.regionMatchesIgnoringCase(text, 0, compareText, start, end - start);
+	}
+
 	public final boolean textStartsWith(String prefix) {
 		return AbapCult.stringStartsWith(text, prefix, true);
 	}
@@ -274,32 +312,25 @@ public class Token {
 		return new Token(lineBreaks, spacesLeft, text, sourceLineNum, language);
 	}
 	
-	private Token(int lineBreaks, int spacesLeft, String text, int sourceLineNum, Language language) {
+	/** creates a new Token with the supplied preliminary {@link TokenType}, which must be the result of 
+	 * {@link #getPreliminaryType(int, int, String, int, Language)} for the same Token (e.g. if it was stored by the {@link ParseCache}) */
+	static Token createWithPreliminaryType(int lineBreaks, int spacesLeft, String text, int sourceLineNum, TokenType preliminaryType) {
 		if (text == null)
 			throw new NullPointerException("text");
+		return new Token(lineBreaks, spacesLeft, text, sourceLineNum, preliminaryType);
+	}
+	
+	private Token(int lineBreaks, int spacesLeft, String text, int sourceLineNum, Language language) {
+		this(lineBreaks, spacesLeft, text, sourceLineNum, getPreliminaryType(lineBreaks, spacesLeft, text, sourceLineNum, language));
+	}
 
+	private Token(int lineBreaks, int spacesLeft, String text, int sourceLineNum, TokenType preliminaryType) {
 		this.lineBreaks = lineBreaks;
 		this.spacesLeft = spacesLeft;
 		this.text = text;
 		this.sourceLineNum = sourceLineNum;
+		this.type = preliminaryType;
 
-		// preliminarily determine the type; Command.finishBuild() may correct this choice depending on the context of this Token
-		// (at this point, we only need to identify comments and tell whether the Token opens or closes a level)
-		boolean isAtLineStart = ((this.sourceLineNum == 1 || this.lineBreaks > 0) && this.spacesLeft == 0);
-
-		// even in non-ABAP sections, comments are started with * at line start
-		if (AbapCult.stringStartsWith(text, ABAP.LINE_COMMENT_SIGN_STRING) && isAtLineStart) {
-			type = TokenType.COMMENT;
-
-		} else {			
-			if (language == Language.ABAP) 
-				type = inferTypeFromAbapToken(text);
-			else if (language == Language.SQLSCRIPT) 
-				type = inferTypeFromSqlScriptToken(text);
-			else 
-				type = inferTypeFromOtherToken(text);
-		}
-		
 		if (type == TokenType.KEYWORD || type == TokenType.IDENTIFIER || type == TokenType.OTHER_OP) {
 			closesLevel = textStartsWithAny(levelClosers);
 			opensLevel = textEndsWithAny(levelOpeners);
@@ -309,6 +340,27 @@ public class Token {
 		}
 	}
 
+	/** preliminarily determines the type of a new Token; Command.finishBuild() may correct this choice depending on the context of the Token
+	 * (at this point, we only need to identify comments and tell whether the Token opens or closes a level) */
+	static TokenType getPreliminaryType(int lineBreaks, int spacesLeft, String text, int sourceLineNum, Language language) {
+		if (text == null)
+			throw new NullPointerException("text");
+
+		boolean isAtLineStart = ((sourceLineNum == 1 || lineBreaks > 0) && spacesLeft == 0);
+
+		// even in non-ABAP sections, comments are started with * at line start
+		if (AbapCult.stringStartsWith(text, ABAP.LINE_COMMENT_SIGN_STRING) && isAtLineStart) {
+			return TokenType.COMMENT;
+
+		} else if (language == Language.ABAP) { 
+			return inferTypeFromAbapToken(text);
+		} else if (language == Language.SQLSCRIPT) { 
+			return inferTypeFromSqlScriptToken(text);
+		} else { 
+			return inferTypeFromOtherToken(text);
+		}
+	}
+
 	private static TokenType inferTypeFromAbapToken(String text) {
 		if (AbapCult.stringStartsWith(text, ABAP.COMMENT_SIGN_STRING)) { 
 			return TokenType.COMMENT;
@@ -376,7 +428,7 @@ public class Token {
 		newToken.parentCommand = parentCommand;
 		parentCommand.addToken(newToken);
 
-		newToken.prev = this;
+		newToken.setPrev(this);
 		next = newToken;
 
 		if (opensLevel && !newToken.closesLevel) {
@@ -446,8 +498,6 @@ public class Token {
 	}
 
 	public final Token getLastTokenOfSequence(boolean siblingsOnly, boolean skipCommentsAndPragmas, Token endToken, String... texts) {
-		final char space = ' ';
-
 		Token token = this;
 		Token lastToken = null;
 		boolean skipMode = false;
@@ -499,19 +549,23 @@ public class Token {
 
 			} else if (text.indexOf(TokenSearch.TEXT_MATCH_VARIANT_SEPARATOR) >= 0) {
 				match = false;
-				String[] variants = StringUtil.split(text, TokenSearch.TEXT_MATCH_VARIANT_SEPARATOR, false);
-				for (String variant : variants) {
-					// text may still contain spaces for several Tokens, e.g. "TRANSPORTING NO FIELDS"
-					Token testToken = token.getLastTokenOfPlainSequence(siblingsOnly, skipCommentsAndPragmas, StringUtil.split(variant, space, false));
+				int variantStart = 0;
+				while (variantStart <= text.length()) {
+					int variantEnd = text.indexOf(TokenSearch.TEXT_MATCH_VARIANT_SEPARATOR, variantStart);
+					if (variantEnd < 0)
+						variantEnd = text.length();
+					// the variant may still contain spaces for several Tokens, e.g. "TRANSPORTING NO FIELDS"
+					Token testToken = token.getLastTokenOfPlainSequence(siblingsOnly, skipCommentsAndPragmas, text, variantStart, variantEnd);
 					if (testToken != null) {
 						match = true;
 						token = testToken;
 						break;
 					}
+					variantStart = variantEnd + 1;
 				}
 			} else {
 				// text may still contain spaces for several Tokens, e.g. "TRANSPORTING NO FIELDS"
-				Token testToken = token.getLastTokenOfPlainSequence(siblingsOnly, skipCommentsAndPragmas, StringUtil.split(text, space, false));
+				Token testToken = token.getLastTokenOfPlainSequence(siblingsOnly, skipCommentsAndPragmas, text, 0, text.length());
 				match = (testToken != null);
 				if (match)
 					token = testToken;
@@ -578,19 +632,27 @@ public class Token {
 		return skipMode ? null : lastToken;
 	}
 
-	private Token getLastTokenOfPlainSequence(boolean siblingsOnly, boolean skipCommentsAndPragmas, String[] texts) {
+	/** returns the last Token of the sequence of Tokens that matches the words between start and end of the supplied text, 
+	 * which are separated by single spaces (e.g. "TRANSPORTING NO FIELDS"), or null if the sequence does not match */
+	private Token getLastTokenOfPlainSequence(boolean siblingsOnly, boolean skipCommentsAndPragmas, String texts, int start, int end) {
 		Token lastToken = null;
 		Token token = this;
-		for (String text : texts) {
-			if (token == null || !token.textEquals(text))
+		int wordStart = start;
+		while (true) {
+			int wordEnd = texts.indexOf(' ', wordStart);
+			if (wordEnd < 0 || wordEnd > end)
+				wordEnd = end;
+			if (token == null || !token.textEquals(texts, wordStart, wordEnd))
 				return null;
 			lastToken = token;
+			if (wordEnd == end)
+				return lastToken;
 			if (siblingsOnly)
 				token = skipCommentsAndPragmas ? token.getNextCodeSibling() : token.nextSibling;
 			else
 				token = skipCommentsAndPragmas ? token.getNextCodeToken() : token.next;
+			wordStart = wordEnd + 1;
 		}
-		return lastToken;
 	}
 
 	public final void removeFromCommand() throws UnexpectedSyntaxAfterChanges {
@@ -633,7 +695,7 @@ public class Token {
 		if (prev != null)
 			prev.next = next;
 		if (next != null)
-			next.prev = prev;
+			next.setPrev(prev);
 
 		if (prevSibling != null)
 			prevSibling.nextSibling = nextSibling;
@@ -641,7 +703,7 @@ public class Token {
 			nextSibling.prevSibling = prevSibling;
 
 		parent = null;
-		prev = null;
+		setPrev(null);
 		next = null;
 		prevSibling = null;
 		nextSibling = null;
@@ -679,14 +741,14 @@ public class Token {
 		Token endToken = tokenAfterParentheses;
 		boolean usingTempToken = false;
 		if (tokenAfterParentheses.closesLevel) {
-			Token tempToken = Token.create(0, 1, "T", tokenAfterParentheses.sourceLineNum, parentCommand.getLanguage()); 
+			Token tempToken = Token.create(0, 1, "T", tokenAfterParentheses.getSourceLineNum(), parentCommand.getLanguage()); 
 			tokenAfterParentheses.getPrev().insertRightSibling(tempToken);
 			endToken = tempToken;
 			usingTempToken = true;
 		}
 		
 		// first insert opening parenthesis as if it was a normal sibling (skipping the integrity test)
-		Token openingParenthesis = Token.create(lineBreaks, spacesLeft, openingParenthesisText, sourceLineNum, parentCommand.getLanguage());
+		Token openingParenthesis = Token.create(lineBreaks, spacesLeft, openingParenthesisText, getSourceLineNum(), parentCommand.getLanguage());
 		insertLeftSibling(openingParenthesis, false, true);
 		setWhitespace();
 		parentCommand.addIndent(openingParenthesisText.length() + 1, startIndexInLine, this, endToken);
@@ -713,10 +775,10 @@ public class Token {
 
 		// insert closing parenthesis
 		// int spacesLeft = tokenAfterParentheses.isPrecededByWhitespace() ? tokenAfterParentheses.spacesLeft : 1;
-		Token closingParenthesis = Token.create(0, 1, closingParenthesisText, tokenAfterParentheses.sourceLineNum, parentCommand.getLanguage());
+		Token closingParenthesis = Token.create(0, 1, closingParenthesisText, tokenAfterParentheses.getSourceLineNum(), parentCommand.getLanguage());
 		endToken.insertLeftSibling(closingParenthesis);
 		if (tokenAfterParentheses.lineBreaks == 0 && !tokenAfterParentheses.textEqualsAny(".", ","))
-			tokenAfterParentheses.spacesLeft = Math.max(tokenAfterParentheses.spacesLeft, 1);
+			tokenAfterParentheses.setSpacesLeft(Math.max(tokenAfterParentheses.spacesLeft, 1));
 
 		// if a temporary Token was inserted above, remove it again
 		if (usingTempToken) {
@@ -771,6 +833,7 @@ public class Token {
 		}
 		
 		text += "(";
+		onTextChanged();
 		parentCommand.addIndent("(".length(), getEndIndexInLine(), this, tokenAfterParentheses);
 		opensLevel = true;
 
@@ -796,10 +859,10 @@ public class Token {
 
 		// insert ")"
 		int spacesLeft = tokenAfterParentheses.isPrecededByWhitespace() ? tokenAfterParentheses.spacesLeft : 1;
-		Token closingParenthesis = Token.create(tokenAfterParentheses.lineBreaks, spacesLeft, ")", tokenAfterParentheses.sourceLineNum, parentCommand.getLanguage());
+		Token closingParenthesis = Token.create(tokenAfterParentheses.lineBreaks, spacesLeft, ")", tokenAfterParentheses.getSourceLineNum(), parentCommand.getLanguage());
 		tokenAfterParentheses.insertLeftSibling(closingParenthesis);
-		tokenAfterParentheses.lineBreaks = 0;
-		tokenAfterParentheses.spacesLeft = tokenAfterParentheses.isCommaOrPeriod() ? 0 : 1;
+		tokenAfterParentheses.setLineBreaks(0);
+		tokenAfterParentheses.setSpacesLeft(tokenAfterParentheses.isCommaOrPeriod() ? 0 : 1);
 	}
 
 	/**
@@ -847,9 +910,9 @@ public class Token {
 
 		if (prev != null)
 			prev.next = newToken;
-		newToken.prev = prev;
+		newToken.setPrev(prev);
 
-		prev = newToken.lastChild != null ? newToken.lastChild : newToken;
+		setPrev(newToken.lastChild != null ? newToken.lastChild : newToken);
 		prev.next = this;
 
 		newToken.parent = parent;
@@ -909,7 +972,7 @@ public class Token {
 
 		if (nextSibling != null) {
 			nextSibling.prevSibling = newToken;
-			nextSibling.prev = newToken.lastChild != null ? newToken.lastChild : newToken;
+			nextSibling.setPrev(newToken.lastChild != null ? newToken.lastChild : newToken);
 		}
 		newToken.nextSibling = nextSibling;
 
@@ -919,9 +982,9 @@ public class Token {
 		Token next = (lastChild != null ? lastChild : this).next; // may be on a higher(!) level
 		(newToken.lastChild != null ? newToken.lastChild : newToken).next = next;
 		if (next != null)
-			next.prev = (newToken.lastChild != null) ? newToken.lastChild : newToken;
+			next.setPrev((newToken.lastChild != null) ? newToken.lastChild : newToken);
 
-		newToken.prev = (lastChild != null ? lastChild : this);
+		newToken.setPrev(lastChild != null ? lastChild : this);
 		newToken.prev.next = newToken;
 
 		if (moveFollowingLinesRight)
@@ -971,7 +1034,7 @@ public class Token {
 
 		if (nextSibling != null) {
 			nextSibling.prevSibling = newTerm.lastToken;
-			nextSibling.prev = lastTokenInNewTerm;
+			nextSibling.setPrev(lastTokenInNewTerm);
 		}
 		newTerm.lastToken.nextSibling = nextSibling;
 
@@ -981,7 +1044,7 @@ public class Token {
 		Token next = (lastChild != null ? lastChild : this).next; // may be on a higher(!) level
 		lastTokenInNewTerm.next = next;
 		if (next != null)
-			next.prev = lastTokenInNewTerm;
+			next.setPrev(lastTokenInNewTerm);
 
 		newTerm.setPrev((lastChild != null) ? lastChild : this);
 		newTerm.getPrev().next = newTerm.firstToken;
@@ -1012,7 +1075,7 @@ public class Token {
 			prev.next = newTerm.firstToken;
 		newTerm.setPrev(prev);
 
-		prev = newTerm.lastToken; // newTerm.lastToken is sure to be childless
+		setPrev(newTerm.lastToken); // newTerm.lastToken is sure to be childless
 		prev.next = this;
 
 		if (prevSibling != null)
@@ -1030,13 +1093,13 @@ public class Token {
 	public final void copyWhitespaceFrom(Token token) {
 		if (token == null)
 			throw new NullPointerException("token");
-		lineBreaks = token.lineBreaks;
-		spacesLeft = token.spacesLeft;
+		setLineBreaks(token.lineBreaks);
+		setSpacesLeft(token.spacesLeft);
 	}
 
 	public final void ensureWhitespace() {
 		if (lineBreaks == 0 && spacesLeft == 0)
-			spacesLeft = 1;
+			setSpacesLeft(1);
 	}
 
 	/**
@@ -1090,6 +1153,7 @@ public class Token {
 			return false;
 		this.lineBreaks = lineBreaks;
 		this.spacesLeft = spacesLeft;
+		invalidateStartIndexInLine();
 		return true;
 	}
 
@@ -1099,11 +1163,11 @@ public class Token {
 		
 		if (next == null) {
 			// nothing to adjust
-			spacesLeft = newSpacesLeft; 
+			setSpacesLeft(newSpacesLeft); 
 		} else {
 			int addSpaceCount = newSpacesLeft - spacesLeft;
 			int minSpacesLeft = (next.lineBreaks == 0) ? next.getStartIndexInLine() : this.getStartIndexInLine() + 1;
-			spacesLeft = newSpacesLeft;
+			setSpacesLeft(newSpacesLeft);
 			parentCommand.addIndent(addSpaceCount, minSpacesLeft, next, null, true);
 		}
 		return true;
@@ -1216,23 +1280,56 @@ public class Token {
 	}
 
 	public final int getStartIndexInLine() {
+		if (startIndexInLine >= 0)
+			return startIndexInLine;
+
+		// walk back to the line start or to the last Token with a known start index
 		Token token = this;
 		int result = token.spacesLeft;
 		while (token.lineBreaks == 0 && token.prev != null) {
 			token = token.prev;
+			if (token.startIndexInLine >= 0) {
+				result += token.startIndexInLine + token.text.length();
+				break;
+			}
 			result += token.text.length() + token.spacesLeft;
 		}
+
+		// remember the start index of all Tokens up to this one, so that subsequent calls for Tokens 
+		// in the same line only need to walk back to this Token
+		int startIndex = result;
+		token = this;
+		while (token.startIndexInLine < 0) {
+			token.startIndexInLine = startIndex;
+			if (token.lineBreaks > 0 || token.prev == null)
+				break;
+			startIndex -= token.spacesLeft + token.prev.text.length();
+			token = token.prev;
+		}
 		return result;
 	}
 
 	public final int getEndIndexInLine() {
+		return getStartIndexInLine() + text.length();
+	}
+
+	/** invalidates the cached start index of this Token and of all following Tokens in the same line; 
+	 * must be called whenever the whitespace before this Token or its previous Token changes */
+	private void invalidateStartIndexInLine() {
 		Token token = this;
-		int result = token.spacesLeft + token.text.length();
-		while (token.lineBreaks == 0 && token.prev != null) {
-			token = token.prev;
-			result += token.spacesLeft + token.text.length();
+		// if the start index of a Token is unknown, it is unknown for all following Tokens in the same line, too
+		while (token.startIndexInLine >= 0) {
+			token.startIndexInLine = -1;
+			token = token.next;
+			if (token == null || token.lineBreaks > 0)
+				break;
 		}
-		return result;
+	}
+
+	/** must be called whenever the text of this Token changes, because this moves all following Tokens in the same line */
+	private void onTextChanged() {
+		if (next != null)
+			next.invalidateStartIndexInLine();
 	}
 
 	public final int getMaxIndexInLine(Token endToken) {
@@ -1456,10 +1553,12 @@ public class Token {
 		if (!adjustIndent || next == null || next.lineBreaks > 0) {
 			// nothing to adjust
 			this.text = newText;
+			onTextChanged();
 		} else {
 			int addSpaceCount = newText.length() - text.length();
 			int minSpacesLeft = next.getStartIndexInLine();
 			this.text = newText;
+			onTextChanged();
 			if (addSpaceCount != 0)
 				parentCommand.addIndent(addSpaceCount, minSpacesLeft, next, null, true);
 		}
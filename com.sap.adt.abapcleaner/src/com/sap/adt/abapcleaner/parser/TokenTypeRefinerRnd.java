@@ -77,11 +77,11 @@ public class TokenTypeRefinerRnd implements ITokenTypeRefiner {
 		Token token = command.getFirstToken();
 		while (token != null) {
 			if (!token.isComment()) {
-				if (token.lineBreaks > 0)
+				if (token.getLineBreaks() > 0)
 					code.append('\n');
 				// even after a line break, a space may be added, because the next line may start with the multiplication 
 				// operator "*" (which would be misinterpreted as a asterisk comment sign without a leading space)
-				if (token.spacesLeft > 0) 
+				if (token.getSpacesLeft() > 0) 
 					code.append(' ');
 				code.append(token.text);
 			}
@@ -9,8 +9,8 @@ import com.sap.adt.abapcleaner.programbase.TaskType;
 import com.sap.adt.abapcleaner.programbase.UnexpectedSyntaxException;
 
 /**
- * <p>Creates a sequence of {@link Token}s from the code string that is supplied to the 
- * {@link #Token(String, int, int)} constructor, returning the next {@link Token} at each call of {@link #getNext()} 
+ * <p>Creates a sequence of {@link Token}s from the code text that is supplied to the 
+ * {@link #Tokenizer(CharSequence, int, IProgress)} constructor, returning the next {@link Token} at each call of {@link #getNext()} 
  * (or null if the code string is exhausted).</p>   
  * 
  * <p>If the caller detects that the new Token already belongs to a code section in a non-ABAP language, it must call  
@@ -33,7 +33,47 @@ public class Tokenizer {
 		return (text == null) ? null : text.replace('\t', ' ');
 	}
 
-	private final String text;
+	private static CharSequence removeTabs(CharSequence text) {
+		if (text instanceof String)
+			return removeTabs((String)text);
+		
+		// for other CharSequences (e.g. a memory-mapped file), avoid a copy of the whole text and only replace TABs on access
+		if (StringUtil.indexOf(text, '\t', 0) < 0)
+			return text;
+		return new TabFreeCharSequence(text);
+	}
+
+	/** read-only view on a CharSequence in which TABs are replaced with spaces, see {@link Tokenizer#removeTabs(String)} */
+	private static class TabFreeCharSequence implements CharSequence {
+		private final CharSequence text;
+
+		private TabFreeCharSequence(CharSequence text) {
+			this.text = text;
+		}
+
+		@Override
+		public int length() {
+			return text.length();
+		}
+
+		@Override
+		public char charAt(int index) {
+			char c = text.charAt(index);
+			return (c == '\t') ? ' ' : c;
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return new TabFreeCharSequence(text.subSequence(start, end));
+		}
+
+		@Override
+		public String toString() {
+			return removeTabs(text.toString());
+		}
+	}
+
+	private final CharSequence text;
 	private int lineNum;
 	private int readPos;
 
@@ -50,7 +90,7 @@ public class Tokenizer {
 	int getLineNum() { return lineNum; }
 	Language getCurLanguage() { return curLanguage; }
 	
-	Tokenizer(String text, int lineNumOffset, IProgress progress) {
+	Tokenizer(CharSequence text, int lineNumOffset, IProgress progress) {
 		this.text = removeTabs(text);
 		this.lineNum = lineNumOffset;
 		this.readPos = 0;
@@ -129,7 +169,7 @@ public class Tokenizer {
 
 			} else if (curChar == '(' || curChar == ABAP.DOT_SIGN || curChar == ABAP.COMMA_SIGN || curChar == ABAP.COLON_SIGN) {
 				// one-char Tokens for . , : or ( as a delimiter
-				tokenText = text.substring(readPos, readPos + 1);
+				tokenText = substring(readPos, readPos + 1);
 
 			} else {
 				// normal word, including pragma ##...
@@ -162,14 +202,14 @@ public class Tokenizer {
 		this.curLanguage = nonAbapLanguage;
 		this.abapKeywordEndingNonAbapSection = abapKeywordEndingNonAbapSection.toUpperCase();
 		
-		return Token.create(token.lineBreaks, token.spacesLeft, token.text, token.sourceLineNum, curLanguage);
+		return Token.create(token.getLineBreaks(), token.getSpacesLeft(), token.text, token.getSourceLineNum(), curLanguage);
 	}
 	
 	private String readLiteralUntil(char delimiterChar, boolean includeTextSymbolID) throws UnexpectedSyntaxException {
 		int searchPos = readPos + 1;
 		int literalEnd;
 		do {
-			searchPos = text.indexOf(delimiterChar, searchPos); // skip the char at readPos
+			searchPos = StringUtil.indexOf(text, delimiterChar, searchPos); // skip the char at readPos
 			if (searchPos < 0) {
 				literalEnd = text.length();
 				break;
@@ -187,20 +227,20 @@ public class Tokenizer {
 		// may be linked to a text symbol ID, where the 'literal text' is overridden if the text symbol TEXT-001 is defined; 
 		// for our purpose, we simply consider this addition to be part of the literal, because the whole construct will never be changed
 		if (includeTextSymbolID && literalEnd < text.length() && text.charAt(literalEnd) == ABAP.TEXT_SYMBOL_ID_OPEN) {
-			int closePos = text.indexOf(ABAP.TEXT_SYMBOL_ID_CLOSE, literalEnd);
+			int closePos = StringUtil.indexOf(text, ABAP.TEXT_SYMBOL_ID_CLOSE, literalEnd);
 			if (closePos >= 0) {
 				literalEnd = closePos + 1;
 			}
 		}
 
-		return text.substring(readPos, literalEnd);
+		return substring(readPos, literalEnd);
 	}
 
 	private String readStringTemplate() throws UnexpectedSyntaxException {
 		int tokenEnd = StringUtil.indexOfAny(text, stringTemplateEndChars, readPos + 1, stringTemplateEscapeSequences); // skip the char at readPos
 		tokenEnd = (tokenEnd < 0) ? text.length() : tokenEnd + 1;
 
-		return text.substring(readPos, tokenEnd);
+		return substring(readPos, tokenEnd);
 	}
 
 	private String readUntil(char[] delimiterChars, String includeDelimiters) throws UnexpectedSyntaxException {
@@ -209,7 +249,7 @@ public class Tokenizer {
 
 		// continue reading in case of "identifier(##)" with no spaces as in "DATA lv_chars(20) TYPE c."
 		if (tokenEnd >= 0 && text.charAt(tokenEnd) == '(' && tokenEnd + 1 < text.length() && Character.isDigit(text.charAt(tokenEnd + 1))) {
-			tokenEnd = text.indexOf(')', tokenEnd);
+			tokenEnd = StringUtil.indexOf(text, ')', tokenEnd);
 			if (tokenEnd < 0)
 				throw new UnexpectedSyntaxException("closing parenthesis not found");
 			++tokenEnd;
@@ -220,35 +260,38 @@ public class Tokenizer {
 				++tokenEnd;
 		}
 
-		return text.substring(readPos, tokenEnd);
+		return substring(readPos, tokenEnd);
 	}
 	
 	private String readNonAbap() {
 		int tokenEnd = StringUtil.indexOfAny(text, nonAbapTokenEndChars, readPos + 1); // skip the char at readPos
 		if (tokenEnd < 0)
 			tokenEnd = text.length();
-		String nonAbapText = text.substring(readPos, tokenEnd);
+		String nonAbapText = substring(readPos, tokenEnd);
 
 		return splitEndOfNonAbapSection(nonAbapText);
 	}
 
+	private String substring(int start, int end) {
+		return text.subSequence(start, end).toString();
+	}
+
 	private String splitEndOfNonAbapSection(String text) {
 		// determine whether the text ends the current non-ABAP section: 
 		// - if the abapKeywordEndingNonAbapSection ("ENDEXEC" or "ENDMETHOD") is at text start, then only return this keyword
 		// - if it is later in the text, only return the non-ABAP text before the keyword (leaving the keyword to the next Token)
 		// - otherwise, return the whole text, which is then completely non-ABAP
 		
-		String textUpper = text.toUpperCase();
 		int searchPos = 0;
 		
-		while (searchPos < textUpper.length()) {
-			searchPos = textUpper.indexOf(abapKeywordEndingNonAbapSection, searchPos);
+		while (searchPos < text.length()) {
+			searchPos = AbapCult.indexOf(text, abapKeywordEndingNonAbapSection, searchPos, true);
 			if (searchPos < 0) 
 				break;
 
 			// was "ENDEXEC" OR "ENDMETHOD" found as a whole word (not as part of a different word)?
 			int posAfterKeyword = searchPos + abapKeywordEndingNonAbapSection.length();
-			if ((searchPos == 0 || textUpper.charAt(searchPos - 1) == ' ') && (posAfterKeyword >= textUpper.length() || " .\"".indexOf(textUpper.charAt(posAfterKeyword)) >= 0)) {
+			if ((searchPos == 0 || text.charAt(searchPos - 1) == ' ') && (posAfterKeyword >= text.length() || " .\"".indexOf(text.charAt(posAfterKeyword)) >= 0)) {
 				if (searchPos > 0) {
 					// return only the non-ABAP code up to (but excluding) the ABAP keyword "ENDEXEC" or "ENDMETHOD" 
 					return StringUtil.trimEnd(text.substring(0, searchPos));
@@ -23,7 +23,7 @@ public abstract class CleanException extends ExceptionBase {
 
 	protected CleanException(ExceptionSeverity severity, Rule rule, Command command, Token token, ExceptionBase inner) {
 		super(severity, (token != null) ? token.getSourceName() : ((command == null) ? null : command.getSourceName()),
-				(token != null) ? token.sourceLineNum : ((command == null) ? 0 : command.getSourceLineNumStart()),
+				(token != null) ? token.getSourceLineNum() : ((command == null) ? 0 : command.getSourceLineNumStart()),
 				(rule == null ? inner.getMessage() : "Error executing rule '" + rule.getDisplayName() + "'" + (StringUtil.isNullOrEmpty(inner.getMessage()) ? "!" : ": " + inner.getMessage())));
 		// this.rule = rule;
 		// this.command = command;
@@ -31,7 +31,7 @@ public abstract class CleanException extends ExceptionBase {
 	}
 
 	protected CleanException(ExceptionSeverity severity, Rule rule, Token token, String message) {
-		super(severity, (token == null) ? null : token.getSourceName(), (token == null) ? 0 : token.sourceLineNum, 
+		super(severity, (token == null) ? null : token.getSourceName(), (token == null) ? 0 : token.getSourceLineNum(), 
 				(rule == null ? message : "Error executing rule '" + rule.getDisplayName() + "': " + message));
 		// this.rule = rule;
 		// this.command = token.parentCommand;
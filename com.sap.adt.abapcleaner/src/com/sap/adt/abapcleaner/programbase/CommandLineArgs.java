@@ -1,5 +1,7 @@
 package com.sap.adt.abapcleaner.programbase;
 
+import java.util.Arrays;
+
 import com.sap.adt.abapcleaner.base.StringUtil;
 import com.sap.adt.abapcleaner.parser.CleanupRange;
 
@@ -8,6 +10,7 @@ public class CommandLineArgs {
 
 	private static final String OPT_SOURCE_FILE = "--sourcefile";
 	private static final String OPT_SOURCE_CODE = "--source";
+	private static final String OPT_SOURCE_DIR = "--sourcedir";
 	private static final String OPT_LINE_RANGE = "--linerange";
 	private static final String OPT_PROFILE = "--profile";
 	private static final String OPT_PROFILE_DATA = "--profiledata";
@@ -17,19 +20,22 @@ public class CommandLineArgs {
 	private static final String OPT_PARTIAL_RESULT = "--partialresult";
 	private static final String OPT_STATS = "--stats";
 	private static final String OPT_USED_RULES = "--usedrules";
+	private static final String OPT_DIFF = "--diff";
+	private static final String OPT_CONTEXT = "--context";
 
-	private static final String[] allOptions = new String[] { OPT_SOURCE_FILE, OPT_SOURCE_CODE, OPT_LINE_RANGE, OPT_PROFILE, OPT_PROFILE_DATA, OPT_RELEASE, OPT_TARGET_FILE, OPT_OVERWRITE, OPT_PARTIAL_RESULT, OPT_STATS, OPT_USED_RULES };
+	private static final String[] allOptions = new String[] { OPT_SOURCE_FILE, OPT_SOURCE_CODE, OPT_SOURCE_DIR, OPT_LINE_RANGE, OPT_PROFILE, OPT_PROFILE_DATA, OPT_RELEASE, OPT_TARGET_FILE, OPT_OVERWRITE, OPT_PARTIAL_RESULT, OPT_STATS, OPT_USED_RULES, OPT_DIFF, OPT_CONTEXT };
 
 	private static final String EXECUTABLE_NAME = ".\\abap-cleanerc.exe"; 
 	private static final String OPT_HELP_WINDOWS = "/?";
 	private static final String OPT_HELP_LINUX = "/man";
 	private static final char LINE_RANGE_SEP = '-';
 	private static final String LINE_RANGE_EXAMPLE = "\"20-35\"";
+	private static final int DEFAULT_DIFF_CONTEXT_LINES = 3;
 
 	private static final int OPTIONS_INDENT = 4;
 	private static final int OPTIONS_LINE_PREFIX_LENGTH = 20; // must be at least the length of the longest OPT_ + 1
 
-	private static final String[] optionsRequiringNextArg = new String[] { OPT_SOURCE_FILE, OPT_SOURCE_CODE, OPT_LINE_RANGE, OPT_RELEASE, OPT_PROFILE, OPT_PROFILE_DATA, OPT_TARGET_FILE };
+	private static final String[] optionsRequiringNextArg = new String[] { OPT_SOURCE_FILE, OPT_SOURCE_CODE, OPT_SOURCE_DIR, OPT_LINE_RANGE, OPT_RELEASE, OPT_PROFILE, OPT_PROFILE_DATA, OPT_TARGET_FILE, OPT_CONTEXT };
 
 	public static String[] getAllOptions() { return allOptions; }
 	
@@ -39,7 +45,10 @@ public class CommandLineArgs {
 
 		final String LINE_SEP = System.lineSeparator();
 		
-		String sourceCode = null;
+		CharSequence sourceCode = null;
+		String sourcePath = null;
+		String sourceDir = null;
+		String[] sourcePaths = null;
 		CleanupRange cleanupRange = null;
 		String profileData = null;
 		String abapRelease = null;
@@ -48,6 +57,8 @@ public class CommandLineArgs {
 		boolean partialResult = false;
 		boolean showStats = false;
 		boolean showUsedRules = false;
+		boolean unifiedDiff = false;
+		int diffContextLines = DEFAULT_DIFF_CONTEXT_LINES;
 		StringBuilder errors = new StringBuilder();
 		boolean showHelp = false;
 
@@ -65,13 +76,29 @@ public class CommandLineArgs {
 				}
 			}
 
-			if (arg.equals(OPT_SOURCE_FILE) || arg.equals(OPT_SOURCE_CODE)) {
-				if (sourceCode != null) {
-					errors.append("Source code supplied twice; please use " + OPT_SOURCE_FILE + " or " + OPT_SOURCE_CODE + " only once.").append(LINE_SEP);
+			if (arg.equals(OPT_SOURCE_FILE) || arg.equals(OPT_SOURCE_CODE) || arg.equals(OPT_SOURCE_DIR)) {
+				if (sourceCode != null || sourceDir != null) {
+					errors.append("Source code supplied twice; please use " + OPT_SOURCE_FILE + ", " + OPT_SOURCE_CODE + " or " + OPT_SOURCE_DIR + " only once.").append(LINE_SEP);
 				} else if (arg.equals(OPT_SOURCE_CODE)) {
 					sourceCode = nextArg;
+				} else if (arg.equals(OPT_SOURCE_DIR)) {
+					if (persistency.directoryExists(nextArg)) {
+						// only determine the files here; their code is read one by one during cleanup 
+						sourceDir = nextArg;
+						String searchPattern = "*" + persistency.getExtension(FileType.CODE);
+						sourcePaths = persistency.getFilesInDirectory(sourceDir, searchPattern, true);
+						if (sourcePaths == null || sourcePaths.length == 0) {
+							errors.append("No " + searchPattern + " files found in directory: " + nextArg).append(LINE_SEP);
+						} else {
+							Arrays.sort(sourcePaths);
+						}
+					} else {
+						errors.append("Directory not found: " + nextArg).append(LINE_SEP);
+					}
 				} else if (persistency.fileExists(nextArg)) {
-					sourceCode = persistency.readAllTextFromFile(nextArg);
+					sourcePath = nextArg;
+					// read (possibly large) files without an intermediate copy of their bytes
+					sourceCode = persistency.readCharSequenceFromFile(nextArg);
 				} else {
 					errors.append("File not found: " + nextArg).append(LINE_SEP);
 				}
@@ -116,6 +143,18 @@ public class CommandLineArgs {
 			} else if (arg.equals(OPT_USED_RULES)) {
 				showUsedRules = true;
 				
+			} else if (arg.equals(OPT_DIFF)) {
+				unifiedDiff = true;
+				
+			} else if (arg.equals(OPT_CONTEXT)) {
+				try {
+					diffContextLines = Integer.parseInt(nextArg);
+				} catch (NumberFormatException ex) {
+					diffContextLines = -1;
+				}
+				if (diffContextLines < 0) 
+					errors.append("Invalid " + OPT_CONTEXT + ": Expected a number of lines, e.g. \"" + String.valueOf(DEFAULT_DIFF_CONTEXT_LINES) + "\"").append(LINE_SEP);
+				
 			} else if (arg.equals(OPT_HELP_WINDOWS) || arg.equals(OPT_HELP_LINUX)) {
 				showHelp = true;
 				
@@ -131,8 +170,17 @@ public class CommandLineArgs {
 		if (!overwrite && !StringUtil.isNullOrEmpty(targetPath) && persistency.fileExists(targetPath)) {
 			errors.append("Target file already exists; please use " + OPT_OVERWRITE + " to allow overwriting: " + targetPath).append(LINE_SEP);
 		}
+		if (sourceDir != null && !unifiedDiff) {
+			errors.append(OPT_SOURCE_DIR + " can only be used with " + OPT_DIFF + ", which returns one combined patch for all files.").append(LINE_SEP);
+		}
+		if (unifiedDiff && partialResult) {
+			errors.append(OPT_PARTIAL_RESULT + " cannot be used with " + OPT_DIFF + ", which only returns the changed lines anyway.").append(LINE_SEP);
+		}
+		if (unifiedDiff && (showStats || showUsedRules)) {
+			errors.append(OPT_STATS + " and " + OPT_USED_RULES + " cannot be used with " + OPT_DIFF + ", which must only return the patch.").append(LINE_SEP);
+		}
 		
-		return new CommandLineArgs(sourceCode, cleanupRange, profileData, abapRelease, targetPath, overwrite, partialResult, showStats, showUsedRules, errors.toString(), showHelp);
+		return new CommandLineArgs(sourceCode, sourcePath, sourceDir, sourcePaths, cleanupRange, profileData, abapRelease, targetPath, overwrite, partialResult, showStats, showUsedRules, unifiedDiff, diffContextLines, errors.toString(), showHelp);
 	}
 
 	public static String getHelp(Persistency persistency) {
@@ -143,7 +191,8 @@ public class CommandLineArgs {
 		String spacePrefix = StringUtil.repeatChar(' ', usagePrefix.length());
 		sb.append(usagePrefix);
 		sb.append(" { " + OPT_SOURCE_FILE + " sourcefile");
-		sb.append(" / " + OPT_SOURCE_CODE + " sourcecode }");
+		sb.append(" / " + OPT_SOURCE_CODE + " sourcecode");
+		sb.append(" / " + OPT_SOURCE_DIR + " sourcedir }");
 		sb.append(" [" + OPT_LINE_RANGE + " linerange]");
 		sb.append(LINE_SEP);
 		sb.append(spacePrefix);
@@ -159,6 +208,7 @@ public class CommandLineArgs {
 		sb.append(spacePrefix);
 		sb.append(" [" + OPT_STATS + "]");
 		sb.append(" [" + OPT_USED_RULES + "]");
+		sb.append(" [" + OPT_DIFF + " [" + OPT_CONTEXT + " lines]]");
 		sb.append(LINE_SEP + LINE_SEP);
 
 		sb.append("Example: " + EXECUTABLE_NAME);
@@ -172,11 +222,21 @@ public class CommandLineArgs {
 		sb.append(" " + OPT_USED_RULES);
 		sb.append(LINE_SEP + LINE_SEP);
 
+		sb.append("Example: " + EXECUTABLE_NAME);
+		sb.append(" " + OPT_SOURCE_DIR + " \"src\"");
+		sb.append(" " + OPT_PROFILE + " \"" + "team profile" + profileExtension + "\"");
+		sb.append(" " + OPT_DIFF);
+		sb.append(" " + OPT_CONTEXT + " 5");
+		sb.append(" " + OPT_TARGET_FILE + " \"cleanup.patch\"");
+		sb.append(LINE_SEP + LINE_SEP);
+
 		sb.append("Options: ");
 		sb.append(LINE_SEP);
 		sb.append(getOptionHelp(OPT_SOURCE_FILE, "File name of an ABAP source file which is input to the cleanup."));
 		sb.append(getOptionHelp(OPT_SOURCE_CODE, "ABAP source code which is input to the cleanup."));
-		sb.append(getOptionHelp(null, "Please use either " + OPT_SOURCE_FILE + " or " + OPT_SOURCE_CODE + "."));
+		sb.append(getOptionHelp(OPT_SOURCE_DIR, "Directory with " + persistency.getExtension(FileType.CODE) + " files (including sub-directories) which are input to the cleanup."));
+		sb.append(getOptionHelp(null, "This option requires " + OPT_DIFF + "."));
+		sb.append(getOptionHelp(null, "Please use either " + OPT_SOURCE_FILE + ", " + OPT_SOURCE_CODE + " or " + OPT_SOURCE_DIR + "."));
 		sb.append(getOptionHelp(OPT_LINE_RANGE, "Single line range for partial cleanup, e.g. " + LINE_RANGE_EXAMPLE));
 		sb.append(getOptionHelp(null, "Without this option, the cleanup will be applied to the whole code document."));
 		sb.append(LINE_SEP);
@@ -196,6 +256,10 @@ public class CommandLineArgs {
 		sb.append(LINE_SEP);
 		sb.append(getOptionHelp(OPT_STATS, "Write statistical summary to standard output."));
 		sb.append(getOptionHelp(OPT_USED_RULES, "Write list of used rules to standard output."));
+		sb.append(LINE_SEP);
+		sb.append(getOptionHelp(OPT_DIFF, "Return the changes in unified diff format instead of the cleanup result."));
+		sb.append(getOptionHelp(null, "With " + OPT_SOURCE_DIR + ", one combined patch for all changed files is returned."));
+		sb.append(getOptionHelp(OPT_CONTEXT, "Number of unchanged lines around each change in the diff (default: " + String.valueOf(DEFAULT_DIFF_CONTEXT_LINES) + ")."));
 
 		return sb.toString();
 	}
@@ -214,7 +278,13 @@ public class CommandLineArgs {
 	
 	// -------------------------------------------------------------------------
 
-	public final String sourceCode;
+	/** the source code supplied with --source, or the content of the file supplied with --sourcefile; otherwise null */
+	public final CharSequence sourceCode;
+	/** the path of the source file, if supplied with --sourcefile; otherwise null */
+	public final String sourcePath;
+	/** the source directory and the (sorted) paths of all code files in it, if supplied with --sourcedir; otherwise null */
+	public final String sourceDir;
+	public final String[] sourcePaths;
 	public final CleanupRange cleanupRange;
 	public final String profileData;
 	public final String abapRelease;
@@ -223,6 +293,8 @@ public class CommandLineArgs {
 	public final boolean partialResult;
 	public final boolean showStats;
 	public final boolean showUsedRules;
+	public final boolean unifiedDiff;
+	public final int diffContextLines;
 	public final String errors;
 	public final boolean showHelp;
 	
@@ -230,8 +302,13 @@ public class CommandLineArgs {
 
 	public boolean hasErrors() { return !StringUtil.isNullOrEmpty(errors); }
 	
-	private CommandLineArgs(String sourceCode, CleanupRange cleanupRange, String profileData, String abapRelease, String targetPath, boolean overwrite, boolean partialResult, boolean showStats, boolean showUsedRules, String errors, boolean showHelp) {
+	public boolean isDirectoryMode() { return (sourceDir != null); }
+
+	private CommandLineArgs(CharSequence sourceCode, String sourcePath, String sourceDir, String[] sourcePaths, CleanupRange cleanupRange, String profileData, String abapRelease, String targetPath, boolean overwrite, boolean partialResult, boolean showStats, boolean showUsedRules, boolean unifiedDiff, int diffContextLines, String errors, boolean showHelp) {
 		this.sourceCode = sourceCode;
+		this.sourcePath = sourcePath;
+		this.sourceDir = sourceDir;
+		this.sourcePaths = sourcePaths;
 		this.cleanupRange = cleanupRange;
 		this.profileData = profileData;
 		this.abapRelease = abapRelease;
@@ -240,6 +317,8 @@ public class CommandLineArgs {
 		this.partialResult = partialResult;
 		this.showStats = showStats;
 		this.showUsedRules = showUsedRules;
+		this.unifiedDiff = unifiedDiff;
+		this.diffContextLines = diffContextLines;
 		this.errors = errors;
 		this.showHelp = showHelp;
 	}
@@ -18,7 +18,8 @@ public enum FileType  {
 
 	HELP,
    CODE,
-   ERROR_LOG;
+   ERROR_LOG,
+   PARSE_CACHE;
 
    public static final int SIZE = Integer.SIZE;
 
@@ -8,7 +8,7 @@ public interface IBatchJob {
 	CleanupParams getCleanupParams();
 	
 	void initialize();
-	void addTaskResult(String sourceCode, String sourceName, Task task);
+	void addTaskResult(CharSequence sourceCode, String sourceName, Task task);
 	void finish(int duration_ms);
 	
 	String getSummary();
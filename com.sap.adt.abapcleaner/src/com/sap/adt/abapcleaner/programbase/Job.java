@@ -125,12 +125,17 @@ public class Job implements ICancelable {
 
 		Program.getLog().flush();
 
+		// sources that were not changed since a previous batch run need not be parsed again
+		ParseCache parseCache = ParseCache.create(persistency);
+
 		for (int batchPathIndex = 0; batchPathIndex < batchPaths.length; ++batchPathIndex) {
 			String path = batchPaths[batchPathIndex];
-			String sourceCode = persistency.readAllTextFromFile(path);
+			// decode (possibly large) batch files chunk by chunk onto the heap, without an intermediate copy of their bytes, 
+			// using one byte per character as long as a chunk contains no characters beyond U+00FF
+			CharSequence sourceCode = persistency.readCharSequenceFromFile(path);
 			String sourceName = StringUtil.removeSuffix(path.substring(batchDir.length()), extension, true);
 
-			Task task = createTask(ParseParams.createForWholeCode(sourceName, sourceCode, ABAP.NEWEST_RELEASE), batchPathIndex, batchPaths.length);
+			Task task = createTask(ParseParams.createForWholeCodeWithCache(sourceName, sourceCode, ABAP.NEWEST_RELEASE, parseCache), batchPathIndex, batchPaths.length);
 			task.run(batchJob.getCleanupParams(), true);
 			task.readAndFlushLog();
 			if (task.wasCancelled()) {
@@ -60,6 +60,9 @@ public class Persistency extends PersistencyBase {
 			case ERROR_LOG:
 				return ".log";
 
+			case PARSE_CACHE:
+				return ".bin";
+
 			default:
 				return null;
 		}
@@ -94,6 +97,9 @@ public class Persistency extends PersistencyBase {
 			case ERROR_LOG:
 				return "error" + extension;
 
+			case PARSE_CACHE:
+				return "*" + extension;
+
 			default:
 				return null;
 		}
@@ -123,6 +129,9 @@ public class Persistency extends PersistencyBase {
 			case ERROR_LOG:
 				return "";
 
+			case PARSE_CACHE:
+				return "parse_cache";
+
 			default:
 				return null;
 		}
@@ -144,6 +153,7 @@ public class Persistency extends PersistencyBase {
 
 			case CODE:
 			case ERROR_LOG:
+			case PARSE_CACHE:
 				return config.getFolderPrioritiesSettings();
 
 			default:
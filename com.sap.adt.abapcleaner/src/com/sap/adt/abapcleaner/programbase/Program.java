@@ -27,7 +27,8 @@ public final class Program {
 
 	private static boolean showDevFeatures;
 	private static Log log;
-	private static ITokenTypeRefiner tokenTypeRefiner;
+	/** the refiner is not thread-safe, so each thread (e.g. of the ParallelParser) uses its own instance */
+	private static ThreadLocal<ITokenTypeRefiner> tokenTypeRefiner = ThreadLocal.withInitial(() -> TokenTypeRefinerRnd.create());
 	
 	public static boolean showDevFeatures() { return showDevFeatures; }
 
@@ -73,9 +74,7 @@ public final class Program {
 	}
 
 	public static ITokenTypeRefiner getTokenTypeRefiner() {
-		if (tokenTypeRefiner == null)
-			tokenTypeRefiner = TokenTypeRefinerRnd.create();
-		return tokenTypeRefiner; 
+		return tokenTypeRefiner.get(); 
 	}
 	
 	public static String getAboutText() {
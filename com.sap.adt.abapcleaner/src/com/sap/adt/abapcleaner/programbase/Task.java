@@ -162,7 +162,11 @@ public class Task implements IProgress {
 		try {
 			if (cleanupParams.executeSingleRuleOnly()) {
 				appliedRuleCount = 1;
-				cleanupParams.rule.executeIfAllowedOn(resultingCode, cleanupParams.releaseRestriction);
+				try {
+					cleanupParams.rule.executeIfAllowedOn(resultingCode, cleanupParams.releaseRestriction);
+				} finally {
+					resultingCode.releaseRuleHelpers();
+				}
 			} else {
 				appliedRuleCount = cleanupParams.profile.getActiveRuleCount();
 				cleanupParams.profile.executeRules(resultingCode, cleanupParams.releaseRestriction, cleanupParams.executeAllRules, this);
@@ -185,16 +189,23 @@ public class Task implements IProgress {
 
 		// compare
 		stopwatch.resetAndStart();
-		ArrayList<DisplayLine> newCodeDisplayLines = resultingCode.toDisplayLines(parseParams.lineNumOffset - 1);
-		CompareDoc doc1 = CompareDoc.createFromDisplayLines(oldCodeDisplayLines);
-		CompareDoc doc2 = CompareDoc.createFromDisplayLines(newCodeDisplayLines);
-		try {
-			resultingDiffDoc = doc1.compareTo(doc2, this);
-			changedLineCount = resultingDiffDoc.getChangedLineCount(); 
-		} catch (CompareException ex) {
-			ex.addToLog();
-			compareError = ex.getMessage();
-			return;
+		if (!resultingCode.wasAnyRuleUsed()) {
+			// no Rule changed anything (which is the common case for code that was already cleaned), 
+			// so the comparer is not needed, and all lines are unchanged
+			resultingDiffDoc = DiffDoc.createForUnchangedLines(oldCodeDisplayLines);
+			changedLineCount = 0;
+		} else {
+			ArrayList<DisplayLine> newCodeDisplayLines = resultingCode.toDisplayLines(parseParams.lineNumOffset - 1);
+			CompareDoc doc1 = CompareDoc.createFromDisplayLines(oldCodeDisplayLines);
+			CompareDoc doc2 = CompareDoc.createFromDisplayLines(newCodeDisplayLines);
+			try {
+				resultingDiffDoc = doc1.compareTo(doc2, this);
+				changedLineCount = resultingDiffDoc.getChangedLineCount(); 
+			} catch (CompareException ex) {
+				ex.addToLog();
+				compareError = ex.getMessage();
+				return;
+			}
 		}
 		if (parentJob.isCancellationPending(true)) {
 			wasCancelled = true;
@@ -15,7 +15,7 @@ public class UnexpectedSyntaxException extends ExceptionBase {
    public final Command command;
 
    public UnexpectedSyntaxException(Token token, String message) {
-      super(ExceptionSeverity.S0_STOP_COMMAND, token.getSourceName(), token.sourceLineNum, message);
+      super(ExceptionSeverity.S0_STOP_COMMAND, token.getSourceName(), token.getSourceLineNum(), message);
       this.token = token;
       command = this.token.getParentCommand();
    }
@@ -36,7 +36,7 @@ public class CleanupBatchJob implements IBatchJob {
 	}
 
 	@Override
-	public void addTaskResult(String sourceCode, String sourceName, Task task) {
+	public void addTaskResult(CharSequence sourceCode, String sourceName, Task task) {
 		batchCleanupMetrics.buildFromTaskResult(sourceCode, sourceName, task);
 	}
 
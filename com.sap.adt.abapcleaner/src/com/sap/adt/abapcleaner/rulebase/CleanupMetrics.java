@@ -88,7 +88,7 @@ class CleanupMetrics {
 		details.append(lineSep);
 	}
 	
-	void buildFromTaskResult(String sourceCode, String sourceName, Task task) {
+	void buildFromTaskResult(CharSequence sourceCode, String sourceName, Task task) {
 		if (wasBuildFinished)
 			return;
 		
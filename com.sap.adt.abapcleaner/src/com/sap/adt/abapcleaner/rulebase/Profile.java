@@ -31,9 +31,11 @@ public class Profile {
 		Persistency persistency = Persistency.get(); 
 		String[] paths = getLoadPaths(directory);
 		ArrayList<Profile> profiles = new ArrayList<Profile>();
+		// only read the files that were changed since the last call; unchanged Profiles are copied from the registry 
+		ProfileRegistry registry = ProfileRegistry.get();
 		for (String path : paths) {
-			try (ISettingsReader reader = TextSettingsReader.createFromFile(persistency, path, Program.TECHNICAL_VERSION)) {
-				profiles.add(Profile.createFromSettings(reader));
+			try {
+				profiles.add(registry.getProfile(persistency, path));
 			} catch (IOException e) {
 			}
 		}
@@ -190,28 +192,34 @@ public class Profile {
 		if (progress != null)
 			progress.report(TaskType.CLEANER, 0.0);
 		int executedCount = 0;
-		for (Rule rule : rules) {
-			if (!rule.isActive && !executeInactiveRules)
-				continue;
-			
-			try {
-				rule.executeIfAllowedOn(code, releaseRestriction);
-
-			} catch (CleanException ex) {
-				if (ex.severity.getValue() <= ExceptionSeverity.S1_STOP_RULE.getValue()) {
-					// add to log and continue with next rule
-					ex.addToLog();
-				} else {
-					// escalate
-					ex.enhanceIfMissing(rule, rule.commandForErrorMsg);
-					throw ex;
+		// all rules share the comment identifications and LogicalExpressions of this run, see Code.getCommentIdentifier() and Code.getLogicalExpressionCache()
+		code.releaseRuleHelpers();
+		try {
+			for (Rule rule : rules) {
+				if (!rule.isActive && !executeInactiveRules)
+					continue;
+				
+				try {
+					rule.executeIfAllowedOn(code, releaseRestriction);
+
+				} catch (CleanException ex) {
+					if (ex.severity.getValue() <= ExceptionSeverity.S1_STOP_RULE.getValue()) {
+						// add to log and continue with next rule
+						ex.addToLog();
+					} else {
+						// escalate
+						ex.enhanceIfMissing(rule, rule.commandForErrorMsg);
+						throw ex;
+					}
 				}
+				if (progress != null && progress.isCancellationPending())
+					return;
+				++executedCount;
+				if (progress != null)
+					progress.report(TaskType.CLEANER, executedCount / (double) rulesToExecuteCount);
 			}
-			if (progress != null && progress.isCancellationPending())
-				return;
-			++executedCount;
-			if (progress != null)
-				progress.report(TaskType.CLEANER, executedCount / (double) rulesToExecuteCount);
+		} finally {
+			code.releaseRuleHelpers();
 		}
 	}
 
@@ -222,6 +230,8 @@ public class Profile {
          return true;
       } catch (IOException e) {
       	return false;
+		} finally {
+			ProfileRegistry.get().invalidate(path);
 		}
 	}
 
@@ -0,0 +1,83 @@
+package com.sap.adt.abapcleaner.rulebase;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sap.adt.abapcleaner.base.ISettingsReader;
+import com.sap.adt.abapcleaner.base.TextSettingsReader;
+import com.sap.adt.abapcleaner.programbase.Persistency;
+import com.sap.adt.abapcleaner.programbase.Program;
+
+/**
+ * <p>Caches the {@link Profile}s that were read from profile files, so that repeated calls of {@link Profile#loadProfiles(String)}
+ * (e.g. whenever the list of profiles is refreshed, or for each automated cleanup) only read and parse the files
+ * that were added or changed since they were last read. A file is considered unchanged if both its timestamp
+ * and its size are the same as when it was read.</p>
+ *
+ * <p>Since Profiles are changed by the UI, the cached Profiles themselves are never returned; instead, each call
+ * returns a copy created with {@link Profile#createFromModel(String, Profile)}, which is cheaper than parsing the file again.</p>
+ *
+ * <p>The cache entries are immutable and kept in a ConcurrentHashMap, so reading unchanged Profiles requires no locking.
+ * If several threads read the same changed file at once, each of them parses it, and one of the results is kept.</p>
+ */
+public final class ProfileRegistry {
+	private static class Entry {
+		final long lastModified;
+		final long fileSize;
+		final Profile profile;
+
+		Entry(long lastModified, long fileSize, Profile profile) {
+			this.lastModified = lastModified;
+			this.fileSize = fileSize;
+			this.profile = profile;
+		}
+	}
+
+	private static final ProfileRegistry instance = new ProfileRegistry();
+
+	public static ProfileRegistry get() {
+		return instance;
+	}
+
+	/** the Profiles read so far by the path of their file */
+	private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private ProfileRegistry() {
+	}
+
+	public final int size() { return entries.size(); }
+
+	/** returns a copy of the Profile in the supplied file, reading the file only if it was not read before or changed since */
+	public final Profile getProfile(Persistency persistency, String path) throws IOException {
+		long lastModified = persistency.getLastModified(path);
+		long fileSize = persistency.getFileSize(path);
+
+		Entry entry = entries.get(path);
+		if (entry == null || entry.lastModified != lastModified || entry.fileSize != fileSize) {
+			Profile profile;
+			try (ISettingsReader reader = TextSettingsReader.createFromFile(persistency, path, Program.TECHNICAL_VERSION)) {
+				profile = Profile.createFromSettings(reader);
+			} catch (IOException e) {
+				entries.remove(path);
+				throw e;
+			}
+			entry = new Entry(lastModified, fileSize, profile);
+			// a missing timestamp (e.g. if the file was deleted meanwhile) cannot detect later changes, so the Profile is not cached
+			if (lastModified != 0)
+				entries.put(path, entry);
+			else
+				entries.remove(path);
+		}
+		return Profile.createFromModel(entry.profile.name, entry.profile);
+	}
+
+	/** must be called after the supplied file was written, because the file system may not update the timestamp
+	 * if the file is written again within its timestamp resolution */
+	public final void invalidate(String path) {
+		entries.remove(path);
+	}
+
+	public final void clear() {
+		entries.clear();
+	}
+}
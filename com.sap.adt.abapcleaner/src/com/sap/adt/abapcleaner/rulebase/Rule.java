@@ -353,6 +353,8 @@ public abstract class Rule {
 	
 	public void executeIfAllowedOn(Code code, int releaseRestriction)  throws UnexpectedSyntaxBeforeChanges, UnexpectedSyntaxAfterChanges {
 		if (isCleanupAllowedFor(getRequiredAbapRelease(), code, releaseRestriction)) {
+			// source shifts left by edits must be applied before Tokens may be moved between Commands
+			code.applyPendingSourceShifts();
 			prepare(code);
 			executeOn(code, releaseRestriction);
 		}
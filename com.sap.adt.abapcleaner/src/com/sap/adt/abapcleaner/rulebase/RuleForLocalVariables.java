@@ -29,7 +29,7 @@ public abstract class RuleForLocalVariables extends Rule {
 		if (code == null)
 			throw new NullPointerException("code");
 
-		CommentIdentifier commentIdentifier = new CommentIdentifier();
+		CommentIdentifier commentIdentifier = code.getCommentIdentifier();
 
 		HashMap<String, ClassInfo> classes = new HashMap<String, ClassInfo>();
 		ClassInfo curClass = null;
@@ -34,7 +34,7 @@ public abstract class AlignCell {
 		Token token = getFirstToken();
 		do {
 			if (text.length() > 0)
-				text.append(token.lineBreaks > 0 ? lineBreakSign : " ");
+				text.append(token.getLineBreaks() > 0 ? lineBreakSign : " ");
 
 			String tokenText;
 			if (token.isKeyword() || token.isPragma())
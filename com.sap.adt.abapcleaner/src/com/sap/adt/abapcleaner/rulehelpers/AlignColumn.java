@@ -49,6 +49,7 @@ public class AlignColumn {
 	final void addCell(AlignCell cell) {
 		cell.parentColumn = this;
 		++cellCount;
+		parentTable.invalidateTotalWidths();
 		if (overrideWidthWith1) {
 			maxMonoLineWidth = 1;
 			maxMultiLineWidth = 1;
@@ -65,6 +66,7 @@ public class AlignColumn {
 
 	final void invalidate() {
 		isValid = false;
+		parentTable.invalidateTotalWidths();
 	}
 
 	public final void clear() {
@@ -78,6 +80,7 @@ public class AlignColumn {
 		maxMonoLineWidth = 0;
 		maxMultiLineWidth = 0;
 		cellCount = 0;
+		parentTable.invalidateTotalWidths();
 	}
 
 	final void recalculate() {
@@ -166,7 +169,7 @@ public class AlignColumn {
 			if (cell == null)
 				continue;
 
-			if (cell.getFirstToken().lineBreaks > 0)
+			if (cell.getFirstToken().getLineBreaks() > 0)
 				return true;
 		}
 		return false;
@@ -180,7 +183,7 @@ public class AlignColumn {
 				continue;
 
 			Token firstToken = cell.getFirstToken();
-			if (firstToken.lineBreaks == 0)
+			if (firstToken.getLineBreaks() == 0)
 				continue;
 
 			Token prevToken = firstToken.getPrev();
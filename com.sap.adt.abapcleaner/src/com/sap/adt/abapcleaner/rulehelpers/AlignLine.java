@@ -114,7 +114,7 @@ public class AlignLine {
 		
 		token = token.getNext();
 		while (token != null) {
-			if (token.lineBreaks > 0)
+			if (token.getLineBreaks() > 0)
 				return true;
 			if (token == lastToken)
 				break;
@@ -11,6 +11,11 @@ public class AlignTable {
 	private ArrayList<AlignLine> lines = new ArrayList<AlignLine>();
 	private HashMap<String, AlignLine> lineDictionary;
 
+	// the results of getTotalMonoLineWidth() and getTotalMultiLineWidth(), or -1 if they must be recalculated; 
+	// AlignTables are not pooled or reset, so only the AlignColumns invalidate these caches (when cells are added, removed or cleared) 
+	private int totalMonoLineWidth = -1;
+	private int totalMultiLineWidth = -1;
+
 	public Token parentToken; // optional, must be set by the using code
 	public Token endToken; // optional, must be set by the using code
 
@@ -60,10 +65,27 @@ public class AlignTable {
 		}
 	}
 
+	/** is called whenever the cells or the settings of a column are changed */
+	final void invalidateTotalWidths() {
+		totalMonoLineWidth = -1;
+		totalMultiLineWidth = -1;
+	}
+
 	public final int getTotalMonoLineWidth() {
 		if (!canAlignToMonoLine)
 			return getTotalMultiLineWidth();
+		if (totalMonoLineWidth < 0)
+			totalMonoLineWidth = calculateTotalMonoLineWidth();
+		return totalMonoLineWidth;
+	}
 
+	public final int getTotalMultiLineWidth() {
+		if (totalMultiLineWidth < 0)
+			totalMultiLineWidth = calculateTotalMultiLineWidth();
+		return totalMultiLineWidth;
+	}
+
+	private int calculateTotalMonoLineWidth() {
 		int totalResult = 0;
 		int result = 0;
 		for (AlignColumn column : columns) {
@@ -77,7 +99,7 @@ public class AlignTable {
 		return Math.max(totalResult - 1, 0);
 	}
 
-	public final int getTotalMultiLineWidth() {
+	private int calculateTotalMultiLineWidth() {
 		int totalResult = 0;
 		int result = 0;
 		for (AlignColumn column : columns) {
@@ -110,7 +132,7 @@ public class AlignTable {
 				// since an AlignCell does not always contain all Tokens (e.g. line-end comments), 
 				// search for the next non-empty cell after this cell to check whether it starts with a line break
 				AlignCell nextNonEmptyCell = line.getNextNonEmptyCellAfter(colIndex);
-				if (nextNonEmptyCell != null && nextNonEmptyCell.getFirstToken().lineBreaks == 0) {
+				if (nextNonEmptyCell != null && nextNonEmptyCell.getFirstToken().getLineBreaks() == 0) {
 					isFollowedByLineBreaks = false;
 					break;
 				}
@@ -191,9 +213,9 @@ public class AlignTable {
 						// ensure there is always at least one space
 						spacesLeft = Math.max(spacesLeft, 1);
 					}
-				} else if (cell.getFirstToken().lineBreaks > lineBreaks) {
+				} else if (cell.getFirstToken().getLineBreaks() > lineBreaks) {
 					// if there should be a line break, then also keep multiple existing line breaks
-					lineBreaks = cell.getFirstToken().lineBreaks;
+					lineBreaks = cell.getFirstToken().getLineBreaks();
 				}
 				int usedWidth;
 				if (column.rightAlign) {
@@ -47,31 +47,113 @@ public class CommentIdentifier {
 
 	private final static char[] wordFreqSkipChars = new char[] { '/', '<', '>', '_', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' }; 
 
-   private static boolean isInitialized;
-   
-   // lists of English and German words frequently found in comments of ABAP code
-   private static HashSet<String> frequentEnglishWords;
-   private static HashSet<String> frequentGermanWords;
-   private static HashMap<String, String> frequentEnglishTypos;
-   private static HashMap<String, String> frequentBritishEnglish;
-   private static int frequentEnglishTypoCount;
-   private static int frequentBritishEnglishCount;
-
-   private static HashSet<String> nonEnglishAbapUpperCaseKeywords;
-   private static HashSet<String> nonEnglishAbapLowerCaseKeywords;
-   private static HashSet<String> abapSeparators;
-   private static HashSet<String> textSeparators;
-   // private static HashSet<String> ambiguousSeparators;
-
-   private static String[] autoGeneratedPrefixes;
-
-   private static HashSet<String> levelOpeners;
-   private static HashSet<String> levelClosers;
+   /** holds the static dictionaries, which are created when this class is first accessed; since class initialization 
+    * is synchronized by the JVM, the dictionaries are created only once and can then be read concurrently */
+   private static class Dictionaries {
+		// lists of English and German words frequently found in comments of ABAP code
+		private static final WordDictionary frequentEnglishWords;
+		private static final WordDictionary frequentGermanWords;
+		private static final WordDictionary frequentEnglishTypos;
+		private static final WordDictionary frequentBritishEnglish;
+		private static final int frequentEnglishTypoCount;
+		private static final int frequentBritishEnglishCount;
+		private static final TypoScanner typoScanner;
+
+		private static final WordDictionary nonEnglishAbapUpperCaseKeywords;
+		private static final WordDictionary nonEnglishAbapLowerCaseKeywords;
+		private static final WordDictionary abapSeparators;
+		private static final WordDictionary textSeparators;
+		// private static final WordDictionary ambiguousSeparators;
+
+		private static final String[] autoGeneratedPrefixes;
+
+		private static final WordDictionary levelOpeners;
+		private static final WordDictionary levelClosers;
+
+		static {
+			frequentEnglishWords = initFrequentWords("frequent_words_english.txt", false);
+			frequentGermanWords = initFrequentWords("frequent_words_german.txt", true);
+
+			HashMap<String, String> typos = new HashMap<>();
+			frequentEnglishTypoCount = initFrequentCorrections("frequent_typos_english.txt", typos);
+			frequentEnglishTypos = WordDictionary.create(typos);
+			HashMap<String, String> britishEnglish = new HashMap<>();
+			frequentBritishEnglishCount = initFrequentCorrections("frequent_british_english.txt", britishEnglish);
+			frequentBritishEnglish = WordDictionary.create(britishEnglish);
+			typoScanner = TypoScanner.create(frequentEnglishTypos, frequentBritishEnglish);
+
+			nonEnglishAbapUpperCaseKeywords = initDictionary(new String[] {"BADI", "EQ", "NE", "LT", "LE", "GT", "GE", "CA", "CO", "CS", "NA", "CN", "NS", "CP", "NP", "EQUIV", "CONV", "REF", "COND", "SHORTDUMP", "BOOLC", "XSDBOOL", "LEFTPLUS", "LEFTSPACE", "RIGHTPLUS", "RIGHTSPACE", "XSD", "TIMEZONE", "INIT", "DIV", "MOD", "BOOLX", "BOOL", "XOR", "PF1", "PF2", "PF3", "PF4", "PF5", "PF6", "PF7", "PF8", "PF9", "PF01", "PF02", "PF03", "PF04", "PF05", "PF06", "PF07", "PF08", "PF09", "PF10", "PF11", "PF12", "PF13", "PF14", "PF15", "PF16", "PF17", "PF18", "PF19", "PF20", "PF21", "PF22", "PF23", "PF24", "RADIOBUTTON", "C", "N", "X", "P", "LOB", "CLOB", "BLOB", "AMDP", "CDS", "DDL", "RETURNCODE", "DATAINFO", "STATUSINFO", "TABLEVIEW", "TABSTRIP", "UTCLONG", "HDB", "SQLSCRIPT", "TEXTPOOL", "T000", "INT1", "INT2", "INT4", "INT8", "NUMC", "DEC", "CURR", "QUAN", "FLTP", "DECFLOAT16", "DECFLOAT34", "D16D", "D34D", "D16R", "D34R", "D16N", "D34N", "CLNT", "CUKY", "LANG", "DATS", "DATN", "SSTRING", "TIMS", "TIMN", "RAWSTRING", "ADABAS", "SYBASE", "DB2", "AS400", "DB6", "MSSQLNT", "ABS", "CEIL", "COALESCE", "LPAD", "LTRIM", "RTRIM", "CONCAT", "INSTR", "RPAD", "BINTOHEX", "HEXTOBIN", "UUID", "INITCAP", "MONTHNAME", "DAYNAME", "ADD_MONTHS", "DAYS_BETWEEN", "ADD_DAYS", "IS_VALID", "TZONE", "TSTMP", "TSTMP1", "TSTMP2", "TSTMPL", "UTCL", "PCRE", "D16S", "D34S", "STDDEV", "VAR", "AVG", "CORR", "NTILE", "SPANTREE", "BITFIELD", "DYNPRO", "ELSEIF", "ENDAT", "ENDCASE", "ENDCATCH", "ENDCLASS", "ENDDO", "ENDEXEC", "ENDFORM", "ENDFUNCTION", "ENDIF", "ENDINTERFACE", "ENDLOOP", "ENDMETHOD", "ENDMODULE", "ENDON", "ENDPROVIDE", "ENDREP", "ENDSELECT", "ENDWITH", "ENDTRY", "ENDWHILE", "ENDENHANCEMENT", "SQL", "NAMETAB", "EXEC", "REGEX", "SUBMATCHES", "FRAMES", "PF", "AMDPDB", "INFOTYPES", "RMC", "LLANG", "TRDIR", "TOPOFPAGE", "UTF", "MATCHCODE", "MODIF", "CHECKBOX", "LISTBOX", "CPI", "LPI", "FKEQ", "FKGE", "GKEQ", "GKGE", "KERNELINFO", "TRMAC", "NOWAIT", "SUBSCREEN", "ULINE", "BT", "NB", "TITLEBAR", "SWITCHSTATES", "STRANS", "SYNCPOINTS", "HASHVAL", "WEBRFC", "GPA", "SUBMODE", "RABAX", "OPCODE", "LISTLEVEL", "OBJMGR", "TRACELEVEL", "NODELETE", "TRIGGERLEVEL", "GC", "STEPTIME", "CDESTR", "INST", "OTR", "NR", "NONEX", "CLAS", "ATTR", "SRCENC", "DSTENC", "LEN", "POS", "CINFO", "AUX", "RC", "DBLOCK", "OMRT", "SY", "ENUM", "GAP", "VERI", "QUICKINFO", "RSYN", "ENDCHAIN"});
+			nonEnglishAbapLowerCaseKeywords = initDictionary(new String[] {"abs", "c", "class_constructor", "dats", "n", "int1", "int2", "int4", "int8", "p", "s", "subrc", "sy", "tims", "timestamp", "timestampl", "x", "xsdbool", "table_line"});
+
+			abapSeparators = initDictionary(new String[] {"=>", "( ", "->", " ).E", ">-", " <", "B<", " = <", "( ).E", " )E", "B( ", " #( ", "> ", "[ ", "(E", ") = ", ">.E", "( )->", "~", " ) ).E", " ?= ", "B!", " ) )E", ">E", ">->", " <> ", "( ) ).E", " ] ", " ) ) ).E", "( )E", " = -", " ]-", " ].E", " )->", " #(", " #( ( ", " ]E", "( )-", "+", "( ) ", " ##", "(<", " += ", " ]->", " ( ", ">).E", " += <", " <> <", " ( <", ": <", "( <", " #( <", " #( ).E", " ) ", ") = <", " + <", "B+ <", " #(E", " > ", " && ", "> ).E", ") ).E", " #( )E", " =E", ": / ", "( ( ", " * <", "( ) && ", "> = ", "( ) = ", "( ) )E", " < <", " #( ) ).E", " = ( ", " > <", " ] ).E", ">)E", " -= ", "> )->", " <= ", ") ) ).E", "> = <", " / <", ") && ", " - <", "[].E", " ) ( ", " ) = ", " >= ", " ) ) ", " ) ) )E", " #( (E", " ] )E", " ) * ", "( ) = <", "B= ", "( ) ) ).E", "[] ", ") < ", " ) ) ) ).E", " * -", "[", "B+ ", ": /.E", ":", "B( <", " = ( <", " ) ##", "B##", "> )E", ", <", " ) > ", "->* ", ">) ", "( ) )->", " ] ) ) ).E", "].E", " ) ) )->", " ] ) ).E", ") )E", "> <> <", " *= ", "[] ).E", " * ( ", " ) ) ) ) ).E", "[]E", " : ", "B* ( ", " ) <> ", " ( ( <", ") <= ", "]E", " = - ", "> ) ).E", ") >= ", "[] = ", " ( ( ", "B* <", " - ( ", "B* ( <", "> ) = ", ">) ##", "( ) ##", "B)->", ", /.E", ",", ") = ( ", " / ( ", "B- <", " *= ( ", "B= <", "> <> ", "B- ( ", "B/ ", " ) >= ", "( ) ) ", "\\", " ) + ", " && <", " ?= <", "]-", "( )=>", "( -", " ,E", ":<", "> < <", " *E", " ) / ", " +E", ") =E", " >= <", " <= <", " (E", " ,", " -= <", " ) =E", " :E", " ] ) ", "> ##", " * ( -", " ) ) ) ) ) ).E", ") = - ", " / -", ") ##", " /", "->(", " /= ", ") - ", ": /", ": / <", " /.E", "B).E", "B.E", "B)E"});
+			textSeparators = initDictionary(new String[] {" (", ". ", "/", "; ", "B! <", "=E", "..", ";E", " @ ", " ..", "% ", " & ", "), ", ".", "B! @", "...", "B(", "% / ", " #", "%E", "): ", "B... ", "..., ", " _", "B! ", "?E", " ...E", " # ", "% + ", "% * ", ")", " +", "):E", " ...", "); ", "B# ", " ... ", ")):E", "%, ", "% - ", "% = ", " *", ": (", "B..", "* ", "))E", "B--- ", " (= ", "!E", "*", "). ", "B---", "B----- ", "!)E", ");E", "%) ", ". (", "B-", "B=> ", " --> ", "/ ", " -> -", ". - ", ") - (", "+ ", "+)E", "- ", " [", "] ", "!!!E", "? ", "%) * ", " [+ ", ".) ", "(!) ", ") & ", "#", "B!!! ", " !!!E", "+E", "/_", "% / +", ") -> ", " :", ".)E", "*E", ": ..", "; ..", "B_", "***E", "B-----", "!!!!!!!!E", " :E", "B@", "B------ ", ")!!!E", "..E", ")!E", ", ..", ") ... ", "... ", "B*", " %E", " (=", "->...~", ") => ", " -> ..", "B<< ", "B>> "});
+			// ambiguousSeparators = initDictionary(new string[] { ".E", "-", " = ", ") ", ",E", ": ", ").E", ") ", " - ", " / ", " + ", " * ", " < ", ", ", ")E", "B- ", "B* ", ", ", ":E", " -", "(", "),E", "B- ", "B* " });
+
+			autoGeneratedPrefixes = new String[] {"* <SIGNATURE>", "* | ", "* +-", "*&"};
+
+			levelOpeners = initDictionary(new String[] {"INTERFACE", "CLASS", "PUBLIC", "PROTECTED", "PRIVATE", "METHOD", "DO", "WHILE", "LOOP", "AT", "IF", "ELSEIF", "ELSE", "CASE", "WHEN", "CATCH", "FORM", "FUNCTION", "MODULE", "TRY", "EXEC", "TEST-SEAM", "TEST-INJECTION", "DEFINE", "ENHANCEMENT", "ENHANCEMENT-SECTION", "PROVIDE", "ON" });
+			levelClosers = initDictionary(new String[] {"ENDINTERFACE", "ENDCLASS", "PUBLIC", "PROTECTED", "PRIVATE", "ENDMETHOD", "ENDDO", "ENDWHILE", "ENDLOOP", "ENDAT", "ENDIF", "ELSEIF", "ELSE", "WHEN", "CATCH", "ENDFORM", "ENDFUNCTION", "ENDMODULE", "ENDTRY", "ENDCASE", "ENDEXEC", "END-TEST-SEAM", "END-TEST-INJECTION", "END-OF-DEFINITION", "ENDENHANCEMENT", "END-ENHANCEMENT-SECTION", "ENDPROVIDE", "ENDON" });
+		}
+   }
 
    private HashMap<String, Integer> separatorFrequency = new HashMap<String, Integer>();
 
    private HashSet<String> lineSamples = new HashSet<>();
 
+   /** the maximum number of results that {@link #createWithCache()} keeps, evicting the least recently used one */
+   public static final int MAX_CACHED_IDENTIFICATIONS = 4096;
+
+   /** the results of {@link #identifyComment(String, boolean, String, String, boolean)} for recently identified lines, 
+    * or null if results are not cached */
+   private LinkedHashMap<IdentificationKey, CommentIdentification> identificationCache;
+
+   /** the parameters on which the result of {@link #identifyComment(String, boolean, String, String, boolean)} depends */
+   private static class IdentificationKey {
+		private final String lineText;
+		private final boolean analyzeQuotMarkCommentsToo;
+		private final String prevLineText;
+		private final String nextLineText;
+		private final int hashCode;
+
+		private IdentificationKey(String lineText, boolean analyzeQuotMarkCommentsToo, String prevLineText, String nextLineText) {
+			this.lineText = lineText;
+			this.analyzeQuotMarkCommentsToo = analyzeQuotMarkCommentsToo;
+			this.prevLineText = prevLineText;
+			this.nextLineText = nextLineText;
+			this.hashCode = Objects.hash(lineText, analyzeQuotMarkCommentsToo, prevLineText, nextLineText);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof IdentificationKey))
+				return false;
+			IdentificationKey other = (IdentificationKey) obj;
+			return hashCode == other.hashCode && analyzeQuotMarkCommentsToo == other.analyzeQuotMarkCommentsToo && Objects.equals(lineText, other.lineText)
+					&& Objects.equals(prevLineText, other.prevLineText) && Objects.equals(nextLineText, other.nextLineText);
+		}
+   }
+
+   /** creates a CommentIdentifier that caches the results of {@link #identifyComment(String, boolean, String, String, boolean)}, 
+    * so identical comment lines (e.g. in generated code or commented-out code blocks) are only analyzed once; 
+    * note that cached lines are not counted again in the separator frequencies */
+   public static CommentIdentifier createWithCache() {
+		CommentIdentifier commentIdentifier = new CommentIdentifier();
+		commentIdentifier.identificationCache = new LinkedHashMap<IdentificationKey, CommentIdentification>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<IdentificationKey, CommentIdentification> eldest) {
+				return size() > MAX_CACHED_IDENTIFICATIONS;
+			}
+		};
+		return commentIdentifier;
+   }
+
 	private static class Line {
 		int indent;
 		// String text;
@@ -102,7 +184,7 @@ public class CommentIdentifier {
 			if (words == null || words.length == 0)
 				return 0;
 
-			if (levelOpeners.contains(getHashSetKey(words[0])))
+			if (Dictionaries.levelOpeners.containsUpperCaseOf(words[0]))
 				return AbapCult.stringEquals(words[0], "TRY", true) ? 4 : 2;
 			else
 				return 0;
@@ -111,7 +193,7 @@ public class CommentIdentifier {
 		final int expectedIndentChangeForThisLine() {
 			if (words == null || words.length == 0)
 				return 0;
-			if (levelClosers.contains(getHashSetKey(words[0])))
+			if (Dictionaries.levelClosers.containsUpperCaseOf(words[0]))
 				return AbapCult.stringEquals(words[0], "ENDTRY", true) || AbapCult.stringEquals(words[0], "ENDCASE", true) ? -4 : -2;
 			else
 				return 0;
@@ -122,35 +204,12 @@ public class CommentIdentifier {
 		return word.toUpperCase(Locale.ROOT);
 	}
 
-	private static void initialize() {
-	   frequentEnglishWords = initFrequentWords("frequent_words_english.txt", false);
-	   frequentGermanWords = initFrequentWords("frequent_words_german.txt", true);
-	   
-	   frequentEnglishTypos = new HashMap<>();
-	   frequentEnglishTypoCount = initFrequentCorrections("frequent_typos_english.txt", frequentEnglishTypos);
-	   frequentBritishEnglish = new HashMap<>();
-	   frequentBritishEnglishCount = initFrequentCorrections("frequent_british_english.txt", frequentBritishEnglish);
-	   
-	   nonEnglishAbapUpperCaseKeywords = initHashSet(new String[] {"BADI", "EQ", "NE", "LT", "LE", "GT", "GE", "CA", "CO", "CS", "NA", "CN", "NS", "CP", "NP", "EQUIV", "CONV", "REF", "COND", "SHORTDUMP", "BOOLC", "XSDBOOL", "LEFTPLUS", "LEFTSPACE", "RIGHTPLUS", "RIGHTSPACE", "XSD", "TIMEZONE", "INIT", "DIV", "MOD", "BOOLX", "BOOL", "XOR", "PF1", "PF2", "PF3", "PF4", "PF5", "PF6", "PF7", "PF8", "PF9", "PF01", "PF02", "PF03", "PF04", "PF05", "PF06", "PF07", "PF08", "PF09", "PF10", "PF11", "PF12", "PF13", "PF14", "PF15", "PF16", "PF17", "PF18", "PF19", "PF20", "PF21", "PF22", "PF23", "PF24", "RADIOBUTTON", "C", "N", "X", "P", "LOB", "CLOB", "BLOB", "AMDP", "CDS", "DDL", "RETURNCODE", "DATAINFO", "STATUSINFO", "TABLEVIEW", "TABSTRIP", "UTCLONG", "HDB", "SQLSCRIPT", "TEXTPOOL", "T000", "INT1", "INT2", "INT4", "INT8", "NUMC", "DEC", "CURR", "QUAN", "FLTP", "DECFLOAT16", "DECFLOAT34", "D16D", "D34D", "D16R", "D34R", "D16N", "D34N", "CLNT", "CUKY", "LANG", "DATS", "DATN", "SSTRING", "TIMS", "TIMN", "RAWSTRING", "ADABAS", "SYBASE", "DB2", "AS400", "DB6", "MSSQLNT", "ABS", "CEIL", "COALESCE", "LPAD", "LTRIM", "RTRIM", "CONCAT", "INSTR", "RPAD", "BINTOHEX", "HEXTOBIN", "UUID", "INITCAP", "MONTHNAME", "DAYNAME", "ADD_MONTHS", "DAYS_BETWEEN", "ADD_DAYS", "IS_VALID", "TZONE", "TSTMP", "TSTMP1", "TSTMP2", "TSTMPL", "UTCL", "PCRE", "D16S", "D34S", "STDDEV", "VAR", "AVG", "CORR", "NTILE", "SPANTREE", "BITFIELD", "DYNPRO", "ELSEIF", "ENDAT", "ENDCASE", "ENDCATCH", "ENDCLASS", "ENDDO", "ENDEXEC", "ENDFORM", "ENDFUNCTION", "ENDIF", "ENDINTERFACE", "ENDLOOP", "ENDMETHOD", "ENDMODULE", "ENDON", "ENDPROVIDE", "ENDREP", "ENDSELECT", "ENDWITH", "ENDTRY", "ENDWHILE", "ENDENHANCEMENT", "SQL", "NAMETAB", "EXEC", "REGEX", "SUBMATCHES", "FRAMES", "PF", "AMDPDB", "INFOTYPES", "RMC", "LLANG", "TRDIR", "TOPOFPAGE", "UTF", "MATCHCODE", "MODIF", "CHECKBOX", "LISTBOX", "CPI", "LPI", "FKEQ", "FKGE", "GKEQ", "GKGE", "KERNELINFO", "TRMAC", "NOWAIT", "SUBSCREEN", "ULINE", "BT", "NB", "TITLEBAR", "SWITCHSTATES", "STRANS", "SYNCPOINTS", "HASHVAL", "WEBRFC", "GPA", "SUBMODE", "RABAX", "OPCODE", "LISTLEVEL", "OBJMGR", "TRACELEVEL", "NODELETE", "TRIGGERLEVEL", "GC", "STEPTIME", "CDESTR", "INST", "OTR", "NR", "NONEX", "CLAS", "ATTR", "SRCENC", "DSTENC", "LEN", "POS", "CINFO", "AUX", "RC", "DBLOCK", "OMRT", "SY", "ENUM", "GAP", "VERI", "QUICKINFO", "RSYN", "ENDCHAIN"});
-	   nonEnglishAbapLowerCaseKeywords = initHashSet(new String[] {"abs", "c", "class_constructor", "dats", "n", "int1", "int2", "int4", "int8", "p", "s", "subrc", "sy", "tims", "timestamp", "timestampl", "x", "xsdbool", "table_line"});
-	   
-	   abapSeparators = initHashSet(new String[] {"=>", "( ", "->", " ).E", ">-", " <", "B<", " = <", "( ).E", " )E", "B( ", " #( ", "> ", "[ ", "(E", ") = ", ">.E", "( )->", "~", " ) ).E", " ?= ", "B!", " ) )E", ">E", ">->", " <> ", "( ) ).E", " ] ", " ) ) ).E", "( )E", " = -", " ]-", " ].E", " )->", " #(", " #( ( ", " ]E", "( )-", "+", "( ) ", " ##", "(<", " += ", " ]->", " ( ", ">).E", " += <", " <> <", " ( <", ": <", "( <", " #( <", " #( ).E", " ) ", ") = <", " + <", "B+ <", " #(E", " > ", " && ", "> ).E", ") ).E", " #( )E", " =E", ": / ", "( ( ", " * <", "( ) && ", "> = ", "( ) = ", "( ) )E", " < <", " #( ) ).E", " = ( ", " > <", " ] ).E", ">)E", " -= ", "> )->", " <= ", ") ) ).E", "> = <", " / <", ") && ", " - <", "[].E", " ) ( ", " ) = ", " >= ", " ) ) ", " ) ) )E", " #( (E", " ] )E", " ) * ", "( ) = <", "B= ", "( ) ) ).E", "[] ", ") < ", " ) ) ) ).E", " * -", "[", "B+ ", ": /.E", ":", "B( <", " = ( <", " ) ##", "B##", "> )E", ", <", " ) > ", "->* ", ">) ", "( ) )->", " ] ) ) ).E", "].E", " ) ) )->", " ] ) ).E", ") )E", "> <> <", " *= ", "[] ).E", " * ( ", " ) ) ) ) ).E", "[]E", " : ", "B* ( ", " ) <> ", " ( ( <", ") <= ", "]E", " = - ", "> ) ).E", ") >= ", "[] = ", " ( ( ", "B* <", " - ( ", "B* ( <", "> ) = ", ">) ##", "( ) ##", "B)->", ", /.E", ",", ") = ( ", " / ( ", "B- <", " *= ( ", "B= <", "> <> ", "B- ( ", "B/ ", " ) >= ", "( ) ) ", "\\", " ) + ", " && <", " ?= <", "]-", "( )=>", "( -", " ,E", ":<", "> < <", " *E", " ) / ", " +E", ") =E", " >= <", " <= <", " (E", " ,", " -= <", " ) =E", " :E", " ] ) ", "> ##", " * ( -", " ) ) ) ) ) ).E", ") = - ", " / -", ") ##", " /", "->(", " /= ", ") - ", ": /", ": / <", " /.E", "B).E", "B.E", "B)E"});
-	   textSeparators = initHashSet(new String[] {" (", ". ", "/", "; ", "B! <", "=E", "..", ";E", " @ ", " ..", "% ", " & ", "), ", ".", "B! @", "...", "B(", "% / ", " #", "%E", "): ", "B... ", "..., ", " _", "B! ", "?E", " ...E", " # ", "% + ", "% * ", ")", " +", "):E", " ...", "); ", "B# ", " ... ", ")):E", "%, ", "% - ", "% = ", " *", ": (", "B..", "* ", "))E", "B--- ", " (= ", "!E", "*", "). ", "B---", "B----- ", "!)E", ");E", "%) ", ". (", "B-", "B=> ", " --> ", "/ ", " -> -", ". - ", ") - (", "+ ", "+)E", "- ", " [", "] ", "!!!E", "? ", "%) * ", " [+ ", ".) ", "(!) ", ") & ", "#", "B!!! ", " !!!E", "+E", "/_", "% / +", ") -> ", " :", ".)E", "*E", ": ..", "; ..", "B_", "***E", "B-----", "!!!!!!!!E", " :E", "B@", "B------ ", ")!!!E", "..E", ")!E", ", ..", ") ... ", "... ", "B*", " %E", " (=", "->...~", ") => ", " -> ..", "B<< ", "B>> "});
-	   // ambiguousSeparators = initHashSet(new string[] { ".E", "-", " = ", ") ", ",E", ": ", ").E", ") ", " - ", " / ", " + ", " * ", " < ", ", ", ")E", "B- ", "B* ", ", ", ":E", " -", "(", "),E", "B- ", "B* " });
-
-	   autoGeneratedPrefixes = new String[] {"* <SIGNATURE>", "* | ", "* +-", "*&"};
-
-	   levelOpeners = initHashSet(new String[] {"INTERFACE", "CLASS", "PUBLIC", "PROTECTED", "PRIVATE", "METHOD", "DO", "WHILE", "LOOP", "AT", "IF", "ELSEIF", "ELSE", "CASE", "WHEN", "CATCH", "FORM", "FUNCTION", "MODULE", "TRY", "EXEC", "TEST-SEAM", "TEST-INJECTION", "DEFINE", "ENHANCEMENT", "ENHANCEMENT-SECTION", "PROVIDE", "ON" });
-	   levelClosers = initHashSet(new String[] {"ENDINTERFACE", "ENDCLASS", "PUBLIC", "PROTECTED", "PRIVATE", "ENDMETHOD", "ENDDO", "ENDWHILE", "ENDLOOP", "ENDAT", "ENDIF", "ELSEIF", "ELSE", "WHEN", "CATCH", "ENDFORM", "ENDFUNCTION", "ENDMODULE", "ENDTRY", "ENDCASE", "ENDEXEC", "END-TEST-SEAM", "END-TEST-INJECTION", "END-OF-DEFINITION", "ENDENHANCEMENT", "END-ENHANCEMENT-SECTION", "ENDPROVIDE", "ENDON" });
-		isInitialized = true;
-	}
-
-	private static HashSet<String> initFrequentWords(String resourceName, boolean isGerman) {
+	private static WordDictionary initFrequentWords(String resourceName, boolean isGerman) {
 		HashSet<String> result = new HashSet<String>();
 
 		InputStream resourceStream = CommentIdentifier.class.getClassLoader().getResourceAsStream(resourceName);
 		if (resourceStream == null)
-			return result;
+			return WordDictionary.create(result);
 		BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(resourceStream, StandardCharsets.UTF_8));
 		
 		try {
@@ -169,7 +228,7 @@ public class CommentIdentifier {
 				
 				// for German special characters, also add an ASCII version
 				if (isGerman) {
-					String lineUmlaut = line.replaceAll("\u00e4", "ae").replaceAll("\u00f6", "oe").replaceAll("\u00fc", "ue").replaceAll("\u00df", "ss");
+					String lineUmlaut = line.replace("\u00e4", "ae").replace("\u00f6", "oe").replace("\u00fc", "ue").replace("\u00df", "ss");
 					if (!lineUmlaut.equals(line)) {
 						key = getHashSetKey(lineUmlaut);
 						if (!result.contains(key))
@@ -182,7 +241,7 @@ public class CommentIdentifier {
 		} catch (IOException e) {
 		}
 
-		return result;
+		return WordDictionary.create(result);
 	}
 
 	private static int initFrequentCorrections(String resourceName, HashMap<String, String> map) {
@@ -231,38 +290,32 @@ public class CommentIdentifier {
 		return entryCount;
 	}
 
-	private static HashSet<String> initHashSet(String[] texts) {
+	private static WordDictionary initDictionary(String[] texts) {
 		HashSet<String> result = new HashSet<String>();
 		for (String text : texts) {
 			String key = getHashSetKey(text);
 			if (!result.contains(key))
 				result.add(key);
 		}
-		return result;
+		return WordDictionary.create(result);
 	}
 
-	public static HashMap<String, String> getFrequentEnglishTypos() {
-		if (!isInitialized) 
-			initialize();
-		return frequentEnglishTypos;
+	/** returns an unmodifiable Map of the frequent English typos and their corrections */
+	public static Map<String, String> getFrequentEnglishTypos() {
+		return Dictionaries.frequentEnglishTypos.asMap();
    }
 
-   public static HashMap<String, String> getFrequentBritishEnglish() {
-		if (!isInitialized) 
-			initialize();
-		return frequentBritishEnglish;
+	/** returns an unmodifiable Map of the frequent British English word forms and their American English counterparts */
+   public static Map<String, String> getFrequentBritishEnglish() {
+		return Dictionaries.frequentBritishEnglish.asMap();
    }
 
 	public static int getFrequentEnglishTypoCount() { 
-		if (!isInitialized) 
-			initialize();
-		return frequentEnglishTypoCount; 
+		return Dictionaries.frequentEnglishTypoCount; 
 	}
 	
 	public static int getFrequentBritishEnglishCount() { 
-		if (!isInitialized) 
-			initialize();
-		return frequentBritishEnglishCount; 
+		return Dictionaries.frequentBritishEnglishCount; 
 	}
 
 	// -----------------------------------------------------------------------------------------------------------------
@@ -343,11 +396,20 @@ public class CommentIdentifier {
 		return identifyComment(lineText, analyzeQuotMarkCommentsToo, null, null, false);
 	}
 	public final CommentIdentification identifyComment(String lineText, boolean analyzeQuotMarkCommentsToo, String prevLineText, String nextLineText, boolean provideReasons) {
-		// lazy instantiation of static dictionaries (including for the sake of the test suite)
-		if (!isInitialized) {
-			initialize();
+		// reasons are only needed for analysis and are therefore not cached
+		if (identificationCache == null || provideReasons) 
+			return identifyCommentUncached(lineText, analyzeQuotMarkCommentsToo, prevLineText, nextLineText, provideReasons);
+
+		IdentificationKey key = new IdentificationKey(lineText, analyzeQuotMarkCommentsToo, prevLineText, nextLineText);
+		CommentIdentification result = identificationCache.get(key);
+		if (result == null) {
+			result = identifyCommentUncached(lineText, analyzeQuotMarkCommentsToo, prevLineText, nextLineText, false);
+			identificationCache.put(key, result);
 		}
-		
+		return result;
+	}
+
+	private CommentIdentification identifyCommentUncached(String lineText, boolean analyzeQuotMarkCommentsToo, String prevLineText, String nextLineText, boolean provideReasons) {
 		final String lineSep = System.lineSeparator();
 		final String proAbapPrefix = "+ ";
 		final String proTextPrefix = "- ";
@@ -359,7 +421,7 @@ public class CommentIdentifier {
 		int proEnglish = 0;
 		int proGerman = 0;
 
-		for (String autoGeneratedPrefix : autoGeneratedPrefixes) {
+		for (String autoGeneratedPrefix : Dictionaries.autoGeneratedPrefixes) {
 			if (AbapCult.stringStartsWith(lineText, autoGeneratedPrefix)) {
 				++proAbap;
 				if (reasons != null)
@@ -431,7 +493,7 @@ public class CommentIdentifier {
 					if (reasons != null)
 						reasons.append(proTextPrefix + "ABAP keyword '" + word + "' in lower case").append(lineSep);
 				}
-				if (nonEnglishAbapUpperCaseKeywords.contains(getHashSetKey(word))) {
+				if (Dictionaries.nonEnglishAbapUpperCaseKeywords.containsUpperCaseOf(word)) {
 					++proAbap;
 					if (reasons != null)
 						reasons.append(proAbapPrefix + "ABAP keyword '" + word + "'").append(lineSep);
@@ -447,7 +509,7 @@ public class CommentIdentifier {
 					if (reasons != null)
 						reasons.append(proTextPrefix + "ABAP keyword '" + word + "' in upper case").append(lineSep);
 				}
-				if (nonEnglishAbapLowerCaseKeywords.contains(getHashSetKey(word))) {
+				if (Dictionaries.nonEnglishAbapLowerCaseKeywords.containsUpperCaseOf(word)) {
 					++proAbap;
 					if (reasons != null)
 						reasons.append(proAbapPrefix + "ABAP keyword '" + word + "'").append(lineSep);
@@ -458,25 +520,25 @@ public class CommentIdentifier {
 				if (reasons != null)
 					reasons.append(proTextPrefix + "upper case word '" + word + "' is not an ABAP keyword").append(lineSep);
 
-			} else if (mayBeKeyword && frequentEnglishWords.contains(getHashSetKey(word))) {
+			} else if (mayBeKeyword && Dictionaries.frequentEnglishWords.containsUpperCaseOf(word)) {
 				++proText;
 				++proEnglish;
 				if (reasons != null)
 					reasons.append(proTextPrefix + "non-ABAP English word '" + word + "'").append(lineSep);
 
-			} else if (mayBeKeyword && frequentGermanWords.contains(getHashSetKey(word))) {
+			} else if (mayBeKeyword && Dictionaries.frequentGermanWords.containsUpperCaseOf(word)) {
 				++proText;
 				++proGerman;
 				if (reasons != null)
 					reasons.append(proTextPrefix + "non-ABAP German word '" + word + "'").append(lineSep);
 
-			} else if (mayBeKeyword && frequentEnglishTypos.containsKey(word)) {
+			} else if (mayBeKeyword && Dictionaries.frequentEnglishTypos.contains(word)) {
 				++proText;
 				++proEnglish;
 				if (reasons != null)
 					reasons.append(proTextPrefix + "non-ABAP English typo '" + word + "'").append(lineSep);
 
-			} else if (mayBeKeyword && frequentBritishEnglish.containsKey(word)) {
+			} else if (mayBeKeyword && Dictionaries.frequentBritishEnglish.contains(word)) {
 				++proText;
 				++proEnglish;
 				if (reasons != null)
@@ -512,12 +574,11 @@ public class CommentIdentifier {
 					reasons.append(proAbapPrefix + "field-symbol identifier <...>");
 			}
 
-			String key = getHashSetKey(sep);
-			if (abapSeparators.contains(key)) {
+			if (Dictionaries.abapSeparators.containsUpperCaseOf(sep)) {
 				++proAbap;
 				if (reasons != null)
 					reasons.append(proAbapPrefix + "typical ABAP separator '" + sep + "'").append(lineSep);
-			} else if (textSeparators.contains(key)) {
+			} else if (Dictionaries.textSeparators.containsUpperCaseOf(sep)) {
 				++proText;
 				if (reasons != null)
 					reasons.append(proTextPrefix + "typical text separator '" + sep + "'").append(lineSep);
@@ -535,6 +596,7 @@ public class CommentIdentifier {
 					reasons.append(proTextPrefix + "colon : inside line").append(lineSep);
 			}
 
+			String key = getHashSetKey(sep);
 			if (separatorFrequency.containsKey(key))
 			separatorFrequency.put(key, separatorFrequency.get(key) + 1);
 			else
@@ -983,8 +1045,8 @@ public class CommentIdentifier {
 
 			// determine language(s) of the word: "E", "D" or "ED" (e.g. "in" which could be both English and German)
 			// if the word is unknown to existing word lists, use the suspected language of the context
-			boolean isFreqEnglish = frequentEnglishWords.contains(getHashSetKey(word));
-			boolean isFreqGerman = frequentGermanWords.contains(getHashSetKey(word));
+			boolean isFreqEnglish = Dictionaries.frequentEnglishWords.containsUpperCaseOf(word);
+			boolean isFreqGerman = Dictionaries.frequentGermanWords.containsUpperCaseOf(word);
 			String language = (isFreqEnglish ? ENGLISH : "") + (isFreqGerman ? GERMAN : "");
 			if (language.length() == 0) 
 				language = freq.isGerman ? GERMAN : ENGLISH;
@@ -1038,7 +1100,7 @@ public class CommentIdentifier {
 		return sbResult.toString();
 	}
 
-	public class CorrectionResult {
+	public static class CorrectionResult {
 		public final String correctedText;
 		public final ArrayList<String> corrections;
 
@@ -1051,45 +1113,26 @@ public class CommentIdentifier {
 	}
 
 	public CorrectionResult correctComment(String text, boolean correctTypos, boolean changeBritishToAmerican) {
-		return correctText(text, false, '\0', correctTypos, changeBritishToAmerican);
+		return correctComment(text, 0, text.length(), correctTypos, changeBritishToAmerican);
+	}
+	
+	/** corrects the part of the comment text between start (inclusive) and end (exclusive); the corrected text of the result only contains this part */
+	public CorrectionResult correctComment(String text, int start, int end, boolean correctTypos, boolean changeBritishToAmerican) {
+		return correctText(text, start, end, false, '\0', correctTypos, changeBritishToAmerican);
 	}
 	
 	public CorrectionResult correctLiteral(String text, char escapeChar, boolean correctTypos, boolean changeBritishToAmerican) {
-		return correctText(text, true, escapeChar, correctTypos, changeBritishToAmerican);
+		return correctLiteral(text, 0, text.length(), escapeChar, correctTypos, changeBritishToAmerican);
 	}
 
-	private CorrectionResult correctText(String text, boolean isLiteral, char escapeChar, boolean correctTypos, boolean changeBritishToAmerican) {
-		if (!isInitialized) 
-			initialize();
-
-		TextReader reader = isLiteral ? TextReader.createForLiteral(text, escapeChar) : TextReader.createForComment(text);
-
-		int correctionCount = 0;
-		do {
-			String word = reader.getNextWord();
-			if (word == null)
-				break;
+	/** corrects the part of the literal text between start (inclusive) and end (exclusive); the corrected text of the result only contains this part */
+	public CorrectionResult correctLiteral(String text, int start, int end, char escapeChar, boolean correctTypos, boolean changeBritishToAmerican) {
+		return correctText(text, start, end, true, escapeChar, correctTypos, changeBritishToAmerican);
+	}
 
-			// if the word is a typo or British English, get the corresponding correction;
-			// note that frequentEnglishTypos contains some entries which are sure to be typos,
-			// but there is no unambiguous correction, so correction is "", and nothing can be corrected
-			String correction = null;
-			boolean isTypo = false;
-			if (correctTypos) {
-				correction = frequentEnglishTypos.get(word);
-				isTypo = !StringUtil.isNullOrEmpty(correction);
-			}
-			if (changeBritishToAmerican && !isTypo) {
-				correction = frequentBritishEnglish.get(word);
-			}
-			
-			if (!StringUtil.isNullOrEmpty(correction)) {
-				String diagnosis = isTypo ? "typo" : "BE";
-				reader.correctLastWord(correction, diagnosis);
-				++correctionCount;
-			}
-		} while(true);
-		
-		return (correctionCount == 0) ? null : new CorrectionResult(reader.getCorrectedText(), reader.getCorrections());
+	private CorrectionResult correctText(String text, int start, int end, boolean isLiteral, char escapeChar, boolean correctTypos, boolean changeBritishToAmerican) {
+		if (!correctTypos && !changeBritishToAmerican)
+			return null;
+		return Dictionaries.typoScanner.correct(text, start, end, isLiteral, escapeChar, correctTypos, changeBritishToAmerican);
 	}
 }
\ No newline at end of file
@@ -1,8 +1,7 @@
 package com.sap.adt.abapcleaner.rulehelpers;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.BitSet;
 
 import com.sap.adt.abapcleaner.base.ABAP;
 import com.sap.adt.abapcleaner.base.AbapCult;
@@ -12,10 +11,6 @@ import com.sap.adt.abapcleaner.programbase.UnexpectedSyntaxBeforeChanges;
 import com.sap.adt.abapcleaner.rulebase.Rule;
 
 public class LocalVariables {
-   private static String getNameKey(String name) {
-      return AbapCult.toUpper(name);
-   }
-
 	public static String getObjectName(String identifier) {
 		// remove the @ used in SQL statements
 		if (AbapCult.stringStartsWith(identifier, "@"))
@@ -29,19 +24,27 @@ public class LocalVariables {
 		return identifier;
 	}
 
+	/** returns the start of the object name within the supplied identifier, which {@link #getObjectName(String)} would return */
+	private static int getObjectNameStart(String identifier) {
+		return identifier.startsWith("@") ? 1 : 0;
+	}
+
 	// -------------------------------------------------------------------------
 	
    private Rule rule;
    private MethodInfo methodInfo;
    
-	public HashMap<String, VariableInfo> locals = new HashMap<String, VariableInfo>();
+	/** assigns the IDs of the local variables in declaration order, which are also their indices in localsInDeclarationOrder */
+	private SymbolTable localNames = SymbolTable.create();
 
-	public ArrayList<VariableInfo> localsInDeclarationOrder = new ArrayList<VariableInfo>();
-	public ArrayList<VariableInfo> localsInUsageOrder = new ArrayList<VariableInfo>();
-	public ArrayList<VariableInfo> localsInNonCommentUsageOrder = new ArrayList<VariableInfo>();
+	private ArrayList<VariableInfo> localsInDeclarationOrder = new ArrayList<VariableInfo>();
+	private ArrayList<VariableInfo> localsInUsageOrder = new ArrayList<VariableInfo>();
+	private ArrayList<VariableInfo> localsInNonCommentUsageOrder = new ArrayList<VariableInfo>();
 
-	public HashSet<VariableInfo> localsWithUsage = new HashSet<VariableInfo>();
-	public HashSet<VariableInfo> localsWithNonCommentUsage = new HashSet<VariableInfo>();
+	/** the IDs of the local variables that are already contained in localsInUsageOrder */
+	private BitSet localsWithUsage = new BitSet();
+	/** the IDs of the local variables that are already contained in localsInNonCommentUsageOrder */
+	private BitSet localsWithNonCommentUsage = new BitSet();
 
 	public LocalVariables(Rule rule, MethodInfo methodInfo) {
 		this.rule = rule;
@@ -57,7 +60,7 @@ public class LocalVariables {
 	}
 	
 	public boolean isEmpty() { 
-		return locals.isEmpty(); 
+		return localNames.isEmpty(); 
 	}
 	
 	public Iterable<VariableInfo> getLocalsInDeclarationOrder() {
@@ -81,8 +84,8 @@ public class LocalVariables {
 		// for declarations like "DATA lv_textdat1(20) TYPE c.", reduce the identifier to its first part
 		text = ABAP.readTillEndOfVariableName(text, 0, true);
 
-		String key = getNameKey(text);
-		if (locals.containsKey(key))
+		int id = localNames.add(text);
+		if (id < 0)
 			throw new UnexpectedSyntaxBeforeChanges(rule, identifier, (isConstant ? "Constant" : "Variable") + " '" + identifier.getText() + "' seems to be declared twice!");
 
 		VariableInfo varInfo = new VariableInfo(identifier, isDeclaredInline, isConstant, isBoundStructuredData);
@@ -90,21 +93,32 @@ public class LocalVariables {
 			varInfo.addAssignment(identifier);
 		}
 		
-		locals.put(key, varInfo);
 		localsInDeclarationOrder.add(varInfo);
 		return varInfo;
 	}
 
+	/** returns the ID of the local variable whose object name is contained in the supplied identifier, or -1 */
+	private int getIdOfObjectName(String identifier) {
+		int start = getObjectNameStart(identifier);
+		if (start >= identifier.length())
+			return -1;
+		return localNames.getId(identifier, start, ABAP.getEndOfVariableName(identifier, start, true));
+	}
+
+	private VariableInfo getVariableInfo(int id) {
+		return (id < 0) ? null : localsInDeclarationOrder.get(id);
+	}
+
 	public VariableInfo getVariableInfo(Token identifier) {
-		return getVariableInfo(getObjectName(identifier.getText()));
+		return getVariableInfo(getIdOfObjectName(identifier.getText()));
 	}
 
 	public boolean containsVariableInfo(String objectName) { 
-		return locals.containsKey(getNameKey(objectName)); 
+		return localNames.getId(objectName) >= 0; 
 	}
 
 	public VariableInfo getVariableInfo(String objectName) { 
-		return locals.get(getNameKey(objectName)); 
+		return getVariableInfo(localNames.getId(objectName)); 
 	}
 
 	public void setNeeded(String name) {
@@ -133,21 +147,21 @@ public class LocalVariables {
 		addUsage(identifier, name, false, false, false, false);
 	}
 	public VariableInfo addUsage(Token identifier, String name, boolean isAssignment, boolean isUsageInSelfAssignment, boolean isCommentedOut, boolean writesToReferencedMemory) {
-		String key = getNameKey(getObjectName(name));
-		VariableInfo varInfo = locals.get(key);
-		if (varInfo == null) 
+		int id = getIdOfObjectName(name);
+		if (id < 0) 
 			return null;
+		VariableInfo varInfo = localsInDeclarationOrder.get(id);
 		
 		// for 'real' usages (as opposed to pseudo-usage if ##NEEDED or "#EC NEEDED is found):
 		if (identifier != null) {
 			// enhance the ordered usage lists
-			if (!localsWithUsage.contains(varInfo)) {
+			if (!localsWithUsage.get(id)) {
 				localsInUsageOrder.add(varInfo);
-				localsWithUsage.add(varInfo);
+				localsWithUsage.set(id);
 			}
-			if (!isCommentedOut && !localsWithNonCommentUsage.contains(varInfo)) {
+			if (!isCommentedOut && !localsWithNonCommentUsage.get(id)) {
 				localsInNonCommentUsageOrder.add(varInfo);
-				localsWithNonCommentUsage.add(varInfo);
+				localsWithNonCommentUsage.set(id);
 			}
 		}
 
@@ -72,8 +72,16 @@ public class LogicalExpression {
 	 *  if the expression were negated by propagating negation to its inner expressions (if possible) */
 	private int negatedComplexity;
 
+	/** true if currentComplexity and negatedComplexity were already calculated with the setting complexityConvertsAbapFalseAndAbapTrue;
+	 * this is only reset by creating the LogicalExpression anew, since it becomes invalid as soon as it changes the code */
+	private boolean isComplexityCalculated;
+	private boolean complexityConvertsAbapFalseAndAbapTrue;
+
 	public final boolean isSupported() { return isSupported; }
 
+	/** returns false if this LogicalExpression changed the code, so its structure no longer matches the code */
+	final boolean isValid() { return isValid; }
+
 	final Token getFirstToken() { return firstToken; }
 
 	private Token getFirstTokenExceptOpeningParenthesis() { return isInParentheses ? firstToken.getNext() : firstToken; }
@@ -285,7 +293,7 @@ public class LogicalExpression {
 				break;
 		}
 		if (negateWithOuterNot) {
-			Token notToken = Token.createForAbap(firstToken.lineBreaks, firstToken.spacesLeft, "NOT", TokenType.KEYWORD, firstToken.sourceLineNum);
+			Token notToken = Token.createForAbap(firstToken.getLineBreaks(), firstToken.getSpacesLeft(), "NOT", TokenType.KEYWORD, firstToken.getSourceLineNum());
 			firstToken.insertLeftSibling(notToken, false);
 			firstToken.setWhitespace();
 
@@ -343,7 +351,7 @@ public class LogicalExpression {
 					compOp.copyWhitespaceFrom(compOp.getPrev());
 					compOp.getPrev().removeFromCommand();
 				} else {
-					Token notToken = Token.createForAbap(compOp.lineBreaks, compOp.spacesLeft, "NOT", TokenType.KEYWORD, compOp.sourceLineNum);
+					Token notToken = Token.createForAbap(compOp.getLineBreaks(), compOp.getSpacesLeft(), "NOT", TokenType.KEYWORD, compOp.getSourceLineNum());
 					compOp.insertLeftSibling(notToken, false);
 					compOp.setWhitespace();
 				}
@@ -387,6 +395,10 @@ public class LogicalExpression {
 	 * @throws UnexpectedSyntaxAfterChanges
 	 */
 	private final void calculateComplexity(boolean convertAbapFalseAndAbapTrue) {
+		// reuse the result of a previous calculation for the whole tree, e.g. if the LogicalExpression was cached
+		if (isComplexityCalculated && complexityConvertsAbapFalseAndAbapTrue == convertAbapFalseAndAbapTrue)
+			return;
+
 		// calculate the complexity of inner expressions first and cumulate the result
 		currentComplexity = 0;
 		negatedComplexity = 0;
@@ -470,6 +482,8 @@ public class LogicalExpression {
 		} else {
 			throw new IndexOutOfBoundsException("unexpected BindingLevel or RelationalExpressionType!");
 		}		
+		isComplexityCalculated = true;
+		complexityConvertsAbapFalseAndAbapTrue = convertAbapFalseAndAbapTrue;
 	}
 	
 	/**
@@ -508,7 +522,7 @@ public class LogicalExpression {
 			return false;
 
 		// insert "NOT" after "IS" and remove "NOT" from before the predicate expression (e.g. "NOT lv_value IS INITIAL" -> "lv_value IS NOT INITIAL")
-		next.insertLeftSibling(Token.createForAbap(0, 1, "NOT", TokenType.KEYWORD, isToken.sourceLineNum));
+		next.insertLeftSibling(Token.createForAbap(0, 1, "NOT", TokenType.KEYWORD, isToken.getSourceLineNum()));
 		Token oldNotToken = parentExpression.keywords.get(0);
 		if (oldNotToken.isFirstTokenInLine() && !oldNotToken.getNext().isFirstTokenInLine())
 			oldNotToken.getNext().copyWhitespaceFrom(oldNotToken);
@@ -519,7 +533,7 @@ public class LogicalExpression {
 	}
 
 	private void insertNotBefore(Token token, boolean invalidateExpression) throws IntegrityBrokenException {
-		Token notToken = Token.createForAbap(token.lineBreaks, token.spacesLeft, "NOT", TokenType.KEYWORD, token.sourceLineNum);
+		Token notToken = Token.createForAbap(token.getLineBreaks(), token.getSpacesLeft(), "NOT", TokenType.KEYWORD, token.getSourceLineNum());
 		token.setWhitespace();
 		token.insertLeftSibling(notToken, true);
 
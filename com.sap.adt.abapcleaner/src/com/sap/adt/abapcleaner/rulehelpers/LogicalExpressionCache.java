@@ -0,0 +1,93 @@
+package com.sap.adt.abapcleaner.rulehelpers;
+
+import java.util.HashMap;
+
+import com.sap.adt.abapcleaner.parser.Token;
+import com.sap.adt.abapcleaner.parser.TokenType;
+import com.sap.adt.abapcleaner.programbase.UnexpectedSyntaxException;
+
+/**
+ * <p>Caches the {@link LogicalExpression}s that were created for the logical expressions of one code document,
+ * so that several Rules which process the same logical expression during a cleanup run
+ * (e.g. NotIsRule, AlignLogicalExpressionsRule and IfBlockAtLoopEndRule) do not need to build its structure again.</p>
+ *
+ * <p>Rules change the Tokens of a logical expression (or negate it) without notifying this cache. Therefore, each
+ * LogicalExpression is stored with a snapshot of its Tokens, their texts and their {@link TokenType}s, and it is only returned
+ * again if this snapshot still matches the code; otherwise, the LogicalExpression is created anew. Changes of whitespace
+ * (e.g. by alignment Rules) do not affect the structure of a LogicalExpression and therefore keep it in the cache.</p>
+ */
+public final class LogicalExpressionCache {
+	private static class Entry {
+		final LogicalExpression logicalExpression;
+		final Token lastToken;
+		/** the Tokens from the first Token of the logical expression up to and including the Token after its last Token */
+		final Token[] tokens;
+		final String[] texts;
+		final TokenType[] types;
+
+		Entry(LogicalExpression logicalExpression, Token firstToken, Token lastToken, int tokenCount) {
+			this.logicalExpression = logicalExpression;
+			this.lastToken = lastToken;
+			tokens = new Token[tokenCount];
+			texts = new String[tokenCount];
+			types = new TokenType[tokenCount];
+			Token token = firstToken;
+			for (int i = 0; i < tokenCount; ++i) {
+				tokens[i] = token;
+				texts[i] = token.getText();
+				types[i] = token.type;
+				token = token.getNext();
+			}
+		}
+
+		boolean matchesCode() {
+			if (!logicalExpression.isValid())
+				return false;
+			Token token = tokens[0];
+			for (int i = 0; i < tokens.length; ++i) {
+				// comparing texts by reference is sufficient: an equal reference means an equal text, while a new String
+				// with the same text only leads to the LogicalExpression being created again
+				if (token != tokens[i] || token.getText() != texts[i] || token.type != types[i])
+					return false;
+				token = token.getNext();
+			}
+			return true;
+		}
+	}
+
+	/** the cached LogicalExpressions by their first Token */
+	private final HashMap<Token, Entry> entries = new HashMap<>();
+
+	public static LogicalExpressionCache create() {
+		return new LogicalExpressionCache();
+	}
+
+	private LogicalExpressionCache() {
+	}
+
+	public final int size() { return entries.size(); }
+
+	/** returns the LogicalExpression from firstToken to lastToken (both inclusive), which is either taken from the cache
+	 * (if the code did not change since it was created) or created with {@link LogicalExpression#create(Token, Token)} */
+	public final LogicalExpression get(Token firstToken, Token lastToken) throws UnexpectedSyntaxException {
+		Entry entry = entries.get(firstToken);
+		if (entry != null && entry.lastToken == lastToken && entry.matchesCode())
+			return entry.logicalExpression;
+
+		LogicalExpression logicalExpression = LogicalExpression.create(firstToken, lastToken);
+
+		// count the Tokens up to and including the Token after lastToken (which always exists for complete Commands)
+		int tokenCount = 2;
+		Token token = firstToken;
+		while (token != lastToken && token != null) {
+			token = token.getNext();
+			++tokenCount;
+		}
+		if (token == null || lastToken.getNext() == null) {
+			entries.remove(firstToken);
+			return logicalExpression;
+		}
+		entries.put(firstToken, new Entry(logicalExpression, firstToken, lastToken, tokenCount));
+		return logicalExpression;
+	}
+}
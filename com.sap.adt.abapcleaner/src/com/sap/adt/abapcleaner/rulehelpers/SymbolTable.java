@@ -0,0 +1,125 @@
+package com.sap.adt.abapcleaner.rulehelpers;
+
+import java.util.Arrays;
+
+/**
+ * <p>Assigns dense IDs 0, 1, 2, ... to names in the order in which they are added, ignoring the case of the names.
+ * The IDs can be used as indices into arrays or {@link java.util.BitSet}s that hold further information on each name.</p>
+ *
+ * <p>In contrast to a HashMap with upper case keys, lookups with the original Token text, or with a part of such a text
+ * (e.g. the object name 'lv_struc' in 'lv_struc-component'), neither require
+ * {@link com.sap.adt.abapcleaner.base.AbapCult#toUpper(String)} nor any other allocation: The hash code is calculated
+ * from the upper case characters on the fly, and the names are compared character by character.
+ * Since ABAP identifiers consist of ASCII characters, folding the case of single characters is sufficient.</p>
+ */
+final class SymbolTable {
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** the names in the order of their IDs */
+	private String[] names;
+	/** the hash codes of the names in the order of their IDs */
+	private int[] hashCodes;
+	/** the ID + 1 of the name in each slot, or 0 for empty slots */
+	private int[] slots;
+	private int size;
+
+	static SymbolTable create() {
+		return new SymbolTable();
+	}
+
+	private SymbolTable() {
+		names = new String[INITIAL_CAPACITY / 2];
+		hashCodes = new int[INITIAL_CAPACITY / 2];
+		slots = new int[INITIAL_CAPACITY];
+	}
+
+	final int size() { return size; }
+
+	final boolean isEmpty() { return size == 0; }
+
+	/** returns the name with the supplied ID in the case in which it was added */
+	final String getName(int id) {
+		return names[id];
+	}
+
+	private static int getHashCode(CharSequence text, int start, int end) {
+		int hashCode = 0;
+		for (int i = start; i < end; ++i)
+			hashCode = 31 * hashCode + Character.toUpperCase(text.charAt(i));
+		// spread the higher bits, since only the lower bits determine the slot
+		return hashCode ^ (hashCode >>> 16);
+	}
+
+	/** adds the supplied name and returns its new ID, or returns -1 if the name (in any case) was already added */
+	final int add(String name) {
+		if (name == null)
+			throw new NullPointerException("name");
+
+		int hashCode = getHashCode(name, 0, name.length());
+		int slot = findSlot(name, 0, name.length(), hashCode);
+		if (slots[slot] != 0)
+			return -1;
+
+		if (size == names.length) {
+			names = Arrays.copyOf(names, 2 * size);
+			hashCodes = Arrays.copyOf(hashCodes, 2 * size);
+		}
+		int id = size;
+		names[id] = name;
+		hashCodes[id] = hashCode;
+		slots[slot] = id + 1;
+		++size;
+
+		// keep the load factor at 0.5 or below to keep probe sequences short
+		if (2 * size > slots.length)
+			resize(2 * slots.length);
+		return id;
+	}
+
+	private void resize(int capacity) {
+		slots = new int[capacity];
+		int mask = capacity - 1;
+		for (int id = 0; id < size; ++id) {
+			int slot = hashCodes[id] & mask;
+			while (slots[slot] != 0)
+				slot = (slot + 1) & mask;
+			slots[slot] = id + 1;
+		}
+	}
+
+	/** returns the slot that contains the supplied text (ignoring case), or the empty slot at which the text would be inserted */
+	private int findSlot(CharSequence text, int start, int end, int hashCode) {
+		int mask = slots.length - 1;
+		int slot = hashCode & mask;
+		while (slots[slot] != 0) {
+			int id = slots[slot] - 1;
+			if (hashCodes[id] == hashCode && nameEquals(names[id], text, start, end))
+				return slot;
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static boolean nameEquals(String name, CharSequence text, int start, int end) {
+		if (name.length() != end - start)
+			return false;
+		for (int i = start; i < end; ++i) {
+			char nameChar = name.charAt(i - start);
+			char textChar = text.charAt(i);
+			if (nameChar != textChar && Character.toUpperCase(nameChar) != Character.toUpperCase(textChar))
+				return false;
+		}
+		return true;
+	}
+
+	/** returns the ID of the supplied name (ignoring case), or -1 if it was not added */
+	final int getId(CharSequence text) {
+		return (text == null) ? -1 : getId(text, 0, text.length());
+	}
+
+	/** returns the ID of the part of the supplied text between start (inclusive) and end (exclusive), ignoring case,
+	 * or -1 if it was not added */
+	final int getId(CharSequence text, int start, int end) {
+		return slots[findSlot(text, start, end, getHashCode(text, start, end))] - 1;
+	}
+}
@@ -37,7 +37,7 @@ public class TreeAlign {
 	private void add(TreeAlignColumnType columnType, AlignCell cell) {
 		// if the first token of the cell is in a new line, however, the previous Token is a stand-alone AND / OR / EQUIV / ( 
 		// on its own line, then continue right of that previous Token
-		boolean continuesLine = (cell != null && cell.getFirstToken().lineBreaks == 0);
+		boolean continuesLine = (cell != null && cell.getFirstToken().getLineBreaks() == 0);
 		if (cell != null && !continuesLine) {
 			Token prev = cell.getFirstToken().getPrevNonCommentToken();
 			if (prev.isFirstTokenInLine() && (prev.isAnyKeyword("AND", "OR", "EQUIV") || prev.textEquals("("))) {
@@ -99,8 +99,8 @@ public class TreeAlign {
 		for (TreeAlignColumn column : allColumns) {
 			for (AlignCell cell : column.getCells()) {
 				Token firstToken = cell.getFirstToken();
-				if (firstToken.lineBreaks > 0)
-					leftMostIndent = Math.min(leftMostIndent, firstToken.spacesLeft);
+				if (firstToken.getLineBreaks() > 0)
+					leftMostIndent = Math.min(leftMostIndent, firstToken.getSpacesLeft());
 			}
 		}
 
@@ -173,8 +173,8 @@ public class TreeAlign {
 				}
 
 				Token firstToken = cell.getFirstToken();
-				int spacesLeft = Math.max(firstToken.spacesLeft + (newIndent - currentIndent), 1);
-				if (firstToken.lineBreaks == 0) {
+				int spacesLeft = Math.max(firstToken.getSpacesLeft() + (newIndent - currentIndent), 1);
+				if (firstToken.getLineBreaks() == 0) {
 					if (column.doNotAlign || (onlyAlignSameObjects && isAlignmentStoppedForLineOf(cell)))
 						spacesLeft = 1;
 					else if (spacesLeft > maxInnerSpaces && firstToken != keyword.getNext()) {
@@ -183,7 +183,7 @@ public class TreeAlign {
 						stopAligningLineOf(cell);
 					}
 				}
-				if (cell.setWhitespace(firstToken.lineBreaks, spacesLeft, keepMultiline))
+				if (cell.setWhitespace(firstToken.getLineBreaks(), spacesLeft, keepMultiline))
 					changed = true;
 			}
 		}
@@ -0,0 +1,226 @@
+package com.sap.adt.abapcleaner.rulehelpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.sap.adt.abapcleaner.base.StringUtil;
+
+/**
+ * <p>Finds and corrects frequent typos and British English words in a comment or literal in one pass over the text.</p>
+ *
+ * <p>The words of both dictionaries are compiled into one trie, which is walked character by character while the text
+ * is split into words in the same way as {@link TextReader#getNextWord()} does. Therefore, no String is created for
+ * words that are not found in the dictionaries, and the corrected text is only built once a correction is found.</p>
+ *
+ * <p>Since a TypoScanner cannot be changed after creation, it can be shared between threads without synchronization.</p>
+ */
+final class TypoScanner {
+	private static final int ROOT = 0;
+	private static final int NO_NODE = -1;
+
+	private final WordDictionary typos;
+	private final WordDictionary britishEnglish;
+
+	/** for each node, the start of its outgoing edges in edgeChars and edgeTargets, which are sorted by edge char */
+	private final int[] edgeStarts;
+	private final char[] edgeChars;
+	private final int[] edgeTargets;
+	/** for each node, the index of the word that ends at this node in the typo dictionary, or -1 */
+	private final int[] typoIndices;
+	/** for each node, the index of the word that ends at this node in the British English dictionary, or -1 */
+	private final int[] britishEnglishIndices;
+
+	static TypoScanner create(WordDictionary typos, WordDictionary britishEnglish) {
+		ArrayList<TreeMap<Character, Integer>> nodeEdges = new ArrayList<>();
+		nodeEdges.add(new TreeMap<>());
+
+		int[] typoIndices = addWords(nodeEdges, typos, new int[0]);
+		int[] britishEnglishIndices = addWords(nodeEdges, britishEnglish, new int[0]);
+
+		// store the edges of all nodes in flat arrays; every node except the root has exactly one incoming edge
+		int nodeCount = nodeEdges.size();
+		int[] edgeStarts = new int[nodeCount + 1];
+		char[] edgeChars = new char[nodeCount - 1];
+		int[] edgeTargets = new int[nodeCount - 1];
+		int edgeCount = 0;
+		for (int node = 0; node < nodeCount; ++node) {
+			edgeStarts[node] = edgeCount;
+			for (Map.Entry<Character, Integer> edge : nodeEdges.get(node).entrySet()) {
+				edgeChars[edgeCount] = edge.getKey();
+				edgeTargets[edgeCount] = edge.getValue();
+				++edgeCount;
+			}
+		}
+		edgeStarts[nodeCount] = edgeCount;
+
+		return new TypoScanner(typos, britishEnglish, edgeStarts, edgeChars, edgeTargets,
+				getIndicesOfAllNodes(typoIndices, nodeCount), getIndicesOfAllNodes(britishEnglishIndices, nodeCount));
+	}
+
+	/** adds the words of the supplied dictionary to the trie and returns the dictionary index of the word that ends at each node */
+	private static int[] addWords(ArrayList<TreeMap<Character, Integer>> nodeEdges, WordDictionary dictionary, int[] wordIndices) {
+		for (int index = 0; index < dictionary.size(); ++index) {
+			String word = dictionary.getKey(index);
+			int node = ROOT;
+			for (int i = 0; i < word.length(); ++i) {
+				TreeMap<Character, Integer> edges = nodeEdges.get(node);
+				Integer target = edges.get(word.charAt(i));
+				if (target == null) {
+					target = nodeEdges.size();
+					edges.put(word.charAt(i), target);
+					nodeEdges.add(new TreeMap<>());
+				}
+				node = target;
+			}
+			wordIndices = getIndicesOfAllNodes(wordIndices, node + 1);
+			wordIndices[node] = index;
+		}
+		return wordIndices;
+	}
+
+	/** returns the supplied word indices, extended to the supplied node count with -1 for nodes at which no word ends */
+	private static int[] getIndicesOfAllNodes(int[] wordIndices, int nodeCount) {
+		if (wordIndices.length >= nodeCount)
+			return wordIndices;
+		int oldLength = wordIndices.length;
+		int[] result = Arrays.copyOf(wordIndices, Math.max(nodeCount, 2 * oldLength));
+		Arrays.fill(result, oldLength, result.length, -1);
+		return result;
+	}
+
+	private TypoScanner(WordDictionary typos, WordDictionary britishEnglish, int[] edgeStarts, char[] edgeChars, int[] edgeTargets, int[] typoIndices, int[] britishEnglishIndices) {
+		this.typos = typos;
+		this.britishEnglish = britishEnglish;
+		this.edgeStarts = edgeStarts;
+		this.edgeChars = edgeChars;
+		this.edgeTargets = edgeTargets;
+		this.typoIndices = typoIndices;
+		this.britishEnglishIndices = britishEnglishIndices;
+	}
+
+	/** returns the node that is reached from the supplied node with the supplied char, or NO_NODE */
+	private int getTarget(int node, char c) {
+		int low = edgeStarts[node];
+		int high = edgeStarts[node + 1] - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			char edgeChar = edgeChars[mid];
+			if (edgeChar < c)
+				low = mid + 1;
+			else if (edgeChar > c)
+				high = mid - 1;
+			else
+				return edgeTargets[mid];
+		}
+		return NO_NODE;
+	}
+
+	private static boolean isCharAllowedForWord(char c, boolean isFirst, boolean isLiteral) {
+		// always accept hyphens
+		return Character.isLetterOrDigit(c) || c == '-' || (!isFirst && c == '\'')
+				|| (!isLiteral && (c == '_' || c == '/'));
+	}
+
+	/**
+	 * corrects the typos and/or British English words in the part of the supplied text between start (inclusive) and end (exclusive)
+	 *
+	 * @param text - the comment (possibly including comment signs) or the literal (excluding its delimiters ' ` | etc.)
+	 * @param isLiteral - true if the text is a literal, in which escape chars are considered
+	 * @param escapeChar - the escape char used for the literal
+	 * @return the corrected part of the text with the list of corrections, or null if nothing was corrected
+	 */
+	CommentIdentifier.CorrectionResult correct(String text, int start, int end, boolean isLiteral, char escapeChar, boolean correctTypos, boolean changeBritishToAmerican) {
+		StringBuilder correctedText = null;
+		ArrayList<String> corrections = null;
+		int correctionStart = start;
+
+		int pos = start;
+		while (pos < end) {
+			// find the next word, walking the trie along its characters
+			int wordStart = pos;
+			int lastCharStart = pos;
+			char lastChar = '\0';
+			int node = ROOT;
+			int nodeBeforeLastChar = ROOT;
+			boolean isFirst = true;
+			while (pos < end) {
+				int step = 1;
+				char c = text.charAt(pos);
+				if (isLiteral && c == escapeChar && pos + 1 < end) {
+					c = text.charAt(pos + 1);
+					step = 2;
+				}
+				if (isCharAllowedForWord(c, isFirst, isLiteral)) {
+					lastCharStart = pos;
+					lastChar = c;
+					nodeBeforeLastChar = node;
+					node = (node == NO_NODE) ? NO_NODE : getTarget(node, c);
+					pos += step;
+					isFirst = false;
+				} else if (isFirst) {
+					// skip character and try starting the word with the next character
+					pos += step;
+					wordStart = pos;
+				} else {
+					break;
+				}
+			}
+			if (isFirst)
+				break;
+
+			// only accept ' inside the word, but not at the end
+			if (lastChar == '\'') {
+				node = nodeBeforeLastChar;
+				pos = lastCharStart;
+			}
+			if (node == NO_NODE)
+				continue;
+
+			// if the word is a typo or British English, get the corresponding correction;
+			// note that the typo dictionary contains some entries which are sure to be typos,
+			// but there is no unambiguous correction, so correction is "", and nothing can be corrected
+			String word = null;
+			String correction = null;
+			boolean isTypo = false;
+			if (correctTypos && typoIndices[node] >= 0) {
+				correction = typos.getValue(typoIndices[node]);
+				isTypo = !StringUtil.isNullOrEmpty(correction);
+				word = typos.getKey(typoIndices[node]);
+			}
+			if (changeBritishToAmerican && !isTypo && britishEnglishIndices[node] >= 0) {
+				correction = britishEnglish.getValue(britishEnglishIndices[node]);
+				word = britishEnglish.getKey(britishEnglishIndices[node]);
+			}
+			if (StringUtil.isNullOrEmpty(correction))
+				continue;
+
+			// use lazy instantiation for the corrected text
+			if (correctedText == null) {
+				correctedText = new StringBuilder(end - start + 16);
+				corrections = new ArrayList<String>();
+			}
+			correctedText.append(text, correctionStart, wordStart);
+			if (isLiteral) {
+				for (int i = 0; i < correction.length(); ++i) {
+					char c = correction.charAt(i);
+					if (c == escapeChar)
+						correctedText.append(escapeChar);
+					correctedText.append(c);
+				}
+			} else {
+				correctedText.append(correction);
+			}
+			correctionStart = pos;
+
+			String diagnosis = isTypo ? "typo" : "BE";
+			corrections.add(word + " (" + diagnosis + ") -> " + correction);
+		}
+
+		if (correctedText == null)
+			return null;
+		correctedText.append(text, correctionStart, end);
+		return new CommentIdentifier.CorrectionResult(correctedText.toString(), corrections);
+	}
+}
@@ -0,0 +1,217 @@
+package com.sap.adt.abapcleaner.rulehelpers;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>Immutable set of words (or map from words to values) that is stored in a compact form: all keys are sorted and
+ * concatenated into one character pool, with an array of their start offsets (and likewise for the values, if any).
+ * Compared to a HashSet or HashMap of Strings, this avoids one String object and one map entry per word;
+ * lookups use binary search over the pool and do not allocate.</p>
+ *
+ * <p>Callers that need a {@link Map} get an unmodifiable view with {@link #asMap()}, which reads from the pool as well.</p>
+ *
+ * <p>Since a WordDictionary cannot be changed after creation, it can be shared between threads without synchronization.</p>
+ */
+public final class WordDictionary {
+	private final char[] keyPool;
+	private final int[] keyStarts;
+	private final char[] valuePool;
+	private final int[] valueStarts;
+	/** the unmodifiable Map view returned by {@link #asMap()} */
+	private final Map<String, String> mapView = new MapView();
+
+	/** creates a set of the supplied words; duplicate words are only stored once */
+	public static WordDictionary create(Collection<String> words) {
+		return create(words.toArray(new String[words.size()]), null);
+	}
+
+	/** creates a map with the keys and values of the supplied map */
+	public static WordDictionary create(Map<String, String> map) {
+		return create(map.keySet().toArray(new String[map.size()]), map);
+	}
+
+	/** creates a map from the supplied words to their values in the supplied map (or a set, if the map is null) */
+	private static WordDictionary create(String[] keys, Map<String, String> map) {
+		// sorting by the natural order of the Strings requires neither a Comparator nor an index array
+		Arrays.sort(keys);
+
+		int count = 0;
+		int keyLength = 0;
+		int valueLength = 0;
+		for (int i = 0; i < keys.length; ++i) {
+			if (count > 0 && keys[i].equals(keys[count - 1]))
+				continue;
+			keys[count++] = keys[i];
+			keyLength += keys[i].length();
+			if (map != null)
+				valueLength += map.get(keys[i]).length();
+		}
+
+		char[] keyPool = new char[keyLength];
+		int[] keyStarts = new int[count + 1];
+		char[] valuePool = (map == null) ? null : new char[valueLength];
+		int[] valueStarts = (map == null) ? null : new int[count + 1];
+		int keyPos = 0;
+		int valuePos = 0;
+		for (int i = 0; i < count; ++i) {
+			String key = keys[i];
+			keyStarts[i] = keyPos;
+			key.getChars(0, key.length(), keyPool, keyPos);
+			keyPos += key.length();
+			if (map != null) {
+				String value = map.get(key);
+				valueStarts[i] = valuePos;
+				value.getChars(0, value.length(), valuePool, valuePos);
+				valuePos += value.length();
+			}
+		}
+		keyStarts[count] = keyPos;
+		if (map != null)
+			valueStarts[count] = valuePos;
+		return new WordDictionary(keyPool, keyStarts, valuePool, valueStarts);
+	}
+
+	private WordDictionary(char[] keyPool, int[] keyStarts, char[] valuePool, int[] valueStarts) {
+		this.keyPool = keyPool;
+		this.keyStarts = keyStarts;
+		this.valuePool = valuePool;
+		this.valueStarts = valueStarts;
+	}
+
+	public final int size() { return keyStarts.length - 1; }
+
+	public final String getKey(int index) {
+		return new String(keyPool, keyStarts[index], keyStarts[index + 1] - keyStarts[index]);
+	}
+
+	/** returns the value at the supplied index, or null if this WordDictionary is a set */
+	public final String getValue(int index) {
+		return (valuePool == null) ? null : new String(valuePool, valueStarts[index], valueStarts[index + 1] - valueStarts[index]);
+	}
+
+	/** compares the key at the supplied index with the supplied word (or its upper case form) in the same way 
+	 * as {@link String#compareTo(String)} */
+	private int compareKeyTo(int index, CharSequence word, boolean toUpperCase) {
+		int keyStart = keyStarts[index];
+		int keyLength = keyStarts[index + 1] - keyStart;
+		int wordLength = word.length();
+		int minLength = Math.min(keyLength, wordLength);
+		for (int i = 0; i < minLength; ++i) {
+			char keyChar = keyPool[keyStart + i];
+			char wordChar = toUpperCase ? Character.toUpperCase(word.charAt(i)) : word.charAt(i);
+			if (keyChar != wordChar)
+				return keyChar - wordChar;
+		}
+		return keyLength - wordLength;
+	}
+
+	/** returns the index of the supplied word, or -1 if it is not contained */
+	public final int indexOf(CharSequence word) {
+		return (word == null) ? -1 : binarySearch(word, false);
+	}
+
+	private int binarySearch(CharSequence word, boolean toUpperCase) {
+		int low = 0;
+		int high = size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int comparison = compareKeyTo(mid, word, toUpperCase);
+			if (comparison < 0)
+				low = mid + 1;
+			else if (comparison > 0)
+				high = mid - 1;
+			else
+				return mid;
+		}
+		return -1;
+	}
+
+	public final boolean contains(CharSequence word) {
+		return indexOf(word) >= 0;
+	}
+
+	/** returns true if the upper case form of the supplied word (as returned by {@link String#toUpperCase(Locale)} 
+	 * for {@link Locale#ROOT}) is contained; unlike converting the word to upper case, this does not allocate, 
+	 * unless the word contains characters whose upper case form depends on more than the single character, e.g. '\u00df' */
+	public final boolean containsUpperCaseOf(CharSequence word) {
+		if (word == null)
+			return false;
+		int length = word.length();
+		for (int i = 0; i < length; ++i) {
+			char c = word.charAt(i);
+			if (c > '\u00ff' || c == '\u00df')
+				return contains(word.toString().toUpperCase(Locale.ROOT));
+		}
+		return binarySearch(word, true) >= 0;
+	}
+
+	/** returns the value of the supplied word, or null if the word is not contained (or if this WordDictionary is a set) */
+	public final String get(CharSequence word) {
+		int index = indexOf(word);
+		return (index < 0) ? null : getValue(index);
+	}
+
+	/** returns an unmodifiable Map view of the words and values of this WordDictionary, in which the words are sorted; 
+	 * the same view is returned for each call */
+	public final Map<String, String> asMap() {
+		return mapView;
+	}
+
+	private class MapView extends AbstractMap<String, String> {
+		private final Set<Map.Entry<String, String>> entrySet = new AbstractSet<Map.Entry<String, String>>() {
+			@Override
+			public int size() {
+				return WordDictionary.this.size();
+			}
+
+			@Override
+			public Iterator<Map.Entry<String, String>> iterator() {
+				return new Iterator<Map.Entry<String, String>>() {
+					private int index = 0;
+
+					@Override
+					public boolean hasNext() {
+						return index < WordDictionary.this.size();
+					}
+
+					@Override
+					public Map.Entry<String, String> next() {
+						if (!hasNext())
+							throw new NoSuchElementException();
+						Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<String, String>(getKey(index), getValue(index));
+						++index;
+						return entry;
+					}
+				};
+			}
+		};
+
+		@Override
+		public Set<Map.Entry<String, String>> entrySet() {
+			return entrySet;
+		}
+
+		@Override
+		public int size() {
+			return WordDictionary.this.size();
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return (key instanceof CharSequence) && contains((CharSequence) key);
+		}
+
+		@Override
+		public String get(Object key) {
+			return (key instanceof CharSequence) ? WordDictionary.this.get((CharSequence) key) : null;
+		}
+	}
+}
@@ -105,7 +105,7 @@ public class AlignAliasesForRule extends AlignDeclarationSectionRuleBase {
 
 		// determine whether to start with line breaks
 		Token offsetToken = (isChain ? start.getNext() : start);
-		int firstLineBreaks = offsetToken.lineBreaks;
+		int firstLineBreaks = offsetToken.getLineBreaks();
 
 		// determine the basic indent of the sequence
 		int basicIndent;
@@ -140,7 +140,7 @@ public class AlignAssignmentsRule extends Rule {
 
 			} else if (!StringUtil.isNullOrEmpty(strucVar)) {
 				// if the assignment operator = is in the next line, simply skip this statement without breaking the section (if any)
-				if (command.getFirstToken().getNext().lineBreaks == 0)
+				if (command.getFirstToken().getNext().getLineBreaks() == 0)
 					++commandsInSection;
 			}
 
@@ -164,7 +164,7 @@ public class AlignClearFreeAndSortRule extends RuleForCommands {
 		boolean commandChanged = false;
 		int maxLineLength = configMaxLineLength.getValue();
 		Token firstInstance = tokens.get(0);
-		int indent = (firstInstance.lineBreaks == 0) ? firstInstance.getPrev().getEndIndexInLine() + 1 : firstInstance.getStartIndexInLine();
+		int indent = (firstInstance.getLineBreaks() == 0) ? firstInstance.getPrev().getEndIndexInLine() + 1 : firstInstance.getStartIndexInLine();
 		
 		// move sections, either on individual lines (for distinctLine == true) 
 		// or continuing on the same line until maximum width is reached
@@ -177,7 +177,7 @@ public class AlignClearFreeAndSortRule extends RuleForCommands {
 			Token firstTokenAfterLineBreak = null;
 			Token testToken = token;
 			while (testToken != endToken) {
-				if (testToken != token && testToken.lineBreaks > 0) {
+				if (testToken != token && testToken.getLineBreaks() > 0) {
 					firstTokenAfterLineBreak = testToken;
 					break;
 				}
@@ -193,7 +193,7 @@ public class AlignClearFreeAndSortRule extends RuleForCommands {
 			boolean tokenChanged = false;
 			if (i == 0) {
 				// for the first section, only condense multiple spaces, e.g. in "CLEAR:   lv_any_value, ..."
-				if (token.lineBreaks == 0 && token.spacesLeft > 1) {
+				if (token.getLineBreaks() == 0 && token.getSpacesLeft() > 1) {
 					moveBy = indent - oldStartIndex;
 					tokenChanged = token.setWhitespace();
 				}
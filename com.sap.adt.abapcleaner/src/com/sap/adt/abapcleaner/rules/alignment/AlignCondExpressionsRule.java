@@ -180,7 +180,7 @@ public class AlignCondExpressionsRule extends RuleForCommands {
 		Token token = parentToken.getFirstChild().getThisOrNextCodeToken();
 
 		int basicIndent = token.getStartIndexInLine();
-		int firstLineBreaks = token.lineBreaks;
+		int firstLineBreaks = token.getLineBreaks();
 
 		AlignLine line = null;
 		
@@ -177,7 +177,7 @@ public class AlignDeclarationsRule extends AlignDeclarationSectionRuleBase {
 					identifier = identifier.getNextNonCommentSibling();
 					hasAnyChain = true;
 				}
-				if (identifier.lineBreaks == 0) {
+				if (identifier.getLineBreaks() == 0) {
 					continuesBehindAnyKeyword = true;
 				}
 			}
@@ -192,7 +192,7 @@ public class AlignDeclarationsRule extends AlignDeclarationSectionRuleBase {
 		int basicIndent;
 		if (includeKeywordInTable) {
 			// the first keyword of each Command will be considered in the table, too
-			firstLineBreaks = firstToken.lineBreaks;
+			firstLineBreaks = firstToken.getLineBreaks();
 		   basicIndent = firstToken.getStartIndexInLine();
 		} else {
 			// the first keyword of each Commands will NOT be considered in the table, i.e. alignment is done for the 
@@ -201,7 +201,7 @@ public class AlignDeclarationsRule extends AlignDeclarationSectionRuleBase {
 			if (startCommand.isSimpleChain()) {
 				Token colon = firstToken.getNextNonCommentToken();
 				Token offsetToken = colon.getNextNonCommentToken();
-				firstLineBreaks = offsetToken.lineBreaks;
+				firstLineBreaks = offsetToken.getLineBreaks();
 				if (firstLineBreaks > 0) {
 					basicIndent = firstToken.getStartIndexInLine() + ABAP.INDENT_STEP;
 				} else {
@@ -210,7 +210,7 @@ public class AlignDeclarationsRule extends AlignDeclarationSectionRuleBase {
 				}
 			} else {
 				Token offsetToken = firstToken.getNextNonCommentToken();
-				firstLineBreaks = offsetToken.lineBreaks;
+				firstLineBreaks = offsetToken.getLineBreaks();
 				basicIndent = offsetToken.getStartIndexInLine();
 			}
 		}
@@ -434,12 +434,12 @@ public class AlignDeclarationsRule extends AlignDeclarationSectionRuleBase {
 					Token nextCode = token.getNextNonCommentToken();
 					if (nextCode != null) {
 						// align with next code, but if next code reads "END OF", add an indent step
-						token.spacesLeft = nextCode.spacesLeft + (nextCode.matchesOnSiblings(true, "END", "OF") ? ABAP.INDENT_STEP : 0);
+						token.setSpacesLeft(nextCode.getSpacesLeft() + (nextCode.matchesOnSiblings(true, "END", "OF") ? ABAP.INDENT_STEP : 0));
 					} else if (blockLevel > 0) {
 						// inside a BEGIN OF block, align with the next executable code line
 						Command nextCodeCommand = command.getNextNonCommentCommand();
 						if (nextCodeCommand != null)
-							token.spacesLeft = nextCodeCommand.getFirstToken().spacesLeft;
+							token.setSpacesLeft(nextCodeCommand.getFirstToken().getSpacesLeft());
 					}
 				}
 				token = token.getNext();
@@ -121,7 +121,7 @@ public class AlignLogicalExpressionsRule extends RuleForLogicalExpressions {
 	protected boolean executeOn(Code code, Command command, Token keyword, Token end, int releaseRestriction) throws UnexpectedSyntaxAfterChanges {
 		AlignStyle keywordAlignStyle = getAlignStyle(keyword);
 		try {
-			LogicalExpression logicalExpression = LogicalExpression.create(keyword.getNextCodeToken(), end.getPrev());
+			LogicalExpression logicalExpression = code.getLogicalExpressionCache().get(keyword.getNextCodeToken(), end.getPrev());
 			if (logicalExpression.isSupported()) {
 				TreeAlign treeAlign = TreeAlign.createFrom(logicalExpression);
 				return treeAlign.align(keyword, keywordAlignStyle, configRightAlignComparisonOps.getValue(), true, configOnlyAlignSameObjects.getValue(), configMaxInnerSpaces.getValue());
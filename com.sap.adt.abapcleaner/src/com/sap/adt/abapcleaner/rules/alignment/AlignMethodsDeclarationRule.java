@@ -279,7 +279,7 @@ public class AlignMethodsDeclarationRule extends AlignDeclarationSectionRuleBase
 				Token testToken = token.getNextCodeSibling();
 				if (testToken == null || !testToken.isIdentifier())
 					break;
-				if (testToken.lineBreaks > 0)
+				if (testToken.getLineBreaks() > 0)
 					line = table.addLine();
 			} while(true);
 		}
@@ -325,7 +325,7 @@ public class AlignMethodsDeclarationRule extends AlignDeclarationSectionRuleBase
 		// this may later be changed by the dedicated AlignMethodsForTestingRule etc.; keywords that are put on the same line as the method name 
 		// (like ABSTRACT, FINAL, DEFAULT IGNORE, DEFAULT FAIL, AMDP OPTION [READ-ONLY] [CDS SESSION CLIENT clnt|CURRENT], 
 		// FOR TESTING, FOR EVENT evt OF {class|intf}) are simply skipped, leaving them in their position
-		if (token.lineBreaks > 0) {
+		if (token.getLineBreaks() > 0) {
 			AlignLine line = table.getLastLine();
 			AlignCell optionalKeyword = AlignCellToken.createSpecial(token, 0, true);
 			line.setCell(Columns.ACCESS.getValue(), optionalKeyword);
@@ -434,7 +434,7 @@ public class AlignMethodsDeclarationRule extends AlignDeclarationSectionRuleBase
 					if (cell == null) 
 						continue;
 					Token nextToken = cell.getLastToken().getNextNonCommentSibling();
-					if (nextToken != null && nextToken.lineBreaks > 0) {
+					if (nextToken != null && nextToken.getLineBreaks() > 0) {
 						// line break found - this is no one-liner or 'tabular' layout
 						return false;
 					}
@@ -455,7 +455,7 @@ public class AlignMethodsDeclarationRule extends AlignDeclarationSectionRuleBase
 		int basicIndent = startCommand.getIndent();
 		if (table.getColumn(Columns.KEYWORD.getValue()).isEmpty()) 
 			basicIndent += ABAP.INDENT_STEP;
-		int firstLineBreaks = table.getFirstToken().lineBreaks;
+		int firstLineBreaks = table.getFirstToken().getLineBreaks();
 		
 		// insert line breaks depending on rule configuration
 		changeLineBreaks(code, table, isTableOfOneLinersOrTabular, basicIndent);
@@ -558,17 +558,17 @@ public class AlignMethodsDeclarationRule extends AlignDeclarationSectionRuleBase
 			
 			Token nextToken = nextCell.getFirstToken();
 			if (continueLine == ChangeType.ALWAYS) {
-				if (nextToken.lineBreaks > 0 && !nextToken.getPrev().isComment()) { 
+				if (nextToken.getLineBreaks() > 0 && !nextToken.getPrev().isComment()) { 
 					nextToken.setWhitespace();
 					code.addRuleUse(this, nextToken.getParentCommand());
 				}
 			
 			} else if (continueLine == ChangeType.KEEP_AS_IS) {
-				if (nextToken.lineBreaks == 0)
+				if (nextToken.getLineBreaks() == 0)
 					forceLineBreak = false;
 					
 			} else if (continueLine == ChangeType.NEVER) {
-				if (nextToken.lineBreaks == 0) { 
+				if (nextToken.getLineBreaks() == 0) { 
 					nextToken.setWhitespace(1,  nextToken.getStartIndexInLine());
 					code.addRuleUse(this, nextToken.getParentCommand());
 				}
@@ -603,8 +603,8 @@ public class AlignMethodsDeclarationRule extends AlignDeclarationSectionRuleBase
 			} else {
 				changeToken = line.getFirstToken().getStartOfAttachedComments(); 
 			}
-			if (changeToken != null && changeToken.lineBreaks <= 1) {
-				changeToken.lineBreaks = 2;
+			if (changeToken != null && changeToken.getLineBreaks() <= 1) {
+				changeToken.setLineBreaks(2);
 				code.addRuleUse(this, command);
 			}
 			
@@ -615,8 +615,8 @@ public class AlignMethodsDeclarationRule extends AlignDeclarationSectionRuleBase
 			} else if (command.getNextSibling() != null) {
 				changeToken = command.getNextSibling().getFirstToken();
 			}
-			if (changeToken != null && changeToken.lineBreaks <= 1) {
-				changeToken.lineBreaks = 2;
+			if (changeToken != null && changeToken.getLineBreaks() <= 1) {
+				changeToken.setLineBreaks(2);
 				code.addRuleUse(this, command);
 			}
 		}
@@ -646,8 +646,8 @@ public class AlignMethodsDeclarationRule extends AlignDeclarationSectionRuleBase
 			while (token != null) {
 				if (token.isQuotMarkCommentLine()) {
 					Token nextCode = token.getNextNonCommentToken();
-					if (nextCode != null && token.spacesLeft != nextCode.spacesLeft) {
-						token.spacesLeft = nextCode.spacesLeft;
+					if (nextCode != null && token.getSpacesLeft() != nextCode.getSpacesLeft()) {
+						token.setSpacesLeft(nextCode.getSpacesLeft());
 						code.addRuleUse(this, command);
 					}
 				}
@@ -45,7 +45,7 @@ public abstract class AlignMethodsWithoutParamsRuleBase extends AlignDeclaration
 			return;
 		Token token = command.getFirstToken();
 
-		int firstLineBreaks = token.lineBreaks;
+		int firstLineBreaks = token.getLineBreaks();
 		int basicIndent = token.getStartIndexInLine();
 
 		try {
@@ -146,17 +146,17 @@ public abstract class AlignMethodsWithoutParamsRuleBase extends AlignDeclaration
 			
 			Token nextToken = nextCell.getFirstToken();
 			if (continueLine == ChangeType.ALWAYS) {
-				if (nextToken.lineBreaks > 0 && !nextToken.getPrev().isComment()) { 
+				if (nextToken.getLineBreaks() > 0 && !nextToken.getPrev().isComment()) { 
 					nextToken.setWhitespace();
 					code.addRuleUse(this, nextToken.getParentCommand());
 				}
 			
 			} else if (continueLine == ChangeType.KEEP_AS_IS) {
-				if (nextToken.lineBreaks == 0)
+				if (nextToken.getLineBreaks() == 0)
 					forceLineBreak = false;
 					
 			} else if (continueLine == ChangeType.NEVER) {
-				if (nextToken.lineBreaks == 0) { 
+				if (nextToken.getLineBreaks() == 0) { 
 					nextToken.setWhitespace(1,  nextToken.getStartIndexInLine());
 					code.addRuleUse(this, nextToken.getParentCommand());
 				}
@@ -238,7 +238,7 @@ public class AlignParametersRule extends RuleForCommands {
 			Token end = identifier.getLastTokenOnSiblings(true, TokenSearch.ASTERISK, "BINARY|INTO|ASSIGNING|REFERENCE|TRANSPORTING|.");
 			if (end == null || identifier == end)
 				return false;
-			int baseIndent = (identifier.lineBreaks > 0) ? identifier.getStartIndexInLine() : identifier.getPrev().getEndIndexInLine() + 1;
+			int baseIndent = (identifier.getLineBreaks() > 0) ? identifier.getStartIndexInLine() : identifier.getPrev().getEndIndexInLine() + 1;
 			return alignParams(code, command, identifier.getPrev(), end, baseIndent, baseIndent, ContentType.TABLE_KEY);
 		}
 
@@ -331,16 +331,16 @@ public class AlignParametersRule extends RuleForCommands {
 		} else {
 			// return the start index of the first token in same line 
 			Token testToken = token;
-			while (testToken.lineBreaks == 0 && testToken.getPrev() != null)
+			while (testToken.getLineBreaks() == 0 && testToken.getPrev() != null)
 				testToken = testToken.getPrev();
 			
 			// however, if the start of the line assigns to a very short variable (e.g. "exp = ..." or "act = ..."), 
 			// move the minimum indent right of the assignment operator, since otherwise, the layout looks awkward 
 			if (testToken.isIdentifier() && testToken.getTextLength() <= 4) {
 				Token assignOp = testToken.getNext();
-				if (assignOp != null && assignOp.isAssignmentOperator() && assignOp.lineBreaks == 0 && assignOp.spacesLeft <= 2) {
+				if (assignOp != null && assignOp.isAssignmentOperator() && assignOp.getLineBreaks() == 0 && assignOp.getSpacesLeft() <= 2) {
 					Token next = assignOp.getNext();
-					if (next != null && next.lineBreaks == 0 && next.spacesLeft <= 1) {
+					if (next != null && next.getLineBreaks() == 0 && next.getSpacesLeft() <= 1) {
 						testToken = next;
 					}
 				}
@@ -409,7 +409,7 @@ public class AlignParametersRule extends RuleForCommands {
 			if (tableStart.forceTableToNextLine)
 				startLineBreaks = 1;
 			else 
-				startLineBreaks = tableStart.continueOnSameLine && (table.getFirstToken() == parentToken.getNext() || table.getFirstToken().lineBreaks == 0) ? 0 : 1;
+				startLineBreaks = tableStart.continueOnSameLine && (table.getFirstToken() == parentToken.getNext() || table.getFirstToken().getLineBreaks() == 0) ? 0 : 1;
 
 			changedCommands = table.align(tableStart.startIndent, startLineBreaks, true);
 			if (changedCommands != null && changedCommands.length > 0) { // changedCommands can only contain this current command
@@ -451,11 +451,11 @@ public class AlignParametersRule extends RuleForCommands {
 				}
 				// if applicable, adjust the line breaks of the first 'otherLine', e.g. moving it behind the parent token 
 				if (other == parentToken.getNext()) {
-					if (tableStart.continueOnSameLine && other.lineBreaks > 0) {
+					if (tableStart.continueOnSameLine && other.getLineBreaks() > 0) {
 						if (other.setWhitespace()) {
 							changed = true;
 						}
-					} else if (!tableStart.continueOnSameLine && other.lineBreaks == 0) {
+					} else if (!tableStart.continueOnSameLine && other.getLineBreaks() == 0) {
 						if (other.setWhitespace(1, otherLineIndent)) {
 							changed = true;
 						}
@@ -522,7 +522,7 @@ public class AlignParametersRule extends RuleForCommands {
 
 			} else if (isInLetExpression && token.isKeyword("IN")) {
 				isInLetExpression = false;
-				if (token.lineBreaks == 0) {
+				if (token.getLineBreaks() == 0) {
 					// "IN" at line end is not entered to the AlignTable, so it remains at line end
 				} else {
 					// "IN" at line start is put to the keyword column of the following content (NOT the LET_KEYWORD column)
@@ -548,7 +548,7 @@ public class AlignParametersRule extends RuleForCommands {
 				token = expression.getNext();
 
 			} else {
-				if (token == parentToken.getNext() || token.lineBreaks > 0) {
+				if (token == parentToken.getNext() || token.getLineBreaks() > 0) {
 					// store 'other line starts'; in case this is a keyword like "EXPORTING", this may be removed again later
 					otherLineStarts.add(token); 
 					tableEndsWithOtherLine = true;
@@ -568,8 +568,8 @@ public class AlignParametersRule extends RuleForCommands {
 			// of "]-component." must be considered for total line length
 			int addWidth = 0;
 			token = end;
-			while (token != null && token.lineBreaks == 0 && !token.isComment() && (token.closesLevel() || token.spacesLeft == 0)) {
-				addWidth += token.spacesLeft + token.getTextLength();
+			while (token != null && token.getLineBreaks() == 0 && !token.isComment() && (token.closesLevel() || token.getSpacesLeft() == 0)) {
+				addWidth += token.getSpacesLeft() + token.getTextLength();
 				token = token.getNext();
 			}
 			if (addWidth > 0 && table.getLineCount() > 0) {
@@ -613,7 +613,7 @@ public class AlignParametersRule extends RuleForCommands {
 		} else if (firstTokenInTable != null && parentToken.getNext() == firstTokenInTable) {
 			continueOnSameLine = true;
 		} else {
-			continueOnSameLine = (parentToken.getNext().lineBreaks == 0);
+			continueOnSameLine = (parentToken.getNext().getLineBreaks() == 0);
 		}
 		
 		// by default, indent directly behind the parentToken
@@ -687,7 +687,7 @@ public class AlignParametersRule extends RuleForCommands {
 		// if there is already a line break, return false
 		Token testToken = parentToken.getNext();
 		while (testToken != null && testToken != end) {
-			if (testToken.lineBreaks > 0) {
+			if (testToken.getLineBreaks() > 0) {
 				return false;
 			}
 			testToken = testToken.getNext();
@@ -709,12 +709,12 @@ public class AlignParametersRule extends RuleForCommands {
 	private boolean moveRowInValueOrNewConstructor(Token openingToken, int baseIndent, boolean keepOnSingleLine) throws UnexpectedSyntaxAfterChanges, IntegrityBrokenException {
 		int oldStartIndex = openingToken.getStartIndexInLine();
 		boolean changed = false;
-		if (openingToken.lineBreaks > 0) {
+		if (openingToken.getLineBreaks() > 0) {
 			if (openingToken.getPrev() == openingToken.getParent() && openingToken.getParent().getEndIndexInLine() + 1 == baseIndent) {
 				// move first row back directly behind the VALUE or NEW constructor start
 				changed = openingToken.setWhitespace(0, 1);
-			} else if (openingToken.spacesLeft != baseIndent) {
-				openingToken.spacesLeft = baseIndent;
+			} else if (openingToken.getSpacesLeft() != baseIndent) {
+				openingToken.setSpacesLeft(baseIndent);
 				changed = true;
 			}
 
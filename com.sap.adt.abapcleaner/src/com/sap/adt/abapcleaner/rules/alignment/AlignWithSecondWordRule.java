@@ -93,14 +93,14 @@ public class AlignWithSecondWordRule extends Rule {
 					|| firstToken.getNextSibling() != firstToken.getNext();
 			// TODO: or would it be better to use an include list?
 
-			if (!skip && firstToken.isKeyword() && firstToken.getNextSibling() != null && firstToken.getNextSibling().lineBreaks == 0) {
+			if (!skip && firstToken.isKeyword() && firstToken.getNextSibling() != null && firstToken.getNextSibling().getLineBreaks() == 0) {
 				Token token = firstToken.getNextSibling();
 				int indent = token.getStartIndexInLine();
 
 				boolean changed = false;
 				while (token != null) {
-					if (token.isFirstTokenInLine() && token.spacesLeft != indent && token.isKeyword() && !token.isAnyKeyword("AND", "OR", "EQUIV")) {
-						command.addIndent(indent - token.spacesLeft, token.spacesLeft, token);
+					if (token.isFirstTokenInLine() && token.getSpacesLeft() != indent && token.isKeyword() && !token.isAnyKeyword("AND", "OR", "EQUIV")) {
+						command.addIndent(indent - token.getSpacesLeft(), token.getSpacesLeft(), token);
 						changed = true;
 					}
 					token = token.getNextSibling();
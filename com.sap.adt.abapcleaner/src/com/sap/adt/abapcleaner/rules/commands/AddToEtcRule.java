@@ -117,7 +117,7 @@ public class AddToEtcRule extends RuleForCommands {
 		int termPos = term.firstToken.getStartIndexInLine();
 		Token keyword2 = term.getNext();
 		Token destVariable = keyword2.getNext();
-		int sourceLineNum = keyword1.sourceLineNum;
+		int sourceLineNum = keyword1.getSourceLineNum();
 
 		// insert destination variable before keyword1 ("ADD", "SUBTRACT")
 		destVariable.removeFromCommand();
@@ -160,7 +160,7 @@ public class AddToEtcRule extends RuleForCommands {
 			throw new UnexpectedSyntaxBeforeChanges(this, ex);
 		}
 		int termPos = term.firstToken.getStartIndexInLine();
-		int sourceLineNum = destVariable.sourceLineNum;
+		int sourceLineNum = destVariable.getSourceLineNum();
 		
 		destVariable.copyWhitespaceFrom(keyword1);
 		
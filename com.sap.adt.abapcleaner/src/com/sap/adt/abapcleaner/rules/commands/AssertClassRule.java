@@ -147,7 +147,7 @@ public class AssertClassRule extends RuleForCommands {
 		else
 			throw new UnexpectedSyntaxBeforeChanges(this, attribute.firstToken, "Expected IS [NOT] BOUND/INITIAL, but found " + attribute.toErrorLogString());
 
-		Token methodCall = Token.createForAbap(0, assertToken.spacesLeft, getAssertClassCall(methodName), TokenType.IDENTIFIER, assertToken.sourceLineNum);
+		Token methodCall = Token.createForAbap(0, assertToken.getSpacesLeft(), getAssertClassCall(methodName), TokenType.IDENTIFIER, assertToken.getSourceLineNum());
 		term.firstToken.insertLeftSibling(methodCall, true);
 		methodCall.appendParenthesesUpTo(term.getNext(), false);
 
@@ -156,7 +156,7 @@ public class AssertClassRule extends RuleForCommands {
 			notToken.removeFromCommand(true);
 		attribute.removeFromCommand(false);
 
-		methodCall.lineBreaks = assertToken.lineBreaks;
+		methodCall.setLineBreaks(assertToken.getLineBreaks());
 	}
 
 	private void useAssertSubrc(Token assertToken, Token period) throws UnexpectedSyntaxBeforeChanges, IntegrityBrokenException, UnexpectedSyntaxAfterChanges {
@@ -168,7 +168,7 @@ public class AssertClassRule extends RuleForCommands {
 		} catch (UnexpectedSyntaxException ex) {
 			throw new UnexpectedSyntaxBeforeChanges(this, ex);
 		}
-		Token methodCall = Token.createForAbap(0, assertToken.spacesLeft, getAssertClassCall(METHOD_NAME_SUBRC), TokenType.IDENTIFIER, assertToken.sourceLineNum);
+		Token methodCall = Token.createForAbap(0, assertToken.getSpacesLeft(), getAssertClassCall(METHOD_NAME_SUBRC), TokenType.IDENTIFIER, assertToken.getSourceLineNum());
 		term.firstToken.insertLeftSibling(methodCall, true);
 		methodCall.appendParenthesesUpTo(period, true);
 
@@ -179,7 +179,7 @@ public class AssertClassRule extends RuleForCommands {
 		subrcToken.removeFromCommand(true);
 		comparisonOp.removeFromCommand(true);
 
-		methodCall.lineBreaks = assertToken.lineBreaks;
+		methodCall.setLineBreaks(assertToken.getLineBreaks());
 	}
 
 	private void useAssertEqualsOrDiffers(Command command, Token assertToken, Token period)
@@ -207,7 +207,7 @@ public class AssertClassRule extends RuleForCommands {
 		else
 			methodName = (comparisonOp.textEquals("=") ? METHOD_NAME_EQUALS : METHOD_NAME_DIFFERS);
 
-		Token methodCall = Token.createForAbap(0, assertToken.spacesLeft, getAssertClassCall(methodName), TokenType.IDENTIFIER, assertToken.sourceLineNum);
+		Token methodCall = Token.createForAbap(0, assertToken.getSpacesLeft(), getAssertClassCall(methodName), TokenType.IDENTIFIER, assertToken.getSourceLineNum());
 		term1.firstToken.insertLeftSibling(methodCall, true);
 		methodCall.appendParenthesesUpTo(period, true);
 
@@ -220,15 +220,15 @@ public class AssertClassRule extends RuleForCommands {
 
 		} else {
 			int oldIndentTerm1 = term1.firstToken.getStartIndexInLine();
-			term1.firstToken.insertLeftSibling(Token.createForAbap(0, 1, "act", TokenType.IDENTIFIER, term1.firstToken.sourceLineNum), true);
-			term1.firstToken.insertLeftSibling(Token.createForAbap(0, 1, "=", TokenType.ASSIGNMENT_OP, term1.firstToken.sourceLineNum), true);
+			term1.firstToken.insertLeftSibling(Token.createForAbap(0, 1, "act", TokenType.IDENTIFIER, term1.firstToken.getSourceLineNum()), true);
+			term1.firstToken.insertLeftSibling(Token.createForAbap(0, 1, "=", TokenType.ASSIGNMENT_OP, term1.firstToken.getSourceLineNum()), true);
 			term1.firstToken.setWhitespace();
 			if (!term1.isSingleToken())
 				command.addIndent(term1.firstToken.getStartIndexInLine() - oldIndentTerm1, oldIndentTerm1, term1.firstToken.getNext(), term1.lastToken.getNext());
 
 			int oldIndentTerm2 = term2.firstToken.getStartIndexInLine();
-			term2.firstToken.insertLeftSibling(Token.createForAbap(1, methodCall.getNext().getStartIndexInLine(), "exp", TokenType.IDENTIFIER, term2.firstToken.sourceLineNum), true);
-			term2.firstToken.insertLeftSibling(Token.createForAbap(0, 1, "=", TokenType.ASSIGNMENT_OP, term2.firstToken.sourceLineNum), true);
+			term2.firstToken.insertLeftSibling(Token.createForAbap(1, methodCall.getNext().getStartIndexInLine(), "exp", TokenType.IDENTIFIER, term2.firstToken.getSourceLineNum()), true);
+			term2.firstToken.insertLeftSibling(Token.createForAbap(0, 1, "=", TokenType.ASSIGNMENT_OP, term2.firstToken.getSourceLineNum()), true);
 			term2.firstToken.setWhitespace();
 			if (!term2.isSingleToken())
 				command.addIndent(term2.firstToken.getStartIndexInLine() - oldIndentTerm2, oldIndentTerm2, term2.firstToken.getNext(), term2.lastToken.getNext());
@@ -237,20 +237,20 @@ public class AssertClassRule extends RuleForCommands {
 		assertToken.removeFromCommand(true);
 		comparisonOp.removeFromCommand(false);
 
-		methodCall.lineBreaks = assertToken.lineBreaks;
+		methodCall.setLineBreaks(assertToken.getLineBreaks());
 	}
 
 	private void useXsdBool(Token assertToken, Token period) throws IntegrityBrokenException, UnexpectedSyntaxAfterChanges {
-		Token xsdboolCall = Token.createForAbap(0, 1, "xsdbool", TokenType.IDENTIFIER, assertToken.sourceLineNum);
+		Token xsdboolCall = Token.createForAbap(0, 1, "xsdbool", TokenType.IDENTIFIER, assertToken.getSourceLineNum());
 		assertToken.insertRightSibling(xsdboolCall, true);
 		xsdboolCall.appendParenthesesUpTo(period, true);
 
-		Token methodCall = Token.createForAbap(0, assertToken.spacesLeft, getAssertClassCall(METHOD_NAME_TRUE), TokenType.IDENTIFIER, assertToken.sourceLineNum);
+		Token methodCall = Token.createForAbap(0, assertToken.getSpacesLeft(), getAssertClassCall(METHOD_NAME_TRUE), TokenType.IDENTIFIER, assertToken.getSourceLineNum());
 		xsdboolCall.insertLeftSibling(methodCall, true);
 		methodCall.appendParenthesesUpTo(period, true);
 
 		assertToken.removeFromCommand();
 
-		methodCall.lineBreaks = assertToken.lineBreaks;
+		methodCall.setLineBreaks(assertToken.getLineBreaks());
 	}
 }
@@ -41,7 +41,7 @@ public abstract class AssertEqualsRuleBase extends RuleForCommands {
 		// move following Token (i.e. the line-end comment, the next parameter, or the closing parenthesis) to the position of paramToken
 		// or to the previous line, if it is a line-end comment and the Token before paramToken is NOT a comment (neither line-end nor full-line),
 		Token next = boolValue.getNext();
-		if (next.isCommentAfterCode() && paramToken.lineBreaks > 0 && !paramToken.getPrev().isComment())
+		if (next.isCommentAfterCode() && paramToken.getLineBreaks() > 0 && !paramToken.getPrev().isComment())
 			next.setWhitespace(); // after removing the "(paramToken) = ..." Tokens, this will be at the end of the previous line
 		else
 			next.copyWhitespaceFrom(paramToken);
@@ -32,7 +32,7 @@ public abstract class CheckStatementRuleBase extends Rule {
 		// read the logical expression to check whether it can be processed
 		LogicalExpression logicalExpression;
 		try {
-			logicalExpression = LogicalExpression.create(firstToken.getNext(), period.getPrev());
+			logicalExpression = code.getLogicalExpressionCache().get(firstToken.getNext(), period.getPrev());
 			if (!logicalExpression.isSupported())
 				return false;
 		} catch (UnexpectedSyntaxException ex) {
@@ -50,13 +50,13 @@ public abstract class CheckStatementRuleBase extends Rule {
 			command.finishBuild(command.getSourceTextStart(), command.getSourceTextEnd());
 			command.originalCommand = originalCommand;
 
-			Command endifCommand = Command.create(Token.createForAbap(1, firstToken.getStartIndexInLine(), "ENDIF", TokenType.KEYWORD, period.sourceLineNum), originalCommand);
-			endifCommand.getFirstToken().addNext(Token.createForAbap(0, 0, ".", TokenType.PERIOD, period.sourceLineNum));
+			Command endifCommand = Command.create(Token.createForAbap(1, firstToken.getStartIndexInLine(), "ENDIF", TokenType.KEYWORD, period.getSourceLineNum()), originalCommand);
+			endifCommand.getFirstToken().addNext(Token.createForAbap(0, 0, ".", TokenType.PERIOD, period.getSourceLineNum()));
 			endifCommand.finishBuild(command.getSourceTextStart(), command.getSourceTextEnd());
 			command.insertRightSibling(endifCommand);
 
-			Command returnCommand = Command.create(Token.createForAbap(1, indent + 2, isInLoop ? "CONTINUE" : "RETURN", TokenType.KEYWORD, period.sourceLineNum), originalCommand);
-			returnCommand.getFirstToken().addNext(Token.createForAbap(0, 0, ".", TokenType.PERIOD, period.sourceLineNum));
+			Command returnCommand = Command.create(Token.createForAbap(1, indent + 2, isInLoop ? "CONTINUE" : "RETURN", TokenType.KEYWORD, period.getSourceLineNum()), originalCommand);
+			returnCommand.getFirstToken().addNext(Token.createForAbap(0, 0, ".", TokenType.PERIOD, period.getSourceLineNum()));
 			returnCommand.finishBuild(command.getSourceTextStart(), command.getSourceTextEnd());
 			command.insertFirstChild(returnCommand);
 
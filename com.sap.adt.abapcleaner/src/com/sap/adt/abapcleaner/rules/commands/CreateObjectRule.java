@@ -98,13 +98,13 @@ public class CreateObjectRule extends RuleForCommands {
 		command.getFirstToken().removeFromCommand(); // OBJECT
 
 		Token typeInfo;
-		next.insertLeftSibling(Token.createForAbap(0, 1, "=", TokenType.ASSIGNMENT_OP, next.sourceLineNum));
+		next.insertLeftSibling(Token.createForAbap(0, 1, "=", TokenType.ASSIGNMENT_OP, next.getSourceLineNum()));
 		if (next.isKeyword("TYPE")) {
 			next.setText("NEW", false);
 			typeInfo = next.getNextCodeSibling();
 		} else {
-			next.insertLeftSibling(Token.createForAbap(0, 1, "NEW", TokenType.KEYWORD, next.sourceLineNum));
-			typeInfo = Token.createForAbap(0, 1, "#", TokenType.OTHER_OP, next.sourceLineNum);
+			next.insertLeftSibling(Token.createForAbap(0, 1, "NEW", TokenType.KEYWORD, next.getSourceLineNum()));
+			typeInfo = Token.createForAbap(0, 1, "#", TokenType.OTHER_OP, next.getSourceLineNum());
 			next.insertLeftSibling(typeInfo);
 		}
 
@@ -35,7 +35,7 @@ public abstract class IfBlockRuleBase extends Rule {
 		int indent = firstToken.getStartIndexInLine();
 		LogicalExpression logicalExpression;
 		try {
-			logicalExpression = LogicalExpression.create(firstToken.getNext(), period.getPrev());
+			logicalExpression = code.getLogicalExpressionCache().get(firstToken.getNext(), period.getPrev());
 			if (!logicalExpression.isSupported())
 				return false;
 		} catch (UnexpectedSyntaxException ex) {
@@ -55,18 +55,18 @@ public abstract class IfBlockRuleBase extends Rule {
 			moveSection.removeFromCode();
 			endIfCommand.insertRightSibling(moveSection);
 			if (ensureEmptyLineAfterEndIf)
-				moveSection.firstCommand.getFirstToken().lineBreaks = Math.max(moveSection.firstCommand.getFirstTokenLineBreaks(), 2);
+				moveSection.firstCommand.getFirstToken().setLineBreaks(Math.max(moveSection.firstCommand.getFirstTokenLineBreaks(), 2));
 			moveSection.addIndent(-ABAP.INDENT_STEP);
 
 			// transform "IF <logical expression>." into "IF <negated logical expression>. CONTINUE/RETURN. ENDIF."
 			logicalExpression.negate(negationStyle, convertAbapFalseAndAbapTrue);
-			endIfCommand.getFirstToken().lineBreaks = 1;
+			endIfCommand.getFirstToken().setLineBreaks(1);
 
 			Command originalCommand = (ifCommand.originalCommand != null) ? ifCommand.originalCommand : ifCommand;
 			ifCommand.originalCommand = originalCommand;
 
-			Command continueOrReturn = Command.create(Token.createForAbap(1, indent + 2, isInLoop ? "CONTINUE" : "RETURN", TokenType.KEYWORD, period.sourceLineNum), originalCommand);
-			continueOrReturn.getFirstToken().addNext(Token.createForAbap(0, 0, ".", TokenType.PERIOD, period.sourceLineNum));
+			Command continueOrReturn = Command.create(Token.createForAbap(1, indent + 2, isInLoop ? "CONTINUE" : "RETURN", TokenType.KEYWORD, period.getSourceLineNum()), originalCommand);
+			continueOrReturn.getFirstToken().addNext(Token.createForAbap(0, 0, ".", TokenType.PERIOD, period.getSourceLineNum()));
 			try {
 				continueOrReturn.finishBuild(ifCommand.getSourceTextStart(), ifCommand.getSourceTextEnd());
 			} catch (ParseException e) {
@@ -94,7 +94,7 @@ public class MoveToRule extends RuleForCommands {
 		moveToken.insertLeftSibling(destVariable);
 		
 		String assignmentOp = toToken.textEquals("?TO") ? "?=" : "=";
-		moveToken.insertLeftSibling(Token.createForAbap(0, 1, assignmentOp, TokenType.ASSIGNMENT_OP, moveToken.sourceLineNum));
+		moveToken.insertLeftSibling(Token.createForAbap(0, 1, assignmentOp, TokenType.ASSIGNMENT_OP, moveToken.getSourceLineNum()));
 
 		// if applicable, transform "EXACT source" into the lossless operator "EXACT #( source )"
 		if (exactToken != null) {
@@ -130,7 +130,7 @@ public class TranslateRule extends RuleForCommands {
 		if (upperLowerToken.getNextCodeSibling() == null || !upperLowerToken.getNextCodeSibling().isPeriod())
 			return false;
 		
-		int sourceLineNum = identifier1.sourceLineNum;
+		int sourceLineNum = identifier1.getSourceLineNum();
 		
 		// remove TRANSLATE
 		identifier1.copyWhitespaceFrom(firstToken);
@@ -163,7 +163,7 @@ public class TranslateRule extends RuleForCommands {
 		else if (maskToken.getNextCodeSibling() == null || !maskToken.getNextCodeSibling().isPeriod())
 			return false;
 
-		int sourceLineNum = identifier1.sourceLineNum;
+		int sourceLineNum = identifier1.getSourceLineNum();
 		
 		String maskText = ABAP.unescapeCharLiteral(maskToken.getText());
 		if (maskText == null || maskText.length() < 2)
@@ -142,7 +142,7 @@ public class ChainOfOneRule extends RuleForCommands {
 		int oldIndentOfNextNonComment = nextNonComment.getStartIndexInLine();
 		boolean wasColonAfterInitialKeywords = firstToken.isKeyword() && (prevNonComment == firstToken.getLastTokenOfKeywordCollocation()); 
 
-		if (chainSign.getPrev().isComment() && chainSign.getNext().lineBreaks == 0) 
+		if (chainSign.getPrev().isComment() && chainSign.getNext().getLineBreaks() == 0) 
 			chainSign.getNext().copyWhitespaceFrom(chainSign);
 		chainSign.removeFromCommand();
 
@@ -153,14 +153,14 @@ public class ChainOfOneRule extends RuleForCommands {
 			if (!newCommentCommands.isEmpty()) 
 				code.addRuleUses(this, newCommentCommands);
 			// remove the line break before the next token
-			if (nextNonComment.lineBreaks > 0) // even if the next Token is "BEGIN OF", because a single "TYPES: BEGIN OF." command will be followed by more "TYPES ..." commands 
+			if (nextNonComment.getLineBreaks() > 0) // even if the next Token is "BEGIN OF", because a single "TYPES: BEGIN OF." command will be followed by more "TYPES ..." commands 
 				nextNonComment.setWhitespace();
 			// ensure there is at least one space separating the next Token from the previous one (e.g. "DATA:identifier")
-			if (nextNonComment.lineBreaks == 0 && nextNonComment.spacesLeft == 0)
-				nextNonComment.spacesLeft = 1;
+			if (nextNonComment.getLineBreaks() == 0 && nextNonComment.getSpacesLeft() == 0)
+				nextNonComment.setSpacesLeft(1);
 		} else {
-			if (nextToken.lineBreaks == 0 && nextToken.spacesLeft == 0)
-				nextToken.spacesLeft = 1;
+			if (nextToken.getLineBreaks() == 0 && nextToken.getSpacesLeft() == 0)
+				nextToken.setSpacesLeft(1);
 		}
 
 		// adjust following lines 
@@ -165,7 +165,7 @@ public class ChainRule extends RuleForCommands {
 		// get information on the first token of the to-be-repeated 'part A' section
 		Token firstTokenOfPartA = command.getFirstToken();
 		int indent = firstTokenOfPartA.getStartIndexInLine();
-		int startLineBreaks = firstTokenOfPartA.lineBreaks;
+		int startLineBreaks = firstTokenOfPartA.getLineBreaks();
 		boolean useStartLineBreaks = true;
 
 		// if the chain colon is only preceded by the first keyword (typically, a declaration keyword) or keyword collocation (like CALL METHOD) ...  
@@ -181,7 +181,7 @@ public class ChainRule extends RuleForCommands {
 		}
 		int startLineBreaksPartB = 0;
 		int startSpacesLeftPartB = 1;
-		if (!wasColonAfterInitialKeywords && (chainSign.lineBreaks > 0 || chainSign.getNextNonCommentToken().lineBreaks > 0)) {
+		if (!wasColonAfterInitialKeywords && (chainSign.getLineBreaks() > 0 || chainSign.getNextNonCommentToken().getLineBreaks() > 0)) {
 			startLineBreaksPartB = 1;
 			startSpacesLeftPartB = chainSign.getNextNonCommentToken().getStartIndexInLine();
 		}
@@ -189,7 +189,7 @@ public class ChainRule extends RuleForCommands {
 		// only now, after possible split-out of comments, determine the last token of the to-be-repeated 'part A' section
 		Token lastTokenOfPartA = chainSign.getPrev();
 		
-		boolean moveFollowingLinesLeft = (chainSign.getNextNonCommentToken().lineBreaks == 0); // i.e. if the code continues behind the ":", not below it
+		boolean moveFollowingLinesLeft = (chainSign.getNextNonCommentToken().getLineBreaks() == 0); // i.e. if the code continues behind the ":", not below it
 		chainSign.removeFromCommand(moveFollowingLinesLeft);
 
 		// remove all further colons from the command (see comment inside this method) 
@@ -208,8 +208,8 @@ public class ChainRule extends RuleForCommands {
 			
 			// ensure there is at least one space before the next Token (e.g. "DATA:identifier,other_identifier")
 			Token firstTokenOfPartB = lastTokenOfPartA.getNext();
-			if (firstTokenOfPartB.lineBreaks == 0 && firstTokenOfPartB.spacesLeft == 0)
-				firstTokenOfPartB.spacesLeft = 1;
+			if (firstTokenOfPartB.getLineBreaks() == 0 && firstTokenOfPartB.getSpacesLeft() == 0)
+				firstTokenOfPartB.setSpacesLeft(1);
 
 			Token periodOrComma = lastTokenOfPartA.getLastTokenOnSiblings(true, TokenSearch.ASTERISK, ",|.");
 			if (periodOrComma.isComma()) {
@@ -217,14 +217,14 @@ public class ChainRule extends RuleForCommands {
 				periodOrComma.setText(ABAP.DOT_SIGN_STRING, false);
 				periodOrComma.type = TokenType.PERIOD;
 				Token lastTokenOfPartB = periodOrComma.getNext().isCommentAfterCode() ? periodOrComma.getNext() : periodOrComma;
-				if (lastTokenOfPartB.getNext() != null && lastTokenOfPartB.getNext().isPragma() && lastTokenOfPartB.getNext().lineBreaks == 0) // pragma behind the , is a common mistake; we move the pragma along with the declaration line
+				if (lastTokenOfPartB.getNext() != null && lastTokenOfPartB.getNext().isPragma() && lastTokenOfPartB.getNext().getLineBreaks() == 0) // pragma behind the , is a common mistake; we move the pragma along with the declaration line
 					lastTokenOfPartB = lastTokenOfPartB.getNext();
 
 				// copy the to-be-repeated 'part A' section to a new Command above the current one
 				Command newCommand = null;
 				Term partB = null;
 				try {
-					int lineBreaks = useStartLineBreaks ? startLineBreaks : Math.max(firstTokenOfPartB.lineBreaks, 1);
+					int lineBreaks = useStartLineBreaks ? startLineBreaks : Math.max(firstTokenOfPartB.getLineBreaks(), 1);
 					newCommand = command.copyTokenRangeToNewCommand(firstTokenOfPartA, lastTokenOfPartA.getNext(), lineBreaks, indent);
 					useStartLineBreaks = false;
 					// create a Term for part B (reusing same try block)
@@ -255,7 +255,7 @@ public class ChainRule extends RuleForCommands {
 
 			} else {
 				// last element: simply move the identifier behind the keyword
-				firstTokenOfPartA.lineBreaks = useStartLineBreaks ? startLineBreaks : Math.max(firstTokenOfPartB.lineBreaks, 1);
+				firstTokenOfPartA.setLineBreaks(useStartLineBreaks ? startLineBreaks : Math.max(firstTokenOfPartB.getLineBreaks(), 1));
 				int oldIndent = firstTokenOfPartB.getStartIndexInLine();
 				if (firstTokenOfPartB.isPeriod() && startLineBreaksPartB == 0)
 					firstTokenOfPartB.setWhitespace(0, 0);
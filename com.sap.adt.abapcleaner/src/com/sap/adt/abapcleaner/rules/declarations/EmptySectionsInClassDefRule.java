@@ -200,7 +200,7 @@ public class EmptySectionsInClassDefRule extends Rule {
 				command.getNext().removeFromCode();
 			}
 			if (command.getNext().isDeclarationSectionStart()) {
-				command.getNext().getFirstToken().lineBreaks = Math.max(command.getFirstTokenLineBreaks(), 1);
+				command.getNext().getFirstToken().setLineBreaks(Math.max(command.getFirstTokenLineBreaks(), 1));
 			}
 			// now delete the SECTION; removeFromCode() will throw an exception if it still has child Commands
 			// (but the above checks should exclude such a case) 
@@ -234,8 +234,8 @@ public class ImplicitTypeRule extends RuleForCommands {
 					identifier.setText(identifierText.substring(0, parensPos), false);
 					// if the next Token follows after more than 1 space, keep its vertical position by adding spaces  
 					Token next = identifier.getNext();
-					if (next.lineBreaks == 0 && next.spacesLeft > 1)
-						next.spacesLeft += 2 + lengthFromParens.length();
+					if (next.getLineBreaks() == 0 && next.getSpacesLeft() > 1)
+						next.setSpacesLeft(next.getSpacesLeft() + 2 + lengthFromParens.length());
 					changed = true;
 				}
 			}
@@ -243,8 +243,8 @@ public class ImplicitTypeRule extends RuleForCommands {
 
 		// add TYPE 
 		if (!hasType) {
-			typeKeyword = Token.createForAbap(0, 1, "TYPE", TokenType.KEYWORD, identifier.sourceLineNum);
-			typeIdentifier = Token.createForAbap(0, 1, ABAP.DEFAULT_TYPE, TokenType.IDENTIFIER, identifier.sourceLineNum);
+			typeKeyword = Token.createForAbap(0, 1, "TYPE", TokenType.KEYWORD, identifier.getSourceLineNum());
+			typeIdentifier = Token.createForAbap(0, 1, ABAP.DEFAULT_TYPE, TokenType.IDENTIFIER, identifier.getSourceLineNum());
 			identifier.insertRightSibling(typeKeyword);
 			typeKeyword.insertRightSibling(typeIdentifier);
 			changed = true;
@@ -254,8 +254,8 @@ public class ImplicitTypeRule extends RuleForCommands {
 		if (moveLengthFromParens || !hasLength) {
 			String defaultLength = isPackedNumber ? ABAP.DEFAULT_LENGTH_OF_TYPE_P : ABAP.DEFAULT_LENGTH_OF_TYPE_C_N_X;
 			String useLength = moveLengthFromParens ? lengthFromParens : defaultLength;
-			lengthKeyword = Token.createForAbap(0, 1, "LENGTH", TokenType.KEYWORD, typeIdentifier.sourceLineNum);
-			lengthLiteral = Token.createForAbap(0, 1, useLength, typeIdentifier.sourceLineNum);
+			lengthKeyword = Token.createForAbap(0, 1, "LENGTH", TokenType.KEYWORD, typeIdentifier.getSourceLineNum());
+			lengthLiteral = Token.createForAbap(0, 1, useLength, typeIdentifier.getSourceLineNum());
 			typeIdentifier.insertRightSibling(lengthKeyword);
 			lengthKeyword.insertRightSibling(lengthLiteral);
 			changed = true;
@@ -265,8 +265,8 @@ public class ImplicitTypeRule extends RuleForCommands {
 		if (isPackedNumber && !hasDecimals) {
 			// if the length is provided with "identifier(length)", append the DECIMALS after the TYPE information 
 			Token prevToken = (lengthLiteral == null) ? typeIdentifier : lengthLiteral;
-			Token decimalsKeyword = Token.createForAbap(0, 1, "DECIMALS", TokenType.KEYWORD, prevToken.sourceLineNum);
-			Token decimalsLiteral = Token.createForAbap(0, 1, ABAP.DEFAULT_DECIMALS_OF_TYPE_P, TokenType.LITERAL, prevToken.sourceLineNum);
+			Token decimalsKeyword = Token.createForAbap(0, 1, "DECIMALS", TokenType.KEYWORD, prevToken.getSourceLineNum());
+			Token decimalsLiteral = Token.createForAbap(0, 1, ABAP.DEFAULT_DECIMALS_OF_TYPE_P, TokenType.LITERAL, prevToken.getSourceLineNum());
 			prevToken.insertRightSibling(decimalsKeyword);
 			decimalsKeyword.insertRightSibling(decimalsLiteral);
 			changed = true;
@@ -275,7 +275,7 @@ public class ImplicitTypeRule extends RuleForCommands {
 		// if the declaration was changed, make sure it is on an own line
 		if (changed) {
 			// break before the identifier (unless it is the first identifier in this Command)
-			if (identifier.lineBreaks == 0) {
+			if (identifier.getLineBreaks() == 0) {
 				Token prev = identifier.getPrevCodeSibling();
 				if (prev != null && prev.isComma()) {
 					identifier.setWhitespace(1, baseIndent);
@@ -284,7 +284,7 @@ public class ImplicitTypeRule extends RuleForCommands {
 
 			// break before the next identifier
 			Token nextIdentifier = token.getNextCodeSibling();
-			if (nextIdentifier != null && nextIdentifier.lineBreaks == 0) {
+			if (nextIdentifier != null && nextIdentifier.getLineBreaks() == 0) {
 				nextIdentifier.setWhitespace(1, baseIndent);
 			}
 		}
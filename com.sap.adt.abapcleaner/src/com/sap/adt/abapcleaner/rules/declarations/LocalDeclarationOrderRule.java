@@ -368,7 +368,7 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 		Command command = lastCommand;
 		while (command.getNext() != null) {
 			Command next = command.getNext();
-			if (!next.isPragmaLine() || next.getFirstToken().lineBreaks > 0) 
+			if (!next.isPragmaLine() || next.getFirstToken().getLineBreaks() > 0) 
 				break;
 			command = next;
 		};
@@ -414,7 +414,7 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 		if (section.contains(writePos)) {
 			// for sections that are already in the right place, keep existing empty lines; after rearranging declarations 
 			// once, this allows for purposefully introducing extra lines which are then kept
-			firstToken.lineBreaks = Math.max(lineBreaks, firstToken.lineBreaks);
+			firstToken.setLineBreaks(Math.max(lineBreaks, firstToken.getLineBreaks()));
 
 			// if the section already is in the correct place, simply adjust writePos
 			writePos = section.lastCommand.getNextSibling(); 
@@ -428,7 +428,7 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 				return;
 
 		} else {
-			firstToken.lineBreaks = lineBreaks;
+			firstToken.setLineBreaks(lineBreaks);
 
 			// if the first command of the section is itself in a write position, update that write position
 			for (Command otherParent : writePosOfParent.keySet()) {
@@ -450,11 +450,11 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 					lineBreaksAfterSection = oldLineBreaksBeforeSection;
 				} else if (prevSibling.isDeclaration() && nextNonCommentSibling != null && !nextNonCommentSibling.isDeclaration()) {
 					// keep line breaks as they were beforehand
-					lineBreaksAfterSection = next.getFirstToken().lineBreaks; // getLineBreaksBetween(prevSibling, nextNonCommentSibling);
+					lineBreaksAfterSection = next.getFirstToken().getLineBreaks(); // getLineBreaksBetween(prevSibling, nextNonCommentSibling);
 				} else {
 					lineBreaksAfterSection = Math.max(oldLineBreaksBeforeSection, next.getFirstTokenLineBreaks());
 				}
-				next.getFirstToken().lineBreaks = lineBreaksAfterSection;
+				next.getFirstToken().setLineBreaks(lineBreaksAfterSection);
 			}
 	
 			// adjust indentation of the section (before moving it)
@@ -484,7 +484,7 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 					lastDeclaration = lastDeclaration.getPrevNonCommentSibling(); 
 				lineBreaks = getLineBreaksBetween(lastDeclaration, nextNonCommentSibling); // or (..., nextSibling)
 			}
-			nextSibling.getFirstToken().lineBreaks = lineBreaks;
+			nextSibling.getFirstToken().setLineBreaks(lineBreaks);
 		} 
 	}
 
@@ -588,7 +588,7 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 		Token start = declarationToken;
 		do {
 			Token prev = start.getPrev();
-			if (start.lineBreaks == 0 && prev.isPragma()) {
+			if (start.getLineBreaks() == 0 && prev.isPragma()) {
 				// continue below
 			} else if (!prev.isCommentLine()) {
 				return start;
@@ -606,7 +606,7 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 		// include line-end pragmas and comments, except when the next declaration also follows on the same line
 		do {
 			Token next = last.getNext();
-			if (next == null || next.lineBreaks > 0)
+			if (next == null || next.getLineBreaks() > 0)
 				return last;
 
 			// if the same line continues with another declaration, then don't include pragmas after the comma  
@@ -635,7 +635,7 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 
 		// determine the first identifier after the chain start (or possibly a keyword in case of BEGIN OF struc, ..., END OF struc)
 		Token firstIdentifier = initialWritePos.getNextTokenOfTypes(TokenType.IDENTIFIER, TokenType.KEYWORD); 
-		int indent = (firstIdentifier == null) ? declaration.getFirstToken().spacesLeft + ABAP.INDENT_STEP : firstIdentifier.getStartIndexInLine();
+		int indent = (firstIdentifier == null) ? declaration.getFirstToken().getSpacesLeft() + ABAP.INDENT_STEP : firstIdentifier.getStartIndexInLine();
 		
 		if (term.contains(writePos.getNext())) {
 			writePosOfChain.put(declaration, term.lastToken);
@@ -643,7 +643,7 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 		} else {
 			// adjust whitespace of term start
 			if (term.firstToken.isAsteriskCommentLine()) {
-				term.firstToken.lineBreaks = 1;
+				term.firstToken.setLineBreaks(1);
 			} else if (writePos == initialWritePos && firstIdentifier != null) {
 				term.firstToken.copyWhitespaceFrom(firstIdentifier);
 			} else {
@@ -654,7 +654,7 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 			Token tokenAfterTerm = term.lastToken.getNext();
 			if (tokenAfterTerm != null) {
 				if (tokenAfterTerm.isAsteriskCommentLine())
-					tokenAfterTerm.lineBreaks = 1;
+					tokenAfterTerm.setLineBreaks(1);
 				else
 					tokenAfterTerm.setWhitespace(1, indent);
 			}
@@ -683,7 +683,7 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 		Token next = term.lastToken.getNext();
 		if (next != null) {
 			if (next.isAsteriskCommentLine())
-				next.lineBreaks = 1;
+				next.setLineBreaks(1);
 			else
 				next.setWhitespace(1, indent);
 		}
@@ -697,7 +697,7 @@ public class LocalDeclarationOrderRule extends RuleForLocalVariables {
 		// include line-end pragmas and comments, except when the next declaration also follows on the same line
 		do {
 			Token next = writePos.getNext();
-			if (next == null || next.lineBreaks > 0)
+			if (next == null || next.getLineBreaks() > 0)
 				return writePos;
 
 			// if the same line continues with another declaration, then don't include pragmas after the comma  
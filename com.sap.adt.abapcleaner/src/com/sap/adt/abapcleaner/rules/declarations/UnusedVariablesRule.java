@@ -233,11 +233,11 @@ public class UnusedVariablesRule extends RuleForLocalVariables {
 					prevComma.type = TokenType.PERIOD;
 				} else if (isFirstInChain) {
 					nextIdentifier.copyWhitespaceFrom(identifier);
-					int lineBreaks = (measure == UnusedVariableMeasure.DELETE) ? keyword.lineBreaks : 1;
-					nextIdentifier.insertLeftSibling(Token.createForAbap(lineBreaks, keyword.spacesLeft, keyword.getText(), TokenType.KEYWORD, keyword.sourceLineNum));
+					int lineBreaks = (measure == UnusedVariableMeasure.DELETE) ? keyword.getLineBreaks() : 1;
+					nextIdentifier.insertLeftSibling(Token.createForAbap(lineBreaks, keyword.getSpacesLeft(), keyword.getText(), TokenType.KEYWORD, keyword.getSourceLineNum()));
 					if (colon != null)
-						nextIdentifier.insertLeftSibling(Token.createForAbap(0, colon.spacesLeft, colon.getText(), TokenType.COLON, colon.sourceLineNum));
-				} else if (nextIdentifier != null && nextIdentifier.lineBreaks == 0) {
+						nextIdentifier.insertLeftSibling(Token.createForAbap(0, colon.getSpacesLeft(), colon.getText(), TokenType.COLON, colon.getSourceLineNum()));
+				} else if (nextIdentifier != null && nextIdentifier.getLineBreaks() == 0) {
 					nextIdentifier.copyWhitespaceFrom(identifier);
 				}
 			}
@@ -254,7 +254,7 @@ public class UnusedVariablesRule extends RuleForLocalVariables {
 					} else {
 						lineText = ABAP.LINE_COMMENT_SIGN_STRING + lineText;
 					}
-					Token newComment = Token.createForAbap(Math.max(firstTokenInLine.lineBreaks, 1), indent, lineText, TokenType.COMMENT, firstTokenInLine.sourceLineNum);
+					Token newComment = Token.createForAbap(Math.max(firstTokenInLine.getLineBreaks(), 1), indent, lineText, TokenType.COMMENT, firstTokenInLine.getSourceLineNum());
 
 					// insert the comment line, possibly as a new Command before or after the current one
 					if ((isFirstInChain || isLastInChain) && !isOnlyOneInChain) {
@@ -293,7 +293,7 @@ public class UnusedVariablesRule extends RuleForLocalVariables {
 						} else {
 							// transfer line breaks to next command to keep sections separate
 							if (command.getNext() != null && command.getFirstTokenLineBreaks() > command.getNext().getFirstTokenLineBreaks())
-								command.getNext().getFirstToken().lineBreaks = command.getFirstTokenLineBreaks();
+								command.getNext().getFirstToken().setLineBreaks(command.getFirstTokenLineBreaks());
 							command.removeFromCode();
 						}
 					} catch (UnexpectedSyntaxException ex) {
@@ -127,7 +127,7 @@ public class EmptyLinesInClassDefinitionRule extends RuleForCommands {
 				Command nextCommand = command.getNext();
 				if (nextCommand != null) {
 					Token nextCommandToken = nextCommand.getFirstToken(); 
-					nextCommandToken.lineBreaks = Math.max(nextCommandToken.lineBreaks, firstToken.lineBreaks);
+					nextCommandToken.setLineBreaks(Math.max(nextCommandToken.getLineBreaks(), firstToken.getLineBreaks()));
 				}
 				// remove comment
 				try {
@@ -147,8 +147,8 @@ public class EmptyLinesInClassDefinitionRule extends RuleForCommands {
 		if (command.isClassDefinitionStart())
 			token = token.getNext();
 		while (token != null) {
-			if (token.lineBreaks > maxLineBreakWithin) {
-				token.lineBreaks = maxLineBreakWithin;
+			if (token.getLineBreaks() > maxLineBreakWithin) {
+				token.setLineBreaks(maxLineBreakWithin);
 				changed = true;
 			}
 			token = token.getNext();
@@ -163,7 +163,7 @@ public class EmptyLinesInClassDefinitionRule extends RuleForCommands {
 			if (command != null && command.isClassDefinitionStart() && !command.containsInnerLineBreaks(false)) {
 				// do NOT add an empty line above PUBLIC / PROTECTED / PRIVATE SECTION if it is preceded by a one-liner 'CLASS ... DEFINITION' 
 			} else if (nextCommand.getFirstTokenLineBreaks() <= 1) {
-				nextCommand.getFirstToken().lineBreaks = 2;
+				nextCommand.getFirstToken().setLineBreaks(2);
 				changed = true;
 			}
 		}
@@ -171,8 +171,8 @@ public class EmptyLinesInClassDefinitionRule extends RuleForCommands {
 		Command prevCommand = command.getPrev();
 		if (configRemoveEmptyLineBelowSections.getValue() && !command.isDeclarationSectionStart() && !command.isClassEnd()
 				&& prevCommand != null && prevCommand.isDeclarationSectionStart()) {
-			if (firstToken.lineBreaks > 1) {
-				firstToken.lineBreaks = 1;
+			if (firstToken.getLineBreaks() > 1) {
+				firstToken.setLineBreaks(1);
 				changed = true;
 			}
 		}
@@ -180,8 +180,8 @@ public class EmptyLinesInClassDefinitionRule extends RuleForCommands {
 		// remove empty line above ENDCLASS (except when it is preceded by an empty SECTION start)
 		if (configRemoveEmptyLineAboveEndClass.getValue() && command.isClassEnd()
 				&& prevCommand != null && !prevCommand.isDeclarationSectionStart()) {
-			if (firstToken.lineBreaks > 1) {
-				firstToken.lineBreaks = 1;
+			if (firstToken.getLineBreaks() > 1) {
+				firstToken.setLineBreaks(1);
 				changed = true;
 			}
 		}
@@ -189,7 +189,7 @@ public class EmptyLinesInClassDefinitionRule extends RuleForCommands {
 		// add empty line between CONSTANTS, DATA, METHODS etc.
 		AddLineBetweenDefTypesStyle addLineBetweenDefTypesStyle = getAddLineBetweenDefTypes();
 		if (addLineBetweenDefTypesStyle != AddLineBetweenDefTypesStyle.NEVER && prevCommand != null 
-				&& (prevCommand.isDeclaration() || prevCommand.isDeclarationInClassDef()) && firstToken.lineBreaks <= 1) {
+				&& (prevCommand.isDeclaration() || prevCommand.isDeclarationInClassDef()) && firstToken.getLineBreaks() <= 1) {
 			// while command is a comment line, move down, as long as there is no empty line between them and the next declaration 
 			Command nextDeclaration = command;
 			boolean emptyLineFound = false;
@@ -211,7 +211,7 @@ public class EmptyLinesInClassDefinitionRule extends RuleForCommands {
 				}
 				if (!AbapCult.stringEquals(prevKeyword, nextKeyword, true)) {
 					// insert an empty line above the current command (which is either the 'next declaration' or a comment attached to it)
-					firstToken.lineBreaks = 2;
+					firstToken.setLineBreaks(2);
 					changed = true;
 				}
 			}
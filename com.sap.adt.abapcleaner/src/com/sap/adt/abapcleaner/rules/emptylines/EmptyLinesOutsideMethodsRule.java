@@ -127,8 +127,8 @@ public class EmptyLinesOutsideMethodsRule extends Rule {
 					lineBreaks = emptyLinesBetweenMethods + 1;
 				}
 					
-				if (token.lineBreaks != lineBreaks) {
-					token.lineBreaks = lineBreaks;
+				if (token.getLineBreaks() != lineBreaks) {
+					token.setLineBreaks(lineBreaks);
 					code.addRuleUse(this, changeCommand, token);
 				}
 			}
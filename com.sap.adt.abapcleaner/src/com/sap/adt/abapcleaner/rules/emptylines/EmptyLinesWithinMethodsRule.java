@@ -136,8 +136,8 @@ public class EmptyLinesWithinMethodsRule extends Rule {
 		Token token = command.getFirstToken();
 		if (command.getPrev() != null && (command.getPrev().isMethodFunctionFormOrEventBlockStart() || command.isMethodFunctionOrFormEnd())) {
 			int maxLineBreak = ((command.isMethodFunctionOrFormEnd()) ? configMaxEmptyLinesAtMethodEnd.getValue() : configMaxEmptyLinesAtMethodStart.getValue()) + 1;
-			if (token != null && token.lineBreaks > maxLineBreak) {
-				token.lineBreaks = maxLineBreak;
+			if (token != null && token.getLineBreaks() > maxLineBreak) {
+				token.setLineBreaks(maxLineBreak);
 				code.addRuleUse(this, command, token);
 			}
 			token = token.getNext(); // do not process the first Token with the maxEmptyLinesWithinMethods criterion
@@ -146,8 +146,8 @@ public class EmptyLinesWithinMethodsRule extends Rule {
 		// ensure the maximum number of line breaks inside the Command; note that lineBreaks = empty lines + 1
 		int maxLineBreakWithin = configMaxEmptyLinesWithinMethods.getValue() + 1;
 		while (token != null) {
-			if (token.lineBreaks > maxLineBreakWithin) {
-				token.lineBreaks = maxLineBreakWithin;
+			if (token.getLineBreaks() > maxLineBreakWithin) {
+				token.setLineBreaks(maxLineBreakWithin);
 				code.addRuleUse(this, command, token);
 			}
 			token = token.getNext();
@@ -160,7 +160,7 @@ public class EmptyLinesWithinMethodsRule extends Rule {
 				changeCommand = changeCommand.getPrev();
 			}
 			if (changeCommand.getFirstTokenLineBreaks() == 1) {
-				changeCommand.getFirstToken().lineBreaks = 2;
+				changeCommand.getFirstToken().setLineBreaks(2);
 				code.addRuleUse(this, command);
 			}
 		}
@@ -161,8 +161,8 @@ public class IndentRule extends Rule {
 
 	public final void executeOn(Code code, Command command, int newIndent) {
 		Token firstToken = command.getFirstToken();
-		if (firstToken.spacesLeft != newIndent) {
-			command.addIndent(newIndent - firstToken.spacesLeft, 0);
+		if (firstToken.getSpacesLeft() != newIndent) {
+			command.addIndent(newIndent - firstToken.getSpacesLeft(), 0);
 			code.addRuleUse(this, command);
 		}
 	}
@@ -80,13 +80,13 @@ public class ClosingBracketsPositionRule extends RuleForCommands {
 		Token token = command.getFirstToken();
 		while (token != null) {
 			boolean textMatch = (token.closesLevel() && token.textEqualsAny(")", "]")) || (movePeriod && token.textEquals("."));
-			if (token.lineBreaks == 0 || !textMatch || token.getPrev() == null || token.getPrev().isCommentLine()) {
+			if (token.getLineBreaks() == 0 || !textMatch || token.getPrev() == null || token.getPrev().isCommentLine()) {
 				token = token.getNext();
 				continue;
 			}
 
 			Token lineEndToken = token;
-			while (lineEndToken.getNext() != null && lineEndToken.getNext().lineBreaks == 0) {
+			while (lineEndToken.getNext() != null && lineEndToken.getNext().getLineBreaks() == 0) {
 				lineEndToken = lineEndToken.getNext();
 			}
 
@@ -100,7 +100,7 @@ public class ClosingBracketsPositionRule extends RuleForCommands {
 			
 			// move the next token to the bracket's current position; however, move the final line-end comment up with the period // TODO: possibly depending on line length?
 			Token next = token.getNext();
-			if (next != null && next.lineBreaks == 0) {
+			if (next != null && next.getLineBreaks() == 0) {
 				if (token.isPeriod() && next.isCommentAfterCode()) // merging of comments could be prevented here with "... && !prev.isComment()"  
 					next.setWhitespace();
 				else
@@ -111,8 +111,8 @@ public class ClosingBracketsPositionRule extends RuleForCommands {
 				movePeriod = true;
 
 			// move the bracket or period to the previous line
-			token.lineBreaks = 0;
-			token.spacesLeft = token.isPeriod() ? 0 : 1;
+			token.setLineBreaks(0);
+			token.setSpacesLeft(token.isPeriod() ? 0 : 1);
 			
 			// move previous line-end comment behind the bracket or period
 			if (token.getPrev().isCommentAfterCode()) {
@@ -120,7 +120,7 @@ public class ClosingBracketsPositionRule extends RuleForCommands {
 				// therefore remove and insert the comment, NOT the bracket (otherwise, referential integrity is broken)
 				Token prev = token.getPrev();
 				boolean prevIsPseudoComment = prev.isPseudoComment();
-				prev.spacesLeft = Math.max(prev.spacesLeft - token.spacesLeft - token.getTextLength(), 1);
+				prev.setSpacesLeft(Math.max(prev.getSpacesLeft() - token.getSpacesLeft() - token.getTextLength(), 1));
 				prev.removeFromCommand();
 				if (lineEndToken.isComment()) {
 					// merge comments
@@ -141,7 +141,7 @@ public class ClosingBracketsPositionRule extends RuleForCommands {
 						token.copyWhitespaceFrom(pragma);
 						pragma.setWhitespace();
 					} else {
-						pragma.spacesLeft = Math.max(pragma.spacesLeft - token.spacesLeft - token.getTextLength(), 1);
+						pragma.setSpacesLeft(Math.max(pragma.getSpacesLeft() - token.getSpacesLeft() - token.getTextLength(), 1));
 					}
 					pragma.removeFromCommand();
 					token.insertRightSibling(pragma);
@@ -254,13 +254,13 @@ public class NeedlessSpacesRule extends Rule {
 			int xPos = 0;
 			while (token != null) {
 				// always (even in to-be-skipped sections), update position information
-				if (token.lineBreaks > 0) {
-					xPos = token.spacesLeft;
+				if (token.getLineBreaks() > 0) {
+					xPos = token.getSpacesLeft();
 					// only increase by 1 (not by .lineBreaks)
 					lineNumber += 1;
 					firstTokenOfLine.put(lineNumber, token);
 				} else {
-					xPos += token.spacesLeft;
+					xPos += token.getSpacesLeft();
 				}
 				
 				// has the end of a to-be-skipped section been reached?
@@ -417,7 +417,7 @@ public class NeedlessSpacesRule extends Rule {
 			boolean skippedLinesBreakConnection = false;
 			for (int testLine = prevTokenPos.lineNumber + 1; testLine < testTokenPos.lineNumber; ++testLine) {
 				Token firstTokenOfSkippedLine = firstTokenOfLine.get(testLine); 
-				if (firstTokenOfSkippedLine.spacesLeft < xPos && !firstTokenOfSkippedLine.getParentCommand().firstCodeTokenIsAnyKeyword("ELSEIF", "ELSE", "WHEN")) {
+				if (firstTokenOfSkippedLine.getSpacesLeft() < xPos && !firstTokenOfSkippedLine.getParentCommand().firstCodeTokenIsAnyKeyword("ELSEIF", "ELSE", "WHEN")) {
 					skippedLinesBreakConnection = true;
 					break;
 				}
@@ -511,7 +511,7 @@ public class NeedlessSpacesRule extends Rule {
 			// leave the job of removing the space before commas and periods to the SpaceBeforePeriodRule -
 			// otherwise, we could use: '... : testToken.isCommaOrPeriod() ? testToken.spacesLeft : testToken.spacesLeft - 1;'
 			int testSpacesToSpare = isSpecialAlignment ? testToken.getStartIndexInLine() - maxPrevEndIndex - 1 
-																	 : testToken.spacesLeft - 1;
+																	 : testToken.getSpacesLeft() - 1;
 			spacesToSpare = Math.min(spacesToSpare, testSpacesToSpare);
 
 			if (!testToken.isFirstTokenInLine())
@@ -537,7 +537,7 @@ public class NeedlessSpacesRule extends Rule {
 				continue;
 			Command changeCommand = token.getParentCommand();
 			commandForErrorMsg = changeCommand;
-			token.setSpacesLeftAdjustingIndent(token.spacesLeft - spacesToSpare);
+			token.setSpacesLeftAdjustingIndent(token.getSpacesLeft() - spacesToSpare);
 			code.addRuleUse(this, changeCommand);
 		}
 		return true;
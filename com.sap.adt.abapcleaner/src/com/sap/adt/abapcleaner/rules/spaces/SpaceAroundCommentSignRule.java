@@ -75,9 +75,9 @@ public class SpaceAroundCommentSignRule extends RuleForTokens {
 		boolean changed = false;
 		
 		// ensure space before comment sign
-		if (token.isQuotMarkComment() && !token.isFirstTokenInLine() && token.spacesLeft == 0 
+		if (token.isQuotMarkComment() && !token.isFirstTokenInLine() && token.getSpacesLeft() == 0 
 				&& configSpaceBeforeCommentSign.getValue()) {
-			++token.spacesLeft;
+			token.setSpacesLeft(token.getSpacesLeft() + 1);
 			changed = true;
 		} 
 		
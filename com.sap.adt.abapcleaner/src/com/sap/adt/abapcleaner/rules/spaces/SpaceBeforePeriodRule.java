@@ -115,12 +115,12 @@ public class SpaceBeforePeriodRule extends RuleForCommands {
 
 		// if the previous Token is a "/" (as in 'WRITE: / 'text', / .'), keep one space
 		int requiredSpaces = prev.textEquals("/") ? 1 : 0;
-		if (token.lineBreaks == 0 && token.spacesLeft <= requiredSpaces)
+		if (token.getLineBreaks() == 0 && token.getSpacesLeft() <= requiredSpaces)
 			return false;
 
 		// process a period or comma that is already on the same line as the previous Token
-		if (token.lineBreaks == 0) {
-			token.spacesLeft = requiredSpaces;
+		if (token.getLineBreaks() == 0) {
+			token.setSpacesLeft(requiredSpaces);
 			return true;
 		} 
 		
@@ -132,7 +132,7 @@ public class SpaceBeforePeriodRule extends RuleForCommands {
 		// process a period or comma which is currently on the next line
 		Token next = token.getNext();
 		// in case of a comma, ensure that any following Token will be on its own line
-		if (token.isComma() && next != null && next.lineBreaks == 0) {
+		if (token.isComma() && next != null && next.getLineBreaks() == 0) {
 			next.copyWhitespaceFrom(token);
 		}
 
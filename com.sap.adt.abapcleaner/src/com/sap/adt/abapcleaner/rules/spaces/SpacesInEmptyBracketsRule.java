@@ -49,8 +49,8 @@ public class SpacesInEmptyBracketsRule extends RuleForTokens {
 
 	@Override
 	protected boolean executeOn(Code code, Command command, Token token, int releaseRestriction) {
-		if (token.getOpensLevel() && !token.isLiteral() && !token.hasChildren() && token.getNext().closesLevel() && token.getNext().lineBreaks == 0 && token.getNext().spacesLeft > 1) {
-			token.getNext().spacesLeft = 1;
+		if (token.getOpensLevel() && !token.isLiteral() && !token.hasChildren() && token.getNext().closesLevel() && token.getNext().getLineBreaks() == 0 && token.getNext().getSpacesLeft() > 1) {
+			token.getNext().setSpacesLeft(1);
 			return true;
 		} else {
 			return false;
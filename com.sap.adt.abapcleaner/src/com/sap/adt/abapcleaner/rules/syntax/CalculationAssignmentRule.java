@@ -119,7 +119,7 @@ public class CalculationAssignmentRule extends RuleForCommands {
 			return false;
 
 		assignment.setText("*=", false);
-		minusToken.insertLeftSibling(Token.createForAbap(0, 1, "-1", TokenType.LITERAL, minusToken.sourceLineNum));
+		minusToken.insertLeftSibling(Token.createForAbap(0, 1, "-1", TokenType.LITERAL, minusToken.getSourceLineNum()));
 		minusToken.removeFromCommand();
 		secondIdentifier.removeFromCommand();
 
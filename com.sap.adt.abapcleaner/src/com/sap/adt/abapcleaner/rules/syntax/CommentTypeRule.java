@@ -101,7 +101,7 @@ public class CommentTypeRule extends Rule {
 		if (code == null)
 			throw new NullPointerException("code");
 
-		CommentIdentifier identifier = new CommentIdentifier();
+		CommentIdentifier identifier = code.getCommentIdentifier();
 
 		CommentSeparatorMeasure measureForLeadingAsterisks = CommentSeparatorMeasure.forValue(configMeasureForLeadingAsterisks.getValue());
 		CommentSeparatorMeasure measureForTrailingAsterisks = CommentSeparatorMeasure.forValue(configMeasureForTrailingAsterisks.getValue());
@@ -195,9 +195,9 @@ public class CommentTypeRule extends Rule {
 				// then "misalign" the comment as well, depending on the indent of the parent Command
 				int correctIndent = changeCommand.getIndent();
 				Command parent = changeCommand.getParent();
-				int misalignment = (parent == null || parent.getFirstToken() == null) ? 0 : parent.getFirstToken().spacesLeft - parent.getIndent();
+				int misalignment = (parent == null || parent.getFirstToken() == null) ? 0 : parent.getFirstToken().getSpacesLeft() - parent.getIndent();
 
-				changeCommand.getFirstToken().spacesLeft = correctIndent + misalignment;
+				changeCommand.getFirstToken().setSpacesLeft(correctIndent + misalignment);
 				changeCommand.getFirstToken().setText(ABAP.COMMENT_SIGN_STRING + " " + text, false);
 				code.addRuleUse(this, changeCommand);
 
@@ -78,7 +78,7 @@ public class EmptyCommandRule extends RuleForCommands {
 			Token firstFollowing = command.getNext().getFirstToken();
 			Token last = command.getLastToken(); // this can't be a comment
 			while (last != null && !last.isComment()) {
-				if (last.lineBreaks > firstFollowing.lineBreaks)
+				if (last.getLineBreaks() > firstFollowing.getLineBreaks())
 					firstFollowing.copyWhitespaceFrom(last);
 				last = last.getPrev();
 			}
@@ -88,7 +88,7 @@ public class EmptyCommandRule extends RuleForCommands {
 		// then attach that comment to the previous Command 
 		Token firstToken = command.getFirstToken();
 		Token firstComment = firstToken.getNext();
-		if (firstComment != null && firstComment.isCommentAfterCode() && firstToken.lineBreaks == 0) {
+		if (firstComment != null && firstComment.isCommentAfterCode() && firstToken.getLineBreaks() == 0) {
 			Command prevCommand = command.getPrev();
 			if (prevCommand != null && !prevCommand.getLastToken().isComment()) {
 				firstComment.copyWhitespaceFrom(firstToken);
@@ -96,8 +96,8 @@ public class EqualsSignChainRule extends RuleForCommands {
 		command.originalCommand = originalCommand;
 
 		// all resulting Commands get the same .spacesLeft; only the first will get the current .lineBreaks (possibly > 1), all others get 1 lineBreak only
-		int lineBreaks = firstToken.lineBreaks;
-		int spacesLeft = firstToken.spacesLeft;
+		int lineBreaks = firstToken.getLineBreaks();
+		int spacesLeft = firstToken.getSpacesLeft();
 
 		// get a possible comment at the end of the line
 		Token commentAfterPeriod = command.getLastNonCommentToken().getNext();
@@ -113,7 +113,7 @@ public class EqualsSignChainRule extends RuleForCommands {
 		for (int i = 0; i < assignmentCount - 1; ++i) {
 			// create a new Command (which will be added above the current Command) with a new . sign
 			// (the Command is built from right to left)
-			Token newPeriod = Token.createForAbap(0, 0, ".", TokenType.PERIOD, identifier.sourceLineNum);
+			Token newPeriod = Token.createForAbap(0, 0, ".", TokenType.PERIOD, identifier.getSourceLineNum());
 			Command newCommand = Command.create(newPeriod, originalCommand);
 
 			// if applicable, move the line-end comment to this (first) newly created Command
@@ -148,7 +148,7 @@ public class EqualsSignChainRule extends RuleForCommands {
 			moveTerm.firstToken.insertLeftSibling(moveAssignmentOp);
 
 			// create a copy of the current identifier and add it at the beginning of the new Command
-			Token copiedIdentifier = Token.createForAbap(lineBreaks, spacesLeft, identifier.getText(), TokenType.IDENTIFIER, identifier.sourceLineNum);
+			Token copiedIdentifier = Token.createForAbap(lineBreaks, spacesLeft, identifier.getText(), TokenType.IDENTIFIER, identifier.getSourceLineNum());
 			moveAssignmentOp.insertLeftSibling(copiedIdentifier);
 
 			// adjust the indent in case the Term consist of multiple lines
@@ -172,14 +172,14 @@ public class EqualsSignChainRule extends RuleForCommands {
 			// if the final Term is simple, use it in all Commands (rather than writing d = 42. c = d. b = c. a = b.)
 			if (copyTerm != null) {
 				Token obsoleteIdentifier = identifier.getNext().getNext();
-				Token copyOfSimpleTerm = Token.createForAbap(0, 1, copyTerm.firstToken.getText(), copyTerm.firstToken.sourceLineNum);
+				Token copyOfSimpleTerm = Token.createForAbap(0, 1, copyTerm.firstToken.getText(), copyTerm.firstToken.getSourceLineNum());
 				obsoleteIdentifier.insertLeftSibling(copyOfSimpleTerm);
 				obsoleteIdentifier.removeFromCommand();
 			}
 
 			lineBreaks = 1;
 		}
-		firstToken.lineBreaks = 1;
+		firstToken.setLineBreaks(1);
 		command.invalidateMemoryAccessType();
 		return true;
 	}
@@ -90,13 +90,13 @@ public class ExportingKeywordRule extends RuleForTokens {
 				next.setWhitespace();
 			else
 				next.copyWhitespaceFrom(keyword);
-		} else if (next.lineBreaks == 0) {
+		} else if (next.getLineBreaks() == 0) {
 			if (keywordIsFirstInLine) {
-				moveLeft = keyword.getTextLength() + next.spacesLeft - 2;
-				next.spacesLeft += keyword.spacesLeft + keyword.getTextLength(); // will be moved left below
-				next.lineBreaks = keyword.lineBreaks;
+				moveLeft = keyword.getTextLength() + next.getSpacesLeft() - 2;
+				next.setSpacesLeft(next.getSpacesLeft() + keyword.getSpacesLeft() + keyword.getTextLength()); // will be moved left below
+				next.setLineBreaks(keyword.getLineBreaks());
 			} else {
-				moveLeft = keyword.getTextLength() + next.spacesLeft;
+				moveLeft = keyword.getTextLength() + next.getSpacesLeft();
 				next.setWhitespace();
 			}
 		}
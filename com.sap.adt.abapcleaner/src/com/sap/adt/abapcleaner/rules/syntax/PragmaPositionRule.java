@@ -186,7 +186,7 @@ public class PragmaPositionRule extends Rule {
 			// move behind the last pragma in a possible sequence of pragmas on the same line  
 			while (next.isPragma()) {
 				next = next.getNext();
-				if (next == null || next.lineBreaks > 0)
+				if (next == null || next.getLineBreaks() > 0)
 					return false;
 			}
 			if ((next.isCommaOrPeriod() || next.isChainColon()) && next.isLastTokenInLineExceptComment()) {
@@ -224,7 +224,7 @@ public class PragmaPositionRule extends Rule {
 		//   DATA a TYPE string ##NEEDED. " comment
 		if (!command.wasRemovedFromCode() && insertBefore.isLastTokenInCommand()) {
 			Token newFirstToken = command.getFirstToken();
-			if (newFirstToken.isOnlyTokenInCommand() && newFirstToken.isComment() && newFirstToken.lineBreaks == 0) {
+			if (newFirstToken.isOnlyTokenInCommand() && newFirstToken.isComment() && newFirstToken.getLineBreaks() == 0) {
 				try {
 					command.removeFromCode();
 				} catch(UnexpectedSyntaxException ex) {
@@ -240,7 +240,7 @@ public class PragmaPositionRule extends Rule {
 		Token insertAfter = findLeftSiblingOfTargetPos(token);
 		if (insertAfter == null)
 			return false;
-		if (token.lineBreaks > 0)
+		if (token.getLineBreaks() > 0)
 			token.getNext().copyWhitespaceFrom(token);
 		token.removeFromCommand();
 		token.setWhitespace();
@@ -252,7 +252,7 @@ public class PragmaPositionRule extends Rule {
 		// move the pragma before the comma or period
 		Token insertBefore = token.getPrev();
 		token.removeFromCommand();
-		if (insertBefore.lineBreaks == 0) {
+		if (insertBefore.getLineBreaks() == 0) {
 			token.setWhitespace();
 		} else {
 			token.copyWhitespaceFrom(insertBefore);
@@ -271,7 +271,7 @@ public class PragmaPositionRule extends Rule {
 	private Token findLeftSiblingOfTargetPos(Token pragma) {
 		Token token = pragma;
 		// move to the last Token in the line
-		while (token.getNext() != null && token.getNext().lineBreaks == 0) {
+		while (token.getNext() != null && token.getNext().getLineBreaks() == 0) {
 			token = token.getNext();
 			// do NOT move the pragma behind a chain colon, because a pragma before the colon is valid for all chained commands;
 			// however, continue if the chain colon is at line end, because then the pragma will end up before the colon 
@@ -165,7 +165,7 @@ public class PseudoCommentRule extends RuleForTokens {
 			return false;
 
 		// create the pragma Token and determine where to insert it
-		Token pragma = Token.createForAbap(0, 1, ABAP.PRAGMA_SIGN + pragmaName, TokenType.PRAGMA, token.sourceLineNum);
+		Token pragma = Token.createForAbap(0, 1, ABAP.PRAGMA_SIGN + pragmaName, TokenType.PRAGMA, token.getSourceLineNum());
 		Token prev = token.isFirstTokenInLine() ? null : token.getPrev();
 
 		// if the pseudo comment is a stand-alone comment line, ...
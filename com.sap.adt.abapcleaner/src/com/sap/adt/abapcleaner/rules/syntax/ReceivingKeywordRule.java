@@ -101,7 +101,7 @@ public class ReceivingKeywordRule extends RuleForTokens {
 		}
 		
 		Token next = receivingTerm.getNext();
-		if (next.lineBreaks == 0)
+		if (next.getLineBreaks() == 0)
 			next.copyWhitespaceFrom(keyword);
 
 		receivingTerm.removeFromCommand(true);
@@ -110,7 +110,7 @@ public class ReceivingKeywordRule extends RuleForTokens {
 		keyword.removeFromCommand();
 
 		Token oldFirstToken = command.getFirstToken();
-		int oldIndent = oldFirstToken.spacesLeft;
+		int oldIndent = oldFirstToken.getSpacesLeft();
 		receivingTerm.firstToken.copyWhitespaceFrom(oldFirstToken);
 		assignmentOp.setWhitespace();
 		oldFirstToken.setWhitespace();
@@ -3,7 +3,7 @@ package com.sap.adt.abapcleaner.rules.syntax;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Map;
 
 import com.sap.adt.abapcleaner.base.ABAP;
 import com.sap.adt.abapcleaner.base.Cult;
@@ -161,7 +161,7 @@ public class TypoRule extends Rule {
 	}
 
 	@SuppressWarnings("unused")
-	private String getCommentLinesFrom(String wordTypePlural, HashMap<String, String> list, boolean startNewLineForEachLetter) {
+	private String getCommentLinesFrom(String wordTypePlural, Map<String, String> list, boolean startNewLineForEachLetter) {
 		final int MAX_LENGTH = 115;
 		final String LINE_PREFIX = LINE_SEP + "    " + ABAP.COMMENT_SIGN_STRING + " ";
 		final String WORD_SEP = " - ";
@@ -211,7 +211,7 @@ public class TypoRule extends Rule {
 		if (!configCorrectTypos.getValue() && !configConvertBritishToAmerican.getValue())
 			return;
 
-		CommentIdentifier identifier = new CommentIdentifier();
+		CommentIdentifier identifier = code.getCommentIdentifier();
 
 		Command command = code.firstCommand;
 		while (command != null) {
@@ -292,7 +292,7 @@ public class TypoRule extends Rule {
 			}
 			if (!processToken) 
 				return false;
-			result = identifier.correctComment(text.substring(textStart, textEnd), configCorrectTypos.getValue(), configConvertBritishToAmerican.getValue());
+			result = identifier.correctComment(text, textStart, textEnd, configCorrectTypos.getValue(), configConvertBritishToAmerican.getValue());
 
 		} else if (token.isStringLiteral()) { 
 		   TypoMeasure measureForLiterals = TypoMeasure.forValue(configMeasureForLiterals.getValue());
@@ -306,7 +306,7 @@ public class TypoRule extends Rule {
 			if (textEnd <= textStart) 
 				return false;
 			char escapeChar = (delimiter == ABAP.QUOT_MARK || delimiter == ABAP.QUOT_MARK2) ? delimiter : '\\';
-			result = identifier.correctLiteral(text.substring(textStart, textEnd), escapeChar, configCorrectTypos.getValue(), configConvertBritishToAmerican.getValue());
+			result = identifier.correctLiteral(text, textStart, textEnd, escapeChar, configCorrectTypos.getValue(), configConvertBritishToAmerican.getValue());
 		}
 
 		if (result == null || !result.wasAnythingCorrected()) 
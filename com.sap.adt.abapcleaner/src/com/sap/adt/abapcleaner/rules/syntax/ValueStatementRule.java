@@ -194,7 +194,7 @@ public class ValueStatementRule extends RuleForTokens {
 		// since we are sure by now that there are assignments to be factored out; this way, we are also safe to move line-end comments before the "("
 		Token insertBeforeToken = firstRow.parentToken;
 		int indent = insertBeforeToken.getStartIndexInLine();
-		if (insertBeforeToken.lineBreaks == 0)
+		if (insertBeforeToken.getLineBreaks() == 0)
 			insertBeforeToken.setWhitespace(1, indent);
 
 		for (AlignLine line : firstRow.getLines()) {
@@ -209,10 +209,10 @@ public class ValueStatementRule extends RuleForTokens {
 			Token identifier = lineToMove.firstToken;
 			if (insertBeforeToken.getPrev().getOpensLevel())
 				identifier.setWhitespace();
-			else if (identifier.lineBreaks == 0) // insertBefore.getPrev() could be a comment or part of a BASE section etc.
+			else if (identifier.getLineBreaks() == 0) // insertBefore.getPrev() could be a comment or part of a BASE section etc.
 				identifier.setWhitespace(1, indent);
-			else if (identifier.lineBreaks > 0)
-				identifier.spacesLeft = indent;
+			else if (identifier.getLineBreaks() > 0)
+				identifier.setSpacesLeft(indent);
 			insertBeforeToken.insertLeftSibling(lineToMove);
 
 			for (int rowIndex = 1; rowIndex < rows.size(); ++rowIndex) {
@@ -245,7 +245,7 @@ public class ValueStatementRule extends RuleForTokens {
 
 	private void setWhitespaceAfter(Term lineToMove) {
 		Token next = lineToMove.getNext();
-		if (next.closesLevel() && next.lineBreaks == 0) {
+		if (next.closesLevel() && next.getLineBreaks() == 0) {
 			Token prev = lineToMove.getPrev();
 			if (prev.isComment()) {
 				// do NOT move the closing bracket to the previous line, this must be done by ClosingBracketsPositionRule
@@ -253,7 +253,7 @@ public class ValueStatementRule extends RuleForTokens {
 			} else {
 				// ensure that an attached closing bracket is detached - e.g. in the case of "iv_param = 'abc')",
 				// because the remaining parameter may not end with '
-				next.spacesLeft = Math.max(next.spacesLeft, 1);
+				next.setSpacesLeft(Math.max(next.getSpacesLeft(), 1));
 			}
 		} else if (!next.closesLevel() && !next.isAsteriskCommentLine()) {
 			next.copyWhitespaceFrom(lineToMove.firstToken);
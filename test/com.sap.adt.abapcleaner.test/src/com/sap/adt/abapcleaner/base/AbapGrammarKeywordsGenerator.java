@@ -0,0 +1,61 @@
+package com.sap.adt.abapcleaner.base;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+/**
+ * Generates the source code of {@link AbapGrammarKeywords} from the ABAP grammar file 'resources\grammar.txt'. 
+ * This must be run whenever the grammar file is updated (see {@link PadResourceResolver}), supplying the path 
+ * of AbapGrammarKeywords.java as the only argument; {@link AbapTest} fails as long as the generated keywords are outdated.
+ */
+public class AbapGrammarKeywordsGenerator {
+	private static final int MAX_LINE_LENGTH = 160;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.out.println("Usage: AbapGrammarKeywordsGenerator <path of AbapGrammarKeywords.java>");
+			return;
+		}
+		String source;
+		try (InputStream padFileContent = new PadResourceResolver().getPadFileContent()) {
+			source = generateSource(ABAP.readKeywordsFromPadFile(padFileContent));
+		}
+		Files.write(Paths.get(args[0]), source.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static String generateSource(ArrayList<String> keywords) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("package com.sap.adt.abapcleaner.base;\n");
+		sb.append("\n");
+		sb.append("/**\n");
+		sb.append(" * <p>The ABAP keywords from the ABAP grammar file 'resources\\grammar.txt' in the order of their token numbers, \n");
+		sb.append(" * excluding keywords that are written in lower case or that contain special characters.</p>\n");
+		sb.append(" * \n");
+		sb.append(" * <p>This class is generated by AbapGrammarKeywordsGenerator (in the test project) and must not be changed manually. \n");
+		sb.append(" * It spares parsing the grammar file on every start; to use a newer grammar at runtime, \n");
+		sb.append(" * see {@link ABAP#loadKeywordsFromPadFile(java.io.InputStream)}.</p>\n");
+		sb.append(" */\n");
+		sb.append("final class AbapGrammarKeywords {\n");
+		sb.append("\tstatic final String[] KEYWORDS = new String[] {\n");
+		StringBuilder line = new StringBuilder();
+		for (int i = 0; i < keywords.size(); ++i) {
+			String entry = "\"" + keywords.get(i) + "\"" + (i + 1 < keywords.size() ? "," : "");
+			if (line.length() > 0 && 2 + line.length() + 1 + entry.length() > MAX_LINE_LENGTH) {
+				sb.append("\t\t").append(line).append("\n");
+				line.setLength(0);
+			}
+			if (line.length() > 0)
+				line.append(' ');
+			line.append(entry);
+		}
+		if (line.length() > 0)
+			sb.append("\t\t").append(line).append("\n");
+		sb.append("\t};\n");
+		sb.append("}\n");
+		return sb.toString();
+	}
+}
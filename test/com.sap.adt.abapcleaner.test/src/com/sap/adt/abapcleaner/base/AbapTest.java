@@ -2,6 +2,10 @@ package com.sap.adt.abapcleaner.base;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
 import org.junit.jupiter.api.Test;
 
 class AbapTest {
@@ -23,6 +27,41 @@ class AbapTest {
 		assertTrue(ABAP.isAbapUpperCaseKeyword("CLASS-DATA"));
 	}
 
+	@Test
+	void testGeneratedKeywordsMatchGrammar() throws IOException {
+		// if this fails, the resource 'grammar.txt' was updated without running AbapGrammarKeywordsGenerator
+		try (InputStream padFileContent = new PadResourceResolver().getPadFileContent()) {
+			assertArrayEquals(ABAP.readKeywordsFromPadFile(padFileContent).toArray(new String[0]), AbapGrammarKeywords.KEYWORDS);
+		}
+	}
+
+	@Test
+	void testLoadKeywordsFromPadFile() throws IOException {
+		long keywordChecksum = ABAP.getAbapKeywordChecksum();
+
+		// a grammar file without keywords does not replace the keywords
+		assertFalse(ABAP.loadKeywordsFromPadFile(new ByteArrayInputStream(new byte[0])));
+		assertTrue(ABAP.isAbapUpperCaseKeyword("SELECT"));
+
+		try (InputStream padFileContent = new PadResourceResolver().getPadFileContent()) {
+			assertTrue(ABAP.loadKeywordsFromPadFile(padFileContent));
+		}
+		// the grammar resource contains the same keywords as AbapGrammarKeywords, so the checksum is unchanged
+		assertEquals(keywordChecksum, ABAP.getAbapKeywordChecksum());
+		assertTrue(ABAP.isAbapUpperCaseKeyword("SELECT"));
+		assertFalse(ABAP.isAbapUpperCaseKeyword("xsdbool"));
+	}
+
+	@Test
+	void testKeywordChecksum() {
+		long checksum = ABAP.calculateKeywordChecksum(new String[] { "DATA", "SELECT", "TYPE" });
+
+		// expect the checksum to be independent of the order and casing of the keywords, but not of the keywords themselves
+		assertEquals(checksum, ABAP.calculateKeywordChecksum(new String[] { "type", "DATA", "Select" }));
+		assertNotEquals(checksum, ABAP.calculateKeywordChecksum(new String[] { "DATA", "SELECT" }));
+		assertNotEquals(checksum, ABAP.calculateKeywordChecksum(new String[] { "DATA", "SELECT", "TYPES" }));
+	}
+
 	@Test
 	void testIsAbapUpperCaseKeywordFalse() {
 		assertFalse(ABAP.isAbapUpperCaseKeyword(""));
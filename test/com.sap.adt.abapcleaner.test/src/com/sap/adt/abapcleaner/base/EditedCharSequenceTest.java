@@ -0,0 +1,101 @@
+package com.sap.adt.abapcleaner.base;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class EditedCharSequenceTest {
+	private CharSequence assertEditEquals(StringBuilder expText, CharSequence text, int offset, int removedLength, String insertedText) {
+		CharSequence editedText = EditedCharSequence.createFromEdit(text, offset, removedLength, insertedText);
+		expText.replace(offset, offset + removedLength, (insertedText == null) ? "" : insertedText);
+
+		assertEquals(expText.length(), editedText.length());
+		assertEquals(expText.toString(), editedText.toString());
+		for (int i = 0; i < expText.length(); ++i)
+			assertEquals(expText.charAt(i), editedText.charAt(i));
+		return editedText;
+	}
+
+	private String buildLongText(int lineCount) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < lineCount; ++i)
+			sb.append("    lv_value_" + String.valueOf(i) + " = " + String.valueOf(i) + ".\n");
+		return sb.toString();
+	}
+
+	@Test
+	void testInsertReplaceRemove() {
+		String original = buildLongText(100);
+		StringBuilder expText = new StringBuilder(original);
+
+		CharSequence text = assertEditEquals(expText, original, 20, 0, "CLEAR lv_value.\n");
+		text = assertEditEquals(expText, text, 1000, 5, "replacement");
+		text = assertEditEquals(expText, text, 0, 3, "");
+		text = assertEditEquals(expText, text, text.length(), 0, "\n* end");
+		text = assertEditEquals(expText, text, 10, text.length() - 20, null);
+
+		// the original text must remain unchanged
+		assertEquals(buildLongText(100), original);
+	}
+
+	@Test
+	void testSubSequenceAcrossPieces() {
+		String original = buildLongText(50);
+		StringBuilder expText = new StringBuilder(original);
+
+		CharSequence text = assertEditEquals(expText, original, 300, 0, buildLongText(20));
+		text = assertEditEquals(expText, text, 900, 0, buildLongText(20));
+		for (int start = 0; start < expText.length(); start += 97) {
+			for (int end = start; end < expText.length(); end += 389)
+				assertEquals(expText.substring(start, end), text.subSequence(start, end).toString());
+		}
+		assertEquals("", text.subSequence(5, 5).toString());
+	}
+
+	@Test
+	void testTypingMergesPieces() {
+		String original = buildLongText(100);
+		StringBuilder expText = new StringBuilder(original);
+
+		// typing character by character must not create a new piece for each character
+		CharSequence text = original;
+		int offset = 500;
+		for (char c : "    CLEAR lv_value.\n".toCharArray()) {
+			text = assertEditEquals(expText, text, offset, 0, String.valueOf(c));
+			++offset;
+		}
+		assertTrue(text instanceof EditedCharSequence);
+		assertEquals(3, ((EditedCharSequence) text).getPieceCount());
+	}
+
+	@Test
+	void testManyEditsCreateString() {
+		String original = buildLongText(4000);
+		StringBuilder expText = new StringBuilder(original);
+
+		// once the number of pieces exceeds the maximum, the edited text is copied into a String
+		CharSequence text = original;
+		int offset = 0;
+		boolean wasCopied = false;
+		for (int i = 0; i <= EditedCharSequence.MAX_PIECE_COUNT; ++i) {
+			text = EditedCharSequence.createFromEdit(text, offset, 1, "*");
+			expText.replace(offset, offset + 1, "*");
+			offset += 300;
+			if (text instanceof String) 
+				wasCopied = true;
+			else
+				assertTrue(((EditedCharSequence) text).getPieceCount() <= EditedCharSequence.MAX_PIECE_COUNT);
+		}
+		assertTrue(wasCopied);
+		assertEquals(expText.toString(), text.toString());
+	}
+
+	@Test
+	void testEditErr() {
+		assertThrows(IndexOutOfBoundsException.class, () -> EditedCharSequence.createFromEdit("abc", 2, 2, "x"));
+		assertThrows(IndexOutOfBoundsException.class, () -> EditedCharSequence.createFromEdit("abc", -1, 0, "x"));
+		CharSequence text = EditedCharSequence.createFromEdit(buildLongText(10), 5, 0, "x");
+		assertThrows(IndexOutOfBoundsException.class, () -> text.charAt(text.length()));
+		assertThrows(IndexOutOfBoundsException.class, () -> text.subSequence(3, 2));
+	}
+}
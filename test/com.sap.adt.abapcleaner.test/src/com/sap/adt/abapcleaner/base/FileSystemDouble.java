@@ -1,5 +1,8 @@
 package com.sap.adt.abapcleaner.base;
 
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -11,19 +14,26 @@ public class FileSystemDouble implements IFileSystem {
 		public byte[] data;
 		public boolean isAnsiEncoded;
 		public boolean isWriteProtected;
+		public final long lastModified;
 		
 		public FileInfo(String path, byte[] data) {
 			this.path = path;
 			this.data = data;
+			// use a counter rather than the system time to ensure that each write results in a new timestamp
+			this.lastModified = ++lastModifiedCounter;
 		}
 		public FileInfo(String path, FileInfo model) {
 			this.path = path;
 			this.data = model.data;
 			this.isAnsiEncoded = model.isAnsiEncoded;
 			this.isWriteProtected = model.isWriteProtected;
+			this.lastModified = model.lastModified;
 		}
 	}
 	
+	/** the timestamp of the last write; static, so timestamps are unique across all instances of FileSystemDouble */
+	private static long lastModifiedCounter = 0;
+	
 	private static class DirInfo {
 		public final String path;
 		public DirInfo(String path) {
@@ -102,12 +112,30 @@ public class FileSystemDouble implements IFileSystem {
 		}
 	}
 
+	@Override
+	public long getLastModified(String path) {
+		FileInfo fileInfo = (path == null) ? null : fileInfos.get(getKey(path));
+		return (fileInfo == null) ? 0 : fileInfo.lastModified;
+	}
+
+	@Override
+	public long getFileSize(String path) {
+		FileInfo fileInfo = (path == null) ? null : fileInfos.get(getKey(path));
+		return (fileInfo == null) ? 0 : fileInfo.data.length;
+	}
+
 	@Override
 	public byte[] readAllBytesFromFile(String path) {
 		FileInfo fileInfo = fileInfos.get(getKey(path));
 		return fileInfo.data; 
 	}
 
+	@Override
+	public ReadableByteChannel openFileForReading(String path) {
+		FileInfo fileInfo = fileInfos.get(getKey(path));
+		return (fileInfo == null) ? null : Channels.newChannel(new ByteArrayInputStream(fileInfo.data)); 
+	}
+
 	@Override
 	public boolean writeAllBytesToFile(String path, byte[] data) {
 		fileInfos.put(getKey(path), new FileInfo(path, data));
@@ -0,0 +1,72 @@
+package com.sap.adt.abapcleaner.base;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class KeywordTableTest {
+	@Test
+	void testGetIgnoresCase() {
+		KeywordTable<String> table = KeywordTable.create();
+		table.put("IF", "if");
+		table.put("Loop at", "loop at");
+		
+		assertEquals(2, table.size());
+		assertEquals("if", table.get("IF"));
+		assertEquals("if", table.get("if"));
+		assertEquals("if", table.get("iF"));
+		assertEquals("loop at", table.get("LOOP AT"));
+		assertEquals("loop at", table.get(new StringBuilder("loop AT")));
+		assertNull(table.get("LOOP"));
+		assertNull(table.get("IFF"));
+		assertNull(table.get((CharSequence)null));
+	}
+
+	@Test
+	void testPutReplacesValue() {
+		KeywordTable<Integer> table = KeywordTable.create();
+		table.put("ENDIF", 1);
+		table.put("endif", 2);
+
+		assertEquals(1, table.size());
+		assertEquals(2, table.get("EndIf"));
+	}
+
+	@Test
+	void testContainsPartOfText() {
+		KeywordTable<String> table = KeywordTable.create();
+		table.put("FIELD", "FIELD");
+		table.put("SYMBOLS", "SYMBOLS");
+
+		String text = "field-symbols:";
+		assertTrue(table.contains(text, 0, 5));
+		assertTrue(table.contains(text, 6, 13));
+		assertFalse(table.contains(text, 0, 13));
+		assertFalse(table.contains(text, 6, 14));
+		assertFalse(table.contains(text, 0, 0));
+		assertFalse(table.contains(null));
+	}
+
+	@Test
+	void testManyKeywords() {
+		// expect the table to grow and still find all entries
+		KeywordTable<Integer> table = KeywordTable.create();
+		for (int i = 0; i < 1000; ++i)
+			table.put("KEYWORD" + String.valueOf(i), i);
+
+		assertEquals(1000, table.size());
+		for (int i = 0; i < 1000; ++i) {
+			assertEquals(i, table.get("keyword" + String.valueOf(i)));
+			assertFalse(table.contains("keyword" + String.valueOf(i) + "x"));
+		}
+	}
+
+	@Test
+	void testNonAsciiCharsAreNotFolded() {
+		KeywordTable<String> table = KeywordTable.create();
+		table.put("\u00c4NDERN", "\u00c4NDERN");
+
+		assertTrue(table.contains("\u00c4ndern"));
+		assertFalse(table.contains("\u00e4ndern"));
+	}
+}
@@ -470,4 +470,53 @@ class StringUtilTest {
 		assertEquals("lv_test", StringUtil.removePrefix("lv_test", "LV_", false));
 		assertEquals("test", StringUtil.removePrefix("lv_test", "LV_", true));
 	}
+
+	@Test 
+	void testRegionMatchesIgnoringCase() {
+		assertTrue(StringUtil.regionMatchesIgnoringCase("lv_value", 3, "VALUE", 0, 5));
+		assertTrue(StringUtil.regionMatchesIgnoringCase("lv_value", 0, "LV_", 0, 3));
+		assertTrue(StringUtil.regionMatchesIgnoringCase(new StringBuilder("ENDEXEC."), 3, "exec", 0, 4));
+		assertTrue(StringUtil.regionMatchesIgnoringCase("abc", 1, "xBCx", 1, 2));
+		assertTrue(StringUtil.regionMatchesIgnoringCase("abc", 3, "", 0, 0));
+
+		assertFalse(StringUtil.regionMatchesIgnoringCase("lv_value", 3, "VALUES", 0, 6));
+		assertFalse(StringUtil.regionMatchesIgnoringCase("lv_value", -1, "LV_", 0, 3));
+		assertFalse(StringUtil.regionMatchesIgnoringCase("lv_value", 0, "LV_", 1, 3));
+		assertFalse(StringUtil.regionMatchesIgnoringCase("abc", 0, "abc", 0, -1));
+
+		// only letters match when their case is ignored, although '@' and '`' also differ only in bit 0x20 from 'A' and 'a' 
+		assertFalse(StringUtil.regionMatchesIgnoringCase("@", 0, "`", 0, 1));
+		assertFalse(StringUtil.regionMatchesIgnoringCase("[", 0, "{", 0, 1));
+		assertFalse(StringUtil.regionMatchesIgnoringCase("-", 0, "_", 0, 1));
+
+		// non-ASCII characters are compared like in String.equalsIgnoreCase()
+		assertTrue(StringUtil.regionMatchesIgnoringCase("\u00DCber", 0, "\u00FCBER", 0, 4));
+		assertTrue(StringUtil.regionMatchesIgnoringCase("\u212A", 0, "k", 0, 1));
+		assertFalse(StringUtil.regionMatchesIgnoringCase("\u00DCber", 0, "uber", 0, 4));
+	}
+
+	@Test 
+	void testIndexOfIgnoringCase() {
+		assertEquals(3, StringUtil.indexOfIgnoringCase("lv_value", "VAL", 0));
+		assertEquals(3, StringUtil.indexOfIgnoringCase("lv_value", "val", 3));
+		assertEquals(-1, StringUtil.indexOfIgnoringCase("lv_value", "val", 4));
+		assertEquals(0, StringUtil.indexOfIgnoringCase("lv_value", "LV_VALUE", -1));
+		assertEquals(-1, StringUtil.indexOfIgnoringCase("lv_value", "LV_VALUES", 0));
+		assertEquals(-1, StringUtil.indexOfIgnoringCase("", "a", 0));
+
+		// like String.indexOf(), an empty substring is found at the (restricted) start index
+		assertEquals(2, StringUtil.indexOfIgnoringCase("abc", "", 2));
+		assertEquals(3, StringUtil.indexOfIgnoringCase("abc", "", 5));
+		assertEquals(0, StringUtil.indexOfIgnoringCase("abc", "", -1));
+	}
+
+	@Test 
+	void testLastIndexOfIgnoringCase() {
+		assertEquals(10, StringUtil.lastIndexOfIgnoringCase("abcdefg abcdefg", "CDE", 15));
+		assertEquals(10, StringUtil.lastIndexOfIgnoringCase("abcdefg abcdefg", "cDe", 10));
+		assertEquals(2, StringUtil.lastIndexOfIgnoringCase("abcdefg abcdefg", "cde", 9));
+		assertEquals(-1, StringUtil.lastIndexOfIgnoringCase("abcdefg abcdefg", "cde", 1));
+		assertEquals(-1, StringUtil.lastIndexOfIgnoringCase("abc", "abcd", 3));
+		assertEquals(3, StringUtil.lastIndexOfIgnoringCase("abc", "", 5));
+	}
 }
@@ -0,0 +1,501 @@
+package com.sap.adt.abapcleaner.comparer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.sap.adt.abapcleaner.base.ABAP;
+import com.sap.adt.abapcleaner.base.AbapCult;
+import com.sap.adt.abapcleaner.base.StringUtil;
+import com.sap.adt.abapcleaner.parser.Code;
+import com.sap.adt.abapcleaner.parser.Command;
+import com.sap.adt.abapcleaner.parser.ParseParams;
+import com.sap.adt.abapcleaner.programbase.CompareException;
+import com.sap.adt.abapcleaner.rulebase.Profile;
+import com.sap.adt.abapcleaner.rulebase.Rule;
+import com.sap.adt.abapcleaner.rulebase.RuleID;
+import com.sap.adt.abapcleaner.rulebase.RuleStats;
+
+public class CompareDocTest {
+	private static final String LINE_SEP = "\n";
+
+	private DiffDoc compare(String textA, String textB) {
+		CompareDoc docA = CompareDoc.createFromText(textA, LINE_SEP);
+		CompareDoc docB = CompareDoc.createFromText(textB, LINE_SEP);
+		try {
+			return docA.compareTo(docB, null);
+		} catch (CompareException e) {
+			fail(e.getMessage());
+			return null;
+		}
+	}
+
+	private String getStatusString(DiffDoc diffDoc) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < diffDoc.getLineCount(); ++i) {
+			switch (diffDoc.getLine(i).status) {
+				case EQUAL: result.append('='); break;
+				case CHANGED: result.append('~'); break;
+				case LEFT_DELETED: result.append('-'); break;
+				case RIGHT_ADDED: result.append('+'); break;
+				case LEFT_DELETED_RIGHT_ADDED: result.append('#'); break;
+			}
+		}
+		return result.toString();
+	}
+
+	private void assertDiffStatus(String expStatus, String textA, String textB) {
+		assertEquals(expStatus, getStatusString(compare(textA, textB)));
+	}
+
+	@Test
+	void testEqualDocs() {
+		String text = "DATA a TYPE i." + LINE_SEP + "a = 1." + LINE_SEP + "CLEAR a.";
+		assertDiffStatus("===", text, text);
+	}
+
+	@Test
+	void testInsertedAndDeletedLines() {
+		String textA = "DATA a TYPE i." + LINE_SEP + "a = 1." + LINE_SEP + "CLEAR a.";
+		String textB = "DATA a TYPE i." + LINE_SEP + "DATA b TYPE i." + LINE_SEP + "a = 1.";
+		assertDiffStatus("=+=-", textA, textB);
+	}
+
+	@Test
+	void testChangedLines() {
+		String textA = "DATA a TYPE i." + LINE_SEP + "a = 1." + LINE_SEP + "CLEAR a.";
+		String textB = "DATA a TYPE i." + LINE_SEP + "a   =   1." + LINE_SEP + "clear a.";
+		assertDiffStatus("=~~", textA, textB);
+	}
+
+	@Test
+	void testHighlightBitsOfChangedLines() {
+		String textA = "DATA a TYPE i." + LINE_SEP + "a = 1." + LINE_SEP + "CLEAR a.";
+		String textB = "DATA a TYPE i." + LINE_SEP + "a = 2." + LINE_SEP + "clear a.";
+		// HighlightBits are calculated on first access, either from the DisplayLine of the left or right side
+		DiffDoc diffDoc = compare(textA, textB);
+		HighlightBit contentChange = diffDoc.getLine(1).rightLine.getHighlightBits().iterator().next(); 
+		assertEquals(4, contentChange.start);
+		assertEquals(1, contentChange.length);
+		assertEquals(HighlightBitType.CONTENT_CHANGE, contentChange.type);
+		assertNull(diffDoc.getLine(0).leftLine.getHighlightBits());
+
+		String[] actLines = StringUtil.split(diffDoc.toText(), LINE_SEP, true);
+		assertTrue(actLines[0].startsWith("DATA a TYPE i.\tDATA a TYPE i.\t"));
+		assertTrue(actLines[1].startsWith("a = {1}.\ta = {2}.\t"));
+		assertTrue(actLines[2].startsWith("{CLEAR} a.\t{clear} a.\t"));
+	}
+
+	@Test
+	void testReshapedLines() {
+		// many reshaped lines between identical lines are matched by similarity
+		StringBuilder textA = new StringBuilder("lt_table = VALUE #(");
+		StringBuilder textB = new StringBuilder("lt_table = VALUE #(");
+		for (int i = 0; i < 50; ++i) {
+			textA.append(LINE_SEP).append("( a = " + i + " b = " + (2 * i) + " )");
+			textB.append(LINE_SEP).append("  ( a = " + i + "   b = " + (2 * i) + " )");
+		}
+		textA.append(LINE_SEP).append(").");
+		textB.append(LINE_SEP).append(").");
+		assertDiffStatus("=" + StringUtil.repeatChar('~', 50) + "=", textA.toString(), textB.toString());
+	}
+
+	private String getDiffString(DiffDoc diffDoc) {
+		StringBuilder result = new StringBuilder(getStatusString(diffDoc));
+		for (int i = 0; i < diffDoc.getLineCount(); ++i) {
+			DiffLine diffLine = diffDoc.getLine(i);
+			for (DisplayLine displayLine : new DisplayLine[] { diffLine.leftLine, diffLine.rightLine }) {
+				if (displayLine == null || displayLine.getHighlightBits() == null)
+					continue;
+				result.append(LINE_SEP).append(i).append(':');
+				for (HighlightBit bit : displayLine.getHighlightBits())
+					result.append(' ').append(bit.start).append('+').append(bit.length).append(bit.type.toString());
+			}
+		}
+		return result.toString();
+	}
+
+	@Test
+	void testParallelPassesEqualSequentialPasses() throws Throwable {
+		// a large document with unchanged, reshaped, changed, deleted and added lines
+		StringBuilder textA = new StringBuilder("METHOD any_method.");
+		StringBuilder textB = new StringBuilder("METHOD any_method.");
+		for (int i = 0; i < 1500; ++i) {
+			textA.append(LINE_SEP).append("lv_value_" + i + " = lv_other + " + i + ".");
+			if (i % 7 == 0) 
+				textA.append(LINE_SEP).append("CLEAR lv_deleted_" + i + ".");
+			if (i % 3 == 0)
+				textB.append(LINE_SEP).append("lv_value_" + i + " = lv_other + " + i + ".");
+			else if (i % 3 == 1)
+				textB.append(LINE_SEP).append("  LV_VALUE_" + i + "   = lv_other + " + i + " .");
+			else
+				textB.append(LINE_SEP).append("lv_value_" + i + " = lv_changed + " + (i + 1) + ".");
+			if (i % 11 == 0) 
+				textB.append(LINE_SEP).append("lv_added_" + i + " = 0.");
+		}
+		textA.append(LINE_SEP).append("ENDMETHOD.");
+		textB.append(LINE_SEP).append("ENDMETHOD.");
+
+		DiffDoc sequential = CompareDoc.createFromText(textA.toString(), LINE_SEP).compareTo(CompareDoc.createFromText(textB.toString(), LINE_SEP), null, false);
+		DiffDoc parallel = CompareDoc.createFromText(textA.toString(), LINE_SEP).compareTo(CompareDoc.createFromText(textB.toString(), LINE_SEP), null, true);
+		assertEquals(getDiffString(sequential), getDiffString(parallel));
+	}
+
+	private DiffDoc compareCode(String codeText) throws Throwable {
+		Code code = Code.parse(null, ParseParams.createForWholeCode("anyName", codeText, ABAP.NEWEST_RELEASE));
+		CompareDoc oldDoc = CompareDoc.createFromDisplayLines(code.toDisplayLines());
+		CompareDoc newDoc = CompareDoc.createFromDisplayLines(code.toDisplayLines());
+		return oldDoc.compareTo(newDoc, null);
+	}
+
+	private void assertLineIndexesMatchScan(DiffDoc diffDoc) {
+		int maxSourceLineNum = 0;
+		for (int i = 0; i < diffDoc.getLineCount(); ++i) {
+			for (DisplaySide displaySide : DisplaySide.values()) {
+				DisplayLine displayLine = diffDoc.getLine(i).getDisplayLine(displaySide);
+				if (displayLine == null)
+					continue;
+				Command command = displayLine.parentCommand;
+				maxSourceLineNum = Math.max(maxSourceLineNum, command.getSourceLineNumEnd());
+
+				int expFirstLine = 0;
+				while (diffDoc.getLine(expFirstLine).getDisplayLine(displaySide) == null || diffDoc.getLine(expFirstLine).getDisplayLine(displaySide).parentCommand != command)
+					++expFirstLine;
+				int expLastLine = diffDoc.getLineCount() - 1;
+				while (diffDoc.getLine(expLastLine).getDisplayLine(displaySide) == null || diffDoc.getLine(expLastLine).getDisplayLine(displaySide).parentCommand != command)
+					--expLastLine;
+				assertEquals(expFirstLine, diffDoc.findFirstLineOfCommand(command, displaySide));
+				assertEquals(expLastLine, diffDoc.findLastLineOfCommand(command, displaySide));
+			}
+		}
+		for (int sourceLineNum = 0; sourceLineNum <= maxSourceLineNum + 1; ++sourceLineNum) {
+			int expFirstLine = -1;
+			int expLastLine = -1;
+			for (int i = 0; i < diffDoc.getLineCount(); ++i) {
+				if (diffDoc.getLine(i).containsSourceLineNum(sourceLineNum)) {
+					if (expFirstLine < 0)
+						expFirstLine = i;
+					expLastLine = i;
+				}
+			}
+			assertEquals(expFirstLine, diffDoc.findFirstLineOfSourceLine(sourceLineNum));
+			assertEquals(expLastLine, diffDoc.findLastLineOfSourceLine(sourceLineNum));
+		}
+	}
+
+	@Test
+	void testIndexedLineLookups() throws Throwable {
+		String codeText = "METHOD any_method." + LINE_SEP 
+				+ "  DATA(lv_value) = 1. DATA(lv_other) = 2." + LINE_SEP 
+				+ LINE_SEP 
+				+ "  \" comment" + LINE_SEP 
+				+ "  lv_value = lv_other" + LINE_SEP 
+				+ "           + 3." + LINE_SEP 
+				+ "ENDMETHOD.";
+		DiffDoc diffDoc = compareCode(codeText);
+		assertLineIndexesMatchScan(diffDoc);
+		assertEquals(4, diffDoc.findFirstLineOfSourceLine(5));
+		assertEquals(5, diffDoc.findLastLineOfSourceLine(5));
+		assertEquals(-1, diffDoc.findFirstLineOfSourceLine(99));
+
+		// replace the lines of the assignment with a differently shaped part, then check that the indexes were updated
+		DiffDoc diffDocPart = compareCode("  lv_value =" + LINE_SEP + "    lv_other" + LINE_SEP + "    + 3." + LINE_SEP + "CLEAR lv_value.");
+		diffDoc.replacePart(4, 5, diffDocPart);
+		assertEquals(9, diffDoc.getLineCount());
+		assertLineIndexesMatchScan(diffDoc);
+		assertEquals(8, diffDoc.findFirstLineOfCommand(diffDoc.getLine(8).rightLine.parentCommand, DisplaySide.RIGHT));
+	}
+
+	private RuleStats[] getRuleStatsByScan(DiffDoc diffDoc, Profile profile, int startLine, int lastLine) {
+		// walk all Commands of the line range, as getRuleStatsOfLineRange() did before its prefix counts were introduced
+		int[] ruleUseCount = new int[Rule.RULE_COUNT];
+		int[] ruleBlockedCount = new int[Rule.RULE_COUNT];
+		if (lastLine < diffDoc.getLineCount() - 1) 
+			lastLine = diffDoc.getLastNonEmptyOrChangedLineInRange(startLine, lastLine);
+		Command command = diffDoc.getCommandAt(startLine);
+		Command lastCommand = diffDoc.getCommandAt(lastLine);
+		while (command != null) {
+			command.getChangeControl().addToRuleStats(ruleUseCount, ruleBlockedCount);
+			if (command == lastCommand)
+				break;
+			command = command.getNext();
+		}
+		ArrayList<RuleStats> result = new ArrayList<RuleStats>();
+		for (int i = 0; i < Rule.RULE_COUNT; ++i) {
+			if (ruleUseCount[i] > 0 || ruleBlockedCount[i] > 0)
+				result.add(RuleStats.create(profile.getRule(RuleID.forValue(i)), ruleUseCount[i], ruleBlockedCount[i]));
+		}
+		return result.toArray(new RuleStats[0]);
+	}
+
+	private void assertRuleStatsMatchScan(DiffDoc diffDoc, Profile profile) {
+		for (int startLine = 0; startLine < diffDoc.getLineCount(); ++startLine) {
+			for (int lastLine = startLine; lastLine <= diffDoc.getLineCount(); ++lastLine) {
+				RuleStats[] expStats = getRuleStatsByScan(diffDoc, profile, startLine, lastLine);
+				assertTrue(RuleStats.equals(expStats, diffDoc.getRuleStatsOfLineRange(profile, startLine, lastLine)), "lines " + startLine + "-" + lastLine);
+			}
+		}
+	}
+
+	@Test
+	void testRuleStatsOfLineRange() throws Throwable {
+		String codeText = "CLASS lcl_any IMPLEMENTATION." + LINE_SEP 
+				+ "  METHOD any_method." + LINE_SEP 
+				+ "    DATA: lv_value TYPE i," + LINE_SEP 
+				+ "          lv_other TYPE i." + LINE_SEP 
+				+ LINE_SEP 
+				+ "    lv_value = 1." + LINE_SEP 
+				+ "    lv_other   =   lv_value." + LINE_SEP 
+				+ "    CHECK lv_other > 0." + LINE_SEP 
+				+ "    CLEAR: lv_value, lv_other." + LINE_SEP 
+				+ "  ENDMETHOD." + LINE_SEP 
+				+ "ENDCLASS.";
+		Profile profile = Profile.createDefault();
+		Code code = Code.parse(null, ParseParams.createForWholeCode("anyName", codeText, ABAP.NEWEST_RELEASE));
+		ArrayList<DisplayLine> oldDisplayLines = code.toDisplayLines();
+		profile.executeRules(code, ABAP.NO_RELEASE_RESTRICTION);
+		DiffDoc diffDoc = CompareDoc.createFromDisplayLines(oldDisplayLines).compareTo(CompareDoc.createFromDisplayLines(code.toDisplayLines()), null);
+
+		assertTrue(diffDoc.getRuleStats(profile).length > 0);
+		assertRuleStatsMatchScan(diffDoc, profile);
+
+		// block Rules for some Commands, then check that the prefix counts are rebuilt
+		Command command = diffDoc.getCommandAt(diffDoc.getLineCount() - 1);
+		while (command != null) {
+			command.getChangeControl().setBlockedRule(RuleID.forValue(0), true);
+			command = command.getPrev();
+			if (command != null)
+				command = command.getPrev();
+		}
+		diffDoc.invalidateRuleStats();
+		assertRuleStatsMatchScan(diffDoc, profile);
+	}
+
+	private void assertUnifiedDiff(String expDiff, String textA, String textB, int contextLineCount) throws Throwable {
+		StringBuilder diff = new StringBuilder();
+		compare(textA, textB).writeUnifiedDiff(diff, "a/any.txt", "b/any.txt", contextLineCount, LINE_SEP);
+		assertEquals(expDiff, diff.toString());
+	}
+
+	@Test
+	void testWriteUnifiedDiff() throws Throwable {
+		String[] linesA = new String[] { "DATA a TYPE i.", "a = 1.", "b = a.", "CLEAR a.", "WRITE b.", "c = b.", "d = c.", "e = d.", "DELETE x.", "RETURN." };
+		String[] linesB = new String[] { "DATA a TYPE i.", "A = 1.", "b = a.", "CLEAR a.", "WRITE b.", "c = b.", "d = c.", "e = d.", "RETURN." };
+		String textA = String.join(LINE_SEP, linesA);
+		String textB = String.join(LINE_SEP, linesB);
+
+		// no output for unchanged documents
+		assertUnifiedDiff("", textA, textA, 3);
+
+		// changes that are more than twice the context lines apart are written to separate hunks
+		assertUnifiedDiff("--- a/any.txt\n+++ b/any.txt\n"
+				+ "@@ -1,3 +1,3 @@\n DATA a TYPE i.\n-a = 1.\n+A = 1.\n b = a.\n"
+				+ "@@ -8,3 +8,2 @@\n e = d.\n-DELETE x.\n RETURN.\n", textA, textB, 1);
+
+		// otherwise, the changes are joined into one hunk
+		StringBuilder expDiff = new StringBuilder("--- a/any.txt\n+++ b/any.txt\n@@ -1,10 +1,9 @@\n DATA a TYPE i.\n-a = 1.\n+A = 1.\n");
+		for (int i = 2; i < 8; ++i)
+			expDiff.append(' ').append(linesA[i]).append(LINE_SEP);
+		expDiff.append("-DELETE x.\n RETURN.\n");
+		assertUnifiedDiff(expDiff.toString(), textA, textB, 3);
+
+		// without context lines, empty ranges refer to the line before the insertion or deletion  
+		assertUnifiedDiff("--- a/any.txt\n+++ b/any.txt\n@@ -0,0 +1 @@\n+CLASS any_class DEFINITION.\n", textA, "CLASS any_class DEFINITION." + LINE_SEP + textA, 0);
+		assertUnifiedDiff("--- a/any.txt\n+++ b/any.txt\n@@ -2 +2 @@\n-a = 1.\n+A = 1.\n@@ -9 +8,0 @@\n-DELETE x.\n", textA, textB, 0);
+	}
+
+	private ArrayList<String> getSearchMatchesByScan(DiffNavigator navigator, String searchText, boolean searchLeft, boolean searchRight, boolean searchChangedLinesOnly, 
+			boolean matchCase, boolean wholeWord) {
+		ArrayList<String> matches = new ArrayList<String>();
+		for (int lineIndex = 0; lineIndex < navigator.getLineCount(); ++lineIndex) {
+			DiffLine diffLine = navigator.getLine(lineIndex);
+			if (searchChangedLinesOnly && !navigator.isLineHighlighted(diffLine))
+				continue;
+			for (DisplaySide displaySide : DisplaySide.values()) {
+				DisplayLine displayLine = diffLine.getDisplayLine(displaySide);
+				if (displayLine == null || (displaySide == DisplaySide.LEFT ? !searchLeft : !searchRight))
+					continue;
+				String text = displayLine.getText();
+				int pos = AbapCult.indexOf(text, searchText, 0, !matchCase);
+				while (pos >= 0) {
+					if (!wholeWord || navigator.isStartOfWholeWord(text, pos))
+						matches.add(String.valueOf(lineIndex) + ":" + displaySide.toString() + ":" + String.valueOf(pos));
+					pos = AbapCult.indexOf(text, searchText, pos + 1, !matchCase);
+				}
+			}
+		}
+		return matches;
+	}
+
+	private ArrayList<String> getSearchMatches(SearchMatches searchMatches) {
+		ArrayList<String> matches = new ArrayList<String>();
+		for (int i = 0; i < searchMatches.getCount(); ++i) 
+			matches.add(String.valueOf(searchMatches.getLineIndex(i)) + ":" + searchMatches.getDisplaySide(i).toString() + ":" + String.valueOf(searchMatches.getPos(i)));
+		return matches;
+	}
+
+	private boolean isSearchMatchHighlighted(DiffNavigator navigator, String match) {
+		String[] parts = match.split(":");
+		return navigator.isSearchMatchHighlighted(Integer.parseInt(parts[0]), Integer.parseInt(parts[2]), DisplaySide.valueOf(parts[1]));
+	}
+
+	@Test
+	void testSearchMatches() {
+		String textA = "DATA lv_value TYPE i." + LINE_SEP + "lv_value = 1." + LINE_SEP + "CLEAR lv_value." + LINE_SEP + "WRITE lv_Value.";
+		String textB = "DATA lv_value TYPE i." + LINE_SEP + "lv_value = 2." + LINE_SEP + LINE_SEP + "WRITE LV_VALUE." + LINE_SEP + "value = lv_value.";
+		DiffNavigator navigator = DiffNavigator.create();
+		navigator.refreshCode(null, compare(textA, textB), 0, 0, 0);
+
+		// while the search text is typed, the matches of the previous search text are refined; 
+		// the result must always equal a full scan with the same settings
+		for (int settings = 0; settings < 32; ++settings) {
+			boolean searchLeft = (settings & 1) != 0;
+			boolean searchRight = (settings & 2) != 0;
+			boolean searchChangedLinesOnly = (settings & 4) != 0;
+			boolean matchCase = (settings & 8) != 0;
+			boolean wholeWord = (settings & 16) != 0;
+			navigator.setSearchMode(true);
+			assertNull(navigator.getSearchMatches(searchLeft, searchRight, searchChangedLinesOnly, matchCase, wholeWord));
+			for (char c : "lv_value".toCharArray()) {
+				navigator.addCharToSearchText(c);
+				SearchMatches searchMatches = navigator.getSearchMatches(searchLeft, searchRight, searchChangedLinesOnly, matchCase, wholeWord);
+				ArrayList<String> expMatches = getSearchMatchesByScan(navigator, navigator.getSearchText(), searchLeft, searchRight, searchChangedLinesOnly, matchCase, wholeWord);
+				assertEquals(expMatches, getSearchMatches(searchMatches), navigator.getSearchText() + " with settings " + String.valueOf(settings));
+			}
+		}
+
+		// moving forward and backward visits all matches in the order of lines, left before right
+		navigator.setSearchMode(true);
+		for (char c : "value".toCharArray()) 
+			navigator.addCharToSearchText(c);
+		ArrayList<String> expMatches = getSearchMatchesByScan(navigator, "value", true, true, false, false, false);
+		assertEquals(9, expMatches.size());
+		navigator.moveToFirstLine(true);
+		navigator.clearSearchPos();
+		for (int i = 0; i < expMatches.size(); ++i) {
+			assertTrue(navigator.search(true, (i == 0), true, true, false, false, false));
+			assertTrue(isSearchMatchHighlighted(navigator, expMatches.get(i)), expMatches.get(i));
+		}
+		assertFalse(navigator.search(true, false, true, true, false, false, false));
+		for (int i = expMatches.size() - 2; i >= 0; --i) {
+			assertTrue(navigator.search(false, false, true, true, false, false, false));
+			assertTrue(isSearchMatchHighlighted(navigator, expMatches.get(i)), expMatches.get(i));
+		}
+		assertFalse(navigator.search(false, false, true, true, false, false, false));
+
+		// if the search position was cleared, the whole current line is searched backward
+		navigator.moveToLastLine(true);
+		navigator.clearSearchPos();
+		assertTrue(navigator.search(false, false, true, true, false, false, false));
+		assertTrue(isSearchMatchHighlighted(navigator, expMatches.get(expMatches.size() - 1)));
+	}
+
+	@Test
+	void testFingerprintOfSimplifiedText() {
+		// casing, indent and whitespace are simplified
+		long fingerprint = CompareLine.getFingerprint("  DATA lv_value TYPE i.", true, true, true);
+		assertEquals(fingerprint, CompareLine.getFingerprint("data   lv_value type i .  ", true, true, true));
+		assertEquals(fingerprint, CompareLine.getFingerprint("DATA\tlv_value TYPE i.", true, true, true));
+		assertNotEquals(fingerprint, CompareLine.getFingerprint("DATA lv_other TYPE i.", true, true, true));
+
+		// without simplifying casing or whitespace, these changes are detected
+		assertNotEquals(CompareLine.getFingerprint("DATA lv_value.", false, true, true), CompareLine.getFingerprint("data lv_value.", false, true, true));
+		assertNotEquals(CompareLine.getFingerprint("DATA lv_value.", true, true, false), CompareLine.getFingerprint("DATA  lv_value.", true, true, false));
+		assertEquals(CompareLine.getFingerprint("DATA lv_value.", true, true, false), CompareLine.getFingerprint("  DATA lv_value.", true, true, false));
+
+		// comment signs are surrounded by spaces
+		assertEquals(CompareLine.getFingerprint("a = 1. \" comment", true, true, true), CompareLine.getFingerprint("a = 1 .\"comment", true, true, true));
+
+		assertTrue(CompareLine.isSimplifiedTextEmpty(" \t ", true));
+		assertFalse(CompareLine.isSimplifiedTextEmpty(" \t ", false));
+	}
+
+	private static String simplifyByCopy(String text, boolean simplifyCasing, boolean simplifyIndent, boolean simplifyWhitespace) {
+		// create the simplified text with AbapCult.toUpper(), as CompareLine did before fingerprints were introduced 
+		if (simplifyCasing)
+			text = AbapCult.toUpper(text);
+		if (simplifyIndent)
+			text = text.trim();
+		if (!simplifyWhitespace)
+			return text;
+		StringBuilder result = new StringBuilder();
+		boolean skipWhitespace = false;
+		for (char c : text.toCharArray()) {
+			if (CompareLine.WHITESPACE_CHARS.indexOf(c) < 0) {
+				if ((c == '.' || c == '"') && !skipWhitespace)
+					result.append(' ');
+				result.append(c);
+				if (c == '"') 
+					result.append(' ');
+				skipWhitespace = (c == '"');
+			} else if (!skipWhitespace) {
+				result.append(' ');
+				skipWhitespace = true;
+			}
+		}
+		return result.toString();
+	}
+
+	@Test
+	void testSimplifiedTextEquals() {
+		assertTrue(CompareLine.simplifiedTextEquals("  DATA lv_value TYPE i.", "data   lv_value type i .  ", true, true, true));
+		assertFalse(CompareLine.simplifiedTextEquals("DATA lv_value TYPE i.", "DATA lv_value TYPE i8.", true, true, true));
+		assertFalse(CompareLine.simplifiedTextEquals("DATA lv_value.", "data lv_value.", false, true, true));
+		assertFalse(CompareLine.simplifiedTextEquals("DATA lv_value.", "DATA  lv_value.", true, true, false));
+
+		// upper case is determined as with AbapCult.toUpper(), which converts '\u00df' to "SS"
+		String textA = "\" Stra\u00dfe";
+		String textB = "\" STRASSE";
+		assertTrue(CompareLine.simplifiedTextEquals(textA, textB, true, true, true));
+		assertEquals(CompareLine.getFingerprint(textA, true, true, true), CompareLine.getFingerprint(textB, true, true, true));
+		assertFalse(CompareLine.simplifiedTextEquals(textA, textB, false, true, true));
+
+		// compare with the simplified texts created by copy, including chars with a multi-char upper case and surrogate pairs
+		final String chars = "aAbB .\"\t\u00a0\u00df\u00b5\u00ff\u01f0\ufb00\u0390\ud801\udc28\ud801\udc00";
+		Random random = new Random(4711);
+		for (int test = 0; test < 20000; ++test) {
+			String text1 = getRandomText(random, chars);
+			String text2 = (random.nextInt(4) == 0) ? text1.toUpperCase() : getRandomText(random, chars);
+			for (int variant = 0; variant < 8; ++variant) {
+				boolean simplifyCasing = (variant & 1) != 0;
+				boolean simplifyIndent = (variant & 2) != 0;
+				boolean simplifyWhitespace = (variant & 4) != 0;
+				boolean expEquals = simplifyByCopy(text1, simplifyCasing, simplifyIndent, simplifyWhitespace).equals(simplifyByCopy(text2, simplifyCasing, simplifyIndent, simplifyWhitespace));
+				assertEquals(expEquals, CompareLine.simplifiedTextEquals(text1, text2, simplifyCasing, simplifyIndent, simplifyWhitespace), text1 + " / " + text2);
+				if (expEquals)
+					assertEquals(CompareLine.getFingerprint(text1, simplifyCasing, simplifyIndent, simplifyWhitespace), CompareLine.getFingerprint(text2, simplifyCasing, simplifyIndent, simplifyWhitespace));
+			}
+		}
+	}
+
+	private static String getRandomText(Random random, String chars) {
+		StringBuilder result = new StringBuilder();
+		int length = random.nextInt(6);
+		for (int i = 0; i < length; ++i) 
+			result.append(chars.charAt(random.nextInt(chars.length())));
+		return result.toString();
+	}
+
+	@Test
+	void testChangeTypesOfChangedLines() {
+		// only the casing was changed, considering that the upper case of '\u00df' is "SS"
+		DiffLine diffLine = compare("a = 1. \" Stra\u00dfe", "a = 1. \" STRASSE").getLine(0);
+		assertEquals(LineStatus.CHANGED, diffLine.status);
+		assertEquals(IndentChangeType.NONE, diffLine.indentChange);
+		assertEquals(InnerSpaceChangeType.NONE, diffLine.innerSpaceChange);
+		assertEquals(CaseChangeType.CASE_CHANGED, diffLine.caseChange);
+
+		// indent and inner space were changed
+		diffLine = compare("a = 1.", "  a  =  1.").getLine(0);
+		assertEquals(IndentChangeType.INDENT_CHANGED, diffLine.indentChange);
+		assertEquals(InnerSpaceChangeType.INNER_SPACE_CHANGED, diffLine.innerSpaceChange);
+		assertEquals(CaseChangeType.NONE, diffLine.caseChange);
+
+		// the content was changed
+		diffLine = compare("a = 1.", "a = 2.").getLine(0);
+		assertEquals(CaseChangeType.CONTENT_CHANGED, diffLine.caseChange);
+	}
+}
@@ -3,15 +3,23 @@ package com.sap.adt.abapcleaner.parser;
 import org.junit.jupiter.api.Test;
 
 import com.sap.adt.abapcleaner.base.ABAP;
+import com.sap.adt.abapcleaner.programbase.FileType;
 import com.sap.adt.abapcleaner.programbase.IntegrityBrokenException;
 import com.sap.adt.abapcleaner.programbase.ParseException;
+import com.sap.adt.abapcleaner.programbase.PersistencyDouble;
+import com.sap.adt.abapcleaner.programbase.Program;
 import com.sap.adt.abapcleaner.programbase.TaskType;
 import com.sap.adt.abapcleaner.rulebase.Profile;
 import com.sap.adt.abapcleaner.rulebase.RuleID;
+import com.sap.adt.abapcleaner.rulehelpers.AlignCellToken;
+import com.sap.adt.abapcleaner.rulehelpers.AlignLine;
+import com.sap.adt.abapcleaner.rulehelpers.AlignTable;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 
 public class CodeTest extends CodeTestBase {
 	private static final String SEP = ABAP.LINE_SEPARATOR;
@@ -623,7 +631,77 @@ public class CodeTest extends CodeTestBase {
 		}
 	}
 	
-	private Code createCode(String codeText) {
+	@Test
+	void testParseChunkedCharSequenceWithTabs() {
+		buildSrc("    \" comment \u00e4\u00f6\u00fc \u20ac");
+		buildSrc("    DATA\tlv_text TYPE string VALUE `a\tb`.");
+		buildSrc("    lv_text = |\t{ lv_text }|.");
+		buildSrc("    EXEC SQL.");
+		buildSrc("      SELECT\t* FROM any_dtab");
+		buildSrc("    ENDEXEC.");
+
+		putAnyMethodAroundSrc();
+
+		// parsing a CharSequence that is not a String must yield the same result as parsing the String
+		String sourceCode = sourceCodeBuilder.toString();
+		PersistencyDouble persistency = PersistencyDouble.create();
+		String path = persistency.getAnyNewPath();
+		persistency.writeAllTextToFile(path, sourceCode);
+		Code expCode = createCode(sourceCode);
+		Code actCode = createCode(persistency.readCharSequenceFromFile(path));
+
+		assertEquals(expCode.toString(), actCode.toString());
+		assertEquals(expCode.commandCount, actCode.commandCount);
+		assertEquals(expCode.getTotalTokenCount(), actCode.getTotalTokenCount());
+		assertNull(actCode.compareWithSource(sourceCode, 10));
+		assertFalse(actCode.toString().contains("\t"));
+	}
+
+	@Test
+	void testParallelParseEqualsSequentialParse() {
+		// build a code document which is large enough to be split into several chunks
+		int classIndex = 0;
+		while (sourceCodeBuilder.length() < 6 * ParallelParser.MIN_CHUNK_LENGTH) {
+			buildSrc("CLASS lcl_any_" + String.valueOf(classIndex) + " IMPLEMENTATION.");
+			buildSrc("  METHOD any_method.");
+			buildSrc("    DATA lv_text TYPE string.");
+			buildSrc("    lv_text = |multi-line template { lv_text }");
+			buildSrc("CLASS lcl_inside_template { 'text with \" and .' }|.");
+			buildSrc("    IF lv_text IS INITIAL. \" comment.");
+			buildSrc("      lv_text = 'literal with ''.'' and |'.");
+			buildSrc("    ENDIF.");
+			buildSrc("    EXEC SQL.");
+			buildSrc("      SELECT * FROM any_dtab");
+			buildSrc("FORM any_form_inside_exec_sql.");
+			buildSrc("    ENDEXEC.");
+			buildSrc("  ENDMETHOD.");
+			buildSrc("ENDCLASS.");
+			buildSrc("");
+			buildSrc("* comment line");
+			buildSrc("FORM any_form_" + String.valueOf(classIndex) + ".");
+			buildSrc("  CLEAR sy-subrc.");
+			buildSrc("ENDFORM.");
+			buildSrc("");
+			++classIndex;
+		}
+		String sourceCode = sourceCodeBuilder.toString();
+
+		Code expCode = createCode(sourceCode);
+		Code actCode = Code.createEmptyForTests();
+		assertTrue(ParallelParser.create(sourceCode, 4).parse(null, actCode, 1, 0));
+
+		assertCodeStructureEquals(expCode, actCode);
+	}
+
+	@Test
+	void testParallelParseNotPossible() {
+		// without top-level CLASS, INTERFACE, FORM or FUNCTION statements, no split points are found
+		while (sourceCodeBuilder.length() < 6 * ParallelParser.MIN_CHUNK_LENGTH) 
+			buildSrc("CLEAR sy-subrc.");
+		assertFalse(ParallelParser.create(sourceCodeBuilder.toString(), 4).parse(null, Code.createEmptyForTests(), 1, 0));
+	}
+
+	private Code createCode(CharSequence codeText) {
 		try {
 			return Code.parse(null, ParseParams.createForTest(codeText, ABAP.NEWEST_RELEASE));
 		} catch (ParseException e) {
@@ -632,6 +710,228 @@ public class CodeTest extends CodeTestBase {
 		}
 	}
 
+	private void assertCodeStructureEquals(Code expCode, Code actCode) {
+		try {
+			actCode.testReferentialIntegrity(true);
+		} catch (IntegrityBrokenException e) {
+			fail(e.getMessage());
+		}
+		assertEquals(expCode.toString(), actCode.toString());
+		assertEquals(expCode.commandCount, actCode.commandCount);
+
+		// compare the Commands and their hierarchy 
+		HashMap<Command, Integer> expIndexOfCommand = new HashMap<>();
+		HashMap<Command, Integer> actIndexOfCommand = new HashMap<>();
+		int index = 0;
+		for (Command expCommand = expCode.firstCommand, actCommand = actCode.firstCommand; expCommand != null; expCommand = expCommand.getNext(), actCommand = actCommand.getNext()) {
+			expIndexOfCommand.put(expCommand, index);
+			actIndexOfCommand.put(actCommand, index);
+			++index;
+		}
+		for (Command expCommand = expCode.firstCommand, actCommand = actCode.firstCommand; expCommand != null; expCommand = expCommand.getNext(), actCommand = actCommand.getNext()) {
+			assertEquals(expCommand.toString(), actCommand.toString());
+			assertEquals(expCommand.getSourceTextStart(), actCommand.getSourceTextStart());
+			assertEquals(expCommand.getSourceTextEnd(), actCommand.getSourceTextEnd());
+			assertEquals(expCommand.getSourceLineNumStart(), actCommand.getSourceLineNumStart());
+			assertEquals(expCommand.getSourceLineNumEnd(), actCommand.getSourceLineNumEnd());
+			assertEquals(expCommand.getLanguage(), actCommand.getLanguage());
+			assertEquals(expCommand.getInitialBlockLevel(), actCommand.getInitialBlockLevel());
+			assertEquals(expCommand.getIndentAdd(), actCommand.getIndentAdd());
+			assertEquals(expCommand.getOpensLevel(), actCommand.getOpensLevel());
+			assertEquals(expCommand.getClosesLevel(), actCommand.getClosesLevel());
+			assertEquals(expIndexOfCommand.get(expCommand.getParent()), actIndexOfCommand.get(actCommand.getParent()));
+			assertEquals(expIndexOfCommand.get(expCommand.getPrevSibling()), actIndexOfCommand.get(actCommand.getPrevSibling()));
+			assertEquals(expIndexOfCommand.get(expCommand.getNextSibling()), actIndexOfCommand.get(actCommand.getNextSibling()));
+			assertEquals(expIndexOfCommand.get(expCommand.getFirstChild()), actIndexOfCommand.get(actCommand.getFirstChild()));
+			assertEquals(expIndexOfCommand.get(expCommand.getLastChild()), actIndexOfCommand.get(actCommand.getLastChild()));
+			assertSame(actCode, actCommand.getParentCode());
+			assertNotNull(actCommand.getChangeControl());
+			for (Token expToken = expCommand.getFirstToken(), actToken = actCommand.getFirstToken(); expToken != null; expToken = expToken.getNext(), actToken = actToken.getNext()) {
+				assertEquals(expToken.getSourceLineNum(), actToken.getSourceLineNum());
+				assertEquals(expToken.type, actToken.type);
+				assertEquals(expToken.getOpensLevel(), actToken.getOpensLevel());
+				assertEquals(expToken.closesLevel(), actToken.closesLevel());
+			}
+		}
+	}
+
+
+	private void assertApplyEditEqualsParse(int offset, int removedLength, String insertedText) {
+		String sourceCode = sourceCodeBuilder.toString();
+		String expSourceCode = sourceCode.substring(0, offset) + insertedText + sourceCode.substring(offset + removedLength);
+
+		Code expCode = createCode(expSourceCode);
+		Code actCode = createCode(sourceCode);
+		try {
+			actCode.applyEdit(offset, removedLength, insertedText);
+		} catch (ParseException e) {
+			fail(e.getMessage());
+		}
+		assertEquals(expSourceCode, actCode.getCodeText().toString());
+		assertCodeStructureEquals(expCode, actCode);
+	}
+
+	private void buildEditTestSrc() {
+		buildSrc("CLASS lcl_any IMPLEMENTATION.");
+		buildSrc("  METHOD any_method.");
+		buildSrc("    DATA lv_value TYPE i.");
+		buildSrc("    CLEAR lv_value.");
+		buildSrc("    IF lv_value IS INITIAL.");
+		buildSrc("      lv_value = 1.");
+		buildSrc("    ENDIF.");
+		buildSrc("    DATA: BEGIN OF ls_struc,");
+		buildSrc("            comp TYPE i,");
+		buildSrc("          END OF ls_struc.");
+		buildSrc("* comment line");
+		buildSrc("    lv_value = lv_value + 1. \" comment");
+		buildSrc("  ENDMETHOD.");
+		buildSrc("ENDCLASS.");
+	}
+
+	@Test
+	void testApplyEditInsideStatement() {
+		buildEditTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		assertApplyEditEqualsParse(sourceCode.indexOf("= 1.") + 2, 1, "42");
+	}
+
+	@Test
+	void testApplyEditInsertLines() {
+		buildEditTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		assertApplyEditEqualsParse(sourceCode.indexOf("    ENDIF."), 0, "      CLEAR lv_value.\n      lv_value = 2.\n");
+	}
+
+	@Test
+	void testApplyEditRemoveStatement() {
+		buildEditTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		int start = sourceCode.indexOf("      lv_value = 1.");
+		assertApplyEditEqualsParse(start, "      lv_value = 1.\n".length(), "");
+	}
+
+	@Test
+	void testApplyEditJoinStatements() {
+		buildEditTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		// removing the period joins two statements into one
+		assertApplyEditEqualsParse(sourceCode.indexOf("TYPE i.") + 6, 1, "");
+		assertApplyEditEqualsParse(sourceCode.indexOf("TYPE i.") + 6, 1, ",");
+	}
+
+	@Test
+	void testApplyEditChangeBlockStructure() {
+		buildEditTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		assertApplyEditEqualsParse(sourceCode.indexOf("    ENDIF."), "    ENDIF.".length(), "    ELSE.\n      CLEAR lv_value.\n    ENDIF.");
+	}
+
+	@Test
+	void testApplyEditStructureDeclaration() {
+		buildEditTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		assertApplyEditEqualsParse(sourceCode.indexOf("comp TYPE i,") + 4, 0, "_new");
+	}
+
+	@Test
+	void testApplyEditCommentLine() {
+		buildEditTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		// turn the comment line into code and vice versa
+		assertApplyEditEqualsParse(sourceCode.indexOf("* comment line"), 1, " ");
+		assertApplyEditEqualsParse(sourceCode.indexOf("    lv_value = lv_value + 1."), 1, "*");
+	}
+
+	@Test
+	void testApplyEditErr() {
+		buildEditTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		Code code = createCode(sourceCode);
+		try {
+			code.applyEdit(sourceCode.indexOf("    ENDIF."), "    ENDIF.".length(), "");
+			fail();
+		} catch (ParseException e) {
+			// expected case
+		}
+		assertEquals(sourceCode, code.getCodeText().toString());
+		assertEquals(sourceCode, code.toString());
+	}
+
+	private ArrayList<Command> getCommands(Code code) {
+		ArrayList<Command> commands = new ArrayList<>();
+		for (Command command = code.firstCommand; command != null; command = command.getNext())
+			commands.add(command);
+		return commands;
+	}
+
+	@Test
+	void testApplyEditKeepsUntouchedCommands() {
+		buildEditTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		Code code = createCode(sourceCode);
+		ArrayList<Command> oldCommands = getCommands(code);
+
+		// insert a statement before 'lv_value = 1.', which is the sixth Command
+		int offset = sourceCode.indexOf("      lv_value = 1.");
+		String insertedText = "      CLEAR lv_value.\n";
+		try {
+			code.applyEdit(offset, 0, insertedText);
+		} catch (ParseException e) {
+			fail(e.getMessage());
+		}
+		assertCodeStructureEquals(createCode(sourceCode.substring(0, offset) + insertedText + sourceCode.substring(offset)), code);
+
+		// expect the incremental path to be taken: all Commands before and after the edited one are still the same instances
+		ArrayList<Command> newCommands = getCommands(code);
+		assertEquals(oldCommands.size() + 1, newCommands.size());
+		final int editedIndex = 5;
+		for (int i = 0; i < editedIndex; ++i)
+			assertSame(oldCommands.get(i), newCommands.get(i));
+		for (int i = 1; i < oldCommands.size() - editedIndex; ++i)
+			assertSame(oldCommands.get(oldCommands.size() - i), newCommands.get(newCommands.size() - i));
+	}
+
+	@Test
+	void testApplyEditSequence() {
+		buildEditTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		Code code = createCode(sourceCode);
+		Command oldFirstCommand = code.firstCommand;
+		Command oldLastCommand = code.lastCommand;
+
+		// type a number and a new comment line char by char, then change and remove code at other places, comparing the result 
+		// with a full parse after each step; the following Commands are moved multiple times without being accessed in between
+		StringBuilder expSourceCode = new StringBuilder(sourceCode);
+		String[] typedTexts = new String[] { "2", "3", "4", SEP, "*", " ", "n", "e", "w" };
+		int offset = sourceCode.indexOf("= 1.") + 3;
+		try {
+			for (int i = 0; i < typedTexts.length; ++i) {
+				if (typedTexts[i] == SEP) 
+					offset = expSourceCode.indexOf(SEP + "    CLEAR lv_value.");
+				code.applyEdit(offset, 0, typedTexts[i]);
+				expSourceCode.insert(offset, typedTexts[i]);
+				offset += typedTexts[i].length();
+			}
+			assertCodeStructureEquals(createCode(expSourceCode.toString()), code);
+
+			offset = expSourceCode.indexOf("comp TYPE i,") + 4;
+			code.applyEdit(offset, 0, "_new\n           ");
+			expSourceCode.insert(offset, "_new\n           ");
+			assertCodeStructureEquals(createCode(expSourceCode.toString()), code);
+
+			String removedLine = "    CLEAR lv_value." + SEP;
+			offset = expSourceCode.indexOf(removedLine);
+			code.applyEdit(offset, removedLine.length(), "");
+			expSourceCode.delete(offset, offset + removedLine.length());
+			assertCodeStructureEquals(createCode(expSourceCode.toString()), code);
+		} catch (ParseException e) {
+			fail(e.getMessage());
+		}
+		assertEquals(expSourceCode.toString(), code.getCodeText().toString());
+		assertSame(oldFirstCommand, code.firstCommand);
+		assertSame(oldLastCommand, code.lastCommand);
+	}
+
 	@Test
 	void testReferentialIntegrityEmpty() {
 		try {
@@ -915,4 +1215,152 @@ public class CodeTest extends CodeTestBase {
 		
 		testParseCode();
 	}
+
+	private void buildParseCacheTestSrc() {
+		buildSrc("CLASS lcl_any IMPLEMENTATION.");
+		buildSrc("  METHOD any_method.");
+		buildSrc("    DATA\tlv_text TYPE string VALUE `a\tb`.");
+		buildSrc("    lv_text = |{ lv_text }\t|.");
+		buildSrc("    IF lv_text IS INITIAL. \" comment");
+		buildSrc("      CALL METHOD any_method( EXPORTING iv_value = 1 ). ##NEEDED");
+		buildSrc("    ENDIF.");
+		buildSrc("* comment line");
+		buildSrc("    EXEC SQL.");
+		buildSrc("      SELECT * FROM any_dtab \" comment");
+		buildSrc("    ENDEXEC.");
+		buildSrc("  ENDMETHOD.");
+		buildSrc("");
+		buildSrc("  METHOD get_any BY DATABASE FUNCTION FOR HDB LANGUAGE SQLSCRIPT OPTIONS READ-ONLY.");
+		buildSrc("    RETURN SELECT * FROM any_dtab WHERE any_col = 'ENDMETHOD';");
+		buildSrc("  ENDMETHOD.");
+		buildSrc("ENDCLASS.");
+	}
+
+	private Code parseWithCache(String sourceCode, ParseCache parseCache) {
+		try {
+			return Code.parse(null, ParseParams.createForWholeCodeWithCache("test", sourceCode, ABAP.NEWEST_RELEASE, parseCache));
+		} catch (ParseException e) {
+			fail();
+			return null;
+		}
+	}
+
+	@Test
+	void testParseCacheEqualsParse() {
+		PersistencyDouble persistency = PersistencyDouble.create();
+		Program.initialize(persistency, "");
+		ParseCache parseCache = ParseCache.create(persistency);
+
+		buildParseCacheTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		String cachePath = persistency.getSavePath(FileType.PARSE_CACHE, ParseCache.getContentHash(sourceCode));
+		Code expCode = createCode(sourceCode);
+
+		// the first parse writes the cache file, the second parse restores the Code from it
+		assertFalse(persistency.fileExists(cachePath));
+		assertCodeStructureEquals(expCode, parseWithCache(sourceCode, parseCache));
+		assertTrue(persistency.fileExists(cachePath));
+
+		Code actCode = Code.createForChunk(expCode);
+		assertEquals(cachePath, parseCache.getPath(sourceCode));
+		assertTrue(parseCache.load(actCode, cachePath));
+		assertCodeStructureEquals(expCode, actCode);
+		assertCodeStructureEquals(expCode, parseWithCache(sourceCode, parseCache));
+	}
+
+	@Test
+	void testParseCacheIgnoresInvalidFile() {
+		PersistencyDouble persistency = PersistencyDouble.create();
+		Program.initialize(persistency, "");
+		ParseCache parseCache = ParseCache.create(persistency);
+
+		buildParseCacheTestSrc();
+		String sourceCode = sourceCodeBuilder.toString();
+		String cachePath = persistency.getSavePath(FileType.PARSE_CACHE, ParseCache.getContentHash(sourceCode));
+		Code expCode = createCode(sourceCode);
+		parseWithCache(sourceCode, parseCache);
+		byte[] data = persistency.getFileSystem().readAllBytesFromFile(cachePath);
+
+		// expect a cache file from a different technical version to be ignored
+		byte[] otherVersion = data.clone();
+		otherVersion[11] ^= 1;
+		persistency.getFileSystem().writeAllBytesToFile(cachePath, otherVersion);
+		assertFalse(parseCache.load(Code.createForChunk(expCode), cachePath));
+
+		// expect a cache file for different ABAP keywords to be ignored
+		byte[] otherKeywords = data.clone();
+		otherKeywords[27] ^= 1;
+		persistency.getFileSystem().writeAllBytesToFile(cachePath, otherKeywords);
+		assertFalse(parseCache.load(Code.createForChunk(expCode), cachePath));
+
+		// expect a cache file that was written with a different TokenTypeRefiner to be ignored
+		byte[] otherRefiner = data.clone();
+		otherRefiner[35] ^= 1;
+		persistency.getFileSystem().writeAllBytesToFile(cachePath, otherRefiner);
+		assertFalse(parseCache.load(Code.createForChunk(expCode), cachePath));
+
+		// expect a truncated cache file to be ignored
+		byte[] truncated = Arrays.copyOf(data, data.length / 2);
+		persistency.getFileSystem().writeAllBytesToFile(cachePath, truncated);
+		assertFalse(parseCache.load(Code.createForChunk(expCode), cachePath));
+
+		// expect the Code to be parsed again and the cache file to be repaired
+		assertCodeStructureEquals(expCode, parseWithCache(sourceCode, parseCache));
+		assertArrayEquals(data, persistency.getFileSystem().readAllBytesFromFile(cachePath));
+	}
+
+	@Test
+	void testParseCacheLimitsTotalSize() {
+		PersistencyDouble persistency = PersistencyDouble.create();
+		Program.initialize(persistency, "");
+
+		buildParseCacheTestSrc();
+		String[] sourceCodes = new String[5];
+		for (int i = 0; i < sourceCodes.length; ++i)
+			sourceCodes[i] = sourceCodeBuilder.toString() + "* version " + String.valueOf(i) + SEP;
+
+		// determine the size of one cache file, then allow for three of them
+		ParseCache sizeCache = ParseCache.create(persistency);
+		parseWithCache(sourceCodes[0], sizeCache);
+		String firstPath = sizeCache.getPath(sourceCodes[0]);
+		long fileSize = persistency.getFileSize(firstPath);
+		ParseCache parseCache = ParseCache.createForTests(persistency, 3 * fileSize);
+
+		// expect the least recently written files to be deleted once the maximum total size is exceeded
+		for (int i = 1; i < sourceCodes.length; ++i)
+			parseWithCache(sourceCodes[i], parseCache);
+		assertFalse(persistency.fileExists(firstPath));
+		assertFalse(persistency.fileExists(parseCache.getPath(sourceCodes[1])));
+		for (int i = 2; i < sourceCodes.length; ++i)
+			assertTrue(persistency.fileExists(parseCache.getPath(sourceCodes[i])));
+	}
+
+	private void addAssignmentLine(AlignTable table, Command command) {
+		AlignLine line = table.addLine();
+		Token token = command.getFirstToken();
+		for (int column = 0; column < 3; ++column) {
+			line.setCell(column, new AlignCellToken(token));
+			token = token.getNext();
+		}
+	}
+
+	@Test
+	void testAlignTableTotalWidths() {
+		buildSrc("    lv_a = 1.");
+		buildSrc("    lv_bbb = 22.");
+		Code code = testParseCode();
+
+		AlignTable table = new AlignTable(3);
+		table.getColumn(1).rightAlign = true;
+		table.getColumn(0).setForceIndent(2);
+		addAssignmentLine(table, code.firstCommand);
+		assertEquals(8, table.getTotalMonoLineWidth()); // "lv_a = 1"
+
+		// expect the cached total width to be updated when cells are added or changed
+		addAssignmentLine(table, code.firstCommand.getNext());
+		assertEquals(11, table.getTotalMonoLineWidth()); // "lv_bbb = 22"
+		table.getLine(1).getCell(2).setOverrideTextWidth(5);
+		assertEquals(14, table.getTotalMonoLineWidth());
+		assertEquals(14, table.getTotalMultiLineWidth());
+	}
 }
@@ -763,7 +763,7 @@ public class CommandTest {
 			buildCommand(code);
 			assertTrue(commands[2].removeMatchingCommentAboveLineOf(commands[2].firstToken.getNext(), "\" comment A", "\" comment C"));
 			// expect the empty lines to be transferred from the deleted comment to the declaration of variable "a"
-			assertEquals(2, commands[2].firstToken.lineBreaks);
+			assertEquals(2, commands[2].firstToken.getLineBreaks());
 
 		} catch (UnexpectedSyntaxAfterChanges | UnexpectedSyntaxException e) {
 			fail();
@@ -543,7 +543,7 @@ public class TokenTest {
 		assertIntegrityBroken(tokens[0]);
 		
 		buildCommand("  CLEAR a \" comment" + SEP + "  .");
-		tokens[3].lineBreaks = 0;
+		tokens[3].setLineBreaks(0);
 		assertIntegrityBroken(tokens[3]);
 
 		Token tokenWithoutCommand = Token.createForAbap(0, 1, "\" comment", TokenType.COMMENT, 1);
@@ -662,18 +662,76 @@ public class TokenTest {
 	void testEnsureWhitespace() {
 		Token token = buildCommand("a ='3.14'.", 2);
 		token.ensureWhitespace();
-		assertEquals(1, token.spacesLeft);
-		assertEquals(0, token.lineBreaks);
+		assertEquals(1, token.getSpacesLeft());
+		assertEquals(0, token.getLineBreaks());
 
 		token = buildCommand("a =  1.", 2);
 		token.ensureWhitespace();
-		assertEquals(2, token.spacesLeft);
-		assertEquals(0, token.lineBreaks);
+		assertEquals(2, token.getSpacesLeft());
+		assertEquals(0, token.getLineBreaks());
 
 		token = buildCommand("a =" + SEP + "1.", 2);
 		token.ensureWhitespace();
-		assertEquals(0, token.spacesLeft);
-		assertEquals(1, token.lineBreaks);
+		assertEquals(0, token.getSpacesLeft());
+		assertEquals(1, token.getLineBreaks());
+	}
+	
+	@Test
+	void testStartIndexInLineAfterWhitespaceChange() {
+		buildCommand("  a = b + c.");
+		assertEquals(11, tokens[5].getStartIndexInLine());
+		assertEquals(10, tokens[4].getStartIndexInLine());
+
+		// changing the whitespace before a Token moves all following Tokens in the same line
+		tokens[1].setSpacesLeft(2);
+		assertEquals(12, tokens[5].getStartIndexInLine());
+		assertEquals(2, tokens[0].getStartIndexInLine());
+
+		// starting a new line moves the Tokens of the new line
+		tokens[3].setWhitespace(1, 4);
+		assertEquals(4, tokens[3].getStartIndexInLine());
+		assertEquals(7, tokens[5].getStartIndexInLine());
+		assertEquals(8, tokens[2].getEndIndexInLine());
+
+		// joining the lines again
+		tokens[3].setLineBreaks(0);
+		assertEquals(12, tokens[3].getStartIndexInLine());
+		assertEquals(15, tokens[5].getStartIndexInLine());
+	}
+	
+	@Test
+	void testStartIndexInLineAfterTextChange() {
+		buildCommand("a = b + c.");
+		assertEquals(9, tokens[5].getStartIndexInLine());
+
+		tokens[2].setText("lv_b", false);
+		assertEquals(8, tokens[2].getEndIndexInLine());
+		assertEquals(11, tokens[4].getStartIndexInLine());
+		assertEquals(12, tokens[5].getStartIndexInLine());
+	}
+	
+	@Test
+	void testStartIndexInLineAfterInsertAndRemove() {
+		buildCommand("a = b + c.");
+		assertEquals(9, tokens[5].getStartIndexInLine());
+
+		Token newToken = Token.createForAbap(0, 1, "d", 1);
+		try {
+			tokens[4].insertLeftSibling(newToken);
+		} catch (IntegrityBrokenException e) {
+			fail();
+		}
+		assertEquals(8, newToken.getStartIndexInLine());
+		assertEquals(10, tokens[4].getStartIndexInLine());
+		assertEquals(11, tokens[5].getStartIndexInLine());
+
+		try {
+			newToken.removeFromCommand();
+		} catch (UnexpectedSyntaxAfterChanges e) {
+			fail();
+		}
+		assertEquals(8, tokens[4].getStartIndexInLine());
+		assertEquals(9, tokens[5].getStartIndexInLine());
 	}
 	
 	@Test
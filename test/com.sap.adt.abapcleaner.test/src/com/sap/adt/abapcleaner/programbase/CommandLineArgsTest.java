@@ -68,6 +68,7 @@ public class CommandLineArgsTest {
 		assertFalse(args.partialResult);
 		assertFalse(args.showStats);
 		assertFalse(args.showUsedRules);
+		assertFalse(args.unifiedDiff);
 		assertEquals("", args.errors);
 		assertFalse(args.showHelp);
 
@@ -92,7 +93,7 @@ public class CommandLineArgsTest {
 				"--targetfile", targetPath, 
 				"--overwrite", "--partialresult", "--stats", "--usedrules"} );
 	
-		assertEquals(anySourceCode, args.sourceCode);
+		assertEquals(anySourceCode, args.sourceCode.toString());
 		assertEquals(20, args.cleanupRange.startLine);
 		assertEquals(35, args.cleanupRange.endLine);
 		assertTrue(args.cleanupRange.expandRange);
@@ -111,6 +112,110 @@ public class CommandLineArgsTest {
 		assertFalse(args.hasErrors());
 	}
 	
+	@Test
+	void testCreateForUnifiedDiff() {
+		String sourcePath = persistency.getTempPath("any_source.txt");
+		persistency.prepareFile(sourcePath, anySourceCode);
+
+		CommandLineArgs args = CommandLineArgs.create(persistency, new String[] {  
+				"--sourcefile", sourcePath, 
+				"--diff" } );
+	
+		assertEquals(anySourceCode, args.sourceCode.toString());
+		assertEquals(sourcePath, args.sourcePath);
+		assertNull(args.sourceDir);
+		assertFalse(args.isDirectoryMode());
+		assertTrue(args.unifiedDiff);
+		assertEquals(3, args.diffContextLines);
+		assertFalse(args.hasErrors());
+
+		args = CommandLineArgs.create(persistency, new String[] {  
+				"--source", anySourceCode, 
+				"--diff", "--context", "0" } );
+	
+		assertNull(args.sourcePath);
+		assertTrue(args.unifiedDiff);
+		assertEquals(0, args.diffContextLines);
+		assertFalse(args.hasErrors());
+	}
+
+	@Test
+	void testCreateForSourceDirWithUnifiedDiff() {
+		String sourceDir = persistency.getTempPath("any_dir");
+		String subDir = persistency.prepareDirectory(sourceDir, "sub");
+		String path1 = persistency.prepareFile(sourceDir, "b_source.txt", anySourceCode);
+		String path2 = persistency.prepareFile(sourceDir, "a_source.txt", anySourceCode);
+		String path3 = persistency.prepareFile(subDir, "c_source.txt", anySourceCode);
+		persistency.prepareFile(sourceDir, "any_profile.cfj", anyProfileData);
+
+		CommandLineArgs args = CommandLineArgs.create(persistency, new String[] {  
+				"--sourcedir", sourceDir, 
+				"--diff", "--context", "5" } );
+	
+		assertNull(args.sourceCode);
+		assertEquals(sourceDir, args.sourceDir);
+		assertTrue(args.isDirectoryMode());
+		assertArrayEquals(new String[] { path2, path1, path3 }, args.sourcePaths);
+		assertTrue(args.unifiedDiff);
+		assertEquals(5, args.diffContextLines);
+		assertFalse(args.hasErrors());
+	}
+
+	@Test
+	void testCreateErrorSourceDirWithoutDiff() {
+		String sourceDir = persistency.getTempPath("any_dir");
+		persistency.prepareFile(sourceDir, "any_source.txt", anySourceCode);
+
+		CommandLineArgs args = CommandLineArgs.create(persistency, new String[] {  
+				"--sourcedir", sourceDir } );
+
+		assertErrorsContain(args, "--sourcedir can only be used with --diff");
+	}
+	
+	@Test
+	void testCreateErrorSourceDirMissingOrEmpty() {
+		String sourceDir = persistency.getTempPath("any_dir");
+		String emptyDir = persistency.getTempPath("empty_dir");
+		persistency.prepareFile(sourceDir, "any_source.txt", anySourceCode);
+		persistency.prepareDirectory(emptyDir);
+
+		CommandLineArgs args = CommandLineArgs.create(persistency, new String[] {  
+				"--sourcedir", persistency.getTempPath("other_dir"), "--diff" } );
+		assertErrorsContain(args, "Directory not found");
+
+		args = CommandLineArgs.create(persistency, new String[] {  
+				"--sourcedir", emptyDir, "--diff" } );
+		assertErrorsContain(args, "No *.txt files found");
+
+		args = CommandLineArgs.create(persistency, new String[] {  
+				"--sourcedir", sourceDir, 
+				"--source", anySourceCode, "--diff" } );
+		assertErrorsContain(args, "Source code supplied twice");
+	}
+	
+	@Test
+	void testCreateErrorWithInvalidDiffOptions() {
+		CommandLineArgs args = CommandLineArgs.create(persistency, new String[] {  
+				"--source", anySourceCode, 
+				"--diff", "--context", "-1" } );
+		assertErrorsContain(args, "Invalid --context");
+
+		args = CommandLineArgs.create(persistency, new String[] {  
+				"--source", anySourceCode, 
+				"--diff", "--context", "three" } );
+		assertErrorsContain(args, "Invalid --context");
+
+		args = CommandLineArgs.create(persistency, new String[] {  
+				"--source", anySourceCode, 
+				"--diff", "--partialresult" } );
+		assertErrorsContain(args, "--partialresult cannot be used with --diff");
+
+		args = CommandLineArgs.create(persistency, new String[] {  
+				"--source", anySourceCode, 
+				"--diff", "--stats" } );
+		assertErrorsContain(args, "cannot be used with --diff");
+	}
+	
 	@Test
 	void testCreateWithProfileDataAndLineRangeStartOnly() {
 		CommandLineArgs args = CommandLineArgs.create(persistency, new String[] {  
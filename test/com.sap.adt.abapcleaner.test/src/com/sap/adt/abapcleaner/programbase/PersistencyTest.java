@@ -313,6 +313,52 @@ public class PersistencyTest {
 		assertEquals("profile1.cfj", persistency.readAllTextFromFile(profileFile2Text));
 	}
 
+	@Test
+	void testReadCharSequenceFromFile() {
+		prepareSampleFiles();
+
+		CharSequence codeText = persistency.readCharSequenceFromFile(codeFile1);
+		assertEquals("code1.txt", codeText.toString());
+		assertEquals("code1.txt".length(), codeText.length());
+		assertEquals('1', codeText.charAt(4));
+		assertEquals("de1", codeText.subSequence(2, 5).toString());
+
+		// non-ASCII content is decoded as UTF-8
+		String nonAsciiPath = persistency.prepareFile(codeDir, "code3.txt", "\u00e4\u00f6\u00fc");
+		assertEquals("\u00e4\u00f6\u00fc", persistency.readCharSequenceFromFile(nonAsciiPath).toString());
+
+		assertNull(persistency.readCharSequenceFromFile(persistency.combinePaths(codeDir, "missing.txt")));
+	}
+
+	@Test
+	void testReadCharSequenceFromLargeFile() {
+		// build a text of several chunks, in which some chunks only contain Latin-1 characters, while others contain 
+		// characters beyond U+00FF, and in which multi-byte characters and surrogate pairs cross all kinds of chunk boundaries 
+		StringBuilder sb = new StringBuilder();
+		int lineNum = 0;
+		while (sb.length() < 200_000) {
+			++lineNum;
+			sb.append("  lv_value_").append(lineNum).append(" = 1. \" ");
+			if (lineNum < 3_000)
+				sb.append("\u00e4\u00f6\u00fc");
+			else if (lineNum % 7 == 0)
+				sb.append("\u20ac \ud83d\ude00");
+			sb.append(System.lineSeparator());
+		}
+		String text = sb.toString();
+		String path = persistency.prepareFile(codeDir, "large.txt", text);
+
+		CharSequence codeText = persistency.readCharSequenceFromFile(path);
+		assertEquals(text.length(), codeText.length());
+		for (int i = 0; i < text.length(); i += 997)
+			assertEquals(text.charAt(i), codeText.charAt(i));
+		assertEquals(text, codeText.toString());
+		assertEquals(text.substring(65_000, 140_000), codeText.subSequence(65_000, 140_000).toString());
+		assertEquals(text.substring(131_070, 131_075), codeText.subSequence(131_070, 131_075).toString());
+		assertEquals("", codeText.subSequence(70_000, 70_000).toString());
+		assertThrows(IndexOutOfBoundsException.class, () -> codeText.charAt(text.length()));
+	}
+
 	@Test
 	void testGetExtensionForFileType() {
 		assertEquals(".cfj", persistency.getExtension(FileType.CONFIG_TEXT));
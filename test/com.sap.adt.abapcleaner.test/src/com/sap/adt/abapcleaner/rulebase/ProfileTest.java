@@ -43,6 +43,7 @@ class ProfileTest {
 		anyDir = persistency.combinePaths(persistency.getWorkDir(), "any_dir");
 		
 		profile = Profile.createDefault();
+		ProfileRegistry.get().clear();
 	}
 
 	private void assertStringArrayEquals(String[] exp, String[] act) {
@@ -371,6 +372,60 @@ class ProfileTest {
 		assertFalse(profilesContain(profiles, anyProfileName));
 	}
 	
+	@Test
+	void testLoadProfilesReturnsCopies() {
+		setAnyProfileConfigurationTo(profile);
+		profile.name = anyProfileName;
+		profile.save(profilesDir);
+
+		ArrayList<Profile> profiles = Profile.loadProfiles(profilesDir);
+		assertEquals(1, profiles.size());
+		assertEquals(anyProfileName, profiles.get(0).name);
+		assertProfileMatches(profiles.get(0));
+		assertEquals(1, ProfileRegistry.get().size());
+
+		// ensure that changing a loaded Profile does not affect the Profile that is loaded next time
+		Profile changedProfile = profiles.get(0);
+		changedProfile.name = "changed";
+		changedProfile.deactivateAllRules();
+
+		profiles = Profile.loadProfiles(profilesDir);
+		assertEquals(1, profiles.size());
+		assertNotSame(changedProfile, profiles.get(0));
+		assertEquals(anyProfileName, profiles.get(0).name);
+		assertProfileMatches(profiles.get(0));
+	}
+
+	@Test
+	void testLoadProfilesRereadsChangedFiles() throws IOException {
+		profile = Profile.create(anyProfileName);
+		profile.activateAllRules();
+		profile.save(profilesDir);
+		assertProfileMatches(Profile.loadProfiles(profilesDir).get(0));
+
+		// write a changed Profile to the file without using Profile.save(), which would invalidate the registry entry; 
+		// ensure that the change is detected from the new timestamp
+		profile = Profile.create(anyProfileName);
+		profile.deactivateAllRules();
+		try (ISettingsWriter writer = TextSettingsWriter.createForFile(persistency, anyProfilePath, Program.TECHNICAL_VERSION, Profile.REQUIRED_VERSION)) {
+			profile.save(writer);
+		}
+		assertProfileMatches(Profile.loadProfiles(profilesDir).get(0));
+
+		// change the file content in place, keeping its timestamp and size, and ensure that the file is NOT read again
+		byte[] data = persistency.getFileSystem().readAllBytesFromFile(anyProfilePath);
+		Arrays.fill(data, (byte)'x');
+		ArrayList<Profile> profiles = Profile.loadProfiles(profilesDir);
+		assertEquals(1, profiles.size());
+		assertProfileMatches(profiles.get(0));
+
+		// ensure that a file that cannot be read anymore is removed from the registry
+		persistency.writeAllTextToFile(anyProfilePath, "invalid");
+		profiles = Profile.loadProfiles(profilesDir);
+		assertFalse(profilesContain(profiles, anyProfileName));
+		assertEquals(0, ProfileRegistry.get().size());
+	}
+	
 	@Test
 	void testAddAndSaveEssentialProfile() throws IOException {
 		// ensure that on an empty directory, nothing is added
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.sap.adt.abapcleaner.base.ABAP;
+import com.sap.adt.abapcleaner.comparer.CompareDoc;
 import com.sap.adt.abapcleaner.parser.ParseParams;
 import com.sap.adt.abapcleaner.programbase.JobDouble;
 import com.sap.adt.abapcleaner.programbase.Program;
@@ -69,6 +70,29 @@ public class TaskTest {
 		assertTrue(task.getCalculationTimeInfo().length() > 0);
 	}
 
+	@Test
+	void testCleanupWithoutChanges() throws Throwable {
+		// clean the code once, then clean the result again, which must not change anything
+		Task firstTask = runTask(0, "do 5 times." + LINE_SEP + "a += 1." + LINE_SEP + "enddo.");
+		String cleanCode = firstTask.getResultingCode().toString();
+		assertTrue(firstTask.getResultingCode().wasAnyRuleUsed());
+
+		JobDouble jobDouble = new JobDouble(0); 
+		ParseParams parseParams = ParseParams.createForWholeCode("anyName", cleanCode, ABAP.NEWEST_RELEASE); 
+		Task task = Task.createForBatch(jobDouble, parseParams, 0, 2);
+		task.run(cleanupParams, true);
+
+		assertTrue(task.getSuccess());
+		assertFalse(task.getResultingCode().wasAnyRuleUsed());
+		assertEquals(cleanCode, task.getResultingCode().toString());
+		assertEquals(0, task.getChangedLineCount());
+		assertEquals(0, task.getResultingDiffDoc().getChangedLineCount());
+		// expect the same DiffDoc that the comparer would have created
+		CompareDoc oldDoc = CompareDoc.createFromDisplayLines(task.getResultingCode().toDisplayLines());
+		CompareDoc newDoc = CompareDoc.createFromDisplayLines(task.getResultingCode().toDisplayLines());
+		assertEquals(oldDoc.compareTo(newDoc, null).toText(), task.getResultingDiffDoc().toText());
+	}
+
 	@Test
 	void testCancelAfterParse() {
 		Task task = runTask(1, "do 5 times." + LINE_SEP + "a += 1." + LINE_SEP + "enddo.");
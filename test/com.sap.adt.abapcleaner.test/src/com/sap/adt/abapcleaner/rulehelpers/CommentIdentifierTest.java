@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -485,7 +486,7 @@ class CommentIdentifierTest {
 	
 	@Test
 	void testGetFrequentEnglishTypos() {
-		HashMap<String, String> freqTypos = CommentIdentifier.getFrequentEnglishTypos();
+		Map<String, String> freqTypos = CommentIdentifier.getFrequentEnglishTypos();
 
 		// the HashMap may contain multiple entries for upper and lower case, but at least the provided ...Count()
 		assertTrue(freqTypos.size() >= CommentIdentifier.getFrequentEnglishTypoCount());
@@ -503,11 +504,15 @@ class CommentIdentifierTest {
 		assertEquals("structure", freqTypos.get("strucutre"));
 		assertEquals("chosen", freqTypos.get("choosen"));
 		assertEquals("already", freqTypos.get("allready"));
+
+		// expect the same unmodifiable Map for each call
+		assertSame(freqTypos, CommentIdentifier.getFrequentEnglishTypos());
+		assertThrows(UnsupportedOperationException.class, () -> freqTypos.put("wether", "weather"));
 	}
 	
 	@Test
 	void testGetFrequentBritishEnglish() {
-		HashMap<String, String> freqTypos = CommentIdentifier.getFrequentBritishEnglish();
+		Map<String, String> freqTypos = CommentIdentifier.getFrequentBritishEnglish();
 		
 		// the HashMap may contain multiple entries for upper and lower case, but at least the provided ...Count()
 		assertTrue(freqTypos.size() >= CommentIdentifier.getFrequentBritishEnglishCount());
@@ -520,4 +525,162 @@ class CommentIdentifierTest {
 		assertEquals("neighbor", freqTypos.get("neighbour"));
 		assertEquals("optimize", freqTypos.get("optimise"));
 }
+
+	@Test
+	void testWordDictionary() {
+		HashMap<String, String> map = new HashMap<String, String>();
+		map.put("wether", "whether");
+		map.put("occurr", "occur");
+		map.put("paramter", "parameter");
+		map.put("seperate", "separate");
+		map.put("allways", "");
+		WordDictionary dictionary = WordDictionary.create(map);
+
+		// all entries are found, including those with an empty value, and the Map view equals the HashMap
+		assertEquals(map.size(), dictionary.size());
+		for (String key : map.keySet()) {
+			assertTrue(dictionary.contains(key));
+			assertEquals(map.get(key), dictionary.get(key));
+		}
+		assertEquals(map, dictionary.asMap());
+		assertEquals(map.hashCode(), dictionary.asMap().hashCode());
+		assertEquals("allways", dictionary.asMap().keySet().iterator().next());
+		assertTrue(dictionary.asMap().containsKey("seperate"));
+		assertFalse(dictionary.asMap().containsKey(Integer.valueOf(1)));
+
+		// prefixes, extensions and other casing are not found 
+		assertFalse(dictionary.contains("weth"));
+		assertFalse(dictionary.contains("wethers"));
+		assertFalse(dictionary.contains("Wether"));
+		assertFalse(dictionary.contains(""));
+		assertFalse(dictionary.contains(null));
+		assertNull(dictionary.get("whether"));
+
+		// sets do not store values, and duplicate words are only stored once
+		WordDictionary set = WordDictionary.create(Arrays.asList(new String[] { "ZETA", "ALPHA", "ZETA", "MU" }));
+		assertEquals(3, set.size());
+		assertEquals("ALPHA", set.getKey(0));
+		assertEquals("ZETA", set.getKey(2));
+		assertTrue(set.contains(new StringBuilder("MU")));
+		assertNull(set.get("MU"));
+
+		// the upper case form of a word is found like with String.toUpperCase(Locale.ROOT), including special cases 
+		WordDictionary upperCaseSet = WordDictionary.create(Arrays.asList(new String[] { "GROSS", "\u00c4NDERN", "ENDIF", "END-OF-DEFINITION" }));
+		assertTrue(upperCaseSet.containsUpperCaseOf("endif"));
+		assertTrue(upperCaseSet.containsUpperCaseOf("EndIf"));
+		assertTrue(upperCaseSet.containsUpperCaseOf("end-of-definition"));
+		assertTrue(upperCaseSet.containsUpperCaseOf("\u00e4ndern"));
+		assertTrue(upperCaseSet.containsUpperCaseOf("gro\u00df"));
+		assertFalse(upperCaseSet.containsUpperCaseOf("endi"));
+		assertFalse(upperCaseSet.containsUpperCaseOf("endiff"));
+		assertFalse(upperCaseSet.containsUpperCaseOf(null));
+	}
+
+	private CommentIdentifier.CorrectionResult correctByTextReader(String text, boolean isLiteral, char escapeChar, boolean correctTypos, boolean changeBritishToAmerican) {
+		Map<String, String> typos = CommentIdentifier.getFrequentEnglishTypos();
+		Map<String, String> britishEnglish = CommentIdentifier.getFrequentBritishEnglish();
+		TextReader reader = isLiteral ? TextReader.createForLiteral(text, escapeChar) : TextReader.createForComment(text);
+		String word;
+		while ((word = reader.getNextWord()) != null) {
+			String correction = correctTypos ? typos.get(word) : null;
+			if (!StringUtil.isNullOrEmpty(correction))
+				reader.correctLastWord(correction, "typo");
+			else if (changeBritishToAmerican && !StringUtil.isNullOrEmpty(britishEnglish.get(word)))
+				reader.correctLastWord(britishEnglish.get(word), "BE");
+		}
+		return (reader.getCorrections() == null) ? null : new CommentIdentifier.CorrectionResult(reader.getCorrectedText(), reader.getCorrections());
+	}
+
+	private void assertSameCorrection(CommentIdentifier.CorrectionResult exp, CommentIdentifier.CorrectionResult act) {
+		if (exp == null) {
+			assertNull(act);
+			return;
+		}
+		assertNotNull(act);
+		assertEquals(exp.correctedText, act.correctedText);
+		assertEquals(exp.corrections, act.corrections);
+	}
+
+	@Test
+	void testCorrectText() {
+		String[] comments = new String[] { "\" the paramter is seperate from the colour, and the behaviour's wether",
+				"* paramter' seperate'' colour''' paramters-",
+				"\" lv_paramter /seperate/ colour-behaviour <paramter> paramter_seperate",
+				"\"paramter!seperate?colour;behaviour",
+				"\" activ adaption initialise analysed",
+				"\" nothing to correct here" };
+		String[] literals = new String[] { "it''s a paramter, don''t seperate''",
+				"paramter\\tseperate\\'colour\\",
+				"lv_paramter /seperate/ colour-behaviour" };
+
+		CommentIdentifier identifier = new CommentIdentifier();
+		for (int flags = 0; flags < 4; ++flags) {
+			boolean correctTypos = (flags & 1) != 0;
+			boolean changeBritishToAmerican = (flags & 2) != 0;
+			for (String comment : comments) {
+				CommentIdentifier.CorrectionResult exp = correctByTextReader(comment, false, '\0', correctTypos, changeBritishToAmerican);
+				assertSameCorrection(exp, identifier.correctComment(comment, correctTypos, changeBritishToAmerican));
+
+				// correcting a part of the text must give the same result as correcting the substring
+				String part = comment.substring(2, comment.length() - 1);
+				exp = correctByTextReader(part, false, '\0', correctTypos, changeBritishToAmerican);
+				assertSameCorrection(exp, identifier.correctComment(comment, 2, comment.length() - 1, correctTypos, changeBritishToAmerican));
+			}
+			for (String literal : literals) {
+				for (char escapeChar : new char[] { '\'', '\\' }) {
+					CommentIdentifier.CorrectionResult exp = correctByTextReader(literal, true, escapeChar, correctTypos, changeBritishToAmerican);
+					assertSameCorrection(exp, identifier.correctLiteral(literal, escapeChar, correctTypos, changeBritishToAmerican));
+				}
+			}
+		}
+
+		// check some results explicitly
+		CommentIdentifier.CorrectionResult result = identifier.correctComment(comments[0], true, true);
+		assertEquals("\" the parameter is separate from the color, and the behaviour's whether", result.correctedText);
+		assertEquals(4, result.corrections.size());
+		assertEquals("colour (typo) -> color", result.corrections.get(2));
+
+		result = identifier.correctLiteral(literals[0], '\'', true, false);
+		assertEquals("it''s a parameter, don''t separate''", result.correctedText);
+
+		assertNull(identifier.correctComment(comments[4], true, false));
+		assertEquals("\" activ adaption initialize analyzed", identifier.correctComment(comments[4], false, true).correctedText);
+		assertNull(identifier.correctComment(comments[0], false, false));
+	}
+
+	private void assertSameIdentification(CommentIdentification exp, CommentIdentification act) {
+		assertEquals(exp.getAbapProbabilityPercent(), act.getAbapProbabilityPercent());
+		assertEquals(exp.isEnglish(), act.isEnglish());
+		assertEquals(exp.isGerman(), act.isGerman());
+		assertEquals(exp.indent, act.indent);
+		assertEquals(exp.isAutoGenerated, act.isAutoGenerated);
+		assertArrayEquals(exp.words, act.words);
+	}
+
+	@Test
+	void testCachedIdentification() {
+		CommentIdentifier cachingIdentifier = CommentIdentifier.createWithCache();
+		String[] lineTexts = new String[] { "* lv_value = 1.", "* ENDIF.", "* IF lv_value = 1.", "* set the value to one", "* Wert auf eins setzen", "*", "\" comment" };
+
+		// cached results equal the results of an identifier without cache, both with and without the context of neighbor lines 
+		for (int i = 0; i < lineTexts.length; ++i) {
+			String prevLine = (i == 0) ? null : lineTexts[i - 1];
+			String nextLine = (i + 1 == lineTexts.length) ? null : lineTexts[i + 1];
+			for (int pass = 0; pass < 2; ++pass) {
+				assertSameIdentification(commentIdentifier.identifyComment(lineTexts[i], false), cachingIdentifier.identifyComment(lineTexts[i], false));
+				assertSameIdentification(commentIdentifier.identifyComment(lineTexts[i], true), cachingIdentifier.identifyComment(lineTexts[i], true));
+				assertSameIdentification(commentIdentifier.identifyComment(lineTexts[i], false, prevLine, nextLine, false), 
+						cachingIdentifier.identifyComment(lineTexts[i], false, prevLine, nextLine, false));
+			}
+		}
+
+		// identical lines are only identified once, while different neighbor lines are distinguished
+		CommentIdentification identification = cachingIdentifier.identifyComment("* ENDIF.", false, "* IF lv_value = 1.", null, false);
+		assertSame(identification, cachingIdentifier.identifyComment("* ENDIF.", false, "* IF lv_value = 1.", null, false));
+		assertNotSame(identification, cachingIdentifier.identifyComment("* ENDIF.", false, null, "* IF lv_value = 1.", false));
+		assertNotSame(identification, cachingIdentifier.identifyComment("* ENDIF.", true, "* IF lv_value = 1.", null, false));
+
+		// results with reasons are not cached
+		assertNotSame(cachingIdentifier.identifyComment("* ENDIF.", false, null, null, true), cachingIdentifier.identifyComment("* ENDIF.", false, null, null, true));
+	}
 }
@@ -8,6 +8,7 @@ import com.sap.adt.abapcleaner.base.ABAP;
 import com.sap.adt.abapcleaner.parser.Code;
 import com.sap.adt.abapcleaner.parser.Command;
 import com.sap.adt.abapcleaner.parser.ParseParams;
+import com.sap.adt.abapcleaner.parser.Token;
 import com.sap.adt.abapcleaner.programbase.IntegrityBrokenException;
 import com.sap.adt.abapcleaner.programbase.ParseException;
 import com.sap.adt.abapcleaner.programbase.UnexpectedSyntaxAfterChanges;
@@ -431,4 +432,35 @@ public class LogicalExpressionTest {
 				"NOT ( a = 1 OR b = 1 ) OR ( c = 1 AND d = 1 ) OR ( e = f AND g = h ) OR NOT ( i = 2 OR j = 3 )");
 	}
 
+	@Test
+	void testCacheReusesUnchangedExpression() throws Throwable {
+		Code code = Code.parse(null, ParseParams.createForTest("CHECK a = 1 AND NOT b IS INITIAL.", abapRelease));
+		Command command = code.firstCommand;
+		Token firstToken = command.getFirstToken().getNext();
+		Token lastToken = command.getLastToken().getPrev();
+		LogicalExpressionCache cache = code.getLogicalExpressionCache();
+
+		// expect the same instance as long as only whitespace is changed
+		LogicalExpression logicalExp = cache.get(firstToken, lastToken);
+		assertEquals(1, cache.size());
+		assertSame(logicalExp, cache.get(firstToken, lastToken));
+		lastToken.setWhitespace(1, 10);
+		assertSame(logicalExp, cache.get(firstToken, lastToken));
+
+		// expect a new instance for a different range, and after the code of the expression was changed
+		assertNotSame(logicalExp, cache.get(firstToken, lastToken.getPrev()));
+		logicalExp = cache.get(firstToken, lastToken);
+		assertTrue(logicalExp.transformIsNotToNotIs());
+		LogicalExpression changedExp = cache.get(firstToken, lastToken);
+		assertNotSame(logicalExp, changedExp);
+		assertEquals("{ a !=! 1 } !AND! { b !IS! NOT INITIAL }", changedExp.toString());
+		assertSame(changedExp, cache.get(firstToken, lastToken));
+
+		firstToken.getNext().setText("<>", false);
+		assertNotSame(changedExp, cache.get(firstToken, lastToken));
+
+		// expect the cache to be released with the other Rule helpers
+		code.releaseRuleHelpers();
+		assertEquals(0, code.getLogicalExpressionCache().size());
+	}
 }
@@ -0,0 +1,75 @@
+package com.sap.adt.abapcleaner.rulehelpers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class SymbolTableTest {
+	@Test
+	void testIdsInOrderOfAdding() {
+		SymbolTable table = SymbolTable.create();
+		assertTrue(table.isEmpty());
+
+		assertEquals(0, table.add("lv_value"));
+		assertEquals(1, table.add("<ls_data>"));
+		assertEquals(2, table.add("/ns/lo_instance"));
+
+		assertEquals(3, table.size());
+		assertFalse(table.isEmpty());
+		assertEquals("lv_value", table.getName(0));
+		assertEquals("<ls_data>", table.getName(1));
+		assertEquals("/ns/lo_instance", table.getName(2));
+	}
+
+	@Test
+	void testAddIgnoresCase() {
+		SymbolTable table = SymbolTable.create();
+		assertEquals(0, table.add("lv_value"));
+		assertEquals(-1, table.add("LV_VALUE"));
+		assertEquals(-1, table.add("Lv_Value"));
+
+		assertEquals(1, table.size());
+		assertEquals("lv_value", table.getName(0));
+	}
+
+	@Test
+	void testGetIdIgnoresCase() {
+		SymbolTable table = SymbolTable.create();
+		table.add("lv_value");
+		table.add("LS_STRUC");
+
+		assertEquals(0, table.getId("LV_VALUE"));
+		assertEquals(0, table.getId(new StringBuilder("lv_Value")));
+		assertEquals(1, table.getId("ls_struc"));
+		assertEquals(-1, table.getId("lv_val"));
+		assertEquals(-1, table.getId("lv_values"));
+		assertEquals(-1, table.getId((CharSequence)null));
+	}
+
+	@Test
+	void testGetIdOfPartOfText() {
+		SymbolTable table = SymbolTable.create();
+		table.add("ls_struc");
+		table.add("lo_instance");
+
+		String text = "@LS_STRUC-component";
+		assertEquals(0, table.getId(text, 1, 9));
+		assertEquals(-1, table.getId(text, 0, 9));
+		assertEquals(-1, table.getId(text, 1, 10));
+		assertEquals(1, table.getId("lo_instance->member", 0, 11));
+	}
+
+	@Test
+	void testManyNames() {
+		SymbolTable table = SymbolTable.create();
+		for (int i = 0; i < 1000; ++i)
+			assertEquals(i, table.add("lv_var_" + String.valueOf(i)));
+
+		assertEquals(1000, table.size());
+		for (int i = 0; i < 1000; ++i) {
+			assertEquals(i, table.getId("LV_VAR_" + String.valueOf(i)));
+			assertEquals("lv_var_" + String.valueOf(i), table.getName(i));
+		}
+		assertEquals(-1, table.getId("lv_var_1000"));
+	}
+}